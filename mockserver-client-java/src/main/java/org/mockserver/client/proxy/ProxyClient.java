@@ -130,6 +130,41 @@ public class ProxyClient extends AbstractClient {
         return this;
     }
 
+    /**
+     * Register a request that will later be verified, the proxy then counts matching requests as they are received
+     * so verifying the request is not limited to the requests still held in the request log and does not search the
+     * request log, for example:
+     *
+     *   proxyClient
+     *           .registerVerification(
+     *                   request()
+     *                           .withPath("/some_path")
+     *           );
+     *
+     * @param httpRequest the http request that will be verified
+     */
+    public ProxyClient registerVerification(HttpRequest httpRequest) {
+        if (httpRequest == null) {
+            throw new IllegalArgumentException("registerVerification(HttpRequest) requires a non null HttpRequest object");
+        }
+        sendRequest(request().withMethod("PUT").withPath(calculatePath("registerVerification")).withBody(httpRequestSerializer.serialize(httpRequest)));
+        return this;
+    }
+
+    /**
+     * Stop counting requests for a request registered with registerVerification, verifying the request then searches
+     * the request log again
+     *
+     * @param httpRequest the http request that was registered
+     */
+    public ProxyClient unregisterVerification(HttpRequest httpRequest) {
+        if (httpRequest == null) {
+            throw new IllegalArgumentException("unregisterVerification(HttpRequest) requires a non null HttpRequest object");
+        }
+        sendRequest(request().withMethod("PUT").withPath(calculatePath("unregisterVerification")).withBody(httpRequestSerializer.serialize(httpRequest)));
+        return this;
+    }
+
     /**
      * Verify a list of requests have been sent in the order specified for example:
      *
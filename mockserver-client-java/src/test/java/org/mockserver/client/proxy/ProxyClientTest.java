@@ -161,6 +161,42 @@ public class ProxyClientTest {
                 "}")));
     }
 
+    @Test
+    public void shouldSendRegisterVerificationRequest() throws Exception {
+        // when
+        proxyClient
+                .registerVerification(
+                        new HttpRequest()
+                                .withPath("/some_path")
+                                .withBody(new StringBody("some_request_body"))
+                );
+
+        // then
+        verify(mockHttpClient).sendRequest(outboundRequest("localhost", 1090, "", request().withMethod("PUT").withPath("/registerVerification").withBody("" +
+                "{" + System.getProperty("line.separator") +
+                "  \"path\" : \"/some_path\"," + System.getProperty("line.separator") +
+                "  \"body\" : \"some_request_body\"" + System.getProperty("line.separator") +
+                "}")));
+    }
+
+    @Test
+    public void shouldSendUnregisterVerificationRequest() throws Exception {
+        // when
+        proxyClient
+                .unregisterVerification(
+                        new HttpRequest()
+                                .withPath("/some_path")
+                                .withBody(new StringBody("some_request_body"))
+                );
+
+        // then
+        verify(mockHttpClient).sendRequest(outboundRequest("localhost", 1090, "", request().withMethod("PUT").withPath("/unregisterVerification").withBody("" +
+                "{" + System.getProperty("line.separator") +
+                "  \"path\" : \"/some_path\"," + System.getProperty("line.separator") +
+                "  \"body\" : \"some_request_body\"" + System.getProperty("line.separator") +
+                "}")));
+    }
+
     @Test
     public void shouldSendClearRequestForNullRequest() throws Exception {
         // when
@@ -413,6 +413,46 @@ public class MockServerClientTest {
         );
     }
 
+    @Test
+    public void shouldSendRegisterVerificationRequest() throws Exception {
+        // given
+        HttpRequest someRequestMatcher = new HttpRequest()
+                .withPath("/some_path")
+                .withBody(new StringBody("some_request_body"));
+        when(mockHttpRequestSerializer.serialize(someRequestMatcher)).thenReturn(someRequestMatcher.toString());
+
+        // when
+        mockServerClient.registerVerification(someRequestMatcher);
+
+        // then
+        verify(mockHttpClient).sendRequest(outboundRequest("localhost", 1080, "",
+                request()
+                        .withMethod("PUT")
+                        .withPath("/registerVerification")
+                        .withBody(someRequestMatcher.toString(), Charsets.UTF_8))
+        );
+    }
+
+    @Test
+    public void shouldSendUnregisterVerificationRequest() throws Exception {
+        // given
+        HttpRequest someRequestMatcher = new HttpRequest()
+                .withPath("/some_path")
+                .withBody(new StringBody("some_request_body"));
+        when(mockHttpRequestSerializer.serialize(someRequestMatcher)).thenReturn(someRequestMatcher.toString());
+
+        // when
+        mockServerClient.unregisterVerification(someRequestMatcher);
+
+        // then
+        verify(mockHttpClient).sendRequest(outboundRequest("localhost", 1080, "",
+                request()
+                        .withMethod("PUT")
+                        .withPath("/unregisterVerification")
+                        .withBody(someRequestMatcher.toString(), Charsets.UTF_8))
+        );
+    }
+
     @Test
     public void shouldSendClearRequestWithType() throws Exception {
         // given
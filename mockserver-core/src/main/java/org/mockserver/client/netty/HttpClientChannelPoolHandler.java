@@ -1,34 +1,39 @@
 package org.mockserver.client.netty;
 
-import com.google.common.util.concurrent.SettableFuture;
-import io.netty.channel.ChannelInitializer;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.timeout.IdleStateHandler;
 import org.mockserver.client.netty.codec.MockServerClientCodec;
 import org.mockserver.logging.LoggingHandler;
-import org.mockserver.model.HttpResponse;
 import org.mockserver.socket.SSLFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.SSLException;
+import java.util.concurrent.TimeUnit;
 
-public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
+/**
+ * Sets up the pipeline of each new pooled connection, connections that stay unused for the idle timeout are closed
+ * and dropped by the pool's health check the next time the pool is used, or removed with the pool once the pool has
+ * no connections left
+ */
+public class HttpClientChannelPoolHandler extends AbstractChannelPoolHandler {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean secure;
-    private HttpClientHandler httpClientHandler = new HttpClientHandler();
+    private final long idleTimeout;
 
-    public HttpClientInitializer(boolean secure) {
+    public HttpClientChannelPoolHandler(boolean secure, long idleTimeout) {
         this.secure = secure;
+        this.idleTimeout = idleTimeout;
     }
 
     @Override
-    public void initChannel(SocketChannel channel) throws SSLException {
+    public void channelCreated(Channel channel) throws Exception {
         ChannelPipeline pipeline = channel.pipeline();
 
         if (secure) {
@@ -40,6 +45,10 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
             pipeline.addLast(new LoggingHandler(this.getClass().getSimpleName() + " -->"));
         }
 
+        if (idleTimeout > 0) {
+            pipeline.addLast(new IdleStateHandler(0, 0, idleTimeout, TimeUnit.MILLISECONDS));
+        }
+
         pipeline.addLast(new HttpClientCodec());
 
         pipeline.addLast(new HttpContentDecompressor());
@@ -48,10 +57,6 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
 
         pipeline.addLast(new MockServerClientCodec());
 
-        pipeline.addLast(httpClientHandler);
-    }
-
-    public SettableFuture<HttpResponse> getResponseFuture() {
-        return httpClientHandler.getResponseFuture();
+        pipeline.addLast(new HttpClientHandler());
     }
-}
\ No newline at end of file
+}
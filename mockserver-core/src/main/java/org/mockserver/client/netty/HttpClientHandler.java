@@ -5,26 +5,50 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.ssl.NotSslRecordException;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.AttributeKey;
 import org.mockserver.model.HttpResponse;
 
 import javax.net.ssl.SSLException;
+import java.nio.channels.ClosedChannelException;
 
+/**
+ * Completes the response future of the request currently sent on the channel, as channels are pooled and reused the
+ * future is held in a channel attribute for the duration of each request
+ */
 public class HttpClientHandler extends SimpleChannelInboundHandler<HttpResponse> {
 
-    private final SettableFuture<HttpResponse> responseFuture = SettableFuture.<HttpResponse>create();
+    public static final AttributeKey<SettableFuture<HttpResponse>> RESPONSE_FUTURE = AttributeKey.valueOf("RESPONSE_FUTURE");
 
     public HttpClientHandler() {
         super(false);
     }
 
-    public SettableFuture<HttpResponse> getResponseFuture() {
-        return responseFuture;
+    @Override
+    public void channelRead0(ChannelHandlerContext ctx, HttpResponse response) {
+        SettableFuture<HttpResponse> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).getAndRemove();
+        if (responseFuture != null) {
+            responseFuture.set(response);
+        }
     }
 
     @Override
-    public void channelRead0(ChannelHandlerContext ctx, HttpResponse response) {
-        responseFuture.set(response);
-        ctx.close();
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        SettableFuture<HttpResponse> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).getAndRemove();
+        if (responseFuture != null) {
+            responseFuture.setException(new ClosedChannelException());
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        // only idle pooled connections are closed, a request waiting for a slow response is left to its own timeout
+        if (evt instanceof IdleStateEvent && ctx.channel().attr(RESPONSE_FUTURE).get() == null) {
+            ctx.close();
+        } else {
+            super.userEventTriggered(ctx, evt);
+        }
     }
 
     @Override
@@ -32,11 +56,14 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<HttpResponse>
         if (isNotSslException(cause)) {
             cause.printStackTrace();
         }
-        responseFuture.setException(cause);
+        SettableFuture<HttpResponse> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).getAndRemove();
+        if (responseFuture != null) {
+            responseFuture.setException(cause);
+        }
         ctx.close();
     }
 
     private boolean isNotSslException(Throwable cause) {
         return !(cause.getCause() instanceof SSLException || cause instanceof DecoderException | cause instanceof NotSslRecordException);
     }
-}
\ No newline at end of file
+}
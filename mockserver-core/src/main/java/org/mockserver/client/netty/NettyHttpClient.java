@@ -1,29 +1,73 @@
 package org.mockserver.client.netty;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.ssl.NotSslRecordException;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.OutboundHttpRequest;
+import org.mockserver.socket.NettyTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static io.netty.handler.codec.http.HttpHeaders.Names.CONNECTION;
+
+/**
+ * Sends requests over keep-alive connections pooled per destination, all clients share one event loop group and one
+ * set of pools so a request only pays for a new connection, and TLS handshake, if every pooled connection to that
+ * destination is in use
+ *
+ * A destination's pool is removed once its last connection has closed (i.e. after the idle timeout) and no request is
+ * using it, so the pools never grow with every destination ever proxied to, the maximum connections, maximum pending
+ * acquires and idle timeout are read when a destination's pool is created so a change to them applies to destinations
+ * without a pool and to every other destination once its pool has been removed
+ */
 public class NettyHttpClient {
 
+    private static final AttributeKey<Boolean> REUSED = AttributeKey.valueOf("REUSED");
+    private static final int MAX_CLOSED_CONNECTION_RETRIES = 3;
+    private static final Set<String> SAFE_METHODS = ImmutableSet.of("", "GET", "HEAD", "OPTIONS", "TRACE");
+    private static final NettyTransport TRANSPORT = NettyTransport.configured();
+    private static final EventLoopGroup GROUP = TRANSPORT.eventLoopGroup(0, new DefaultThreadFactory("mockserver-http-client", true));
+    private static final AbstractChannelPoolMap<PoolKey, DestinationPool> CHANNEL_POOLS = new AbstractChannelPoolMap<PoolKey, DestinationPool>() {
+        @Override
+        protected DestinationPool newPool(PoolKey poolKey) {
+            return new DestinationPool(poolKey);
+        }
+    };
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     public HttpResponse sendRequest(final OutboundHttpRequest httpRequest) throws SocketConnectionException {
@@ -31,70 +75,311 @@ public class NettyHttpClient {
     }
 
     public HttpResponse sendRequest(final OutboundHttpRequest httpRequest, final boolean retryIfSslFails) throws SocketConnectionException {
+        try {
+            return sendRequestAsync(httpRequest, retryIfSslFails).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw new RuntimeException("Exception while sending request", e.getCause());
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException("Exception while sending request", e);
+        }
+    }
+
+    public ListenableFuture<HttpResponse> sendRequestAsync(final OutboundHttpRequest httpRequest) {
+        return sendRequestAsync(httpRequest, false);
+    }
+
+    /**
+     * Sends the request without waiting for the response, the returned future completes on the client's event loop
+     * with the response or fails with a SocketConnectionException if the connection failed or with a
+     * SocketCommunicationException if the response is not received within the maximum socket timeout
+     */
+    public ListenableFuture<HttpResponse> sendRequestAsync(final OutboundHttpRequest httpRequest, final boolean retryIfSslFails) {
+        SettableFuture<HttpResponse> responseFuture = SettableFuture.create();
+        long maxSocketTimeout = ConfigurationProperties.maxSocketTimeout();
+        sendRequest(httpRequest, retryIfSslFails, maxSocketTimeout, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxSocketTimeout), MAX_CLOSED_CONNECTION_RETRIES, responseFuture);
+        return responseFuture;
+    }
+
+    /**
+     * Every attempt to send the request, including retries on another connection or with or without SSL, shares the
+     * deadline of the first attempt so the response is never waited for longer than the maximum socket timeout
+     */
+    private void sendRequest(final OutboundHttpRequest httpRequest, final boolean retryIfSslFails, final long maxSocketTimeout, final long deadline, final int retries, final SettableFuture<HttpResponse> responseFuture) {
         logger.debug("Sending request: {}", httpRequest);
 
-        // configure the client
-        EventLoopGroup group = new NioEventLoopGroup();
+        final boolean isSsl = httpRequest.isSecure() != null && httpRequest.isSecure();
+        final DestinationPool channelPool = DestinationPool.lease(new PoolKey(httpRequest.getDestination(), isSsl));
+        final SettableFuture<HttpResponse> channelResponseFuture = SettableFuture.create();
+        final AtomicBoolean reusedChannel = new AtomicBoolean();
+        final AtomicBoolean requestWritten = new AtomicBoolean();
+        final AtomicReference<Channel> acquiredChannel = new AtomicReference<Channel>();
 
-        boolean isSsl = httpRequest.isSecure() != null && httpRequest.isSecure();
+        // each request has its own timeout so a slow response never holds a thread
+        final ScheduledFuture<?> timeout = GROUP.schedule(new Runnable() {
+            @Override
+            public void run() {
+                channelResponseFuture.setException(new SocketCommunicationException("Response was not received after " + maxSocketTimeout + " milliseconds, to make the proxy wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", null));
+            }
+        }, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+        channelPool.acquire().addListener(new FutureListener<Channel>() {
+            @Override
+            public void operationComplete(Future<Channel> future) {
+                if (future.isSuccess()) {
+                    Channel channel = future.getNow();
+                    acquiredChannel.set(channel);
+                    if (channelResponseFuture.isDone()) {
+                        // timed out while waiting for a connection
+                        if (acquiredChannel.compareAndSet(channel, null)) {
+                            channelPool.releaseAndEndLease(channel);
+                        }
+                    } else {
+                        reusedChannel.set(channel.attr(REUSED).get() != null);
+                        send(channel, httpRequest, channelResponseFuture, requestWritten);
+                    }
+                } else {
+                    channelPool.endLease();
+                    channelResponseFuture.setException(future.cause());
+                }
+            }
+        });
+
+        channelResponseFuture.addListener(new Runnable() {
+            @Override
+            public void run() {
+                timeout.cancel(false);
+                // the connection is back in the pool before the caller sees the response so the next request reuses it
+                Channel channel = acquiredChannel.getAndSet(null);
+                if (channel != null) {
+                    release(channelPool, channel, httpRequest, channelResponseFuture);
+                }
+                try {
+                    HttpResponse httpResponse = channelResponseFuture.get();
+                    logger.debug("Received response: {}", httpResponse);
+                    responseFuture.set(httpResponse);
+                } catch (ExecutionException e) {
+                    if (retries > 0 && reusedChannel.get() && e.getCause() instanceof ClosedChannelException && (!requestWritten.get() || isSafe(httpRequest))) {
+                        // the destination closed a pooled connection, the request is only sent again if the destination
+                        // can't have received all of it or if receiving it twice has no side effects
+                        sendRequest(httpRequest, retryIfSslFails, maxSocketTimeout, deadline, retries - 1, responseFuture);
+                    } else {
+                        handleFailure(httpRequest, retryIfSslFails, isSsl, maxSocketTimeout, deadline, retries, e.getCause(), responseFuture);
+                    }
+                } catch (InterruptedException e) {
+                    responseFuture.setException(new RuntimeException("Exception while sending request", e));
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    static boolean hasPool(InetSocketAddress destination, boolean secure) {
+        return CHANNEL_POOLS.contains(new PoolKey(destination, secure));
+    }
+
+    private void send(Channel channel, OutboundHttpRequest httpRequest, final SettableFuture<HttpResponse> channelResponseFuture, final AtomicBoolean requestWritten) {
+        channel.attr(HttpClientHandler.RESPONSE_FUTURE).set(channelResponseFuture);
+        channel.writeAndFlush(httpRequest).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) {
+                if (future.isSuccess()) {
+                    requestWritten.set(true);
+                } else {
+                    channelResponseFuture.setException(future.cause());
+                }
+            }
+        });
+    }
+
+    private void release(DestinationPool channelPool, Channel channel, OutboundHttpRequest httpRequest, SettableFuture<HttpResponse> channelResponseFuture) {
+        channel.attr(HttpClientHandler.RESPONSE_FUTURE).compareAndSet(channelResponseFuture, null);
+        if (!isReusable(!isClose(httpRequest.getFirstHeader(CONNECTION)), channelResponseFuture)) {
+            channel.close();
+        } else {
+            channel.attr(REUSED).set(true);
+        }
+        // closed channels are dropped by the pool
+        channelPool.releaseAndEndLease(channel);
+    }
+
+    private static boolean isReusable(boolean keepAlive, SettableFuture<HttpResponse> channelResponseFuture) {
         try {
-            final HttpClientInitializer channelInitializer = new HttpClientInitializer(isSsl);
+            return keepAlive && !isClose(channelResponseFuture.get().getFirstHeader(CONNECTION));
+        } catch (Exception e) {
+            // a failed request may leave a partial response on the connection
+            return false;
+        }
+    }
+
+    private static boolean isClose(String connection) {
+        return HttpHeaders.Values.CLOSE.equalsIgnoreCase(connection);
+    }
+
+    private static boolean isSafe(OutboundHttpRequest httpRequest) {
+        return httpRequest.getMethod() == null || SAFE_METHODS.contains(httpRequest.getMethod().getValue().toUpperCase());
+    }
+
+    private void handleFailure(OutboundHttpRequest httpRequest, boolean retryIfSslFails, boolean isSsl, long maxSocketTimeout, long deadline, int retries, Throwable cause, SettableFuture<HttpResponse> responseFuture) {
+        if (cause instanceof SocketCommunicationException) {
+            responseFuture.setException(cause);
+        } else if (retryIfSslFails) {
+            sendRequest(httpRequest.withSsl(!isSsl), false, maxSocketTimeout, deadline, retries, responseFuture);
+        } else if (cause instanceof ConnectException) {
+            responseFuture.setException(new SocketConnectionException("Unable to connect to socket " + httpRequest.getDestination(), cause));
+        } else if (cause instanceof UnknownHostException) {
+            responseFuture.setException(new SocketConnectionException("Unable to resolve host " + httpRequest.getDestination(), cause));
+        } else if (cause instanceof NotSslRecordException) {
+            sendRequest(httpRequest.withSsl(false), false, maxSocketTimeout, deadline, retries, responseFuture);
+        } else if (cause instanceof IOException) {
+            responseFuture.setException(new SocketConnectionException(cause.getMessage(), cause));
+        } else {
+            responseFuture.setException(new RuntimeException("Exception while sending request", cause));
+        }
+    }
 
-            // make the connection attempt
-            new Bootstrap()
-                    .group(group)
-                    .channel(NioSocketChannel.class)
+    /**
+     * The connection pool of a destination with a count of its open connections and of the requests using it, the pool
+     * removes itself from the pool map and closes once both are zero, a request that finds the pool removed leases the
+     * new pool created for the destination instead
+     */
+    private static class DestinationPool implements ChannelPool {
+        private static final int REMOVED = -1;
+        private final PoolKey poolKey;
+        private final FixedChannelPool channelPool;
+        private final AtomicInteger openChannels = new AtomicInteger();
+        // requests from acquiring a connection until it is released, REMOVED once the pool has been removed
+        private final AtomicInteger leases = new AtomicInteger();
+
+        private DestinationPool(PoolKey poolKey) {
+            this.poolKey = poolKey;
+            Bootstrap bootstrap = new Bootstrap()
+                    .group(GROUP)
+                    .channel(TRANSPORT.socketChannelClass())
                     .option(ChannelOption.AUTO_READ, true)
                     .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                     .option(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, 32 * 1024)
                     .option(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, 8 * 1024)
-                    .handler(channelInitializer)
-                    .connect(httpRequest.getDestination())
-                    .addListener(new ChannelFutureListener() {
+                    .remoteAddress(poolKey.destination);
+            this.channelPool = new FixedChannelPool(
+                    bootstrap,
+                    new HttpClientChannelPoolHandler(poolKey.secure, ConfigurationProperties.connectionIdleTimeout()) {
                         @Override
-                        public void operationComplete(ChannelFuture future) throws Exception {
-                            if (future.isSuccess()) {
-                                // send the HTTP request
-                                future.channel().writeAndFlush(httpRequest);
-                            } else {
-                                channelInitializer.getResponseFuture().setException(future.cause());
-                            }
+                        public void channelCreated(Channel channel) throws Exception {
+                            super.channelCreated(channel);
+                            openChannels.incrementAndGet();
+                            channel.closeFuture().addListener(new ChannelFutureListener() {
+                                @Override
+                                public void operationComplete(ChannelFuture future) {
+                                    openChannels.decrementAndGet();
+                                    removeIfUnused();
+                                }
+                            });
                         }
-                    });
+                    },
+                    ChannelHealthChecker.ACTIVE,
+                    null,
+                    -1,
+                    ConfigurationProperties.maxConnectionsPerDestination(),
+                    ConfigurationProperties.maxPendingConnectionAcquires()
+            );
+        }
 
-            // wait for response
-            HttpResponse httpResponse = channelInitializer.getResponseFuture().get(ConfigurationProperties.maxSocketTimeout(), TimeUnit.MILLISECONDS);
-            logger.debug("Received response: {}", httpResponse);
+        private static DestinationPool lease(PoolKey poolKey) {
+            DestinationPool destinationPool = CHANNEL_POOLS.get(poolKey);
+            while (!destinationPool.startLease()) {
+                destinationPool = CHANNEL_POOLS.get(poolKey);
+            }
+            return destinationPool;
+        }
 
-            // shutdown client
-            group.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
+        private boolean startLease() {
+            while (true) {
+                int current = leases.get();
+                if (current == REMOVED) {
+                    return false;
+                } else if (leases.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
 
-            return httpResponse;
+        private void endLease() {
+            leases.decrementAndGet();
+            removeIfUnused();
+        }
 
-        } catch (TimeoutException e) {
-            throw new SocketCommunicationException("Response was not received after " + ConfigurationProperties.maxSocketTimeout() + " milliseconds, to make the proxy wait longer please use \"mockserver.maxSocketTimeout\" system property or ConfigurationProperties.maxSocketTimeout(long milliseconds)", e.getCause());
-        } catch (ExecutionException e) {
-            if (retryIfSslFails) {
-                return sendRequest(httpRequest.withSsl(!isSsl));
-            } else {
-                Throwable cause = e.getCause();
-                if (cause instanceof ConnectException) {
-                    throw new SocketConnectionException("Unable to connect to socket " + httpRequest.getDestination(), cause);
-                } else if (cause instanceof UnknownHostException) {
-                    throw new SocketConnectionException("Unable to resolve host " + httpRequest.getDestination(), cause);
-                } else if (cause instanceof NotSslRecordException) {
-                    return sendRequest(httpRequest.withSsl(false));
-                } else if (cause instanceof IOException) {
-                    throw new SocketConnectionException(cause.getMessage(), cause);
-                } else {
-                    throw new RuntimeException("Exception while sending request", e);
+        private void releaseAndEndLease(Channel channel) {
+            channelPool.release(channel).addListener(new FutureListener<Void>() {
+                @Override
+                public void operationComplete(Future<Void> future) {
+                    endLease();
                 }
+            });
+        }
+
+        /**
+         * New connections are only opened by a request holding a lease so once there are no leases and no open
+         * connections the pool stays empty until it is leased again, which fails once it is removed
+         */
+        private void removeIfUnused() {
+            if (openChannels.get() == 0 && leases.compareAndSet(0, REMOVED)) {
+                CHANNEL_POOLS.remove(poolKey);
             }
-        } catch (InterruptedException e) {
-            throw new RuntimeException("Exception while sending request", e);
-        } finally {
-            // shut down executor threads to exit
-            group.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public Future<Channel> acquire() {
+            return channelPool.acquire();
+        }
+
+        @Override
+        public Future<Channel> acquire(Promise<Channel> promise) {
+            return channelPool.acquire(promise);
+        }
+
+        @Override
+        public Future<Void> release(Channel channel) {
+            return channelPool.release(channel);
+        }
+
+        @Override
+        public Future<Void> release(Channel channel, Promise<Void> promise) {
+            return channelPool.release(channel, promise);
+        }
+
+        @Override
+        public void close() {
+            channelPool.close();
+        }
+    }
+
+    private static class PoolKey {
+        private final InetSocketAddress destination;
+        private final boolean secure;
+
+        private PoolKey(InetSocketAddress destination, boolean secure) {
+            this.destination = destination;
+            this.secure = secure;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PoolKey)) {
+                return false;
+            }
+            PoolKey that = (PoolKey) other;
+            return secure == that.secure && destination.equals(that.destination);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * destination.hashCode() + (secure ? 1 : 0);
         }
     }
 }
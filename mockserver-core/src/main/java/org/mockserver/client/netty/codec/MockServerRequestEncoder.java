@@ -13,6 +13,10 @@ import org.mockserver.mappers.ContentTypeMapper;
 import org.mockserver.model.*;
 import org.mockserver.model.HttpRequest;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
@@ -66,7 +70,10 @@ public class MockServerRequestEncoder extends MessageToMessageEncoder<OutboundHt
         ByteBuf content = Unpooled.buffer(0, 0);
 
         Body body = httpRequest.getBody();
-        if (body != null) {
+        if (body instanceof SpilledContent) {
+            // map the spilled file rather than reading the body onto the heap
+            content = mapSpilledBody(((SpilledContent) body).getFile());
+        } else if (body != null) {
             Object bodyContents = body.getValue();
             Charset bodyCharset = body.getCharset(ContentTypeMapper.determineCharsetForMessage(httpRequest));
             if (bodyContents instanceof byte[]) {
@@ -80,6 +87,23 @@ public class MockServerRequestEncoder extends MessageToMessageEncoder<OutboundHt
         return content;
     }
 
+    private ByteBuf mapSpilledBody(File file) {
+        if (!file.exists()) {
+            return Unpooled.buffer(0, 0);
+        }
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                // the mapping stays valid once the file is closed
+                return Unpooled.wrappedBuffer(randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length()));
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException ioe) {
+            throw new RuntimeException("Exception while reading request body from " + file, ioe);
+        }
+    }
+
     private void setCookies(HttpRequest httpRequest, FullHttpRequest request) {
         List<Cookie> cookies = new ArrayList<Cookie>();
         for (org.mockserver.model.Cookie cookie : httpRequest.getCookies()) {
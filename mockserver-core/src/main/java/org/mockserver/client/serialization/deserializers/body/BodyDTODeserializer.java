@@ -8,6 +8,7 @@ import com.google.common.net.MediaType;
 import org.mockserver.client.serialization.Base64Converter;
 import org.mockserver.client.serialization.ObjectMapperFactory;
 import org.mockserver.client.serialization.model.*;
+import org.mockserver.matchers.BinaryMatchType;
 import org.mockserver.matchers.MatchType;
 import org.mockserver.model.*;
 import org.slf4j.Logger;
@@ -56,7 +57,7 @@ public class BodyDTODeserializer extends StdDeserializer<BodyDTO> {
         boolean not = false;
         MediaType contentType = null;
         Charset charset = null;
-        MatchType matchType = JsonBody.DEFAULT_MATCH_TYPE;
+        String matchTypeValue = null;
         List<Parameter> parameters = new ArrayList<Parameter>();
         if (currentToken == JsonToken.START_OBJECT) {
             while (jsonParser.getCurrentToken() != JsonToken.END_OBJECT) {
@@ -85,11 +86,7 @@ public class BodyDTODeserializer extends StdDeserializer<BodyDTO> {
                 }
                 if (jsonParser.getCurrentToken() == JsonToken.FIELD_NAME && jsonParser.getText().equalsIgnoreCase("matchType")) {
                     jsonParser.nextToken();
-                    try {
-                        matchType = MatchType.valueOf(jsonParser.getText());
-                    } catch (IllegalArgumentException iae) {
-                        logger.warn("Ignoring incorrect JsonBodyMatchType with value \"" + jsonParser.getText() + "\"");
-                    }
+                    matchTypeValue = jsonParser.getText();
                 }
                 if (jsonParser.getCurrentToken() == JsonToken.FIELD_NAME && jsonParser.getText().equalsIgnoreCase("contentType")) {
                     jsonParser.nextToken();
@@ -168,6 +165,14 @@ public class BodyDTODeserializer extends StdDeserializer<BodyDTO> {
                     case REGEX:
                         return new RegexBodyDTO(new RegexBody(valueJsonValue), not);
                     case JSON:
+                        MatchType matchType = JsonBody.DEFAULT_MATCH_TYPE;
+                        if (matchTypeValue != null) {
+                            try {
+                                matchType = MatchType.valueOf(matchTypeValue);
+                            } catch (IllegalArgumentException iae) {
+                                logger.warn("Ignoring incorrect JsonBodyMatchType with value \"" + matchTypeValue + "\"");
+                            }
+                        }
                         if (contentType != null) {
                             return new JsonBodyDTO(new JsonBody(valueJsonValue, contentType, matchType), not);
                         } else if (charset != null) {
@@ -188,11 +193,15 @@ public class BodyDTODeserializer extends StdDeserializer<BodyDTO> {
                             return new XmlBodyDTO(new XmlBody(valueJsonValue), not);
                         }
                     case BINARY:
-                        if (contentType != null) {
-                            return new BinaryBodyDTO(new BinaryBody(Base64Converter.base64StringToBytes(valueJsonValue), contentType), not);
-                        } else {
-                            return new BinaryBodyDTO(new BinaryBody(Base64Converter.base64StringToBytes(valueJsonValue)), not);
+                        BinaryMatchType binaryMatchType = BinaryBody.DEFAULT_MATCH_TYPE;
+                        if (matchTypeValue != null) {
+                            try {
+                                binaryMatchType = BinaryMatchType.valueOf(matchTypeValue);
+                            } catch (IllegalArgumentException iae) {
+                                logger.warn("Ignoring incorrect BinaryMatchType with value \"" + matchTypeValue + "\"");
+                            }
                         }
+                        return new BinaryBodyDTO(new BinaryBody(Base64Converter.base64StringToBytes(valueJsonValue), contentType, binaryMatchType), not);
                     case PARAMETERS:
                         return new ParameterBodyDTO(new ParameterBody(parameters), not);
                 }
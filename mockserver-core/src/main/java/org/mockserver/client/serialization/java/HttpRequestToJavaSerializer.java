@@ -85,7 +85,11 @@ public class HttpRequestToJavaSerializer implements ToJavaSerializer<HttpRequest
                 } else if (httpRequest.getBody() instanceof BinaryBody) {
                     appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output);
                     BinaryBody body = (BinaryBody) httpRequest.getBody();
-                    output.append(".withBody(Base64Converter.base64StringToBytes(\"").append(Base64Converter.bytesToBase64String(body.getRawBytes())).append("\"))");
+                    if (body.getMatchType() != BinaryBody.DEFAULT_MATCH_TYPE) {
+                        output.append(".withBody(new BinaryBody(Base64Converter.base64StringToBytes(\"").append(Base64Converter.bytesToBase64String(body.getRawBytes())).append("\"), null, BinaryMatchType.").append(body.getMatchType()).append("))");
+                    } else {
+                        output.append(".withBody(Base64Converter.base64StringToBytes(\"").append(Base64Converter.bytesToBase64String(body.getRawBytes())).append("\"))");
+                    }
                 }
             }
         }
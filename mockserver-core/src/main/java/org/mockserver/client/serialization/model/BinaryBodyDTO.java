@@ -1,6 +1,7 @@
 package org.mockserver.client.serialization.model;
 
 import com.google.common.net.MediaType;
+import org.mockserver.matchers.BinaryMatchType;
 import org.mockserver.model.BinaryBody;
 
 import javax.xml.bind.DatatypeConverter;
@@ -11,6 +12,7 @@ import javax.xml.bind.DatatypeConverter;
 public class BinaryBodyDTO extends BodyDTO {
 
     private String value;
+    private BinaryMatchType matchType;
 
     public BinaryBodyDTO(BinaryBody binaryBody) {
         this(binaryBody, false);
@@ -21,6 +23,7 @@ public class BinaryBodyDTO extends BodyDTO {
         if (binaryBody.getValue() != null && binaryBody.getValue().length > 0) {
             value = DatatypeConverter.printBase64Binary(binaryBody.getValue());
         }
+        matchType = binaryBody.getMatchType();
     }
 
     protected BinaryBodyDTO() {
@@ -30,7 +33,11 @@ public class BinaryBodyDTO extends BodyDTO {
         return value;
     }
 
+    public BinaryMatchType getMatchType() {
+        return matchType;
+    }
+
     public BinaryBody buildObject() {
-        return new BinaryBody(DatatypeConverter.parseBase64Binary(value), (contentType != null ? MediaType.parse(contentType) : null));
+        return new BinaryBody(DatatypeConverter.parseBase64Binary(value), (contentType != null ? MediaType.parse(contentType) : null), matchType);
     }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.mockserver.client.serialization.model.BinaryBodyDTO;
+import org.mockserver.model.BinaryBody;
 
 import java.io.IOException;
 
@@ -24,6 +25,9 @@ public class BinaryBodyDTOSerializer extends StdSerializer<BinaryBodyDTO> {
         }
         jgen.writeStringField("type", binaryBodyDTO.getType().name());
         jgen.writeStringField("value", binaryBodyDTO.getValue());
+        if (binaryBodyDTO.getMatchType() != null && binaryBodyDTO.getMatchType() != BinaryBody.DEFAULT_MATCH_TYPE) {
+            jgen.writeStringField("matchType", binaryBodyDTO.getMatchType().name());
+        }
         jgen.writeEndObject();
     }
 }
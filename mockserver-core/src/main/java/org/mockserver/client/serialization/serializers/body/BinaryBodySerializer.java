@@ -25,6 +25,9 @@ public class BinaryBodySerializer extends StdSerializer<BinaryBody> {
         }
         jgen.writeStringField("type", binaryBody.getType().name());
         jgen.writeStringField("value", binaryBody.toString());
+        if (binaryBody.getMatchType() != null && binaryBody.getMatchType() != BinaryBody.DEFAULT_MATCH_TYPE) {
+            jgen.writeStringField("matchType", binaryBody.getMatchType().name());
+        }
         jgen.writeEndObject();
     }
 }
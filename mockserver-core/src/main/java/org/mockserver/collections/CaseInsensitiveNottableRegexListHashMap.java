@@ -8,7 +8,8 @@ import java.util.*;
 import static org.mockserver.model.NottableString.string;
 
 /**
- * Map that uses case insensitive regex expression matching for keys and values
+ * Map that uses case insensitive regex expression matching for keys and values, the keys of the map are the
+ * expectation's names so are compiled once and reused, the key looked up is never cached
  *
  * @author jamesdbloom
  */
@@ -23,7 +24,7 @@ class CaseInsensitiveNottableRegexListHashMap extends LinkedHashMap<NottableStri
                 result = true;
             } else {
                 for (NottableString keyToCompare : keySet()) {
-                    if (RegexStringMatcher.matches((NottableString) key, keyToCompare, true)) {
+                    if (RegexStringMatcher.matches(keyToCompare, (NottableString) key, true)) {
                         result = true;
                         break;
                     }
@@ -40,7 +41,7 @@ class CaseInsensitiveNottableRegexListHashMap extends LinkedHashMap<NottableStri
     public synchronized List<NottableString> get(Object key) {
         if (key instanceof NottableString) {
             for (Entry<NottableString, List<NottableString>> entry : entrySet()) {
-                if (RegexStringMatcher.matches((NottableString) key, entry.getKey(), true)) {
+                if (RegexStringMatcher.matches(entry.getKey(), (NottableString) key, true)) {
                     return entry.getValue();
                 }
             }
@@ -54,7 +55,7 @@ class CaseInsensitiveNottableRegexListHashMap extends LinkedHashMap<NottableStri
         List<List<NottableString>> values = new ArrayList<List<NottableString>>();
         if (key instanceof NottableString) {
             for (Entry<NottableString, List<NottableString>> entry : entrySet()) {
-                if (RegexStringMatcher.matches((NottableString) key, entry.getKey(), true)) {
+                if (RegexStringMatcher.matches(entry.getKey(), (NottableString) key, true)) {
                     values.add(entry.getValue());
                 }
             }
@@ -73,7 +74,7 @@ class CaseInsensitiveNottableRegexListHashMap extends LinkedHashMap<NottableStri
         List<NottableString> values = new ArrayList<NottableString>();
         if (key instanceof NottableString) {
             for (Entry<NottableString, List<NottableString>> entry : new HashSet<Map.Entry<NottableString, List<NottableString>>>(entrySet())) {
-                if (RegexStringMatcher.matches((NottableString) key, entry.getKey(), true)) {
+                if (RegexStringMatcher.matches(entry.getKey(), (NottableString) key, true)) {
                     values.addAll(super.remove(entry.getKey()));
                 }
             }
@@ -0,0 +1,164 @@
+package org.mockserver.collections;
+
+import org.mockserver.matchers.RegexPattern;
+import org.mockserver.model.KeyToMultiValue;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+
+/**
+ * Read only multimap of the headers, parameters or cookies of a single request, entries with a literal name are
+ * indexed by their lower case name so a literal name is found without comparing every entry, entries with
+ * a regex or not name could match any name so are held separately and are always candidates
+ *
+ * As the map is never modified after it is built it can be read by any number of threads without locking
+ *
+ * @author jamesdbloom
+ */
+public class ImmutableCaseInsensitiveMultiMap {
+    private static final ImmutableCaseInsensitiveMultiMap EMPTY = new ImmutableCaseInsensitiveMultiMap(Collections.<Entry>emptyList());
+    private final List<Entry> entries;
+    private final Map<String, List<Entry>> literalNameEntries;
+    private final List<Entry> nonLiteralNameEntries;
+
+    public ImmutableCaseInsensitiveMultiMap(List<? extends KeyToMultiValue> keyToMultiValues) {
+        this(toEntries(keyToMultiValues));
+    }
+
+    private ImmutableCaseInsensitiveMultiMap(Collection<Entry> entries) {
+        Map<String, List<Entry>> literalNameEntries = new HashMap<String, List<Entry>>();
+        List<Entry> nonLiteralNameEntries = new ArrayList<Entry>();
+        for (Entry entry : entries) {
+            NottableString name = entry.getKey();
+            if (isLiteral(name)) {
+                String lowerCaseName = toLowerCase(name.getValue());
+                List<Entry> nameEntries = literalNameEntries.get(lowerCaseName);
+                if (nameEntries == null) {
+                    nameEntries = new ArrayList<Entry>(1);
+                    literalNameEntries.put(lowerCaseName, nameEntries);
+                }
+                nameEntries.add(entry);
+            } else {
+                nonLiteralNameEntries.add(entry);
+            }
+        }
+        for (Map.Entry<String, List<Entry>> nameEntries : literalNameEntries.entrySet()) {
+            nameEntries.setValue(Collections.unmodifiableList(nameEntries.getValue()));
+        }
+        this.entries = Collections.unmodifiableList(new ArrayList<Entry>(entries));
+        this.literalNameEntries = literalNameEntries;
+        this.nonLiteralNameEntries = Collections.unmodifiableList(nonLiteralNameEntries);
+    }
+
+    /**
+     * Builds a multimap of the entries of a map, i.e. the cookies of a request, each name then has a single value
+     */
+    public static ImmutableCaseInsensitiveMultiMap fromMap(Map<NottableString, NottableString> map) {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (Map.Entry<NottableString, NottableString> entry : map.entrySet()) {
+            entries.add(new Entry(entry.getKey(), entry.getValue()));
+        }
+        return new ImmutableCaseInsensitiveMultiMap(entries);
+    }
+
+    private static List<Entry> toEntries(List<? extends KeyToMultiValue> keyToMultiValues) {
+        List<Entry> entries = new ArrayList<Entry>();
+        if (keyToMultiValues != null) {
+            for (KeyToMultiValue keyToMultiValue : keyToMultiValues) {
+                for (NottableString value : keyToMultiValue.getValues()) {
+                    entries.add(new Entry(keyToMultiValue.getName(), value));
+                }
+            }
+        }
+        return entries;
+    }
+
+    public static ImmutableCaseInsensitiveMultiMap emptyMultiMap() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns true if the name is neither a regex nor a not, so only matches names that are equal ignoring case
+     */
+    public static boolean isLiteral(NottableString name) {
+        return name != null && !name.isNot() && name.getValue() != null && RegexPattern.isLiteral(name.getValue());
+    }
+
+    /**
+     * Lower cases each character in the same way as {@link String#equalsIgnoreCase(String)} compares them so two
+     * names are equal ignoring case exactly when their lower case forms are equal
+     */
+    static String toLowerCase(String value) {
+        char[] characters = new char[value.length()];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return new String(characters);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public List<Entry> entryList() {
+        return entries;
+    }
+
+    /**
+     * Returns the entries whose literal name equals the name ignoring case
+     */
+    public List<Entry> getLiteralNameEntries(String name) {
+        List<Entry> nameEntries = literalNameEntries.get(toLowerCase(name));
+        return nameEntries != null ? nameEntries : Collections.<Entry>emptyList();
+    }
+
+    /**
+     * Returns the entries whose name is a regex or a not, these can match any name
+     */
+    public List<Entry> getNonLiteralNameEntries() {
+        return nonLiteralNameEntries;
+    }
+
+    @Override
+    public String toString() {
+        return entries.toString();
+    }
+
+    /**
+     * A name and value of the request, each is compiled as a regex at most once, when first matched against an
+     * expectation, so every expectation matched against the same request shares the compiled patterns, the patterns
+     * are never added to the shared pattern cache so request values cannot evict the patterns of expectations
+     */
+    public static class Entry extends AbstractMap.SimpleImmutableEntry<NottableString, NottableString> {
+        private volatile RegexPattern keyPattern;
+        private volatile RegexPattern valuePattern;
+
+        Entry(NottableString key, NottableString value) {
+            super(key, value);
+        }
+
+        /**
+         * Returns the compiled name or null if the name is null
+         */
+        public RegexPattern getKeyPattern() {
+            if (keyPattern == null) {
+                keyPattern = pattern(getKey());
+            }
+            return keyPattern;
+        }
+
+        /**
+         * Returns the compiled value or null if the value is null
+         */
+        public RegexPattern getValuePattern() {
+            if (valuePattern == null) {
+                valuePattern = pattern(getValue());
+            }
+            return valuePattern;
+        }
+
+        private static RegexPattern pattern(NottableString nottableString) {
+            return nottableString != null && nottableString.getValue() != null ? RegexPattern.uncached(nottableString.getValue()) : null;
+        }
+    }
+}
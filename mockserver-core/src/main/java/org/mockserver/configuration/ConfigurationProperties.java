@@ -24,6 +24,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class ConfigurationProperties {
 
     static final long DEFAULT_MAX_TIMEOUT = 120;
+    static final int DEFAULT_REQUEST_LOG_SIZE = 100;
+    static final int DEFAULT_REQUEST_RESPONSE_LOG_SIZE = 5000;
+    static final int DEFAULT_PERSISTENT_LOG_SEGMENT_SIZE = 64 * 1024 * 1024;
+    static final int DEFAULT_MAX_CONNECTIONS_PER_DESTINATION = 50;
+    static final long DEFAULT_CONNECTION_IDLE_TIMEOUT = 60;
+    static final int DEFAULT_ACTION_HANDLER_MAX_PENDING_TASKS = 1000;
+    static final int DEFAULT_REQUEST_BODY_SPILL_THRESHOLD = 1024 * 1024;
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationProperties.class);
     private static final Properties PROPERTIES = readPropertyFile();
 
@@ -61,6 +68,147 @@ public class ConfigurationProperties {
         System.setProperty("mockserver.maxSocketTimeout", "" + milliseconds);
     }
 
+    // transport config
+    public static String nettyTransport() {
+        return readPropertyHierarchically("mockserver.nettyTransport", "auto");
+    }
+
+    public static void nettyTransport(String transport) {
+        System.setProperty("mockserver.nettyTransport", transport);
+    }
+
+    public static int acceptorsPerPort() {
+        return Math.max(1, readIntProperty("mockserver.acceptorsPerPort", 1));
+    }
+
+    public static void acceptorsPerPort(int acceptors) {
+        System.setProperty("mockserver.acceptorsPerPort", "" + acceptors);
+    }
+
+    public static int bossThreadCount() {
+        return Math.max(0, readIntProperty("mockserver.bossThreadCount", 0));
+    }
+
+    public static void bossThreadCount(int threads) {
+        System.setProperty("mockserver.bossThreadCount", "" + threads);
+    }
+
+    public static int workerThreadCount() {
+        return Math.max(0, readIntProperty("mockserver.workerThreadCount", 0));
+    }
+
+    public static void workerThreadCount(int threads) {
+        System.setProperty("mockserver.workerThreadCount", "" + threads);
+    }
+
+    // action handler config
+    public static int actionHandlerThreadCount() {
+        return Math.max(0, readIntProperty("mockserver.actionHandlerThreadCount", 0));
+    }
+
+    public static void actionHandlerThreadCount(int threads) {
+        System.setProperty("mockserver.actionHandlerThreadCount", "" + threads);
+    }
+
+    public static int actionHandlerMaxPendingTasks() {
+        return Math.max(1, readIntProperty("mockserver.actionHandlerMaxPendingTasks", DEFAULT_ACTION_HANDLER_MAX_PENDING_TASKS));
+    }
+
+    public static void actionHandlerMaxPendingTasks(int tasks) {
+        System.setProperty("mockserver.actionHandlerMaxPendingTasks", "" + tasks);
+    }
+
+    // http client config
+    public static int maxConnectionsPerDestination() {
+        return Math.max(1, readIntProperty("mockserver.maxConnectionsPerDestination", DEFAULT_MAX_CONNECTIONS_PER_DESTINATION));
+    }
+
+    public static void maxConnectionsPerDestination(int connections) {
+        System.setProperty("mockserver.maxConnectionsPerDestination", "" + connections);
+    }
+
+    public static int maxPendingConnectionAcquires() {
+        return Math.max(1, readIntProperty("mockserver.maxPendingConnectionAcquires", Integer.MAX_VALUE));
+    }
+
+    public static void maxPendingConnectionAcquires(int acquires) {
+        System.setProperty("mockserver.maxPendingConnectionAcquires", "" + acquires);
+    }
+
+    public static long connectionIdleTimeout() {
+        return readLongProperty("mockserver.connectionIdleTimeout", TimeUnit.SECONDS.toMillis(DEFAULT_CONNECTION_IDLE_TIMEOUT));
+    }
+
+    public static void connectionIdleTimeout(long milliseconds) {
+        System.setProperty("mockserver.connectionIdleTimeout", "" + milliseconds);
+    }
+
+    // request config
+    public static int requestLogSize() {
+        return Math.max(1, readIntProperty("mockserver.requestLogSize", DEFAULT_REQUEST_LOG_SIZE));
+    }
+
+    public static void requestLogSize(int size) {
+        System.setProperty("mockserver.requestLogSize", "" + size);
+    }
+
+    public static int requestResponseLogSize() {
+        return Math.max(1, readIntProperty("mockserver.requestResponseLogSize", DEFAULT_REQUEST_RESPONSE_LOG_SIZE));
+    }
+
+    public static void requestResponseLogSize(int size) {
+        System.setProperty("mockserver.requestResponseLogSize", "" + size);
+    }
+
+    public static int maxRequestBodySize() {
+        return readIntProperty("mockserver.maxRequestBodySize", Integer.MAX_VALUE);
+    }
+
+    public static void maxRequestBodySize(int bytes) {
+        System.setProperty("mockserver.maxRequestBodySize", "" + bytes);
+    }
+
+    public static int requestBodySpillThreshold() {
+        return Math.max(0, readIntProperty("mockserver.requestBodySpillThreshold", DEFAULT_REQUEST_BODY_SPILL_THRESHOLD));
+    }
+
+    public static void requestBodySpillThreshold(int bytes) {
+        System.setProperty("mockserver.requestBodySpillThreshold", "" + bytes);
+    }
+
+    public static String requestBodySpillDirectory() {
+        return readPropertyHierarchically("mockserver.requestBodySpillDirectory", System.getProperty("java.io.tmpdir"));
+    }
+
+    public static void requestBodySpillDirectory(String directory) {
+        System.setProperty("mockserver.requestBodySpillDirectory", directory);
+    }
+
+    // persistent log config
+    public static String persistentLogDirectory() {
+        return readPropertyHierarchically("mockserver.persistentLogDirectory", "");
+    }
+
+    public static void persistentLogDirectory(String directory) {
+        System.setProperty("mockserver.persistentLogDirectory", directory);
+    }
+
+    public static int persistentLogSegmentSize() {
+        return Math.max(1024, readIntProperty("mockserver.persistentLogSegmentSize", DEFAULT_PERSISTENT_LOG_SEGMENT_SIZE));
+    }
+
+    public static void persistentLogSegmentSize(int bytes) {
+        System.setProperty("mockserver.persistentLogSegmentSize", "" + bytes);
+    }
+
+    public static long persistentLogSegmentMaxAge() {
+        return readLongProperty("mockserver.persistentLogSegmentMaxAge", TimeUnit.HOURS.toMillis(1));
+    }
+
+    public static void persistentLogSegmentMaxAge(long milliseconds) {
+        System.setProperty("mockserver.persistentLogSegmentMaxAge", "" + milliseconds);
+    }
+
     // ssl config
     public static String javaKeyStoreFilePath() {
         return readPropertyHierarchically("mockserver.javaKeyStoreFilePath", SSLFactory.defaultKeyStoreFileName());
@@ -195,6 +343,15 @@ public class ConfigurationProperties {
         }
     }
 
+    private static int readIntProperty(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(readPropertyHierarchically(key, "" + defaultValue));
+        } catch (NumberFormatException nfe) {
+            LOGGER.error("NumberFormatException converting " + key + " with value [" + readPropertyHierarchically(key, "" + defaultValue) + "]", nfe);
+            return defaultValue;
+        }
+    }
+
     private static Long readLongProperty(String key, long defaultValue) {
         try {
             return Long.parseLong(readPropertyHierarchically(key, "" + defaultValue));
@@ -0,0 +1,422 @@
+package org.mockserver.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.MediaType;
+import io.netty.util.internal.PlatformDependent;
+import org.mockserver.client.serialization.ObjectMapperFactory;
+import org.mockserver.client.serialization.model.HttpRequestDTO;
+import org.mockserver.client.serialization.model.HttpResponseDTO;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.BinaryBody;
+import org.mockserver.model.Body;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.SpilledContent;
+import org.mockserver.model.StringBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.mockserver.mappers.ContentTypeMapper.DEFAULT_HTTP_CHARACTER_SET;
+
+/**
+ * Append only log of requests, and optionally their responses, written to memory mapped segment files so the log is
+ * not limited by the heap, a new segment is started when a record does not fit in the current segment or the current
+ * segment is older than the maximum age
+ *
+ * Each record is a binary header of length, sequence and timestamp followed by the request and response as JSON, the
+ * log is read by decoding one record at a time so scanning the log never holds more than the current record on the
+ * heap, each segment stays mapped once written so scans reuse the same mapping until the log is closed or reset
+ *
+ * A request body spilled to a file is not part of the request's JSON, its bytes are copied from the file straight into
+ * the segment after the JSON so appending never reads the body onto the heap or encodes it as base64, the JSON holds
+ * an empty string body with the body's content type in its place
+ *
+ * Records are never rewritten, clearing requests records the matcher and records received before it that match it
+ * are skipped when the log is read, resetting deletes the segment files
+ *
+ * @author jamesdbloom
+ */
+public class PersistentLog implements RequestLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistentLog.class);
+    private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+    // length, sequence, timestamp, request length, spilled body length and response length
+    private static final int HEADER_SIZE = 4 + 8 + 8 + 4 + 4 + 4;
+    private static final int NO_RESPONSE = -1;
+    private static final int NO_SPILLED_BODY = -1;
+    private static final byte SPILLED_STRING_BODY = 0;
+    private static final byte SPILLED_BINARY_BODY = 1;
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.createObjectMapper();
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder();
+    private final File directory;
+    private final int segmentSize;
+    private final long segmentMaxAge;
+    private final List<Segment> segments = new ArrayList<Segment>();
+    private final List<ClearedRequests> clearedRequests = new CopyOnWriteArrayList<ClearedRequests>();
+    // scans hold the read lock while reading mapped segments, unmapping segments takes the write lock
+    private final ReadWriteLock mappingsLock = new ReentrantReadWriteLock();
+    private int nextSegmentIndex = 0;
+    private long nextSequence = 0;
+    private Segment activeSegment;
+    private MappedByteBuffer activeBuffer;
+
+    public PersistentLog(File directory, int segmentSize, long segmentMaxAge) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segmentMaxAge = segmentMaxAge;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Exception creating persistent log directory [" + directory.getAbsolutePath() + "]");
+        }
+    }
+
+    /**
+     * Returns a log in a new directory for this name below the configured persistent log directory, or null if no
+     * persistent log directory is configured, each log has its own directory so logs never share segment files
+     */
+    public static PersistentLog createIfEnabled(String name) {
+        String persistentLogDirectory = ConfigurationProperties.persistentLogDirectory();
+        if (persistentLogDirectory.isEmpty()) {
+            return null;
+        } else {
+            File directory = new File(persistentLogDirectory, name + "-" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet());
+            logger.info("Writing " + name + " to persistent log in [" + directory.getAbsolutePath() + "]");
+            return new PersistentLog(directory, ConfigurationProperties.persistentLogSegmentSize(), ConfigurationProperties.persistentLogSegmentMaxAge());
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void append(HttpRequest httpRequest) {
+        append(httpRequest, null);
+    }
+
+    public void append(HttpRequest httpRequest, HttpResponse httpResponse) {
+        try {
+            SpilledContent spilledBody = httpRequest.getBody() instanceof SpilledContent ? (SpilledContent) httpRequest.getBody() : null;
+            byte[] request = objectMapper.writeValueAsBytes(new HttpRequestDTO(spilledBody != null ? withoutSpilledBody(httpRequest) : httpRequest));
+            byte[] response = httpResponse != null ? objectMapper.writeValueAsBytes(new HttpResponseDTO(httpResponse)) : null;
+            append(request, spilledBody, response, System.currentTimeMillis());
+        } catch (IOException ioe) {
+            logger.error("Exception writing request to persistent log [" + directory.getAbsolutePath() + "]", ioe);
+        }
+    }
+
+    /**
+     * Returns a copy of the request with an empty string body of the same content type in place of the spilled body
+     */
+    private static HttpRequest withoutSpilledBody(HttpRequest httpRequest) {
+        String contentType = httpRequest.getBody().getContentType();
+        return new HttpRequest()
+                .withMethod(httpRequest.getMethod())
+                .withPath(httpRequest.getPath())
+                .withQueryStringParameters(httpRequest.getQueryStringParameters())
+                .withHeaders(httpRequest.getHeaders())
+                .withCookies(httpRequest.getCookies())
+                .withKeepAlive(httpRequest.isKeepAlive())
+                .withSecure(httpRequest.isSecure())
+                .withBody(new StringBody("", contentType != null ? MediaType.parse(contentType) : null));
+    }
+
+    private synchronized void append(byte[] request, SpilledContent spilledBody, byte[] response, long timestamp) throws IOException {
+        int spilledBodySize = spilledBody != null ? 1 + (int) spilledBody.getLength() : 0;
+        int recordSize = HEADER_SIZE + request.length + spilledBodySize + (response != null ? response.length : 0);
+        if (activeSegment == null || activeBuffer.remaining() < recordSize || timestamp - activeSegment.created >= segmentMaxAge) {
+            startSegment(recordSize, timestamp);
+        }
+        int recordStart = activeBuffer.position();
+        activeBuffer.putInt(recordSize - 4);
+        activeBuffer.putLong(nextSequence);
+        activeBuffer.putLong(timestamp);
+        activeBuffer.putInt(request.length);
+        activeBuffer.put(request);
+        if (spilledBody != null) {
+            try {
+                int written = writeSpilledBody(spilledBody);
+                // the file is shorter than recorded if it was deleted once its request was no longer referenced
+                activeBuffer.putInt(recordStart, recordSize - 4 - (spilledBodySize - 1 - written));
+            } catch (IOException ioe) {
+                activeBuffer.position(recordStart);
+                throw ioe;
+            }
+        } else {
+            activeBuffer.putInt(NO_SPILLED_BODY);
+        }
+        if (response != null) {
+            activeBuffer.putInt(response.length);
+            activeBuffer.put(response);
+        } else {
+            activeBuffer.putInt(NO_RESPONSE);
+        }
+        nextSequence++;
+        activeSegment.length = activeBuffer.position();
+    }
+
+    /**
+     * Copies the spilled body from its file into the active segment through a file channel, so the body is never read
+     * onto the heap, and returns the number of bytes copied
+     */
+    private int writeSpilledBody(SpilledContent spilledBody) throws IOException {
+        int lengthPosition = activeBuffer.position();
+        activeBuffer.putInt(0);
+        activeBuffer.put(spilledBody instanceof BinaryBody ? SPILLED_BINARY_BODY : SPILLED_STRING_BODY);
+        int bodyStart = activeBuffer.position();
+        int limit = activeBuffer.limit();
+        activeBuffer.limit(bodyStart + (int) spilledBody.getLength());
+        ReadableByteChannel channel = Channels.newChannel(spilledBody.openStream());
+        try {
+            while (activeBuffer.hasRemaining() && channel.read(activeBuffer) != -1) {
+                // keep reading until the body is copied or the file ends
+            }
+        } finally {
+            channel.close();
+            activeBuffer.limit(limit);
+        }
+        int written = activeBuffer.position() - bodyStart;
+        activeBuffer.putInt(lengthPosition, written);
+        return written;
+    }
+
+    private void startSegment(int recordSize, long timestamp) throws IOException {
+        closeActiveSegment();
+        File file = new File(directory, String.format("segment-%010d.log", nextSegmentIndex++));
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            activeBuffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, recordSize));
+        } finally {
+            // the mapping remains valid after the file is closed
+            randomAccessFile.close();
+        }
+        activeSegment = new Segment(file, timestamp, activeBuffer);
+        segments.add(activeSegment);
+    }
+
+    private void closeActiveSegment() {
+        if (activeBuffer != null) {
+            activeBuffer.force();
+            activeBuffer = null;
+            activeSegment = null;
+        }
+    }
+
+    private void unmapSegments() {
+        for (Segment segment : segments) {
+            if (segment.buffer != null) {
+                PlatformDependent.freeDirectBuffer(segment.buffer);
+                segment.buffer = null;
+            }
+        }
+    }
+
+    /**
+     * Skips requests already in the log that match the request matcher when the log is read
+     */
+    public synchronized void clear(HttpRequest httpRequest) {
+        clearedRequests.add(new ClearedRequests(nextSequence, matcherBuilder.transformsToMatcher(httpRequest)));
+    }
+
+    /**
+     * Deletes every segment file and starts the log again
+     */
+    public void reset() {
+        mappingsLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                closeActiveSegment();
+                unmapSegments();
+                for (Segment segment : segments) {
+                    if (!segment.file.delete()) {
+                        logger.warn("Failed to delete persistent log segment [" + segment.file.getAbsolutePath() + "]");
+                    }
+                }
+                segments.clear();
+                clearedRequests.clear();
+            }
+        } finally {
+            mappingsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the active segment and unmaps every segment, the segment files are kept and are mapped again if the log
+     * is read after it is closed
+     */
+    public void close() {
+        mappingsLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                closeActiveSegment();
+                unmapSegments();
+            }
+        } finally {
+            mappingsLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<HttpRequest> find(HttpRequest httpRequestToMatch, final long fromTimestamp, final long toTimestamp, boolean logMatchResults) {
+        final List<HttpRequest> httpRequests = new ArrayList<HttpRequest>();
+        scan(httpRequestToMatch, logMatchResults, new RecordVisitor() {
+            @Override
+            public boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+                if (timestamp >= fromTimestamp && timestamp < toTimestamp) {
+                    httpRequests.add(httpRequest);
+                }
+                return true;
+            }
+        });
+        return httpRequests;
+    }
+
+    @Override
+    public void scan(HttpRequest httpRequestToMatch, RecordVisitor visitor) {
+        scan(httpRequestToMatch, false, visitor);
+    }
+
+    private void scan(HttpRequest httpRequestToMatch, boolean logMatchResults, RecordVisitor visitor) {
+        HttpRequestMatcher httpRequestMatcher = httpRequestToMatch != null ? matcherBuilder.transformsToMatcher(httpRequestToMatch) : null;
+        mappingsLock.readLock().lock();
+        try {
+            List<ByteBuffer> buffers;
+            synchronized (this) {
+                buffers = new ArrayList<ByteBuffer>(segments.size());
+                for (Segment segment : segments) {
+                    if (segment.length > 0) {
+                        try {
+                            buffers.add(segment.read());
+                        } catch (IOException ioe) {
+                            logger.error("Exception reading persistent log segment [" + segment.file.getAbsolutePath() + "]", ioe);
+                        }
+                    }
+                }
+            }
+            List<ClearedRequests> clearedRequests = new ArrayList<ClearedRequests>(this.clearedRequests);
+            for (ByteBuffer buffer : buffers) {
+                try {
+                    if (!scan(buffer, httpRequestMatcher, logMatchResults, clearedRequests, visitor)) {
+                        return;
+                    }
+                } catch (IOException ioe) {
+                    logger.error("Exception reading persistent log [" + directory.getAbsolutePath() + "]", ioe);
+                }
+            }
+        } finally {
+            mappingsLock.readLock().unlock();
+        }
+    }
+
+    private boolean scan(ByteBuffer buffer, HttpRequestMatcher httpRequestMatcher, boolean logMatchResults, List<ClearedRequests> clearedRequests, RecordVisitor visitor) throws IOException {
+        while (buffer.hasRemaining()) {
+            buffer.getInt();
+            long sequence = buffer.getLong();
+            long timestamp = buffer.getLong();
+            HttpRequest httpRequest = objectMapper.readValue(read(buffer, buffer.getInt()), HttpRequestDTO.class).buildObject();
+            int spilledBodyLength = buffer.getInt();
+            if (spilledBodyLength != NO_SPILLED_BODY) {
+                boolean binary = buffer.get() == SPILLED_BINARY_BODY;
+                httpRequest.withBody(spilledBody(httpRequest.getBody(), binary, read(buffer, spilledBodyLength)));
+            }
+            int responseLength = buffer.getInt();
+            if (isCleared(sequence, httpRequest, clearedRequests) || (httpRequestMatcher != null && !httpRequestMatcher.matches(httpRequest, logMatchResults))) {
+                buffer.position(buffer.position() + Math.max(responseLength, 0));
+            } else {
+                HttpResponse httpResponse = responseLength != NO_RESPONSE ? objectMapper.readValue(read(buffer, responseLength), HttpResponseDTO.class).buildObject() : null;
+                if (!visitor.visit(timestamp, httpRequest, httpResponse)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the body copied from a spilled file as an in memory body of the same kind and content type, the file
+     * itself may no longer exist when the log is read
+     */
+    private static Body spilledBody(Body placeholder, boolean binary, byte[] bytes) {
+        MediaType contentType = placeholder != null && placeholder.getContentType() != null ? MediaType.parse(placeholder.getContentType()) : null;
+        if (binary) {
+            return new BinaryBody(bytes, contentType);
+        } else {
+            Charset charset = contentType != null && contentType.charset().isPresent() ? contentType.charset().get() : DEFAULT_HTTP_CHARACTER_SET;
+            return new StringBody(new String(bytes, charset), contentType);
+        }
+    }
+
+    private static byte[] read(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static boolean isCleared(long sequence, HttpRequest httpRequest, List<ClearedRequests> clearedRequests) {
+        for (ClearedRequests cleared : clearedRequests) {
+            if (sequence < cleared.beforeSequence && cleared.httpRequestMatcher.matches(httpRequest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Segment {
+        private final File file;
+        private final long created;
+        private int length;
+        // the mapping written through while the segment is active, kept for reading until the log is closed or reset
+        private MappedByteBuffer buffer;
+
+        private Segment(File file, long created, MappedByteBuffer buffer) {
+            this.file = file;
+            this.created = created;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Returns a view of the records written so far, mapping the segment again if it was unmapped by closing the log
+         */
+        private ByteBuffer read() throws IOException {
+            if (buffer == null) {
+                RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                try {
+                    buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+                } finally {
+                    randomAccessFile.close();
+                }
+            }
+            ByteBuffer view = buffer.duplicate();
+            view.position(0);
+            view.limit(length);
+            return view;
+        }
+    }
+
+    private static class ClearedRequests {
+        private final long beforeSequence;
+        private final HttpRequestMatcher httpRequestMatcher;
+
+        private ClearedRequests(long beforeSequence, HttpRequestMatcher httpRequestMatcher) {
+            this.beforeSequence = beforeSequence;
+            this.httpRequestMatcher = httpRequestMatcher;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package org.mockserver.filters;
+
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.matchers.RegexPattern;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+
+/**
+ * Append only journal of the most recent requests held in a fixed size ring, once full each new request evicts the
+ * oldest, requests are indexed by method and path so a matcher with a literal method or path is only evaluated
+ * against the requests that could match, requests are recorded in time order so a time window is found by binary
+ * search
+ *
+ * Requests are recorded and copied out while locked, matching is always done outside the lock
+ *
+ * @author jamesdbloom
+ */
+public class RequestJournal implements RequestLog {
+
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder();
+    private final int capacity;
+    private final JournalEntry[] entries;
+    private final Index methodIndex = new Index();
+    private final Index pathIndex = new Index();
+    private int start = 0;
+    private int size = 0;
+    private long nextSequence = 0;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    public RequestJournal(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1 but was " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new JournalEntry[capacity];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public void add(HttpRequest httpRequest) {
+        add(httpRequest, System.currentTimeMillis());
+    }
+
+    synchronized void add(HttpRequest httpRequest, long timestamp) {
+        // timestamps never go backwards so the journal stays sorted by time even if the clock is adjusted
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        append(new JournalEntry(nextSequence++, lastTimestamp, httpRequest));
+    }
+
+    private void append(JournalEntry entry) {
+        if (size == capacity) {
+            JournalEntry evicted = entries[start];
+            methodIndex.evict(evicted, evicted.httpRequest.getMethod());
+            pathIndex.evict(evicted, evicted.httpRequest.getPath());
+            entries[start] = entry;
+            start = (start + 1) % capacity;
+        } else {
+            entries[(start + size) % capacity] = entry;
+            size++;
+        }
+        methodIndex.add(entry, entry.httpRequest.getMethod());
+        pathIndex.add(entry, entry.httpRequest.getPath());
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        methodIndex.clear();
+        pathIndex.clear();
+        start = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns every recorded request in the order they were received
+     */
+    public synchronized List<HttpRequest> getAll() {
+        List<HttpRequest> httpRequests = new ArrayList<HttpRequest>(size);
+        for (int i = 0; i < size; i++) {
+            httpRequests.add(get(i).httpRequest);
+        }
+        return httpRequests;
+    }
+
+    /**
+     * Returns the recorded requests matching the request matcher in the order they were received, all requests are
+     * returned if the request matcher is null
+     */
+    public List<HttpRequest> find(HttpRequest httpRequestToMatch, boolean logMatchResults) {
+        return find(httpRequestToMatch, Long.MIN_VALUE, Long.MAX_VALUE, logMatchResults);
+    }
+
+    /**
+     * Returns the recorded requests received at or after the from timestamp and before the to timestamp that match the
+     * request matcher in the order they were received, all requests in the time window are returned if the request
+     * matcher is null
+     */
+    public List<HttpRequest> find(HttpRequest httpRequestToMatch, long fromTimestamp, long toTimestamp) {
+        return find(httpRequestToMatch, fromTimestamp, toTimestamp, false);
+    }
+
+    @Override
+    public List<HttpRequest> find(HttpRequest httpRequestToMatch, long fromTimestamp, long toTimestamp, boolean logMatchResults) {
+        return matching(httpRequestToMatch, candidates(httpRequestToMatch, fromTimestamp, toTimestamp), logMatchResults);
+    }
+
+    @Override
+    public void scan(HttpRequest httpRequestToMatch, RecordVisitor visitor) {
+        HttpRequestMatcher httpRequestMatcher = httpRequestToMatch != null ? matcherBuilder.transformsToMatcher(httpRequestToMatch) : null;
+        for (JournalEntry candidate : candidates(httpRequestToMatch, Long.MIN_VALUE, Long.MAX_VALUE)) {
+            if (httpRequestMatcher == null || httpRequestMatcher.matches(candidate.httpRequest, false)) {
+                if (!visitor.visit(candidate.timestamp, candidate.httpRequest, null)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every recorded request matching the request matcher and returns the removed requests
+     */
+    public List<HttpRequest> remove(HttpRequest httpRequestToMatch) {
+        List<JournalEntry> candidates = candidates(httpRequestToMatch, Long.MIN_VALUE, Long.MAX_VALUE);
+        Set<Long> removedSequences = new HashSet<Long>();
+        List<HttpRequest> removedRequests = new ArrayList<HttpRequest>();
+        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequestToMatch);
+        for (JournalEntry candidate : candidates) {
+            if (httpRequestMatcher.matches(candidate.httpRequest, true)) {
+                removedSequences.add(candidate.sequence);
+                removedRequests.add(candidate.httpRequest);
+            }
+        }
+        if (!removedSequences.isEmpty()) {
+            removeSequences(removedSequences);
+        }
+        return removedRequests;
+    }
+
+    private synchronized void removeSequences(Set<Long> removedSequences) {
+        List<JournalEntry> remaining = new ArrayList<JournalEntry>(size);
+        for (int i = 0; i < size; i++) {
+            JournalEntry entry = get(i);
+            if (!removedSequences.contains(entry.sequence)) {
+                remaining.add(entry);
+            }
+        }
+        clear();
+        for (JournalEntry entry : remaining) {
+            append(entry);
+        }
+    }
+
+    private List<HttpRequest> matching(HttpRequest httpRequestToMatch, List<JournalEntry> candidates, boolean logMatchResults) {
+        List<HttpRequest> matchingRequests = new ArrayList<HttpRequest>();
+        if (httpRequestToMatch != null) {
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequestToMatch);
+            for (JournalEntry candidate : candidates) {
+                if (httpRequestMatcher.matches(candidate.httpRequest, logMatchResults)) {
+                    matchingRequests.add(candidate.httpRequest);
+                }
+            }
+        } else {
+            for (JournalEntry candidate : candidates) {
+                matchingRequests.add(candidate.httpRequest);
+            }
+        }
+        return matchingRequests;
+    }
+
+    /**
+     * Returns the entries in the time window that could match the request matcher in the order they were received,
+     * using whichever of the method or path index gives the fewest candidates
+     */
+    private synchronized List<JournalEntry> candidates(HttpRequest httpRequestToMatch, long fromTimestamp, long toTimestamp) {
+        int from = firstIndexAtOrAfter(fromTimestamp);
+        int to = firstIndexAtOrAfter(toTimestamp);
+        List<JournalEntry> candidates = new ArrayList<JournalEntry>();
+        if (from >= to) {
+            return candidates;
+        }
+        long fromSequence = get(from).sequence;
+        long toSequence = get(to - 1).sequence;
+
+        String method = null;
+        String path = null;
+        if (httpRequestToMatch != null && !httpRequestToMatch.isNot()) {
+            method = Index.indexKey(httpRequestToMatch.getMethod());
+            path = Index.indexKey(httpRequestToMatch.getPath());
+        }
+        int methodCandidates = method != null ? methodIndex.candidateCount(method) : Integer.MAX_VALUE;
+        int pathCandidates = path != null ? pathIndex.candidateCount(path) : Integer.MAX_VALUE;
+
+        if (methodCandidates == Integer.MAX_VALUE && pathCandidates == Integer.MAX_VALUE) {
+            for (int i = from; i < to; i++) {
+                candidates.add(get(i));
+            }
+        } else if (methodCandidates <= pathCandidates) {
+            methodIndex.addCandidates(candidates, method, fromSequence, toSequence);
+        } else {
+            pathIndex.addCandidates(candidates, path, fromSequence, toSequence);
+        }
+        return candidates;
+    }
+
+    private JournalEntry get(int index) {
+        return entries[(start + index) % capacity];
+    }
+
+    /**
+     * Binary search for the position of the oldest entry recorded at or after the timestamp, or size if there are none
+     */
+    private int firstIndexAtOrAfter(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (get(middle).timestamp < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static class JournalEntry {
+        private final long sequence;
+        private final long timestamp;
+        private final HttpRequest httpRequest;
+
+        private JournalEntry(long sequence, long timestamp, HttpRequest httpRequest) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.httpRequest = httpRequest;
+        }
+    }
+
+    /**
+     * Entries grouped by the exact value of a field, entries whose value is a regex or a not could match any matcher
+     * so are held separately and are always candidates, as entries are added and evicted in sequence order each group
+     * stays sorted by sequence and the evicted entry is always at the head of its group
+     */
+    private static class Index {
+        private final Map<String, ArrayDeque<JournalEntry>> literalValueEntries = new HashMap<String, ArrayDeque<JournalEntry>>();
+        private final ArrayDeque<JournalEntry> nonLiteralValueEntries = new ArrayDeque<JournalEntry>();
+
+        /**
+         * Returns the value if it can only ever match an equal value, otherwise null
+         */
+        private static String indexKey(NottableString value) {
+            if (value != null && !value.isNot() && value.getValue() != null && !value.getValue().isEmpty() && RegexPattern.isLiteral(value.getValue())) {
+                return value.getValue();
+            } else {
+                return null;
+            }
+        }
+
+        private void add(JournalEntry entry, NottableString value) {
+            String key = indexKey(value);
+            if (key != null) {
+                ArrayDeque<JournalEntry> valueEntries = literalValueEntries.get(key);
+                if (valueEntries == null) {
+                    valueEntries = new ArrayDeque<JournalEntry>();
+                    literalValueEntries.put(key, valueEntries);
+                }
+                valueEntries.addLast(entry);
+            } else {
+                nonLiteralValueEntries.addLast(entry);
+            }
+        }
+
+        private void evict(JournalEntry entry, NottableString value) {
+            String key = indexKey(value);
+            if (key != null) {
+                ArrayDeque<JournalEntry> valueEntries = literalValueEntries.get(key);
+                valueEntries.pollFirst();
+                if (valueEntries.isEmpty()) {
+                    literalValueEntries.remove(key);
+                }
+            } else {
+                nonLiteralValueEntries.pollFirst();
+            }
+        }
+
+        private void clear() {
+            literalValueEntries.clear();
+            nonLiteralValueEntries.clear();
+        }
+
+        private int candidateCount(String key) {
+            ArrayDeque<JournalEntry> valueEntries = literalValueEntries.get(key);
+            return (valueEntries != null ? valueEntries.size() : 0) + nonLiteralValueEntries.size();
+        }
+
+        /**
+         * Merges the entries with the value and the entries that could match any value in sequence order
+         */
+        private void addCandidates(List<JournalEntry> candidates, String key, long fromSequence, long toSequence) {
+            ArrayDeque<JournalEntry> valueEntries = literalValueEntries.get(key);
+            Iterator<JournalEntry> literal = valueEntries != null ? valueEntries.iterator() : Collections.<JournalEntry>emptyList().iterator();
+            Iterator<JournalEntry> nonLiteral = nonLiteralValueEntries.iterator();
+            JournalEntry nextLiteral = literal.hasNext() ? literal.next() : null;
+            JournalEntry nextNonLiteral = nonLiteral.hasNext() ? nonLiteral.next() : null;
+            while (nextLiteral != null || nextNonLiteral != null) {
+                JournalEntry next;
+                if (nextNonLiteral == null || (nextLiteral != null && nextLiteral.sequence < nextNonLiteral.sequence)) {
+                    next = nextLiteral;
+                    nextLiteral = literal.hasNext() ? literal.next() : null;
+                } else {
+                    next = nextNonLiteral;
+                    nextNonLiteral = nonLiteral.hasNext() ? nonLiteral.next() : null;
+                }
+                if (next.sequence > toSequence) {
+                    break;
+                } else if (next.sequence >= fromSequence) {
+                    candidates.add(next);
+                }
+            }
+        }
+    }
+}
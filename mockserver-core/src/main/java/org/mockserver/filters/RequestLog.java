@@ -0,0 +1,38 @@
+package org.mockserver.filters;
+
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.util.List;
+
+/**
+ * Read access to recorded requests, either the most recent requests held in memory or every request held in the
+ * persistent log, the request log filter reads recorded requests only through this so retrieval, verification and
+ * verification failure messages always see the same requests
+ *
+ * @author jamesdbloom
+ */
+public interface RequestLog {
+
+    /**
+     * Returns the recorded requests received at or after the from timestamp and before the to timestamp that match the
+     * request matcher in the order they were received, all requests in the time window are returned if the request
+     * matcher is null
+     */
+    List<HttpRequest> find(HttpRequest httpRequestToMatch, long fromTimestamp, long toTimestamp, boolean logMatchResults);
+
+    /**
+     * Reads the requests matching the request matcher, or every request if the request matcher is null, in the order
+     * they were received until the visitor returns false
+     */
+    void scan(HttpRequest httpRequestToMatch, RecordVisitor visitor);
+
+    interface RecordVisitor {
+
+        /**
+         * @param httpResponse the response or null if only the request was recorded
+         * @return false to stop reading the log
+         */
+        boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse);
+    }
+}
@@ -1,10 +1,11 @@
 package org.mockserver.filters;
 
-import com.google.common.collect.EvictingQueue;
 import org.mockserver.client.serialization.HttpRequestSerializer;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.LogFormatter;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.matchers.ParsedHttpRequest;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.verify.Verification;
@@ -13,9 +14,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * @author jamesdbloom
@@ -23,49 +28,153 @@ import java.util.List;
 public class RequestLogFilter implements ResponseFilter, RequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLogFilter.class);
+    // most recent requests serialised into a verification failure message, older requests are left out of the message
+    static final int MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE = 100;
     // request persistence
-    private final EvictingQueue<HttpRequest> requestLog = EvictingQueue.create(100);
+    private final RequestJournal requestLog;
+    // optional log of every request, used for retrieval and verification when enabled as it is not limited in size
+    private final PersistentLog persistentLog;
+    // every read of recorded requests goes through this, the persistent log when enabled otherwise the request log
+    private final RequestLog recordedRequests;
+    // counts of requests matching each registered verification, kept as requests are received
+    private final ConcurrentMap<HttpRequest, VerificationCounter> verificationCounters = new ConcurrentHashMap<HttpRequest, VerificationCounter>();
+    // recording takes the read lock so requests are recorded concurrently, registering, unregistering and clearing take the write lock
+    private final ReadWriteLock verificationCountersLock = new ReentrantReadWriteLock();
 
     // matcher
     private final MatcherBuilder matcherBuilder = new MatcherBuilder();
     private LogFormatter logFormatter = new LogFormatter(logger);
     private HttpRequestSerializer httpRequestSerializer = new HttpRequestSerializer();
 
+    public RequestLogFilter() {
+        this(ConfigurationProperties.requestLogSize());
+    }
+
+    public RequestLogFilter(int requestLogSize) {
+        this(requestLogSize, PersistentLog.createIfEnabled("requests"));
+    }
+
+    public RequestLogFilter(int requestLogSize, PersistentLog persistentLog) {
+        this.requestLog = new RequestJournal(requestLogSize);
+        this.persistentLog = persistentLog;
+        this.recordedRequests = persistentLog != null ? persistentLog : requestLog;
+    }
+
     @Override
-    public /* synchronized */ HttpResponse onResponse(HttpRequest httpRequest, HttpResponse httpResponse) {
+    public HttpResponse onResponse(HttpRequest httpRequest, HttpResponse httpResponse) {
         return httpResponse;
     }
 
     @Override
-    public /* synchronized */ HttpRequest onRequest(HttpRequest httpRequest) {
-        requestLog.add(httpRequest);
+    public HttpRequest onRequest(HttpRequest httpRequest) {
+        verificationCountersLock.readLock().lock();
+        try {
+            requestLog.add(httpRequest);
+            if (persistentLog != null) {
+                persistentLog.append(httpRequest);
+            }
+            if (!verificationCounters.isEmpty()) {
+                ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(httpRequest, true);
+                for (VerificationCounter verificationCounter : verificationCounters.values()) {
+                    verificationCounter.count(httpRequest, parsedHttpRequest);
+                }
+            }
+        } finally {
+            verificationCountersLock.readLock().unlock();
+        }
         return httpRequest;
     }
 
-    public /* synchronized */ List<HttpRequest> httpRequests(HttpRequest httpRequest) {
-        LinkedList<HttpRequest> requestLog = new LinkedList<HttpRequest>(this.requestLog);
+    /**
+     * Counts the requests matching the request matcher as they are received so verifying the request matcher only
+     * reads the count, requests already in the log (the persistent log when enabled) are counted when the request
+     * matcher is registered and requests evicted from the log are still counted
+     */
+    public void registerVerification(HttpRequest httpRequest) {
+        if (httpRequest != null) {
+            verificationCountersLock.writeLock().lock();
+            try {
+                if (!verificationCounters.containsKey(httpRequest)) {
+                    VerificationCounter verificationCounter = new VerificationCounter(matcherBuilder.transformsToMatcher(httpRequest));
+                    verificationCounter.count.set(count(httpRequest));
+                    verificationCounters.put(httpRequest, verificationCounter);
+                }
+            } finally {
+                verificationCountersLock.writeLock().unlock();
+            }
+        }
+    }
 
-        List<HttpRequest> httpRequests = new ArrayList<HttpRequest>();
-        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-        for (HttpRequest loggedHttpRequest : requestLog) {
-            if (httpRequestMatcher.matches(loggedHttpRequest)) {
-                httpRequests.add(loggedHttpRequest);
+    public void unregisterVerification(HttpRequest httpRequest) {
+        if (httpRequest != null) {
+            verificationCountersLock.writeLock().lock();
+            try {
+                verificationCounters.remove(httpRequest);
+            } finally {
+                verificationCountersLock.writeLock().unlock();
             }
         }
-        return httpRequests;
     }
 
-    public /* synchronized */ void reset() {
-        requestLog.clear();
+    public List<HttpRequest> httpRequests(HttpRequest httpRequest) {
+        return recordedRequests.find(httpRequest, Long.MIN_VALUE, Long.MAX_VALUE, false);
     }
 
-    public /* synchronized */ void clear(HttpRequest httpRequest) {
+    /**
+     * Unmaps the persistent log, if enabled, once requests are no longer received
+     */
+    public void close() {
+        if (persistentLog != null) {
+            persistentLog.close();
+        }
+    }
+
+    public void reset() {
+        verificationCountersLock.writeLock().lock();
+        try {
+            requestLog.clear();
+            if (persistentLog != null) {
+                persistentLog.reset();
+            }
+            for (VerificationCounter verificationCounter : verificationCounters.values()) {
+                verificationCounter.count.set(0);
+            }
+        } finally {
+            verificationCountersLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the requests matching the request matcher from the log and no longer counts them for registered
+     * verifications, a registered verification whose request is matched by the request matcher is set to zero so the
+     * requests it counted that have been evicted from the log are cleared too, other registered verifications only
+     * stop counting the cleared requests still in the log (the persistent log when enabled)
+     */
+    public void clear(HttpRequest httpRequest) {
         if (httpRequest != null) {
-            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-            for (HttpRequest value : new LinkedList<HttpRequest>(requestLog)) {
-                if (httpRequestMatcher.matches(value, true)) {
-                    requestLog.remove(value);
+            verificationCountersLock.writeLock().lock();
+            try {
+                List<HttpRequest> removedRequests = recordedRequests.find(httpRequest, Long.MIN_VALUE, Long.MAX_VALUE, false);
+                if (persistentLog != null) {
+                    persistentLog.clear(httpRequest);
                 }
+                requestLog.remove(httpRequest);
+                for (HttpRequest removedRequest : removedRequests) {
+                    ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(removedRequest, true);
+                    for (VerificationCounter verificationCounter : verificationCounters.values()) {
+                        if (verificationCounter.httpRequestMatcher.matches(removedRequest, parsedHttpRequest, false)) {
+                            verificationCounter.count.decrementAndGet();
+                        }
+                    }
+                }
+                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
+                for (Map.Entry<HttpRequest, VerificationCounter> verificationCounter : verificationCounters.entrySet()) {
+                    if (httpRequestMatcher.matches(verificationCounter.getKey(), false)) {
+                        verificationCounter.getValue().count.set(0);
+                    }
+                }
+            } finally {
+                verificationCountersLock.writeLock().unlock();
             }
         } else {
             reset();
@@ -73,92 +182,136 @@ public class RequestLogFilter implements ResponseFilter, RequestFilter {
     }
 
     public HttpRequest[] retrieve(HttpRequest httpRequestToMatch) {
-        LinkedList<HttpRequest> requestLog = new LinkedList<HttpRequest>(this.requestLog);
-
-        List<HttpRequest> matchingRequests = new ArrayList<HttpRequest>();
-        if (httpRequestToMatch != null) {
-            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequestToMatch);
-            for (HttpRequest httpRequest : requestLog) {
-                if (httpRequestMatcher.matches(httpRequest, true)) {
-                    matchingRequests.add(httpRequest);
-                }
-            }
-        } else {
-            for (HttpRequest httpRequest : requestLog) {
-                matchingRequests.add(httpRequest);
-            }
-        }
+        List<HttpRequest> matchingRequests = recordedRequests.find(httpRequestToMatch, Long.MIN_VALUE, Long.MAX_VALUE, true);
         return matchingRequests.toArray(new HttpRequest[matchingRequests.size()]);
     }
 
-    public String verify(Verification verification) {
-        LinkedList<HttpRequest> requestLog = new LinkedList<HttpRequest>(this.requestLog);
+    /**
+     * Returns the requests matching the request matcher received at or after the from timestamp and before the to
+     * timestamp, timestamps are in milliseconds since the epoch
+     */
+    public HttpRequest[] retrieve(HttpRequest httpRequestToMatch, long fromTimestamp, long toTimestamp) {
+        List<HttpRequest> matchingRequests = recordedRequests.find(httpRequestToMatch, fromTimestamp, toTimestamp, false);
+        return matchingRequests.toArray(new HttpRequest[matchingRequests.size()]);
+    }
 
+    public String verify(Verification verification) {
         String failureMessage = "";
 
         if (verification != null) {
-            List<HttpRequest> matchingRequests = new ArrayList<HttpRequest>();
+            int matchingRequests = 0;
             if (verification.getHttpRequest() != null) {
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verification.getHttpRequest());
-                for (HttpRequest httpRequest : requestLog) {
-                    if (httpRequestMatcher.matches(httpRequest, true)) {
-                        matchingRequests.add(httpRequest);
-                    }
+                VerificationCounter verificationCounter = verificationCounters.get(verification.getHttpRequest());
+                if (verificationCounter != null) {
+                    matchingRequests = verificationCounter.count.get();
+                } else {
+                    matchingRequests = recordedRequests.find(verification.getHttpRequest(), Long.MIN_VALUE, Long.MAX_VALUE, true).size();
                 }
             }
 
             boolean verified = true;
 
-            if (verification.getTimes().getCount() != 0 && matchingRequests.isEmpty()) {
+            if (verification.getTimes().getCount() != 0 && matchingRequests == 0) {
                 verified = false;
-            } else if (verification.getTimes().isExact() && matchingRequests.size() != verification.getTimes().getCount()) {
+            } else if (verification.getTimes().isExact() && matchingRequests != verification.getTimes().getCount()) {
                 verified = false;
-            } else if (matchingRequests.size() < verification.getTimes().getCount()) {
+            } else if (matchingRequests < verification.getTimes().getCount()) {
                 verified = false;
             }
 
             if (!verified) {
-                HttpRequest[] allRequestsArray = requestLog.toArray(new HttpRequest[requestLog.size()]);
+                List<HttpRequest> allRequests = requestLog.getAll();
+                List<HttpRequest> mostRecentRequests = mostRecentRequests(allRequests);
+                HttpRequest[] allRequestsArray = mostRecentRequests.toArray(new HttpRequest[mostRecentRequests.size()]);
                 String serializedRequestToBeVerified = httpRequestSerializer.serialize(verification.getHttpRequest());
                 String serializedAllRequestInLog = allRequestsArray.length == 1 ? httpRequestSerializer.serialize(allRequestsArray[0]) : httpRequestSerializer.serialize(allRequestsArray);
                 logFormatter.infoLog("request not found " + verification.getTimes() + ", expected:{}" + System.getProperty("line.separator") + " but was:{}", serializedRequestToBeVerified, serializedAllRequestInLog);
-                failureMessage = "Request not found " + verification.getTimes() + ", expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
+                failureMessage = "Request not found " + verification.getTimes() + ", expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">" + truncatedMessage(allRequests, mostRecentRequests);
             }
         }
 
         return failureMessage;
     }
 
-    public String verify(VerificationSequence verificationSequence) {
-        LinkedList<HttpRequest> requestLog = new LinkedList<HttpRequest>(this.requestLog);
+    /**
+     * Only the most recent requests in the request log are included in a failure message, never the persistent log
+     * which is not limited in size, so the message stays small however many requests have been received
+     */
+    private static List<HttpRequest> mostRecentRequests(List<HttpRequest> allRequests) {
+        return allRequests.subList(Math.max(0, allRequests.size() - MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE), allRequests.size());
+    }
+
+    private static String truncatedMessage(List<HttpRequest> allRequests, List<HttpRequest> mostRecentRequests) {
+        if (mostRecentRequests.size() < allRequests.size()) {
+            return " (truncated to the most recent " + mostRecentRequests.size() + " of " + allRequests.size() + " requests in the request log)";
+        } else {
+            return "";
+        }
+    }
+
+    private int count(HttpRequest httpRequest) {
+        final AtomicInteger count = new AtomicInteger();
+        recordedRequests.scan(httpRequest, new RequestLog.RecordVisitor() {
+            @Override
+            public boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+                count.incrementAndGet();
+                return true;
+            }
+        });
+        return count.get();
+    }
 
+    public String verify(VerificationSequence verificationSequence) {
         String failureMessage = "";
 
         if (verificationSequence != null) {
 
-            int requestLogCounter = 0;
-
+            final List<HttpRequestMatcher> httpRequestMatchers = new ArrayList<HttpRequestMatcher>();
             for (HttpRequest verificationHttpRequest : verificationSequence.getHttpRequests()) {
                 if (verificationHttpRequest != null) {
-                    HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verificationHttpRequest);
-                    boolean foundRequest = false;
-                    for (; !foundRequest && requestLogCounter < requestLog.size(); requestLogCounter++) {
-                        if (httpRequestMatcher.matches(requestLog.get(requestLogCounter), true)) {
-                            // move on to next request
-                            foundRequest = true;
+                    httpRequestMatchers.add(matcherBuilder.transformsToMatcher(verificationHttpRequest));
+                }
+            }
+
+            // each request is compared to the next request in the sequence only, so the sequence is verified in a single pass over the log
+            final AtomicInteger foundRequests = new AtomicInteger();
+            if (!httpRequestMatchers.isEmpty()) {
+                recordedRequests.scan(null, new RequestLog.RecordVisitor() {
+                    @Override
+                    public boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+                        if (httpRequestMatchers.get(foundRequests.get()).matches(httpRequest, true)) {
+                            foundRequests.incrementAndGet();
                         }
+                        return foundRequests.get() < httpRequestMatchers.size();
                     }
-                    if (!foundRequest) {
-                        String serializedRequestToBeVerified = httpRequestSerializer.serialize(verificationSequence.getHttpRequests());
-                        String serializedAllRequestInLog = httpRequestSerializer.serialize(requestLog);
-                        failureMessage = "Request sequence not found, expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
-                        logFormatter.infoLog("request sequence not found, expected:{}" + System.getProperty("line.separator") + " but was:{}", serializedRequestToBeVerified, serializedAllRequestInLog);
-                        break;
-                    }
-                }
+                });
+            }
+
+            if (foundRequests.get() < httpRequestMatchers.size()) {
+                String serializedRequestToBeVerified = httpRequestSerializer.serialize(verificationSequence.getHttpRequests());
+                List<HttpRequest> allRequests = requestLog.getAll();
+                List<HttpRequest> mostRecentRequests = mostRecentRequests(allRequests);
+                String serializedAllRequestInLog = httpRequestSerializer.serialize(mostRecentRequests);
+                failureMessage = "Request sequence not found, expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">" + truncatedMessage(allRequests, mostRecentRequests);
+                logFormatter.infoLog("request sequence not found, expected:{}" + System.getProperty("line.separator") + " but was:{}", serializedRequestToBeVerified, serializedAllRequestInLog);
             }
         }
 
         return failureMessage;
     }
+
+    private static class VerificationCounter {
+        private final HttpRequestMatcher httpRequestMatcher;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private VerificationCounter(HttpRequestMatcher httpRequestMatcher) {
+            this.httpRequestMatcher = httpRequestMatcher;
+        }
+
+        private void count(HttpRequest httpRequest, ParsedHttpRequest parsedHttpRequest) {
+            if (httpRequestMatcher.matches(httpRequest, parsedHttpRequest, false)) {
+                count.incrementAndGet();
+            }
+        }
+    }
 }
@@ -3,7 +3,7 @@ package org.mockserver.filters;
 import org.mockserver.client.serialization.ExpectationSerializer;
 import org.mockserver.client.serialization.HttpRequestSerializer;
 import org.mockserver.client.serialization.java.ExpectationToJavaSerializer;
-import org.mockserver.collections.CircularMultiMap;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.LogFormatter;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatcherBuilder;
@@ -16,9 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 
@@ -28,77 +26,134 @@ import static org.mockserver.model.HttpResponse.notFoundResponse;
 public class RequestResponseLogFilter implements ResponseFilter, RequestFilter {
 
     // request / response persistence
-    private final CircularMultiMap<HttpRequest, HttpResponse> requestResponseLog = new CircularMultiMap<HttpRequest, HttpResponse>(100, 50);
+    private final RequestResponseRingBuffer requestResponseLog;
+    // optional log of every exchange, used to find responses and dump exchanges when enabled as it is not limited in size
+    private final PersistentLog persistentLog;
     // matcher
     private final MatcherBuilder matcherBuilder = new MatcherBuilder();
     private Logger requestLogger = LoggerFactory.getLogger("REQUEST");
+    private ExpectationSerializer expectationSerializer = new ExpectationSerializer();
+    private ExpectationToJavaSerializer expectationToJavaSerializer = new ExpectationToJavaSerializer();
+
+    public RequestResponseLogFilter() {
+        this(PersistentLog.createIfEnabled("exchanges"));
+    }
+
+    public RequestResponseLogFilter(PersistentLog persistentLog) {
+        this(ConfigurationProperties.requestResponseLogSize(), persistentLog);
+    }
+
+    public RequestResponseLogFilter(int requestResponseLogSize, PersistentLog persistentLog) {
+        this.requestResponseLog = new RequestResponseRingBuffer(requestResponseLogSize);
+        this.persistentLog = persistentLog;
+    }
 
     @Override
-    public /* synchronized */ HttpResponse onResponse(HttpRequest httpRequest, HttpResponse httpResponse) {
-        if (httpRequest != null && httpResponse != null) {
-            requestResponseLog.put(httpRequest, httpResponse);
-        } else if (httpRequest != null) {
-            requestResponseLog.put(httpRequest, notFoundResponse());
+    public HttpResponse onResponse(HttpRequest httpRequest, HttpResponse httpResponse) {
+        if (httpRequest != null) {
+            requestResponseLog.record(httpRequest, httpResponse != null ? httpResponse : notFoundResponse());
+            if (persistentLog != null) {
+                persistentLog.append(httpRequest, httpResponse != null ? httpResponse : notFoundResponse());
+            }
         }
         return httpResponse;
     }
 
     @Override
-    public /* synchronized */ HttpRequest onRequest(HttpRequest httpRequest) {
+    public HttpRequest onRequest(HttpRequest httpRequest) {
         return httpRequest;
     }
 
-    public /* synchronized */ List<HttpResponse> httpResponses(HttpRequest httpRequest) {
-        List<HttpResponse> httpResponses = new ArrayList<HttpResponse>();
-        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-        for (HttpRequest loggedHttpRequest : new LinkedList<HttpRequest>(requestResponseLog.keySet())) {
-            if (httpRequestMatcher.matches(loggedHttpRequest)) {
-                httpResponses.addAll(requestResponseLog.getAll(loggedHttpRequest));
+    public List<HttpResponse> httpResponses(HttpRequest httpRequest) {
+        final List<HttpResponse> httpResponses = new ArrayList<HttpResponse>();
+        if (persistentLog != null) {
+            persistentLog.scan(httpRequest, new RequestLog.RecordVisitor() {
+                @Override
+                public boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+                    httpResponses.add(httpResponse);
+                    return true;
+                }
+            });
+        } else {
+            for (RequestResponseRingBuffer.Exchange exchange : exchanges(httpRequest, false)) {
+                httpResponses.add(exchange.getHttpResponse());
             }
         }
         return httpResponses;
     }
 
-    public /* synchronized */ void reset() {
-        requestResponseLog.clear();
-    }
-
-    public /* synchronized */ void clear(HttpRequest httpRequest) {
+    /**
+     * Returns the recorded exchanges whose request matches the request matcher in the order they were recorded, all
+     * exchanges are returned if the request matcher is null
+     */
+    public List<RequestResponseRingBuffer.Exchange> exchanges(HttpRequest httpRequest, boolean logMatchResults) {
+        List<RequestResponseRingBuffer.Exchange> exchanges = requestResponseLog.exchanges();
         if (httpRequest != null) {
             HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-            for (HttpRequest key : new LinkedList<HttpRequest>(requestResponseLog.keySet())) {
-                if (httpRequestMatcher.matches(key)) {
-                    requestResponseLog.removeAll(key);
+            List<RequestResponseRingBuffer.Exchange> matchingExchanges = new ArrayList<RequestResponseRingBuffer.Exchange>();
+            for (RequestResponseRingBuffer.Exchange exchange : exchanges) {
+                if (httpRequestMatcher.matches(exchange.getHttpRequest(), logMatchResults)) {
+                    matchingExchanges.add(exchange);
                 }
             }
+            return matchingExchanges;
         } else {
-            reset();
+            return exchanges;
+        }
+    }
+
+    /**
+     * Unmaps the persistent log, if enabled, once exchanges are no longer recorded
+     */
+    public void close() {
+        if (persistentLog != null) {
+            persistentLog.close();
         }
     }
 
-    public /* synchronized */ void dumpToLog(HttpRequest httpRequest, boolean asJava) {
-        ExpectationSerializer expectationSerializer = new ExpectationSerializer();
-        ExpectationToJavaSerializer expectationToJavaSerializer = new ExpectationToJavaSerializer();
+    public void reset() {
+        requestResponseLog.reset();
+        if (persistentLog != null) {
+            persistentLog.reset();
+        }
+    }
+
+    public void clear(HttpRequest httpRequest) {
         if (httpRequest != null) {
-            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(httpRequest);
-            for (Map.Entry<HttpRequest, HttpResponse> entry : requestResponseLog.entrySet()) {
-                if (httpRequestMatcher.matches(entry.getKey(), true)) {
-                    if (asJava) {
-                        requestLogger.warn(expectationToJavaSerializer.serializeAsJava(0, new Expectation(entry.getKey(), Times.once(), TimeToLive.unlimited()).thenRespond(entry.getValue())));
-                    } else {
-                        requestLogger.warn(expectationSerializer.serialize(new Expectation(entry.getKey(), Times.once(), TimeToLive.unlimited()).thenRespond(entry.getValue())));
-                    }
-                }
+            if (persistentLog != null) {
+                persistentLog.clear(httpRequest);
+            }
+            for (RequestResponseRingBuffer.Exchange exchange : exchanges(httpRequest, false)) {
+                exchange.remove();
             }
         } else {
-            for (Map.Entry<HttpRequest, HttpResponse> entry : requestResponseLog.entrySet()) {
-                if (asJava) {
-                    requestLogger.warn(expectationToJavaSerializer.serializeAsJava(0, new Expectation(entry.getKey(), Times.once(), TimeToLive.unlimited()).thenRespond(entry.getValue())));
-                } else {
-                    requestLogger.warn(expectationSerializer.serialize(new Expectation(entry.getKey(), Times.once(), TimeToLive.unlimited()).thenRespond(entry.getValue())));
+            reset();
+        }
+    }
+
+    public void dumpToLog(HttpRequest httpRequest, final boolean asJava) {
+        if (persistentLog != null) {
+            persistentLog.scan(httpRequest, new RequestLog.RecordVisitor() {
+                @Override
+                public boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+                    dumpToLog(httpRequest, httpResponse, asJava);
+                    return true;
                 }
+            });
+        } else {
+            for (RequestResponseRingBuffer.Exchange exchange : exchanges(httpRequest, true)) {
+                dumpToLog(exchange.getHttpRequest(), exchange.getHttpResponse(), asJava);
             }
         }
     }
 
+    private void dumpToLog(HttpRequest httpRequest, HttpResponse httpResponse, boolean asJava) {
+        Expectation expectation = new Expectation(httpRequest, Times.once(), TimeToLive.unlimited()).thenRespond(httpResponse);
+        if (asJava) {
+            requestLogger.warn(expectationToJavaSerializer.serializeAsJava(0, expectation));
+        } else {
+            requestLogger.warn(expectationSerializer.serialize(expectation));
+        }
+    }
+
 }
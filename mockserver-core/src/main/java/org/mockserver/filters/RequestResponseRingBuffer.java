@@ -0,0 +1,113 @@
+package org.mockserver.filters;
+
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size ring of the most recent request and response exchanges in the order they were recorded, each exchange
+ * is given the next sequence number which also decides its slot, so recording never hashes the request or takes a
+ * lock and once the ring is full each exchange overwrites the oldest
+ *
+ * Reading copies the exchanges whose slot still holds the expected sequence number, an exchange being overwritten
+ * while the ring is read is skipped rather than returned out of order
+ *
+ * @author jamesdbloom
+ */
+public class RequestResponseRingBuffer {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Exchange> exchanges;
+    private final AtomicLong nextSequence = new AtomicLong();
+    // exchanges with a lower sequence were removed by a reset
+    private final AtomicLong firstSequence = new AtomicLong();
+
+    public RequestResponseRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1 but was " + capacity);
+        }
+        this.capacity = capacity;
+        this.exchanges = new AtomicReferenceArray<Exchange>(capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void record(HttpRequest httpRequest, HttpResponse httpResponse) {
+        long sequence = nextSequence.getAndIncrement();
+        exchanges.set((int) (sequence % capacity), new Exchange(sequence, System.currentTimeMillis(), httpRequest, httpResponse));
+    }
+
+    /**
+     * Returns the exchanges still held in the ring in the order they were recorded
+     */
+    public List<Exchange> exchanges() {
+        long end = nextSequence.get();
+        long start = Math.max(firstSequence.get(), end - capacity);
+        List<Exchange> exchanges = new ArrayList<Exchange>((int) Math.max(0, end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Exchange exchange = this.exchanges.get((int) (sequence % capacity));
+            if (exchange != null && exchange.sequence == sequence && !exchange.removed) {
+                exchanges.add(exchange);
+            }
+        }
+        return exchanges;
+    }
+
+    /**
+     * Removes every exchange recorded so far
+     */
+    public void reset() {
+        long end = nextSequence.get();
+        long first;
+        do {
+            first = firstSequence.get();
+        } while (first < end && !firstSequence.compareAndSet(first, end));
+    }
+
+    public static class Exchange {
+        private final long sequence;
+        private final long timestamp;
+        private final HttpRequest httpRequest;
+        private final HttpResponse httpResponse;
+        private volatile boolean removed;
+
+        private Exchange(long sequence, long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.httpRequest = httpRequest;
+            this.httpResponse = httpResponse;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return the time the exchange was recorded in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public HttpRequest getHttpRequest() {
+            return httpRequest;
+        }
+
+        public HttpResponse getHttpResponse() {
+            return httpResponse;
+        }
+
+        /**
+         * Excludes this exchange from every later read of the ring
+         */
+        public void remove() {
+            removed = true;
+        }
+    }
+}
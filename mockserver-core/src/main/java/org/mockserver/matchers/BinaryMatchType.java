@@ -0,0 +1,9 @@
+package org.mockserver.matchers;
+
+/**
+ * @author jamesdbloom
+ */
+public enum BinaryMatchType {
+    EXACT,
+    CONTAINS
+}
@@ -3,6 +3,8 @@ package org.mockserver.matchers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 
 /**
@@ -10,16 +12,29 @@ import java.util.Arrays;
  */
 public class BinaryMatcher extends BodyMatcher<byte[]> {
     private static Logger logger = LoggerFactory.getLogger(BinaryMatcher.class);
+    private static final int STREAM_BUFFER_SIZE = 8192;
     private final byte[] matcher;
+    private final BinaryMatchType matchType;
+    private final int[] badCharacterShifts;
 
     public BinaryMatcher(byte[] matcher) {
+        this(matcher, BinaryMatchType.EXACT);
+    }
+
+    public BinaryMatcher(byte[] matcher, BinaryMatchType matchType) {
         this.matcher = matcher;
+        this.matchType = matchType != null ? matchType : BinaryMatchType.EXACT;
+        this.badCharacterShifts = this.matchType == BinaryMatchType.CONTAINS && matcher != null ? badCharacterShifts(matcher) : null;
     }
 
     public boolean matches(byte[] matched) {
         boolean result = false;
 
-        if (matcher == null || matcher.length == 0 || Arrays.equals(matcher, matched)) {
+        if (matcher == null || matcher.length == 0) {
+            result = true;
+        } else if (matchType == BinaryMatchType.CONTAINS) {
+            result = matched != null && indexOf(matched, matched.length) != -1;
+        } else if (Arrays.equals(matcher, matched)) {
             result = true;
         }
 
@@ -30,8 +45,92 @@ public class BinaryMatcher extends BodyMatcher<byte[]> {
         return reverseResultIfNot(result);
     }
 
+    /**
+     * Matches the request body shared by every matcher evaluated against the same request, a spilled body is streamed
+     * from its file for a contains match and is only read for an exact match when its length is the matcher's length
+     */
+    public boolean matchesParsedBody(ParsedHttpRequest parsedHttpRequest) {
+        if (matcher == null || matcher.length == 0 || !parsedHttpRequest.isBodySpilled()) {
+            return matches(matcher == null || matcher.length == 0 ? null : parsedHttpRequest.getBodyAsBytes());
+        } else if (matchType == BinaryMatchType.CONTAINS) {
+            boolean result = false;
+            try {
+                InputStream inputStream = parsedHttpRequest.getBodyAsStream();
+                try {
+                    result = containedIn(inputStream);
+                } finally {
+                    inputStream.close();
+                }
+            } catch (IOException ioe) {
+                logger.debug("Exception while streaming spilled body assuming no match", ioe);
+            }
+            if (!result) {
+                logger.trace("Failed to perform binary match against spilled body");
+            }
+            return reverseResultIfNot(result);
+        } else if (parsedHttpRequest.getBodyLength() != matcher.length) {
+            logger.trace("Failed to perform binary match against spilled body of different length");
+            return reverseResultIfNot(false);
+        } else {
+            return matches(parsedHttpRequest.getBodyAsBytes());
+        }
+    }
+
+    /**
+     * Searches the stream a buffer at a time keeping the end of each buffer that could be the start of a match
+     */
+    private boolean containedIn(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[Math.max(STREAM_BUFFER_SIZE, matcher.length * 2)];
+        int length = 0;
+        int read;
+        while ((read = inputStream.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (indexOf(buffer, length) != -1) {
+                return true;
+            }
+            int kept = Math.min(length, matcher.length - 1);
+            System.arraycopy(buffer, length - kept, buffer, 0, kept);
+            length = kept;
+        }
+        return false;
+    }
+
+    /**
+     * For each byte value the distance from its last position in the matcher (ignoring the last byte) to the end of
+     * the matcher, any byte not in the matcher allows the search to skip the whole length of the matcher
+     */
+    private static int[] badCharacterShifts(byte[] matcher) {
+        int[] shifts = new int[256];
+        Arrays.fill(shifts, matcher.length);
+        for (int i = 0; i < matcher.length - 1; i++) {
+            shifts[matcher[i] & 0xFF] = matcher.length - 1 - i;
+        }
+        return shifts;
+    }
+
+    /**
+     * Boyer-Moore-Horspool search for the matcher in the matched bytes, compares the end of the matcher first and
+     * skips forward based on the matched byte aligned with the end of the matcher, only the first length bytes of
+     * matched are searched
+     */
+    int indexOf(byte[] matched, int length) {
+        int last = matcher.length - 1;
+        int position = 0;
+        while (position <= length - matcher.length) {
+            int index = last;
+            while (matched[position + index] == matcher[index]) {
+                if (index == 0) {
+                    return position;
+                }
+                index--;
+            }
+            position += badCharacterShifts[matched[position + last] & 0xFF];
+        }
+        return -1;
+    }
+
     @Override
     public String[] fieldsExcludedFromEqualsAndHashCode() {
-        return new String[]{"logger"};
+        return new String[]{"logger", "badCharacterShifts"};
     }
 }
@@ -0,0 +1,52 @@
+package org.mockserver.matchers;
+
+import com.google.common.base.Strings;
+import org.mockserver.model.NottableString;
+
+/**
+ * A case sensitive RegexStringMatcher compiled for a single expectation value, the regex (or literal) classification and
+ * the matcher's 'not' operator are resolved once when the expectation is added so matching a request only compiles the
+ * matched value, once for each request, if it is itself a regex
+ *
+ * @author jamesdbloom
+ */
+public class CompiledStringMatcher {
+
+    private final String value;
+    private final boolean not;
+    private final boolean matchesAnything;
+    private final RegexPattern pattern;
+
+    private CompiledStringMatcher(NottableString matcher) {
+        this.value = matcher != null ? Strings.nullToEmpty(matcher.getValue()) : "";
+        this.not = matcher != null && matcher.isNot();
+        this.matchesAnything = value.isEmpty();
+        this.pattern = RegexPattern.compile(value);
+    }
+
+    public static CompiledStringMatcher compile(NottableString matcher) {
+        return new CompiledStringMatcher(matcher);
+    }
+
+    public boolean matches(NottableString matched) {
+        return matches(matched, matched.getValue() != null ? RegexPattern.uncached(matched.getValue()) : null);
+    }
+
+    /**
+     * @param matchedPattern the matched value compiled once for the request it came from, see ParsedHttpRequest
+     */
+    public boolean matches(NottableString matched, RegexPattern matchedPattern) {
+        return (not || matched.isNot()) != matches(matchedPattern);
+    }
+
+    private boolean matches(RegexPattern matched) {
+        if (matchesAnything) {
+            return true;
+        } else if (matched == null) {
+            return false;
+        } else {
+            // a literal matched value only matches itself so is never compiled
+            return pattern.matches(matched.getValue(), false) || matched.matches(value, false);
+        }
+    }
+}
@@ -1,31 +1,118 @@
 package org.mockserver.matchers;
 
+import com.google.common.base.Strings;
 import org.mockserver.collections.CaseInsensitiveRegexHashMap;
+import org.mockserver.collections.ImmutableCaseInsensitiveMultiMap;
 import org.mockserver.model.KeyAndValue;
+import org.mockserver.model.NottableString;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author jamesdbloom
  */
 public class HashMapMatcher extends NotMatcher<List<KeyAndValue>> {
     private final CaseInsensitiveRegexHashMap hashMap;
+    private volatile CompiledEntries compiledEntries;
 
     public HashMapMatcher(CaseInsensitiveRegexHashMap hashMap) {
         this.hashMap = hashMap;
+        addFieldsExcludedFromEqualsAndHashCode("compiledEntries");
     }
 
     public boolean matches(List<KeyAndValue> values) {
+        return matchesMultiMap(ImmutableCaseInsensitiveMultiMap.fromMap(KeyAndValue.toHashMap(values)));
+    }
+
+    /**
+     * Matches the cookies of a request built once for all the matchers evaluated against the same request
+     */
+    public boolean matchesMultiMap(ImmutableCaseInsensitiveMultiMap values) {
         boolean result = false;
 
         if (hashMap == null) {
             result = true;
-        } else if (KeyAndValue.toHashMap(values).containsAll(hashMap)) {
+        } else if (containsAll(values, compiledEntries())) {
             result = true;
         } else {
-            logger.trace("Map [{}] is not a subset of [{}]", this.hashMap, KeyAndValue.toHashMap(values));
+            logger.trace("Map [{}] is not a subset of [{}]", this.hashMap, values);
         }
 
         return reverseResultIfNot(result);
     }
+
+    /**
+     * The expectation's entries are compiled when first matched, the map must not be modified after that
+     */
+    private CompiledEntries compiledEntries() {
+        CompiledEntries compiledEntries = this.compiledEntries;
+        if (compiledEntries == null) {
+            compiledEntries = new CompiledEntries(hashMap);
+            this.compiledEntries = compiledEntries;
+        }
+        return compiledEntries;
+    }
+
+    /**
+     * Same semantics as {@link CaseInsensitiveRegexHashMap#containsAll(CaseInsensitiveRegexHashMap)} without locking
+     * and without compiling the expectation's values for each request
+     */
+    private static boolean containsAll(ImmutableCaseInsensitiveMultiMap values, CompiledEntries subSet) {
+        if (values.isEmpty() && subSet.allKeysNotted) {
+            return true;
+        } else {
+            for (CompiledEntry entry : subSet.entries) {
+                if ((entry.key.isNot() || entry.value.isNot()) && containsKeyValue(values, entry, false)) {
+                    return false;
+                } else if (!containsKeyValue(values, entry, true)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsKeyValue(ImmutableCaseInsensitiveMultiMap values, CompiledEntry entry, boolean applyNot) {
+        boolean keyNot = applyNot && entry.key.isNot();
+        boolean valueNot = applyNot && entry.value.isNot();
+        for (ImmutableCaseInsensitiveMultiMap.Entry candidate : values.entryList()) {
+            if (MultiValueMapMatcher.matches(entry.valuePattern, valueNot, candidate.getValue(), candidate.getValuePattern())
+                    && MultiValueMapMatcher.matches(entry.keyPattern, keyNot, candidate.getKey(), candidate.getKeyPattern())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class CompiledEntries {
+        private final List<CompiledEntry> entries = new ArrayList<CompiledEntry>();
+        private final boolean allKeysNotted;
+
+        private CompiledEntries(CaseInsensitiveRegexHashMap hashMap) {
+            boolean allKeysNotted = true;
+            for (Map.Entry<NottableString, NottableString> entry : hashMap.entrySet()) {
+                entries.add(new CompiledEntry(entry.getKey(), entry.getValue()));
+                if (!entry.getKey().isNot()) {
+                    allKeysNotted = false;
+                }
+            }
+            this.allKeysNotted = allKeysNotted;
+        }
+    }
+
+    private static class CompiledEntry {
+        private final NottableString key;
+        private final NottableString value;
+        private final RegexPattern keyPattern;
+        private final RegexPattern valuePattern;
+
+        private CompiledEntry(NottableString key, NottableString value) {
+            this.key = key;
+            this.value = value;
+            this.keyPattern = RegexPattern.compile(Strings.nullToEmpty(key.getValue()));
+            this.valuePattern = RegexPattern.compile(Strings.nullToEmpty(value.getValue()));
+        }
+    }
 }
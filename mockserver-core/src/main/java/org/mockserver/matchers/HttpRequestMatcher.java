@@ -1,15 +1,11 @@
 package org.mockserver.matchers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.base.Charsets;
 import com.google.common.base.Strings;
 import org.mockserver.client.serialization.ObjectMapperFactory;
 import org.mockserver.client.serialization.model.*;
 import org.mockserver.logging.LogFormatter;
 import org.mockserver.model.*;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockserver.model.NottableString.string;
@@ -21,8 +17,8 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
 
     private LogFormatter logFormatter = new LogFormatter(logger);
     private HttpRequest httpRequest;
-    private RegexStringMatcher methodMatcher = null;
-    private RegexStringMatcher pathMatcher = null;
+    private CompiledStringMatcher methodMatcher = null;
+    private CompiledStringMatcher pathMatcher = null;
     private MultiValueMapMatcher queryStringParameterMatcher = null;
     private BodyMatcher bodyMatcher = null;
     private MultiValueMapMatcher headerMatcher = null;
@@ -30,7 +26,7 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
     private BooleanMatcher keepAliveMatcher = null;
     private BodyDTO bodyDTOMatcher = null;
     private BooleanMatcher sslMatcher = null;
-    private ObjectMapper objectMapper = ObjectMapperFactory.createObjectMapper();
+    private int httpRequestHashCode = 0;
 
     public HttpRequestMatcher(HttpRequest httpRequest) {
         this.httpRequest = httpRequest;
@@ -43,17 +39,41 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
             withCookies(httpRequest.getCookies());
             withKeepAlive(httpRequest.isKeepAlive());
             withSsl(httpRequest.isSecure());
+            skipFieldsMatchingAnyRequest(httpRequest);
+            httpRequestHashCode = httpRequest.hashCode();
+        }
+        addFieldsExcludedFromEqualsAndHashCode("logFormatter", "methodMatcher", "pathMatcher", "httpRequestHashCode");
+    }
+
+    /**
+     * Fields that match any request are skipped completely, the method and path are compiled when the matcher is
+     * created and the header, query string parameter and cookie matchers compile their entries when first matched
+     */
+    private void skipFieldsMatchingAnyRequest(HttpRequest httpRequest) {
+        if (httpRequest.getQueryStringParameters().isEmpty()) {
+            queryStringParameterMatcher = null;
+        }
+        if (httpRequest.getHeaders().isEmpty()) {
+            headerMatcher = null;
+        }
+        if (httpRequest.getCookies().isEmpty()) {
+            cookieMatcher = null;
+        }
+        if (httpRequest.isKeepAlive() == null) {
+            keepAliveMatcher = null;
+        }
+        if (httpRequest.isSecure() == null) {
+            sslMatcher = null;
         }
-        addFieldsExcludedFromEqualsAndHashCode("logFormatter", "objectMapper");
     }
 
     private HttpRequestMatcher withMethod(NottableString method) {
-        this.methodMatcher = new RegexStringMatcher(method);
+        this.methodMatcher = CompiledStringMatcher.compile(method);
         return this;
     }
 
     private HttpRequestMatcher withPath(NottableString path) {
-        this.pathMatcher = new RegexStringMatcher(path);
+        this.pathMatcher = CompiledStringMatcher.compile(path);
         return this;
     }
 
@@ -103,7 +123,7 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
                 case BINARY:
                     BinaryBody binaryBody = (BinaryBody) body;
                     bodyDTOMatcher = new BinaryBodyDTO(binaryBody);
-                    this.bodyMatcher = new BinaryMatcher(binaryBody.getValue());
+                    this.bodyMatcher = new BinaryMatcher(binaryBody.getValue(), binaryBody.getMatchType());
                     break;
             }
             if (body.isNot()) {
@@ -148,76 +168,137 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
     }
 
     public boolean matches(HttpRequest httpRequest, boolean logMatchResults) {
+        return matches(httpRequest, new ParsedHttpRequest(httpRequest, true), logMatchResults);
+    }
+
+    /**
+     * @param parsedHttpRequest the headers, parameters and body of the request, shared between all matchers evaluated against the same request
+     */
+    public boolean matches(HttpRequest httpRequest, ParsedHttpRequest parsedHttpRequest, boolean logMatchResults) {
         if (httpRequest == this.httpRequest) {
             return true;
         } else if (this.httpRequest == null) {
             return true;
         } else {
             if (httpRequest != null) {
-                boolean methodMatches = Strings.isNullOrEmpty(httpRequest.getMethod().getValue()) || matches(methodMatcher, httpRequest.getMethod());
-                boolean pathMatches = Strings.isNullOrEmpty(httpRequest.getPath().getValue()) || matches(pathMatcher, httpRequest.getPath());
-                boolean queryStringParametersMatches = matches(queryStringParameterMatcher, (httpRequest.getQueryStringParameters() != null ? new ArrayList<KeyToMultiValue>(httpRequest.getQueryStringParameters()) : null));
-                boolean bodyMatches;
-                String bodyAsString = httpRequest.getBody() != null ? new String(httpRequest.getBody().getRawBytes(), httpRequest.getBody().getCharset(Charsets.UTF_8)) : "";
-                BodyDTO bodyDTO = null;
-                try {
-                    bodyDTO = objectMapper.readValue(bodyAsString, BodyDTO.class);
-                } catch (IOException e) {
-                    // ignore this exception as this exception will always get thrown for "normal" HTTP requests (i.e. not clear or retrieve)
-                }
-                if (bodyDTO == null || bodyDTOMatcher == null || bodyDTO.getType() == Body.Type.STRING) {
-                    if (bodyMatcher instanceof BinaryMatcher) {
-                        bodyMatches = matches(bodyMatcher, httpRequest.getBodyAsRawBytes());
-                    } else {
-                        if (bodyMatcher instanceof ExactStringMatcher || bodyMatcher instanceof RegexStringMatcher || bodyMatcher instanceof XmlStringMatcher) {
-                            bodyMatches = matches(bodyMatcher, string(bodyAsString));
-                        } else {
-                            bodyMatches = matches(bodyMatcher, bodyAsString);
-                        }
-                    }
+                if (logMatchResults && logger.isInfoEnabled()) {
+                    return matchesAndLogResults(httpRequest, parsedHttpRequest);
                 } else {
-                    bodyMatches = bodyDTOMatcher.equals(bodyDTO);
+                    // cheapest and most selective fields first so the body is only matched if everything else matches
+                    boolean totalResult = pathMatches(httpRequest, parsedHttpRequest)
+                            && methodMatches(httpRequest, parsedHttpRequest)
+                            && keepAliveMatches(httpRequest)
+                            && sslMatches(httpRequest)
+                            && headersMatch(parsedHttpRequest)
+                            && queryStringParametersMatch(parsedHttpRequest)
+                            && cookiesMatch(parsedHttpRequest)
+                            && bodyMatches(parsedHttpRequest);
+                    return applyNotOperators(httpRequest, totalResult);
                 }
-                boolean headersMatch = matches(headerMatcher, (httpRequest.getHeaders() != null ? new ArrayList<KeyToMultiValue>(httpRequest.getHeaders()) : null));
-                boolean cookiesMatch = matches(cookieMatcher, (httpRequest.getCookies() != null ? new ArrayList<KeyAndValue>(httpRequest.getCookies()) : null));
-                boolean keepAliveMatches = matches(keepAliveMatcher, httpRequest.isKeepAlive());
-                boolean sslMatches = matches(sslMatcher, httpRequest.isSecure());
+            } else {
+                return false;
+            }
+        }
+    }
 
-                boolean totalResult = methodMatches && pathMatches && queryStringParametersMatches && bodyMatches && headersMatch && cookiesMatch && keepAliveMatches && sslMatches;
-                boolean totalResultAfterNotOperatorApplied = httpRequest.isNot() == (this.httpRequest.isNot() == (not != totalResult));
+    private boolean matchesAndLogResults(HttpRequest httpRequest, ParsedHttpRequest parsedHttpRequest) {
+        boolean methodMatches = methodMatches(httpRequest, parsedHttpRequest);
+        boolean pathMatches = pathMatches(httpRequest, parsedHttpRequest);
+        boolean queryStringParametersMatches = queryStringParametersMatch(parsedHttpRequest);
+        boolean bodyMatches = bodyMatches(parsedHttpRequest);
+        boolean headersMatch = headersMatch(parsedHttpRequest);
+        boolean cookiesMatch = cookiesMatch(parsedHttpRequest);
+        boolean keepAliveMatches = keepAliveMatches(httpRequest);
+        boolean sslMatches = sslMatches(httpRequest);
 
-                if (logMatchResults && logger.isInfoEnabled()) {
-                    if (!totalResultAfterNotOperatorApplied) {
-                        StringBuilder becauseBuilder = new StringBuilder();
-                        becauseBuilder.append("method matches = ").append(methodMatches).append(System.getProperty("line.separator"));
-                        becauseBuilder.append("path matches = ").append(pathMatches).append(System.getProperty("line.separator"));
-                        becauseBuilder.append("query string parameters match = ").append(queryStringParametersMatches).append(System.getProperty("line.separator"));
-                        becauseBuilder.append("body matches = ").append(bodyMatches).append(System.getProperty("line.separator"));
-                        becauseBuilder.append("headers match = ").append(headersMatch).append(System.getProperty("line.separator"));
-                        becauseBuilder.append("cookies match = ").append(cookiesMatch).append(System.getProperty("line.separator"));
-                        becauseBuilder.append("keep-alive matches = ").append(keepAliveMatches).append(System.getProperty("line.separator"));
-                        becauseBuilder.append("ssl matches = ").append(sslMatches).append(System.getProperty("line.separator"));
-                        if (httpRequest.isNot()) {
-                            becauseBuilder.append("request \'not\' operator is enabled").append(System.getProperty("line.separator"));
-                        }
-                        if (this.httpRequest.isNot()) {
-                            becauseBuilder.append("expectation's request \'not\' operator is enabled").append(System.getProperty("line.separator"));
-                        }
-                        if (not) {
-                            becauseBuilder.append("expectation's request matcher \'not\' operator is enabled").append(System.getProperty("line.separator"));
-                        }
-                        logFormatter.infoLog("request:{}" + System.getProperty("line.separator") + " did" + (totalResult ? "" : " not") + " match expectation:{}" + System.getProperty("line.separator") + " because:{}", httpRequest, this, becauseBuilder.toString());
-                    } else {
-                        logFormatter.infoLog("request:{}" + System.getProperty("line.separator") + " matched expectation:{}", httpRequest, this);
-                    }
-                }
-                return totalResultAfterNotOperatorApplied;
+        boolean totalResult = methodMatches && pathMatches && queryStringParametersMatches && bodyMatches && headersMatch && cookiesMatch && keepAliveMatches && sslMatches;
+        boolean totalResultAfterNotOperatorApplied = applyNotOperators(httpRequest, totalResult);
+
+        if (!totalResultAfterNotOperatorApplied) {
+            StringBuilder becauseBuilder = new StringBuilder();
+            becauseBuilder.append("method matches = ").append(methodMatches).append(System.getProperty("line.separator"));
+            becauseBuilder.append("path matches = ").append(pathMatches).append(System.getProperty("line.separator"));
+            becauseBuilder.append("query string parameters match = ").append(queryStringParametersMatches).append(System.getProperty("line.separator"));
+            becauseBuilder.append("body matches = ").append(bodyMatches).append(System.getProperty("line.separator"));
+            becauseBuilder.append("headers match = ").append(headersMatch).append(System.getProperty("line.separator"));
+            becauseBuilder.append("cookies match = ").append(cookiesMatch).append(System.getProperty("line.separator"));
+            becauseBuilder.append("keep-alive matches = ").append(keepAliveMatches).append(System.getProperty("line.separator"));
+            becauseBuilder.append("ssl matches = ").append(sslMatches).append(System.getProperty("line.separator"));
+            if (httpRequest.isNot()) {
+                becauseBuilder.append("request \'not\' operator is enabled").append(System.getProperty("line.separator"));
+            }
+            if (this.httpRequest.isNot()) {
+                becauseBuilder.append("expectation's request \'not\' operator is enabled").append(System.getProperty("line.separator"));
+            }
+            if (not) {
+                becauseBuilder.append("expectation's request matcher \'not\' operator is enabled").append(System.getProperty("line.separator"));
+            }
+            logFormatter.infoLog("request:{}" + System.getProperty("line.separator") + " did" + (totalResult ? "" : " not") + " match expectation:{}" + System.getProperty("line.separator") + " because:{}", httpRequest, this, becauseBuilder.toString());
+        } else {
+            logFormatter.infoLog("request:{}" + System.getProperty("line.separator") + " matched expectation:{}", httpRequest, this);
+        }
+        return totalResultAfterNotOperatorApplied;
+    }
+
+    private boolean applyNotOperators(HttpRequest httpRequest, boolean totalResult) {
+        return httpRequest.isNot() == (this.httpRequest.isNot() == (not != totalResult));
+    }
+
+    private boolean methodMatches(HttpRequest httpRequest, ParsedHttpRequest parsedHttpRequest) {
+        return Strings.isNullOrEmpty(httpRequest.getMethod().getValue()) || methodMatcher.matches(httpRequest.getMethod(), parsedHttpRequest.getMethodPattern());
+    }
+
+    private boolean pathMatches(HttpRequest httpRequest, ParsedHttpRequest parsedHttpRequest) {
+        return Strings.isNullOrEmpty(httpRequest.getPath().getValue()) || pathMatcher.matches(httpRequest.getPath(), parsedHttpRequest.getPathPattern());
+    }
+
+    private boolean queryStringParametersMatch(ParsedHttpRequest parsedHttpRequest) {
+        return queryStringParameterMatcher == null || queryStringParameterMatcher.matchesMultiMap(parsedHttpRequest.getQueryStringParameters());
+    }
+
+    private boolean bodyMatches(ParsedHttpRequest parsedHttpRequest) {
+        BodyDTO bodyDTO = bodyDTOMatcher != null ? parsedHttpRequest.getBodyDTO() : null;
+        if (bodyMatcher == null) {
+            return true;
+        } else if (bodyDTO == null || bodyDTO.getType() == Body.Type.STRING) {
+            if (bodyMatcher instanceof BinaryMatcher) {
+                return ((BinaryMatcher) bodyMatcher).matchesParsedBody(parsedHttpRequest);
+            } else if (bodyMatcher instanceof JsonStringMatcher) {
+                return ((JsonStringMatcher) bodyMatcher).matchesParsedBody(parsedHttpRequest);
+            } else if (bodyMatcher instanceof JsonSchemaMatcher) {
+                return ((JsonSchemaMatcher) bodyMatcher).matchesParsedBody(parsedHttpRequest);
+            } else if (bodyMatcher instanceof XPathStringMatcher) {
+                return ((XPathStringMatcher) bodyMatcher).matchesParsedBody(parsedHttpRequest);
+            } else if (bodyMatcher instanceof XmlStringMatcher) {
+                return ((XmlStringMatcher) bodyMatcher).matchesParsedBody(parsedHttpRequest);
             } else {
-                return false;
+                if (bodyMatcher instanceof ExactStringMatcher || bodyMatcher instanceof RegexStringMatcher) {
+                    return matches(bodyMatcher, string(parsedHttpRequest.getBodyAsString()));
+                } else {
+                    return matches(bodyMatcher, parsedHttpRequest.getBodyAsString());
+                }
             }
+        } else {
+            return bodyDTOMatcher.equals(bodyDTO);
         }
     }
 
+    private boolean headersMatch(ParsedHttpRequest parsedHttpRequest) {
+        return headerMatcher == null || headerMatcher.matchesMultiMap(parsedHttpRequest.getHeaders());
+    }
+
+    private boolean cookiesMatch(ParsedHttpRequest parsedHttpRequest) {
+        return cookieMatcher == null || cookieMatcher.matchesMultiMap(parsedHttpRequest.getCookies());
+    }
+
+    private boolean keepAliveMatches(HttpRequest httpRequest) {
+        return matches(keepAliveMatcher, httpRequest.isKeepAlive());
+    }
+
+    private boolean sslMatches(HttpRequest httpRequest) {
+        return matches(sslMatcher, httpRequest.isSecure());
+    }
+
     private <T> boolean matches(Matcher<T> matcher, T t) {
         boolean result = false;
 
@@ -241,4 +322,26 @@ public class HttpRequestMatcher extends NotMatcher<HttpRequest> {
             return super.toString();
         }
     }
+
+    /**
+     * All other fields are built from the request, which like the compiled matchers is not modified once the
+     * matcher is created, so the request's hash code is only calculated once
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (other == null || other.getClass() != getClass()) {
+            return false;
+        }
+        HttpRequestMatcher that = (HttpRequestMatcher) other;
+        return not == that.not
+                && httpRequestHashCode == that.httpRequestHashCode
+                && (httpRequest == null ? that.httpRequest == null : httpRequest.equals(that.httpRequest));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * httpRequestHashCode + (not ? 1 : 0);
+    }
 }
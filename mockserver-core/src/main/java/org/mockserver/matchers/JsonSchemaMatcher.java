@@ -1,8 +1,13 @@
 package org.mockserver.matchers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.mockserver.client.serialization.ObjectMapperFactory;
 
 /**
@@ -11,23 +16,94 @@ import org.mockserver.client.serialization.ObjectMapperFactory;
  * @author jamesdbloom
  */
 public class JsonSchemaMatcher extends BodyMatcher<String> {
+    private static final JsonSchemaFactory JSON_SCHEMA_FACTORY = JsonSchemaFactory.byDefault();
+    private static final int MAXIMUM_CACHED_SCHEMAS = 1000;
+    // compiled schemas are immutable and thread safe so expectations with an identical schema share the same instance
+    private static final LoadingCache<String, JsonSchema> COMPILED_SCHEMAS = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_SCHEMAS)
+            .build(new CacheLoader<String, JsonSchema>() {
+                private final ObjectMapper objectMapper = ObjectMapperFactory.createObjectMapper();
+
+                @Override
+                public JsonSchema load(String schema) throws Exception {
+                    return JSON_SCHEMA_FACTORY.getJsonSchema(objectMapper.readTree(schema));
+                }
+            });
     private final String schema;
     private ObjectMapper objectMapper = ObjectMapperFactory.createObjectMapper();
+    private JsonSchema jsonSchema;
+    // the reason the schema could not be compiled, found once when the matcher is created rather than per request
+    private String invalidSchemaReason;
 
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
-        return new String[]{"logger", "objectMapper"};
+        return new String[]{"logger", "objectMapper", "jsonSchema", "invalidSchemaReason"};
     }
 
     public JsonSchemaMatcher(String schema) {
         this.schema = schema;
+        if (schema != null) {
+            try {
+                this.jsonSchema = COMPILED_SCHEMAS.get(schema);
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                invalidSchemaReason = cause.getMessage();
+            }
+        }
+    }
+
+    JsonSchema getJsonSchema() {
+        return jsonSchema;
+    }
+
+    /**
+     * Returns why the schema could not be compiled, or null if it was compiled, so an expectation with an invalid schema
+     * can be refused when it is created
+     */
+    public String getInvalidSchemaReason() {
+        return invalidSchemaReason;
     }
 
     public boolean matches(String matched) {
+        if (jsonSchema == null) {
+            return invalidSchema(matched);
+        }
+        JsonNode matchedJsonNode = null;
+        try {
+            matchedJsonNode = objectMapper.readTree(matched);
+        } catch (Exception e) {
+            // ignore this exception as the matched value is not json and will fail validation
+        }
+        return matches(matched, matchedJsonNode);
+    }
+
+    /**
+     * Matches the request body parsed once for all JSON matchers evaluated against the same request
+     */
+    public boolean matchesParsedBody(ParsedHttpRequest parsedHttpRequest) {
+        if (jsonSchema == null) {
+            return invalidSchema(parsedHttpRequest.getBodyAsString());
+        }
+        return matches(parsedHttpRequest.getBodyAsString(), parsedHttpRequest.getBodyAsJsonNode());
+    }
+
+    private boolean invalidSchema(String matched) {
+        if (schema != null) {
+            logger.trace("Failed to perform JSON match \"{}\" with \"{}\" because {}", matched, this.schema, invalidSchemaReason);
+        }
+        return reverseResultIfNot(false);
+    }
+
+    private boolean matches(String matched, JsonNode matchedJsonNode) {
         boolean result = false;
 
         ProcessingReport processingReport;
         try {
-            processingReport = validateJson(matched);
+            if (matchedJsonNode != null) {
+                processingReport = jsonSchema.validate(matchedJsonNode, true);
+            } else {
+                // parse again so the reason the matched value is not valid json is reported
+                processingReport = validateJson(matched);
+            }
 
             if (processingReport.isSuccess()) {
                 result = true;
@@ -44,9 +120,12 @@ public class JsonSchemaMatcher extends BodyMatcher<String> {
     }
 
     public ProcessingReport validateJson(String json) throws Exception {
-        return JsonSchemaFactory
-                .byDefault()
-                .getValidator()
-                .validate(objectMapper.readTree(schema), objectMapper.readTree(json), true);
+        if (jsonSchema != null) {
+            return jsonSchema.validate(objectMapper.readTree(json), true);
+        } else {
+            return JSON_SCHEMA_FACTORY
+                    .getValidator()
+                    .validate(objectMapper.readTree(schema), objectMapper.readTree(json), true);
+        }
     }
 }
@@ -1,8 +1,11 @@
 package org.mockserver.matchers;
 
-import org.mockserver.model.JsonBody;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.skyscreamer.jsonassert.JSONCompareResult;
+import org.skyscreamer.jsonassert.JSONParser;
 
 import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
 
@@ -12,13 +15,35 @@ import static org.skyscreamer.jsonassert.JSONCompare.compareJSON;
 public class JsonStringMatcher extends BodyMatcher<String> {
     private final String matcher;
     private final MatchType matchType;
+    private final Object parsedMatcher;
 
     public JsonStringMatcher(String matcher, MatchType matchType) {
         this.matcher = matcher;
         this.matchType = matchType;
+        this.parsedMatcher = parse(matcher);
+        addFieldsExcludedFromEqualsAndHashCode("parsedMatcher");
+    }
+
+    private static Object parse(String json) {
+        try {
+            return json != null ? JSONParser.parseJSON(json) : null;
+        } catch (JSONException e) {
+            return null;
+        }
     }
 
     public boolean matches(String matched) {
+        return matches(matched, parse(matched));
+    }
+
+    /**
+     * Matches the request body parsed once for all JSON matchers evaluated against the same request
+     */
+    public boolean matchesParsedBody(ParsedHttpRequest parsedHttpRequest) {
+        return matches(parsedHttpRequest.getBodyAsString(), parsedHttpRequest.getBodyAsJson());
+    }
+
+    private boolean matches(String matched, Object parsedMatched) {
         boolean result = false;
 
         JSONCompareResult jsonCompareResult;
@@ -27,7 +52,13 @@ public class JsonStringMatcher extends BodyMatcher<String> {
             if (matchType == MatchType.STRICT) {
                 jsonCompareMode = JSONCompareMode.STRICT;
             }
-            jsonCompareResult = compareJSON(matcher, matched, jsonCompareMode);
+            if (parsedMatcher instanceof JSONObject && parsedMatched instanceof JSONObject) {
+                jsonCompareResult = compareJSON((JSONObject) parsedMatcher, (JSONObject) parsedMatched, jsonCompareMode);
+            } else if (parsedMatcher instanceof JSONArray && parsedMatched instanceof JSONArray) {
+                jsonCompareResult = compareJSON((JSONArray) parsedMatcher, (JSONArray) parsedMatched, jsonCompareMode);
+            } else {
+                jsonCompareResult = compareJSON(matcher, matched, jsonCompareMode);
+            }
 
             if (jsonCompareResult.passed()) {
                 result = true;
@@ -1,32 +1,136 @@
 package org.mockserver.matchers;
 
+import com.google.common.base.Strings;
 import org.mockserver.collections.CaseInsensitiveRegexMultiMap;
-import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
+import org.mockserver.collections.ImmutableCaseInsensitiveMultiMap;
 import org.mockserver.model.KeyToMultiValue;
+import org.mockserver.model.NottableString;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author jamesdbloom
  */
 public class MultiValueMapMatcher extends NotMatcher<List<KeyToMultiValue>> {
     private final CaseInsensitiveRegexMultiMap multiMap;
+    private volatile CompiledEntries compiledEntries;
 
     public MultiValueMapMatcher(CaseInsensitiveRegexMultiMap multiMap) {
         this.multiMap = multiMap;
+        addFieldsExcludedFromEqualsAndHashCode("compiledEntries");
     }
 
     public boolean matches(List<KeyToMultiValue> values) {
+        return matchesMultiMap(new ImmutableCaseInsensitiveMultiMap(values));
+    }
+
+    /**
+     * Matches the headers or parameters of a request built once for all the matchers evaluated against the same request
+     */
+    public boolean matchesMultiMap(ImmutableCaseInsensitiveMultiMap values) {
         boolean result = false;
 
         if (multiMap == null) {
             result = true;
-        } else if (KeyToMultiValue.toMultiMap(values).containsAll(multiMap)) {
+        } else if (containsAll(values, compiledEntries())) {
             result = true;
         } else {
-            logger.trace("Map [{}] is not a subset of [{}]", multiMap, KeyToMultiValue.toMultiMap(values));
+            logger.trace("Map [{}] is not a subset of [{}]", multiMap, values);
         }
 
         return reverseResultIfNot(result);
     }
+
+    /**
+     * The expectation's entries are compiled when first matched, the multimap must not be modified after that
+     */
+    private CompiledEntries compiledEntries() {
+        CompiledEntries compiledEntries = this.compiledEntries;
+        if (compiledEntries == null) {
+            compiledEntries = new CompiledEntries(multiMap);
+            this.compiledEntries = compiledEntries;
+        }
+        return compiledEntries;
+    }
+
+    /**
+     * Same semantics as {@link CaseInsensitiveRegexMultiMap#containsAll(CaseInsensitiveRegexMultiMap)} without locking
+     * and only comparing entries with a literal name against the request entries with the same name
+     */
+    private static boolean containsAll(ImmutableCaseInsensitiveMultiMap values, CompiledEntries subSet) {
+        if (values.isEmpty() && subSet.allKeysNotted) {
+            return true;
+        } else {
+            for (CompiledEntry entry : subSet.entries) {
+                if ((entry.key.isNot() || entry.value.isNot()) && containsKeyValue(values, entry, false)) {
+                    return false;
+                } else if (!containsKeyValue(values, entry, true)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsKeyValue(ImmutableCaseInsensitiveMultiMap values, CompiledEntry entry, boolean applyNot) {
+        boolean keyNot = applyNot && entry.key.isNot();
+        boolean valueNot = applyNot && entry.value.isNot();
+        if (!keyNot && entry.literalKey != null) {
+            return containsKeyValue(values.getLiteralNameEntries(entry.literalKey), entry, false, valueNot)
+                    || containsKeyValue(values.getNonLiteralNameEntries(), entry, false, valueNot);
+        } else {
+            return containsKeyValue(values.entryList(), entry, keyNot, valueNot);
+        }
+    }
+
+    private static boolean containsKeyValue(List<ImmutableCaseInsensitiveMultiMap.Entry> candidates, CompiledEntry entry, boolean keyNot, boolean valueNot) {
+        for (ImmutableCaseInsensitiveMultiMap.Entry candidate : candidates) {
+            if (matches(entry.valuePattern, valueNot, candidate.getValue(), candidate.getValuePattern()) && matches(entry.keyPattern, keyNot, candidate.getKey(), candidate.getKeyPattern())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean matches(RegexPattern matcher, boolean matcherNot, NottableString matched, RegexPattern matchedPattern) {
+        return matcherNot != (matched.isNot() != RegexStringMatcher.matches(matcher, matchedPattern, true));
+    }
+
+    private static class CompiledEntries {
+        private final List<CompiledEntry> entries = new ArrayList<CompiledEntry>();
+        private final boolean allKeysNotted;
+
+        private CompiledEntries(CaseInsensitiveRegexMultiMap multiMap) {
+            for (Map.Entry<NottableString, NottableString> entry : multiMap.entryList()) {
+                entries.add(new CompiledEntry(entry.getKey(), entry.getValue()));
+            }
+            boolean allKeysNotted = true;
+            for (NottableString key : multiMap.keySet()) {
+                if (!key.isNot()) {
+                    allKeysNotted = false;
+                    break;
+                }
+            }
+            this.allKeysNotted = allKeysNotted;
+        }
+    }
+
+    private static class CompiledEntry {
+        private final NottableString key;
+        private final NottableString value;
+        private final RegexPattern keyPattern;
+        private final RegexPattern valuePattern;
+        // the name to look up when only request entries with an equal name can match, null when all entries must be compared
+        private final String literalKey;
+
+        private CompiledEntry(NottableString key, NottableString value) {
+            this.key = key;
+            this.value = value;
+            this.keyPattern = RegexPattern.compile(Strings.nullToEmpty(key.getValue()));
+            this.valuePattern = RegexPattern.compile(Strings.nullToEmpty(value.getValue()));
+            this.literalKey = keyPattern.isLiteral() && !keyPattern.getValue().isEmpty() ? keyPattern.getValue() : null;
+        }
+    }
 }
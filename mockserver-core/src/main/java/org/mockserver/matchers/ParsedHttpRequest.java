@@ -0,0 +1,230 @@
+package org.mockserver.matchers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import org.mockserver.client.serialization.ObjectMapperFactory;
+import org.mockserver.client.serialization.model.BodyDTO;
+import org.mockserver.collections.ImmutableCaseInsensitiveMultiMap;
+import org.mockserver.model.Body;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.KeyAndValue;
+import org.mockserver.model.SpilledContent;
+import org.json.JSONException;
+import org.skyscreamer.jsonassert.JSONParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * The method, path, headers, parameters, cookies and body of a single request decoded (or compiled as a regex) at most
+ * once, and only when first needed, so every matcher evaluated against the same request shares the same patterns,
+ * multimaps, bytes, string and parsed representations
+ *
+ * @author jamesdbloom
+ */
+public class ParsedHttpRequest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParsedHttpRequest.class);
+    private static final ObjectMapper objectMapper = ObjectMapperFactory.createObjectMapper();
+    private static final StringToXmlDocumentParser stringToXmlDocumentParser = new StringToXmlDocumentParser();
+    private final HttpRequest httpRequest;
+    private final Body body;
+    private ImmutableCaseInsensitiveMultiMap headers;
+    private ImmutableCaseInsensitiveMultiMap queryStringParameters;
+    private ImmutableCaseInsensitiveMultiMap cookies;
+    private RegexPattern methodPattern;
+    private RegexPattern pathPattern;
+    private final boolean mayBeBodyDTO;
+    private byte[] bytes;
+    private String string;
+    private BodyDTO bodyDTO;
+    private boolean bodyDTOParsed;
+    private Object json;
+    private boolean jsonParsed;
+    private JsonNode jsonNode;
+    private boolean jsonNodeParsed;
+    private Document xmlDocument;
+    private boolean xmlDocumentParsed;
+
+    /**
+     * @param httpRequest  the request being matched
+     * @param mayBeBodyDTO true when the body could be a serialised body matcher (i.e. when clearing, retrieving or
+     *                     verifying) so should be compared as a body matcher if it can be parsed as one
+     */
+    public ParsedHttpRequest(HttpRequest httpRequest, boolean mayBeBodyDTO) {
+        this.httpRequest = httpRequest;
+        this.body = httpRequest != null ? httpRequest.getBody() : null;
+        this.mayBeBodyDTO = mayBeBodyDTO;
+    }
+
+    /**
+     * Returns the method compiled as a regex, only the value is compiled so the method's 'not' operator still applies
+     */
+    public RegexPattern getMethodPattern() {
+        if (methodPattern == null) {
+            methodPattern = RegexPattern.uncached(httpRequest != null ? Strings.nullToEmpty(httpRequest.getMethod().getValue()) : "");
+        }
+        return methodPattern;
+    }
+
+    /**
+     * Returns the path compiled as a regex, only the value is compiled so the path's 'not' operator still applies
+     */
+    public RegexPattern getPathPattern() {
+        if (pathPattern == null) {
+            pathPattern = RegexPattern.uncached(httpRequest != null ? Strings.nullToEmpty(httpRequest.getPath().getValue()) : "");
+        }
+        return pathPattern;
+    }
+
+    public ImmutableCaseInsensitiveMultiMap getHeaders() {
+        if (headers == null) {
+            headers = httpRequest != null ? new ImmutableCaseInsensitiveMultiMap(httpRequest.getHeaders()) : ImmutableCaseInsensitiveMultiMap.emptyMultiMap();
+        }
+        return headers;
+    }
+
+    public ImmutableCaseInsensitiveMultiMap getQueryStringParameters() {
+        if (queryStringParameters == null) {
+            queryStringParameters = httpRequest != null ? new ImmutableCaseInsensitiveMultiMap(httpRequest.getQueryStringParameters()) : ImmutableCaseInsensitiveMultiMap.emptyMultiMap();
+        }
+        return queryStringParameters;
+    }
+
+    /**
+     * Returns the cookies with a single value for each name, as they are when matched as a map
+     */
+    public ImmutableCaseInsensitiveMultiMap getCookies() {
+        if (cookies == null) {
+            cookies = httpRequest != null ? ImmutableCaseInsensitiveMultiMap.fromMap(KeyAndValue.toHashMap(httpRequest.getCookies())) : ImmutableCaseInsensitiveMultiMap.emptyMultiMap();
+        }
+        return cookies;
+    }
+
+    public byte[] getBodyAsBytes() {
+        if (bytes == null) {
+            bytes = body != null ? body.getRawBytes() : new byte[0];
+        }
+        return bytes;
+    }
+
+    /**
+     * True when the body is a spilled body that hasn't been read onto the heap yet so should be streamed from its file
+     * by any matcher that doesn't need the whole body at once
+     */
+    public boolean isBodySpilled() {
+        return bytes == null && body instanceof SpilledContent;
+    }
+
+    /**
+     * The length of the body in bytes without reading a spilled body from its file
+     */
+    public long getBodyLength() {
+        if (isBodySpilled()) {
+            return ((SpilledContent) body).getLength();
+        }
+        return getBodyAsBytes().length;
+    }
+
+    /**
+     * Returns a new stream of the body, which is read from the file of a spilled body unless the body has already been
+     * read onto the heap, the caller must close the stream
+     */
+    public InputStream getBodyAsStream() throws IOException {
+        if (isBodySpilled()) {
+            return ((SpilledContent) body).openStream();
+        }
+        return new ByteArrayInputStream(getBodyAsBytes());
+    }
+
+    public Charset getBodyCharset() {
+        return body != null ? body.getCharset(Charsets.UTF_8) : Charsets.UTF_8;
+    }
+
+    public String getBodyAsString() {
+        if (string == null) {
+            string = body != null ? new String(getBodyAsBytes(), getBodyCharset()) : "";
+        }
+        return string;
+    }
+
+    public BodyDTO getBodyDTO() {
+        if (!bodyDTOParsed) {
+            bodyDTOParsed = true;
+            if (mayBeBodyDTO && isJsonObject(getBodyAsString())) {
+                try {
+                    bodyDTO = objectMapper.readValue(getBodyAsString(), BodyDTO.class);
+                } catch (IOException e) {
+                    // ignore this exception as the body is not a serialised body matcher
+                }
+            }
+        }
+        return bodyDTO;
+    }
+
+    /**
+     * Returns the body parsed for JSON comparison (i.e. a JSONObject or JSONArray) or null if the body isn't valid JSON
+     */
+    public Object getBodyAsJson() {
+        if (!jsonParsed) {
+            jsonParsed = true;
+            try {
+                json = JSONParser.parseJSON(getBodyAsString());
+            } catch (JSONException e) {
+                // ignore this exception as the body is not json
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Returns the body parsed as a JSON tree (i.e. for JSON schema validation) or null if the body isn't valid JSON
+     */
+    public JsonNode getBodyAsJsonNode() {
+        if (!jsonNodeParsed) {
+            jsonNodeParsed = true;
+            try {
+                jsonNode = objectMapper.readTree(getBodyAsString());
+            } catch (IOException e) {
+                // ignore this exception as the body is not json
+            }
+        }
+        return jsonNode;
+    }
+
+    /**
+     * Returns the body parsed as an XML document or null if the body isn't valid XML, the document must not be modified
+     */
+    public Document getBodyAsXmlDocument() {
+        if (!xmlDocumentParsed) {
+            xmlDocumentParsed = true;
+            try {
+                xmlDocument = stringToXmlDocumentParser.buildDocument(getBodyAsString(), new StringToXmlDocumentParser.ErrorLogger() {
+                    @Override
+                    public void logError(final String matched, final Exception exception) {
+                        logger.debug("SAXParseException while parsing [" + matched + "]", exception);
+                    }
+                });
+            } catch (Exception e) {
+                logger.trace("Error while parsing xml string [" + getBodyAsString() + "] assuming not xml - " + e.getMessage());
+            }
+        }
+        return xmlDocument;
+    }
+
+    private boolean isJsonObject(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return value.charAt(i) == '{';
+            }
+        }
+        return false;
+    }
+}
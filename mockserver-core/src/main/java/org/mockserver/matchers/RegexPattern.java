@@ -0,0 +1,132 @@
+package org.mockserver.matchers;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A string that has been classified once as either a literal or a regex, regex values are compiled when
+ * first used and then reused so matching never recompiles a pattern or relies on a PatternSyntaxException
+ *
+ * @author jamesdbloom
+ */
+public class RegexPattern {
+
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final int MAXIMUM_CACHED_PATTERNS = 10000;
+    private static final LoadingCache<String, RegexPattern> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_PATTERNS)
+            .build(new CacheLoader<String, RegexPattern>() {
+                @Override
+                public RegexPattern load(String value) {
+                    return new RegexPattern(value);
+                }
+            });
+
+    private final String value;
+    private final boolean literal;
+    private volatile Pattern pattern;
+    private volatile Pattern caseInsensitivePattern;
+    private volatile boolean invalid;
+
+    private RegexPattern(String value) {
+        this.value = value;
+        this.literal = isLiteral(value);
+    }
+
+    /**
+     * Returns the shared compiled form of the value, literal values are never cached as they need no compilation
+     */
+    public static RegexPattern compile(String value) {
+        if (isLiteral(value)) {
+            return new RegexPattern(value);
+        } else {
+            return CACHE.getUnchecked(value);
+        }
+    }
+
+    /**
+     * Returns the compiled form of a value that is not known to come from an expectation, such as a request value, it is
+     * never cached so values from requests cannot evict the patterns of expectations from the cache
+     */
+    public static RegexPattern uncached(String value) {
+        return new RegexPattern(value);
+    }
+
+    static boolean isCached(String value) {
+        return CACHE.getIfPresent(value) != null;
+    }
+
+    public static boolean isLiteral(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(value.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public boolean isLiteral() {
+        return literal;
+    }
+
+    /**
+     * Returns true if the matched string is equal to this value or, if this value is a valid regex, the matched
+     * string is fully matched by this value
+     */
+    public boolean matches(String matched, boolean ignoreCase) {
+        if (ignoreCase ? value.equalsIgnoreCase(matched) : value.equals(matched)) {
+            return true;
+        } else if (literal || invalid) {
+            return false;
+        } else {
+            Pattern compiledPattern = ignoreCase ? caseInsensitivePattern() : pattern();
+            return compiledPattern != null && compiledPattern.matcher(matched).matches();
+        }
+    }
+
+    private Pattern pattern() {
+        if (pattern == null) {
+            pattern = compile(0);
+        }
+        return pattern;
+    }
+
+    private Pattern caseInsensitivePattern() {
+        if (caseInsensitivePattern == null) {
+            caseInsensitivePattern = compile(Pattern.CASE_INSENSITIVE);
+        }
+        return caseInsensitivePattern;
+    }
+
+    private Pattern compile(int flags) {
+        try {
+            return Pattern.compile(value, flags);
+        } catch (PatternSyntaxException pse) {
+            invalid = true;
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RegexPattern && value.equals(((RegexPattern) other).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
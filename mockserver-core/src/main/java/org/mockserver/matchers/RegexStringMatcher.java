@@ -5,8 +5,6 @@ import org.mockserver.model.NottableString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.regex.PatternSyntaxException;
-
 import static org.mockserver.model.NottableString.string;
 
 /**
@@ -15,68 +13,60 @@ import static org.mockserver.model.NottableString.string;
 public class RegexStringMatcher extends BodyMatcher<NottableString> {
     private static final Logger logger = LoggerFactory.getLogger(RegexStringMatcher.class);
     private final NottableString matcher;
+    private final RegexPattern compiledMatcher;
 
     public RegexStringMatcher(String matcher) {
-        this.matcher = string(matcher);
+        this(string(matcher));
     }
 
     public RegexStringMatcher(NottableString matcher) {
         this.matcher = matcher;
+        this.compiledMatcher = RegexPattern.compile(matcher != null ? Strings.nullToEmpty(matcher.getValue()) : "");
+        addFieldsExcludedFromEqualsAndHashCode("compiledMatcher");
     }
 
+    /**
+     * The matcher is compiled through the shared pattern cache so must be the expectation's value, the matched value
+     * may come from a request so is never cached, the result is the same whichever way round the values are passed
+     */
     public static boolean matches(NottableString matcher, NottableString matched, boolean ignoreCase) {
         return matcher.isNot() != (matched.isNot() != matches(matcher.getValue(), matched.getValue(), ignoreCase));
     }
 
     public static boolean matches(String matcher, String matched, boolean ignoreCase) {
+        if (Strings.isNullOrEmpty(matcher)) {
+            return true;
+        } else {
+            return matches(RegexPattern.compile(matcher), matched, ignoreCase);
+        }
+    }
+
+    static boolean matches(RegexPattern matcher, String matched, boolean ignoreCase) {
+        return matches(matcher, matched != null ? RegexPattern.uncached(matched) : null, ignoreCase);
+    }
+
+    /**
+     * The matched value is compiled by the caller so a request value can be compiled once and shared by every
+     * expectation matched against the same request, a null matched value only matches an empty matcher
+     */
+    public static boolean matches(RegexPattern matcher, RegexPattern matched, boolean ignoreCase) {
         boolean result = false;
 
-        if (Strings.isNullOrEmpty(matcher)) {
+        if (Strings.isNullOrEmpty(matcher.getValue())) {
             result = true;
         } else if (matched != null) {
-            // match as exact string
-            if (matched.equals(matcher)) {
+            // match as exact string or as regex - matcher -> matched
+            if (matcher.matches(matched.getValue(), false)) {
                 result = true;
             }
-            if (!result) {
-                // match as regex - matcher -> matched
-                try {
-                    if (matched.matches(matcher)) {
-                        result = true;
-                    }
-                } catch (PatternSyntaxException pse) {
-                    logger.trace("Error while matching regex [" + matcher + "] for string [" + matched + "] " + pse.getMessage());
-                }
-                // match as regex - matched -> matcher
-                try {
-                    if (matcher.matches(matched)) {
-                        result = true;
-                    }
-                } catch (PatternSyntaxException pse) {
-                    logger.trace("Error while matching regex [" + matched + "] for string [" + matcher + "] " + pse.getMessage());
-                }
-                // case insensitive comparison is mainly to improve matching in web containers like Tomcat that convert header names to lower case
-                if (!result && ignoreCase) {
-                    // match as exact string lower-case
-                    if (matched.equalsIgnoreCase(matcher)) {
-                        result = true;
-                    }
-                    // match as regex - matcher -> matched
-                    try {
-                        if (matched.toLowerCase().matches(matcher.toLowerCase())) {
-                            result = true;
-                        }
-                    } catch (PatternSyntaxException pse) {
-                        logger.trace("Error while matching regex [" + matcher.toLowerCase() + "] for string [" + matched.toLowerCase() + "] " + pse.getMessage());
-                    }
-                    // match as regex - matched -> matcher
-                    try {
-                        if (matcher.toLowerCase().matches(matched.toLowerCase())) {
-                            result = true;
-                        }
-                    } catch (PatternSyntaxException pse) {
-                        logger.trace("Error while matching regex [" + matched.toLowerCase() + "] for string [" + matcher.toLowerCase() + "] " + pse.getMessage());
-                    }
+            // match as regex - matched -> matcher
+            if (!result && matched.matches(matcher.getValue(), false)) {
+                result = true;
+            }
+            // case insensitive comparison is mainly to improve matching in web containers like Tomcat that convert header names to lower case
+            if (!result && ignoreCase) {
+                if (matcher.matches(matched.getValue(), true) || matched.matches(matcher.getValue(), true)) {
+                    result = true;
                 }
             }
         }
@@ -91,7 +81,7 @@ public class RegexStringMatcher extends BodyMatcher<NottableString> {
     public boolean matches(NottableString matched) {
         boolean result = false;
 
-        if (matches(matcher.getValue(), matched.getValue(), false)) {
+        if (matches(compiledMatcher, matched.getValue(), false)) {
             result = true;
         }
 
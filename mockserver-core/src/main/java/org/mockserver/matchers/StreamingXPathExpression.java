@@ -0,0 +1,317 @@
+package org.mockserver.matchers;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates the common subset of XPath as a boolean in a single pass over an XML document without building a DOM, the
+ * supported subset is an absolute path of child steps (i.e. /envelope/body or /envelope/*) where each step can have attribute
+ * predicates (i.e. [@name] or [@name='value']) and the last step can have a text predicate (i.e. [text()='value'])
+ *
+ * Documents are read without namespace support, so an undeclared prefix is not an error, and names are compared
+ * without their prefix in the same way as an XPath evaluated against a document parsed without namespace support, any
+ * other expression can't be compiled and must be evaluated against a DOM
+ *
+ * @author jamesdbloom
+ */
+public class StreamingXPathExpression {
+
+    // input factories are not guaranteed to be thread safe
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+            xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+            xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            return xmlInputFactory;
+        }
+    };
+
+    private final Step[] steps;
+
+    private StreamingXPathExpression(Step[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Returns the streaming form of the xpath or null if the xpath is not in the supported subset
+     */
+    public static StreamingXPathExpression compile(String xpath) {
+        if (xpath == null) {
+            return null;
+        }
+        List<Step> steps = new ArrayList<Step>();
+        String expression = xpath.trim();
+        int index = 0;
+        while (index < expression.length()) {
+            if (expression.charAt(index) != '/') {
+                return null;
+            }
+            int nameEnd = nameEnd(expression, index + 1);
+            String name = expression.substring(index + 1, nameEnd);
+            if (name.isEmpty() && nameEnd < expression.length() && expression.charAt(nameEnd) == '*') {
+                name = "*";
+                nameEnd++;
+            }
+            if (name.isEmpty()) {
+                return null;
+            }
+            Step step = new Step(name);
+            index = nameEnd;
+            while (index < expression.length() && expression.charAt(index) == '[') {
+                index = parsePredicate(expression, index + 1, step);
+                if (index == -1) {
+                    return null;
+                }
+            }
+            steps.add(step);
+        }
+        if (steps.isEmpty()) {
+            return null;
+        }
+        // text predicates on earlier steps can depend on text after the descendants, so can't be decided in one pass
+        for (int i = 0; i < steps.size() - 1; i++) {
+            if (steps.get(i).text != null) {
+                return null;
+            }
+        }
+        return new StreamingXPathExpression(steps.toArray(new Step[steps.size()]));
+    }
+
+    private static int parsePredicate(String expression, int index, Step step) {
+        index = skipWhitespace(expression, index);
+        if (expression.startsWith("@", index)) {
+            int nameEnd = nameEnd(expression, index + 1);
+            String name = expression.substring(index + 1, nameEnd);
+            if (name.isEmpty()) {
+                return -1;
+            }
+            index = skipWhitespace(expression, nameEnd);
+            String value = null;
+            if (expression.startsWith("=", index)) {
+                index = skipWhitespace(expression, index + 1);
+                int literalEnd = literalEnd(expression, index);
+                if (literalEnd == -1) {
+                    return -1;
+                }
+                value = expression.substring(index + 1, literalEnd);
+                index = skipWhitespace(expression, literalEnd + 1);
+            }
+            step.attributes.add(new AttributePredicate(name, value));
+        } else if (expression.startsWith("text()", index) && step.text == null) {
+            index = skipWhitespace(expression, index + "text()".length());
+            if (!expression.startsWith("=", index)) {
+                return -1;
+            }
+            index = skipWhitespace(expression, index + 1);
+            int literalEnd = literalEnd(expression, index);
+            if (literalEnd == -1) {
+                return -1;
+            }
+            step.text = expression.substring(index + 1, literalEnd);
+            index = skipWhitespace(expression, literalEnd + 1);
+        } else {
+            return -1;
+        }
+        return expression.startsWith("]", index) ? index + 1 : -1;
+    }
+
+    private static int nameEnd(String expression, int index) {
+        int end = index;
+        while (end < expression.length()) {
+            char character = expression.charAt(end);
+            if (Character.isLetter(character) || character == '_' || (end > index && (Character.isDigit(character) || character == '-' || character == '.'))) {
+                end++;
+            } else {
+                break;
+            }
+        }
+        return end;
+    }
+
+    private static int literalEnd(String expression, int index) {
+        if (index < expression.length() && (expression.charAt(index) == '\'' || expression.charAt(index) == '"')) {
+            return expression.indexOf(expression.charAt(index), index + 1);
+        } else {
+            return -1;
+        }
+    }
+
+    private static int skipWhitespace(String expression, int index) {
+        while (index < expression.length() && Character.isWhitespace(expression.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns true if the xpath selects at least one element, the whole document is always read so that
+     * an invalid document never matches
+     */
+    public boolean matches(String xml) throws XMLStreamException {
+        return matches(XML_INPUT_FACTORY.get().createXMLStreamReader(new StringReader(xml)));
+    }
+
+    /**
+     * Returns true if the xpath selects at least one element of the document decoded from the stream with the charset,
+     * only the current event is held in memory so the size of the document isn't limited by the heap
+     */
+    public boolean matches(InputStream xml, Charset charset) throws XMLStreamException {
+        return matches(XML_INPUT_FACTORY.get().createXMLStreamReader(xml, charset.name()));
+    }
+
+    private boolean matches(XMLStreamReader reader) throws XMLStreamException {
+        try {
+            boolean result = false;
+            int depth = 0;
+            int matchedDepth = 0;
+            TextComparison textComparison = null;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        if (textComparison != null) {
+                            result |= textComparison.end();
+                        }
+                        depth++;
+                        if (!result && matchedDepth == depth - 1 && depth <= steps.length && steps[depth - 1].matches(reader)) {
+                            matchedDepth = depth;
+                            if (depth == steps.length) {
+                                if (steps[depth - 1].text == null) {
+                                    result = true;
+                                } else {
+                                    textComparison = new TextComparison(steps[depth - 1].text);
+                                }
+                            }
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (textComparison != null) {
+                            result |= textComparison.end();
+                            if (matchedDepth == depth && depth == steps.length) {
+                                textComparison = null;
+                            }
+                        }
+                        if (matchedDepth == depth) {
+                            matchedDepth--;
+                        }
+                        depth--;
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        // only text directly inside the element selected by the last step
+                        if (textComparison != null && matchedDepth == depth && depth == steps.length) {
+                            textComparison.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        // comments and processing instructions split text nodes
+                        if (textComparison != null) {
+                            result |= textComparison.end();
+                        }
+                        break;
+                }
+            }
+            return result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Without namespace support the local name of an element is its whole qualified name
+     */
+    private static String withoutPrefix(String name) {
+        return name.substring(name.indexOf(':') + 1);
+    }
+
+    /**
+     * Without namespace support namespace declarations are reported as attributes, but they aren't attributes to XPath
+     */
+    private static boolean isNamespaceDeclaration(XMLStreamReader reader, int index) {
+        String localName = reader.getAttributeLocalName(index);
+        return "xmlns".equals(reader.getAttributePrefix(index)) || localName.equals("xmlns") || localName.startsWith("xmlns:");
+    }
+
+    private static class Step {
+        private final String name;
+        private final List<AttributePredicate> attributes = new ArrayList<AttributePredicate>();
+        private String text;
+
+        private Step(String name) {
+            this.name = name;
+        }
+
+        private boolean matches(XMLStreamReader reader) {
+            if (!name.equals("*") && !name.equals(withoutPrefix(reader.getLocalName()))) {
+                return false;
+            }
+            for (AttributePredicate attribute : attributes) {
+                if (!attribute.matches(reader)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class AttributePredicate {
+        private final String name;
+        private final String value;
+
+        private AttributePredicate(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        private boolean matches(XMLStreamReader reader) {
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (!isNamespaceDeclaration(reader, i) && name.equals(withoutPrefix(reader.getAttributeLocalName(i))) && (value == null || value.equals(reader.getAttributeValue(i)))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Compares a text node with the expected value as it is read so the text is never held in memory
+     */
+    private static class TextComparison {
+        private final String expected;
+        private int position = 0;
+        private boolean started = false;
+        private boolean mismatch = false;
+
+        private TextComparison(String expected) {
+            this.expected = expected;
+        }
+
+        private void append(char[] characters, int start, int length) {
+            started = true;
+            for (int i = start; i < start + length && !mismatch; i++) {
+                if (position < expected.length() && expected.charAt(position) == characters[i]) {
+                    position++;
+                } else {
+                    mismatch = true;
+                }
+            }
+        }
+
+        private boolean end() {
+            boolean result = started && !mismatch && position == expected.length();
+            position = 0;
+            started = false;
+            mismatch = false;
+            return result;
+        }
+    }
+}
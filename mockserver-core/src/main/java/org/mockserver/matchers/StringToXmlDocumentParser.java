@@ -23,6 +23,10 @@ import java.io.StringReader;
  */
 public class StringToXmlDocumentParser extends ObjectWithReflectiveEqualsHashCodeToString {
 
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = documentBuilderFactory();
+    // document builders are not thread safe but can be reused for multiple documents
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<DocumentBuilder>();
+
     public String normaliseXmlString(String matched, ErrorLogger errorLogger) throws IOException, SAXException, ParserConfigurationException {
         return prettyPrintXmlDocument(buildDocument(matched, errorLogger));
     }
@@ -34,8 +38,7 @@ public class StringToXmlDocumentParser extends ObjectWithReflectiveEqualsHashCod
     }
 
     public Document buildDocument(final String matched, final ErrorLogger errorLogger) throws ParserConfigurationException, IOException, SAXException {
-        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+        DocumentBuilder documentBuilder = documentBuilder();
         documentBuilder.setErrorHandler(new ErrorHandler() {
             @Override
             public void warning(SAXParseException exception) throws SAXException {
@@ -55,6 +58,28 @@ public class StringToXmlDocumentParser extends ObjectWithReflectiveEqualsHashCod
         return documentBuilder.parse(new InputSource(new StringReader(matched)));
     }
 
+    private static DocumentBuilder documentBuilder() throws ParserConfigurationException {
+        DocumentBuilder documentBuilder = DOCUMENT_BUILDER.get();
+        if (documentBuilder == null) {
+            synchronized (DOCUMENT_BUILDER_FACTORY) {
+                documentBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+            }
+            DOCUMENT_BUILDER.set(documentBuilder);
+        }
+        return documentBuilder;
+    }
+
+    private static DocumentBuilderFactory documentBuilderFactory() {
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        try {
+            // build the whole tree when parsing so a document can be read by multiple threads
+            documentBuilderFactory.setAttribute("http://apache.org/xml/features/dom/defer-node-expansion", false);
+        } catch (IllegalArgumentException iae) {
+            // ignore as parser does not defer node expansion
+        }
+        return documentBuilderFactory;
+    }
+
     public static interface ErrorLogger {
         public void logError(final String matched, final Exception exception);
     }
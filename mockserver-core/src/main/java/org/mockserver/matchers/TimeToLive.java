@@ -1,8 +1,8 @@
 package org.mockserver.matchers;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 
-import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -13,17 +13,17 @@ public class TimeToLive extends ObjectWithReflectiveEqualsHashCodeToString {
     private final TimeUnit timeUnit;
     private final Long timeToLive;
     private final boolean unlimited;
-    private final Date createdDate;
-    private Date endDate;
+    private final long endTimeMillis;
 
     private TimeToLive(TimeUnit timeUnit, Long timeToLive, boolean unlimited) {
-        addFieldsExcludedFromEqualsAndHashCode("createdDate", "endDate");
+        addFieldsExcludedFromEqualsAndHashCode("endTimeMillis");
         this.timeUnit = timeUnit;
         this.timeToLive = timeToLive;
         this.unlimited = unlimited;
-        createdDate = new Date();
         if (!unlimited) {
-            endDate = new Date(System.currentTimeMillis() + timeUnit.toMillis(timeToLive));
+            endTimeMillis = System.currentTimeMillis() + timeUnit.toMillis(timeToLive);
+        } else {
+            endTimeMillis = Long.MAX_VALUE;
         }
     }
 
@@ -48,17 +48,18 @@ public class TimeToLive extends ObjectWithReflectiveEqualsHashCodeToString {
     }
 
     public boolean stillAlive() {
-        if (unlimited || isAfterNow(endDate)) {
+        if (unlimited || remainingMillis() > 0) {
             return true;
         } else {
             if (logger.isTraceEnabled()) {
-                logger.trace("Remaining time is " + (endDate.getTime() - createdDate.getTime()) + "ms");
+                logger.trace("Time to live of " + timeToLive + " " + timeUnit + " has expired");
             }
             return false;
         }
     }
 
-    private boolean isAfterNow(Date date) {
-        return date.getTime() > System.currentTimeMillis();
+    @JsonIgnore
+    public long remainingMillis() {
+        return unlimited ? Long.MAX_VALUE : endTimeMillis - System.currentTimeMillis();
     }
 }
@@ -2,13 +2,16 @@ package org.mockserver.matchers;
 
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
  * @author jamesdbloom
  */
 public class Times extends ObjectWithReflectiveEqualsHashCodeToString {
 
-    private int remainingTimes;
-    private boolean unlimited;
+    private static final AtomicIntegerFieldUpdater<Times> REMAINING_TIMES = AtomicIntegerFieldUpdater.newUpdater(Times.class, "remainingTimes");
+    private volatile int remainingTimes;
+    private volatile boolean unlimited;
 
     private Times(int remainingTimes, boolean unlimited) {
         this.remainingTimes = remainingTimes;
@@ -45,14 +48,33 @@ public class Times extends ObjectWithReflectiveEqualsHashCodeToString {
     }
 
     public Times decrement() {
-        if (!unlimited) {
-            remainingTimes--;
-        }
+        tryDecrement();
         return this;
     }
 
-    public Times setNotUnlimitedResponses() {
+    /**
+     * Atomically claims one of the remaining times, so concurrent callers can never claim more than the
+     * remaining count, returns false if there were no remaining times to claim
+     */
+    public boolean tryDecrement() {
+        if (unlimited) {
+            return true;
+        }
+        while (true) {
+            int current = remainingTimes;
+            if (current <= 0) {
+                logger.trace("Remaining count is 0");
+                return false;
+            }
+            if (REMAINING_TIMES.compareAndSet(this, current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    public synchronized Times setNotUnlimitedResponses() {
         if (unlimited) {
+            // remaining times must be set before unlimited is cleared so it is visible to any thread that sees limited
             remainingTimes = 1;
             unlimited = false;
         }
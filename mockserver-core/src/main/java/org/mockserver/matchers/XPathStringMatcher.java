@@ -3,11 +3,13 @@ package org.mockserver.matchers;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import java.io.InputStream;
 
 /**
  * @author jamesdbloom
@@ -16,13 +18,17 @@ public class XPathStringMatcher extends BodyMatcher<String> {
     private static Logger logger = LoggerFactory.getLogger(XPathStringMatcher.class);
     private final String matcher;
     private final StringToXmlDocumentParser stringToXmlDocumentParser = new StringToXmlDocumentParser();
+    // xpath expressions are not thread safe so evaluation is synchronized on the expression, most expressions are
+    // matched by the streaming expression which is thread safe and never evaluates the compiled expression
     private XPathExpression xpathExpression = null;
+    private StreamingXPathExpression streamingXPathExpression = null;
 
     public XPathStringMatcher(String matcher) {
         this.matcher = matcher;
         if (StringUtils.isNotEmpty(matcher)) {
             try {
                 xpathExpression = XPathFactory.newInstance().newXPath().compile(matcher);
+                streamingXPathExpression = StreamingXPathExpression.compile(matcher);
             } catch (XPathExpressionException e) {
                 logger.trace("Error while creating xpath expression for [" + matcher + "] assuming matcher not xpath - " + e.getMessage(), e);
             }
@@ -39,12 +45,16 @@ public class XPathStringMatcher extends BodyMatcher<String> {
         } else if (matched != null) {
             // match as xpath - matcher -> matched
             try {
-                result = (Boolean) xpathExpression.evaluate(stringToXmlDocumentParser.buildDocument(matched, new StringToXmlDocumentParser.ErrorLogger() {
-                    @Override
-                    public void logError(final String matched, final Exception exception) {
-                        logger.debug("SAXParseException while performing match between [" + matcher + "] and [" + matched + "]", exception);
-                    }
-                }), XPathConstants.BOOLEAN);
+                if (streamingXPathExpression != null) {
+                    result = streamingXPathExpression.matches(matched);
+                } else {
+                    result = evaluate(stringToXmlDocumentParser.buildDocument(matched, new StringToXmlDocumentParser.ErrorLogger() {
+                        @Override
+                        public void logError(final String matched, final Exception exception) {
+                            logger.debug("SAXParseException while performing match between [" + matcher + "] and [" + matched + "]", exception);
+                        }
+                    }));
+                }
             } catch (Exception e) {
                 logger.trace("Error while matching xpath [" + matcher + "] against string [" + matched + "] assuming no match - " + e.getMessage());
             }
@@ -57,8 +67,63 @@ public class XPathStringMatcher extends BodyMatcher<String> {
         return reverseResultIfNot(result);
     }
 
+    /**
+     * Matches the request body parsed once for all XML matchers evaluated against the same request, an xpath in the
+     * streaming subset reads the body as a stream so neither the body string nor a document is built
+     */
+    public boolean matchesParsedBody(ParsedHttpRequest parsedHttpRequest) {
+        boolean result = false;
+
+        if (xpathExpression == null) {
+            logger.warn("Attempting match against null XPath Expression for [" + parsedHttpRequest.getBodyAsString() + "]" + new RuntimeException("Attempting match against null XPath Expression for [" + parsedHttpRequest.getBodyAsString() + "]"));
+        } else if (bodyIsMatcher(parsedHttpRequest)) {
+            result = true;
+        } else if (streamingXPathExpression != null) {
+            // match as xpath without building a document - matcher -> matched
+            try {
+                InputStream inputStream = parsedHttpRequest.getBodyAsStream();
+                try {
+                    result = streamingXPathExpression.matches(inputStream, parsedHttpRequest.getBodyCharset());
+                } finally {
+                    inputStream.close();
+                }
+            } catch (Exception e) {
+                logger.trace("Error while matching xpath [" + matcher + "] against request body assuming no match - " + e.getMessage());
+            }
+        } else if (parsedHttpRequest.getBodyAsXmlDocument() != null) {
+            // match as xpath - matcher -> matched
+            try {
+                result = evaluate(parsedHttpRequest.getBodyAsXmlDocument());
+            } catch (Exception e) {
+                logger.trace("Error while matching xpath [" + matcher + "] against string [" + parsedHttpRequest.getBodyAsString() + "] assuming no match - " + e.getMessage());
+            }
+        }
+
+        if (!result && logger.isTraceEnabled()) {
+            // a spilled body that was streamed is not read onto the heap just to be logged
+            logger.trace("Failed to match [{}] with [{}]", parsedHttpRequest.isBodySpilled() ? "spilled body of " + parsedHttpRequest.getBodyLength() + " bytes" : parsedHttpRequest.getBodyAsString(), this.matcher);
+        }
+
+        return reverseResultIfNot(result);
+    }
+
+    /**
+     * Compares the body with the xpath itself only when their encoded lengths are equal so a large body is never
+     * decoded just to be compared with the xpath
+     */
+    private boolean bodyIsMatcher(ParsedHttpRequest parsedHttpRequest) {
+        return parsedHttpRequest.getBodyLength() == matcher.getBytes(parsedHttpRequest.getBodyCharset()).length
+                && matcher.equals(parsedHttpRequest.getBodyAsString());
+    }
+
+    private boolean evaluate(Document document) throws XPathExpressionException {
+        synchronized (xpathExpression) {
+            return (Boolean) xpathExpression.evaluate(document, XPathConstants.BOOLEAN);
+        }
+    }
+
     @Override
     public String[] fieldsExcludedFromEqualsAndHashCode() {
-        return new String[]{"logger", "xpathExpression"};
+        return new String[]{"logger", "xpathExpression", "streamingXPathExpression"};
     }
 }
@@ -1,12 +1,18 @@
 package org.mockserver.matchers;
 
+import com.google.common.base.Strings;
 import org.mockserver.model.NottableString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.mockserver.model.NottableString.string;
 
@@ -17,21 +23,20 @@ public class XmlStringMatcher extends BodyMatcher<NottableString> {
     private static Logger logger = LoggerFactory.getLogger(XmlStringMatcher.class);
     private NottableString matcher = string("THIS SHOULD NEVER MATCH");
     private StringToXmlDocumentParser stringToXmlDocumentParser = new StringToXmlDocumentParser();
+    private Document matcherDocument;
 
     public XmlStringMatcher(final String matcher) {
-        try {
-            this.matcher = string(normaliseXmlString(matcher));
-        } catch (Exception e) {
-            logger.error("Error while creating xml string matcher for [" + matcher + "]" + e.getMessage(), e);
-        }
+        this(string(matcher));
     }
 
     public XmlStringMatcher(final NottableString matcher) {
         try {
+            this.matcherDocument = buildDocument(matcher.getValue());
             this.matcher = normaliseXmlNottableString(matcher);
         } catch (Exception e) {
             logger.error("Error while creating xml string matcher for [" + matcher + "]" + e.getMessage(), e);
         }
+        addFieldsExcludedFromEqualsAndHashCode("matcherDocument");
     }
 
     public String normaliseXmlString(final String input) throws ParserConfigurationException, SAXException, IOException {
@@ -47,6 +52,15 @@ public class XmlStringMatcher extends BodyMatcher<NottableString> {
         return string(normaliseXmlString(input.getValue()), input.getNot());
     }
 
+    private Document buildDocument(final String input) throws ParserConfigurationException, SAXException, IOException {
+        return stringToXmlDocumentParser.buildDocument(input, new StringToXmlDocumentParser.ErrorLogger() {
+            @Override
+            public void logError(final String matched, final Exception exception) {
+                logger.debug("SAXParseException while parsing [" + input + "]", exception);
+            }
+        });
+    }
+
     public boolean matches(String matched) {
         return matches(string(matched));
     }
@@ -55,7 +69,7 @@ public class XmlStringMatcher extends BodyMatcher<NottableString> {
         boolean result = false;
 
         try {
-            if (ExactStringMatcher.matches(matcher.getValue(), normaliseXmlString(matched.getValue()), false)) {
+            if (matcherDocument != null && matched.getValue() != null && matches(matcherDocument, buildDocument(matched.getValue()))) {
                 result = true;
             }
         } catch (Exception e) {
@@ -68,4 +82,113 @@ public class XmlStringMatcher extends BodyMatcher<NottableString> {
 
         return matcher.isNot() != reverseResultIfNot(result);
     }
+
+    /**
+     * Matches the request body parsed once for all XML matchers evaluated against the same request
+     */
+    public boolean matchesParsedBody(ParsedHttpRequest parsedHttpRequest) {
+        boolean result = false;
+
+        if (matcherDocument != null && parsedHttpRequest.getBodyAsXmlDocument() != null && matches(matcherDocument, parsedHttpRequest.getBodyAsXmlDocument())) {
+            result = true;
+        }
+
+        if (!result) {
+            logger.trace("Failed to match [{}] with [{}]", parsedHttpRequest.getBodyAsString(), this.matcher);
+        }
+
+        return matcher.isNot() != reverseResultIfNot(result);
+    }
+
+    /**
+     * Compares the structure of two documents, attribute order, whitespace between elements and whether
+     * text is held in CDATA sections are ignored, nodes are only ever read using first child and next
+     * sibling as the node list caches are not thread safe
+     */
+    private static boolean matches(Node matcher, Node matched) {
+        if (matcher.getNodeType() != matched.getNodeType()
+                || !equals(matcher.getNodeName(), matched.getNodeName())
+                || !equals(matcher.getNamespaceURI(), matched.getNamespaceURI())) {
+            return false;
+        }
+        switch (matcher.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                if (!attributesMatch(matcher.getAttributes(), matched.getAttributes())) {
+                    return false;
+                }
+                return childrenMatch(matcher, matched);
+            case Node.DOCUMENT_NODE:
+                return childrenMatch(matcher, matched);
+            case Node.COMMENT_NODE:
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                return equals(matcher.getNodeValue(), matched.getNodeValue());
+            default:
+                return true;
+        }
+    }
+
+    private static boolean attributesMatch(NamedNodeMap matcher, NamedNodeMap matched) {
+        if (matcher.getLength() != matched.getLength()) {
+            return false;
+        }
+        for (int i = 0; i < matcher.getLength(); i++) {
+            Node attribute = matcher.item(i);
+            Node matchedAttribute = matched.getNamedItem(attribute.getNodeName());
+            if (matchedAttribute == null || !equals(attribute.getNodeValue(), matchedAttribute.getNodeValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean childrenMatch(Node matcher, Node matched) {
+        List<Object> matcherChildren = significantChildren(matcher);
+        List<Object> matchedChildren = significantChildren(matched);
+        if (matcherChildren.size() != matchedChildren.size()) {
+            return false;
+        }
+        for (int i = 0; i < matcherChildren.size(); i++) {
+            Object matcherChild = matcherChildren.get(i);
+            Object matchedChild = matchedChildren.get(i);
+            if (matcherChild instanceof String || matchedChild instanceof String) {
+                if (!matcherChild.equals(matchedChild)) {
+                    return false;
+                }
+            } else if (!matches((Node) matcherChild, (Node) matchedChild)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the child nodes with adjacent text and CDATA sections merged into a single trimmed string and
+     * whitespace only text removed
+     */
+    private static List<Object> significantChildren(Node node) {
+        List<Object> children = new ArrayList<Object>();
+        StringBuilder text = new StringBuilder();
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                text.append(child.getNodeValue());
+            } else if (child.getNodeType() != Node.DOCUMENT_TYPE_NODE) {
+                addText(children, text);
+                children.add(child);
+            }
+        }
+        addText(children, text);
+        return children;
+    }
+
+    private static void addText(List<Object> children, StringBuilder text) {
+        String trimmed = text.toString().trim();
+        if (!trimmed.isEmpty()) {
+            children.add(trimmed);
+        }
+        text.setLength(0);
+    }
+
+    private static boolean equals(String one, String two) {
+        return Strings.nullToEmpty(one).equals(Strings.nullToEmpty(two));
+    }
 }
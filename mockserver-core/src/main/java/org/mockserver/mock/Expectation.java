@@ -1,8 +1,10 @@
 package org.mockserver.mock;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.Objects;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.matchers.ParsedHttpRequest;
 import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
 import org.mockserver.model.*;
@@ -148,6 +150,13 @@ public class Expectation extends ObjectWithJsonToString {
         return hasRemainingMatches() && isStillAlive() && httpRequestMatcher.matches(httpRequest, true);
     }
 
+    /**
+     * Matches without checking the time to live, for use when expired expectations are removed before they can be matched
+     */
+    public boolean matchesIgnoringTimeToLive(HttpRequest httpRequest, ParsedHttpRequest parsedHttpRequest) {
+        return hasRemainingMatches() && httpRequestMatcher.matches(httpRequest, parsedHttpRequest, true);
+    }
+
     public boolean hasRemainingMatches() {
         return times == null || times.greaterThenZero();
     }
@@ -163,6 +172,10 @@ public class Expectation extends ObjectWithJsonToString {
         }
     }
 
+    public boolean tryDecrementRemainingMatches() {
+        return times == null || times.tryDecrement();
+    }
+
     public void setNotUnlimitedResponses() {
         if (times != null) {
             times.setNotUnlimitedResponses();
@@ -172,4 +185,33 @@ public class Expectation extends ObjectWithJsonToString {
     public boolean contains(HttpRequest httpRequest) {
         return httpRequest != null && this.httpRequest.equals(httpRequest);
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (other == null || other.getClass() != getClass()) {
+            return false;
+        }
+        Expectation that = (Expectation) other;
+        return Objects.equal(httpRequest, that.httpRequest)
+                && Objects.equal(times, that.times)
+                && Objects.equal(timeToLive, that.timeToLive)
+                && Objects.equal(httpResponse, that.httpResponse)
+                && Objects.equal(httpForward, that.httpForward)
+                && Objects.equal(httpError, that.httpError)
+                && Objects.equal(httpCallback, that.httpCallback);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = httpRequestMatcher.hashCode();
+        result = 31 * result + (times != null ? times.hashCode() : 0);
+        result = 31 * result + (timeToLive != null ? timeToLive.hashCode() : 0);
+        result = 31 * result + (httpResponse != null ? httpResponse.hashCode() : 0);
+        result = 31 * result + (httpForward != null ? httpForward.hashCode() : 0);
+        result = 31 * result + (httpError != null ? httpError.hashCode() : 0);
+        result = 31 * result + (httpCallback != null ? httpCallback.hashCode() : 0);
+        return result;
+    }
 }
@@ -0,0 +1,321 @@
+package org.mockserver.mock;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Ordering;
+import io.netty.util.Timeout;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+
+/**
+ * An immutable version of the expectations, in the order they were added, indexed by the literal prefix of their path
+ * so that only the expectations which could possibly match a request are evaluated, expectations that can't be indexed
+ * (i.e. empty, not-ed or alternation paths) are held on the root node and are therefore a candidate for every request
+ *
+ * Adding or removing an expectation returns a new version which shares all unchanged nodes with the previous version,
+ * so readers can use a version without copying or locking while a writer publishes the next one, expectations are held
+ * in sequence trees so each version only copies O(log n) nodes and expectations are removed by their sequence
+ *
+ * @author jamesdbloom
+ */
+public class ExpectationIndex {
+
+    public static final ExpectationIndex EMPTY = new ExpectationIndex(SequenceTree.<Entry>empty(), Node.EMPTY, 0);
+
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String OPTIONAL_QUANTIFIERS = "?*{";
+
+    private final SequenceTree<Entry> entries;
+    private final Node root;
+    private final long nextSequence;
+
+    private ExpectationIndex(SequenceTree<Entry> entries, Node root, long nextSequence) {
+        this.entries = entries;
+        this.root = root;
+        this.nextSequence = nextSequence;
+    }
+
+    public ExpectationIndex with(Expectation expectation) {
+        Entry entry = new Entry(nextSequence, expectation, literalPrefix(expectation.getHttpRequest()));
+        return new ExpectationIndex(entries.with(entry.sequence, entry), root.with(entry.literalPrefix, 0, entry), nextSequence + 1);
+    }
+
+    public ExpectationIndex without(long sequence) {
+        return without(Collections.singletonList(sequence));
+    }
+
+    public ExpectationIndex without(Collection<Long> sequences) {
+        SequenceTree<Entry> updatedEntries = entries;
+        Node updatedRoot = root;
+        for (Long sequence : sequences) {
+            Entry entry = updatedEntries.get(sequence);
+            if (entry != null) {
+                updatedEntries = updatedEntries.without(sequence);
+                updatedRoot = updatedRoot.without(entry.literalPrefix, 0, entry);
+            }
+        }
+        return updatedEntries == entries ? this : new ExpectationIndex(updatedEntries, updatedRoot, nextSequence);
+    }
+
+    public ExpectationIndex clear() {
+        return new ExpectationIndex(SequenceTree.<Entry>empty(), Node.EMPTY, nextSequence);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the entry with the sequence or null if it has been removed
+     */
+    Entry entry(long sequence) {
+        return entries.get(sequence);
+    }
+
+    /**
+     * Returns the most recently added entry or null if there are none
+     */
+    Entry newest() {
+        return entries.last();
+    }
+
+    /**
+     * Returns all entries in the order they were added
+     */
+    List<Entry> entries() {
+        List<Entry> entries = new ArrayList<Entry>(this.entries.size());
+        Iterators.addAll(entries, this.entries.iterator());
+        return entries;
+    }
+
+    /**
+     * Returns all expectations in the order they were added
+     */
+    public List<Expectation> expectations() {
+        return expectations(entries());
+    }
+
+    /**
+     * Returns the expectations that could match the request in the order they were added, or all expectations
+     * when the request can't be resolved against the index (i.e. empty or not-ed path)
+     */
+    public List<Expectation> candidates(HttpRequest httpRequest) {
+        return expectations(candidateEntries(httpRequest));
+    }
+
+    /**
+     * Returns the entries that could match the request in the order they were added, or all entries when the request
+     * can't be resolved against the index (i.e. empty or not-ed path)
+     */
+    List<Entry> candidateEntries(HttpRequest httpRequest) {
+        if (httpRequest == null) {
+            return entries();
+        }
+        NottableString path = httpRequest.getPath();
+        if (httpRequest.isNot() || path.isNot() || Strings.isNullOrEmpty(path.getValue()) || path.getValue().indexOf('|') != -1) {
+            return entries();
+        }
+        // each node is visited at most once so every bucket is distinct and already in sequence order
+        List<SequenceTree<Entry>> buckets = new ArrayList<SequenceTree<Entry>>();
+        String requestPath = path.getValue();
+        String requestPathLiteralPrefix = literalPrefix(requestPath);
+        boolean literalRequestPath = requestPathLiteralPrefix.equals(requestPath);
+        // expectations whose path (as a regex) could match the requested path, below the literal prefix of a regex
+        // requested path every node is collected by the walk of the subtree
+        Node node = root;
+        for (int i = 0; node != null; i++) {
+            buckets.add(node.entries);
+            if (i < requestPath.length() && (literalRequestPath || i < requestPathLiteralPrefix.length())) {
+                node = node.children.get(requestPath.charAt(i));
+            } else {
+                node = null;
+            }
+        }
+        // expectations whose path could be matched by the requested path (as a regex)
+        if (!literalRequestPath) {
+            node = root;
+            for (int i = 0; node != null && i < requestPathLiteralPrefix.length(); i++) {
+                node = node.children.get(requestPathLiteralPrefix.charAt(i));
+            }
+            if (node != null) {
+                for (Node child : node.children.values()) {
+                    child.collect(buckets);
+                }
+            }
+        }
+        return merged(buckets);
+    }
+
+    /**
+     * Returns the expectations which have been added with a request that has the same path as the request specified
+     */
+    public List<Expectation> withSamePath(HttpRequest httpRequest) {
+        Node node = root;
+        for (char character : literalPrefix(httpRequest).toCharArray()) {
+            node = node.children.get(character);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+        }
+        List<Expectation> expectations = new ArrayList<Expectation>(node.entries.size());
+        for (Entry entry : node.entries) {
+            expectations.add(entry.expectation);
+        }
+        return expectations;
+    }
+
+    /**
+     * K-way merge of buckets which are each in sequence order
+     */
+    private static List<Entry> merged(List<SequenceTree<Entry>> buckets) {
+        List<Iterator<Entry>> iterators = new ArrayList<Iterator<Entry>>(buckets.size());
+        for (SequenceTree<Entry> bucket : buckets) {
+            if (!bucket.isEmpty()) {
+                iterators.add(bucket.iterator());
+            }
+        }
+        List<Entry> entries = new ArrayList<Entry>();
+        if (iterators.size() == 1) {
+            Iterators.addAll(entries, iterators.get(0));
+        } else {
+            Iterators.addAll(entries, Iterators.mergeSorted(iterators, Ordering.<Entry>natural()));
+        }
+        return entries;
+    }
+
+    private static List<Expectation> expectations(List<Entry> entries) {
+        List<Expectation> expectations = new ArrayList<Expectation>(entries.size());
+        for (Entry entry : entries) {
+            expectations.add(entry.expectation);
+        }
+        return expectations;
+    }
+
+    private static String literalPrefix(HttpRequest httpRequest) {
+        if (httpRequest == null) {
+            return "";
+        }
+        NottableString path = httpRequest.getPath();
+        if (httpRequest.isNot() || path == null || path.isNot() || path.getValue() == null || path.getValue().indexOf('|') != -1) {
+            return "";
+        } else {
+            return literalPrefix(path.getValue());
+        }
+    }
+
+    /**
+     * The longest prefix that every string matched by the value (as a regex) must start with
+     */
+    static String literalPrefix(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (REGEX_META_CHARACTERS.indexOf(character) != -1) {
+                if (OPTIONAL_QUANTIFIERS.indexOf(character) != -1 && i > 0) {
+                    return value.substring(0, i - 1);
+                } else {
+                    return value.substring(0, i);
+                }
+            }
+        }
+        return value;
+    }
+
+    private static class Node {
+        private static final Node EMPTY = new Node(Collections.<Character, Node>emptyMap(), SequenceTree.<Entry>empty());
+
+        private final Map<Character, Node> children;
+        private final SequenceTree<Entry> entries;
+
+        private Node(Map<Character, Node> children, SequenceTree<Entry> entries) {
+            this.children = children;
+            this.entries = entries;
+        }
+
+        private boolean isEmpty() {
+            return children.isEmpty() && entries.isEmpty();
+        }
+
+        private Node with(String literalPrefix, int depth, Entry entry) {
+            if (depth == literalPrefix.length()) {
+                return new Node(children, entries.with(entry.sequence, entry));
+            } else {
+                Character character = literalPrefix.charAt(depth);
+                Node child = children.get(character);
+                Map<Character, Node> updatedChildren = new HashMap<Character, Node>(children);
+                updatedChildren.put(character, (child != null ? child : EMPTY).with(literalPrefix, depth + 1, entry));
+                return new Node(updatedChildren, entries);
+            }
+        }
+
+        private Node without(String literalPrefix, int depth, Entry entry) {
+            if (depth == literalPrefix.length()) {
+                return new Node(children, entries.without(entry.sequence));
+            } else {
+                Character character = literalPrefix.charAt(depth);
+                Node child = children.get(character);
+                if (child == null) {
+                    return this;
+                }
+                Node updatedChild = child.without(literalPrefix, depth + 1, entry);
+                Map<Character, Node> updatedChildren = new HashMap<Character, Node>(children);
+                if (updatedChild.isEmpty()) {
+                    updatedChildren.remove(character);
+                } else {
+                    updatedChildren.put(character, updatedChild);
+                }
+                return new Node(updatedChildren, entries);
+            }
+        }
+
+        private void collect(List<SequenceTree<Entry>> buckets) {
+            buckets.add(entries);
+            for (Node child : children.values()) {
+                child.collect(buckets);
+            }
+        }
+    }
+
+    static class Entry implements Comparable<Entry> {
+        private final long sequence;
+        private final Expectation expectation;
+        private final String literalPrefix;
+        // set once the entry has been published, as the sequence is only known then
+        private volatile Timeout expiry;
+
+        private Entry(long sequence, Expectation expectation, String literalPrefix) {
+            this.sequence = sequence;
+            this.expectation = expectation;
+            this.literalPrefix = literalPrefix;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+
+        Expectation expectation() {
+            return expectation;
+        }
+
+        Timeout expiry() {
+            return expiry;
+        }
+
+        void expiry(Timeout expiry) {
+            this.expiry = expiry;
+        }
+
+        void cancelExpiry() {
+            Timeout expiry = this.expiry;
+            if (expiry != null) {
+                expiry.cancel();
+            }
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package org.mockserver.mock;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import org.mockserver.client.serialization.Base64Converter;
 import org.mockserver.client.serialization.ExpectationSerializer;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.matchers.ParsedHttpRequest;
 import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
 import org.mockserver.model.Action;
@@ -17,6 +23,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,7 +33,10 @@ import java.util.regex.Pattern;
  */
 public class MockServerMatcher extends ObjectWithReflectiveEqualsHashCodeToString {
 
-    protected final List<Expectation> expectations = Collections.synchronizedList(new ArrayList<Expectation>());
+    // expired expectations are removed by this timer so matching a request never needs to check the time
+    private static final Timer EXPIRY_TIMER = new HashedWheelTimer(new DefaultThreadFactory("MockServer-ExpiryTimer", true), 10, TimeUnit.MILLISECONDS);
+
+    protected final AtomicReference<ExpectationIndex> expectations = new AtomicReference<ExpectationIndex>(ExpectationIndex.EMPTY);
     private Logger requestLogger = LoggerFactory.getLogger("REQUEST");
 
     public Expectation when(HttpRequest httpRequest) {
@@ -36,7 +47,7 @@ public class MockServerMatcher extends ObjectWithReflectiveEqualsHashCodeToStrin
         Expectation expectation;
         if (times.isUnlimited()) {
             Collection<Expectation> existingExpectationsWithMatchingRequest = new ArrayList<Expectation>();
-            for (Expectation potentialExpectation : new ArrayList<Expectation>(this.expectations)) {
+            for (Expectation potentialExpectation : this.expectations.get().withSamePath(httpRequest)) {
                 if (potentialExpectation.contains(httpRequest)) {
                     existingExpectationsWithMatchingRequest.add(potentialExpectation);
                 }
@@ -52,58 +63,117 @@ public class MockServerMatcher extends ObjectWithReflectiveEqualsHashCodeToStrin
         } else {
             expectation = new Expectation(httpRequest, times, timeToLive);
         }
-        this.expectations.add(expectation);
+        add(expectation);
         return expectation;
     }
 
     public Action handle(HttpRequest httpRequest) {
-        for (Expectation expectation : new ArrayList<Expectation>(this.expectations)) {
-            if (expectation.matches(httpRequest)) {
-                expectation.decrementRemainingMatches();
-                if (!expectation.hasRemainingMatches()) {
-                    if (this.expectations.contains(expectation)) {
-                        this.expectations.remove(expectation);
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(httpRequest, false);
+        for (ExpectationIndex.Entry entry : this.expectations.get().candidateEntries(httpRequest)) {
+            Expectation expectation = entry.expectation();
+            if (expectation.matchesIgnoringTimeToLive(httpRequest, parsedHttpRequest)) {
+                if (!expectation.isStillAlive()) {
+                    // the expiry timer only has tick precision so an expired expectation may not have been removed yet
+                    remove(Collections.singletonList(entry.sequence()));
+                } else {
+                    // another thread may have claimed the last remaining match since it was checked
+                    boolean claimed = expectation.tryDecrementRemainingMatches();
+                    if (!expectation.hasRemainingMatches()) {
+                        remove(Collections.singletonList(entry.sequence()));
+                    }
+                    if (claimed) {
+                        // any delay is left to the caller so a thread is not blocked for the delay
+                        return expectation.getAction(false);
                     }
-                }
-                return expectation.getAction(true);
-            } else if (!expectation.isStillAlive()) {
-                if (this.expectations.contains(expectation)) {
-                    this.expectations.remove(expectation);
                 }
             }
         }
         return null;
     }
 
+    private void add(final Expectation expectation) {
+        TimeToLive timeToLive = expectation.getTimeToLive();
+        boolean expires = timeToLive != null && !timeToLive.isUnlimited();
+        if (expires && !timeToLive.stillAlive()) {
+            return;
+        }
+        ExpectationIndex current;
+        ExpectationIndex updated;
+        do {
+            current = this.expectations.get();
+            updated = current.with(expectation);
+        } while (!this.expectations.compareAndSet(current, updated));
+        if (expires) {
+            ExpectationIndex.Entry entry = updated.newest();
+            final List<Long> sequence = Collections.singletonList(entry.sequence());
+            Timeout expiry = EXPIRY_TIMER.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) {
+                    remove(sequence);
+                }
+            }, timeToLive.remainingMillis(), TimeUnit.MILLISECONDS);
+            entry.expiry(expiry);
+            // the expectation may have been removed before its expiry was set
+            if (this.expectations.get().entry(entry.sequence()) == null) {
+                expiry.cancel();
+            }
+        }
+    }
+
+    private void remove(List<Long> sequences) {
+        ExpectationIndex current;
+        ExpectationIndex updated;
+        do {
+            current = this.expectations.get();
+            updated = current.without(sequences);
+        } while (updated != current && !this.expectations.compareAndSet(current, updated));
+        if (updated != current) {
+            for (Long sequence : sequences) {
+                ExpectationIndex.Entry entry = current.entry(sequence);
+                if (entry != null) {
+                    entry.cancelExpiry();
+                }
+            }
+        }
+    }
+
     public void clear(HttpRequest httpRequest) {
         if (httpRequest != null) {
             HttpRequestMatcher httpRequestMatcher = new MatcherBuilder().transformsToMatcher(httpRequest);
-            for (Expectation expectation : new ArrayList<Expectation>(this.expectations)) {
-                if (httpRequestMatcher.matches(expectation.getHttpRequest(), true)) {
-                    if (this.expectations.contains(expectation)) {
-                        this.expectations.remove(expectation);
-                    }
+            List<Long> sequences = new ArrayList<Long>();
+            for (ExpectationIndex.Entry entry : this.expectations.get().entries()) {
+                if (httpRequestMatcher.matches(entry.expectation().getHttpRequest(), true)) {
+                    sequences.add(entry.sequence());
                 }
             }
+            if (!sequences.isEmpty()) {
+                remove(sequences);
+            }
         } else {
             reset();
         }
     }
 
     public void reset() {
-        this.expectations.clear();
+        ExpectationIndex current;
+        do {
+            current = this.expectations.get();
+        } while (!this.expectations.compareAndSet(current, current.clear()));
+        for (ExpectationIndex.Entry entry : current.entries()) {
+            entry.cancelExpiry();
+        }
     }
 
     public void dumpToLog(HttpRequest httpRequest) {
         ExpectationSerializer expectationSerializer = new ExpectationSerializer();
         if (httpRequest != null) {
-            for (Expectation expectation : new ArrayList<Expectation>(this.expectations)) {
+            for (Expectation expectation : this.expectations.get().expectations()) {
                 if (expectation.matches(httpRequest)) {
                     requestLogger.warn(cleanBase64Response(expectationSerializer.serialize(expectation)));
                 }
             }
         } else {
-            for (Expectation expectation : new ArrayList<Expectation>(this.expectations)) {
+            for (Expectation expectation : this.expectations.get().expectations()) {
                 requestLogger.warn(cleanBase64Response(expectationSerializer.serialize(expectation)));
             }
         }
@@ -120,16 +190,16 @@ public class MockServerMatcher extends ObjectWithReflectiveEqualsHashCodeToStrin
         }
     }
 
-    public synchronized Expectation[] retrieve(HttpRequest httpRequest) {
+    public Expectation[] retrieve(HttpRequest httpRequest) {
         List<Expectation> expectations = new ArrayList<Expectation>();
         if (httpRequest != null) {
-            for (Expectation expectation : new ArrayList<Expectation>(this.expectations)) {
+            for (Expectation expectation : this.expectations.get().expectations()) {
                 if (expectation.matches(httpRequest)) {
                     expectations.add(expectation);
                 }
             }
         } else {
-            expectations.addAll(this.expectations);
+            expectations.addAll(this.expectations.get().expectations());
         }
         return expectations.toArray(new Expectation[expectations.size()]);
     }
@@ -0,0 +1,193 @@
+package org.mockserver.mock;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable balanced (AVL) tree of values keyed by sequence number and iterated in sequence order
+ *
+ * Adding or removing a value returns a new version which shares all but the O(log n) nodes on the path to the value
+ * with the previous version, so a writer never copies the whole tree and readers never need to lock
+ *
+ * @author jamesdbloom
+ */
+class SequenceTree<V> implements Iterable<V> {
+
+    private static final SequenceTree<Object> EMPTY = new SequenceTree<Object>(null);
+
+    private final Node<V> root;
+
+    private SequenceTree(Node<V> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> SequenceTree<V> empty() {
+        return (SequenceTree<V>) EMPTY;
+    }
+
+    int size() {
+        return root != null ? root.size : 0;
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    V get(long sequence) {
+        Node<V> node = root;
+        while (node != null) {
+            if (sequence < node.sequence) {
+                node = node.left;
+            } else if (sequence > node.sequence) {
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value with the highest sequence or null if the tree is empty
+     */
+    V last() {
+        Node<V> node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.value;
+    }
+
+    SequenceTree<V> with(long sequence, V value) {
+        return new SequenceTree<V>(with(root, sequence, value));
+    }
+
+    SequenceTree<V> without(long sequence) {
+        Node<V> updatedRoot = without(root, sequence);
+        return updatedRoot == root ? this : new SequenceTree<V>(updatedRoot);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private final ArrayDeque<Node<V>> path = new ArrayDeque<Node<V>>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<V> node) {
+                while (node != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public V next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<V> node = path.pop();
+                pushLeft(node.right);
+                return node.value;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static <V> Node<V> with(Node<V> node, long sequence, V value) {
+        if (node == null) {
+            return new Node<V>(sequence, value, null, null);
+        } else if (sequence < node.sequence) {
+            return balance(node.sequence, node.value, with(node.left, sequence, value), node.right);
+        } else if (sequence > node.sequence) {
+            return balance(node.sequence, node.value, node.left, with(node.right, sequence, value));
+        } else {
+            return new Node<V>(sequence, value, node.left, node.right);
+        }
+    }
+
+    private static <V> Node<V> without(Node<V> node, long sequence) {
+        if (node == null) {
+            return null;
+        } else if (sequence < node.sequence) {
+            Node<V> left = without(node.left, sequence);
+            return left == node.left ? node : balance(node.sequence, node.value, left, node.right);
+        } else if (sequence > node.sequence) {
+            Node<V> right = without(node.right, sequence);
+            return right == node.right ? node : balance(node.sequence, node.value, node.left, right);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            Node<V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            return balance(successor.sequence, successor.value, node.left, without(node.right, successor.sequence));
+        }
+    }
+
+    /**
+     * Builds a node whose subtrees differ in height by at most two, rotating so the result differs by at most one
+     */
+    private static <V> Node<V> balance(long sequence, V value, Node<V> left, Node<V> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<V>(left.sequence, left.value, left.left, new Node<V>(sequence, value, left.right, right));
+            } else {
+                Node<V> pivot = left.right;
+                return new Node<V>(pivot.sequence, pivot.value, new Node<V>(left.sequence, left.value, left.left, pivot.left), new Node<V>(sequence, value, pivot.right, right));
+            }
+        } else if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<V>(right.sequence, right.value, new Node<V>(sequence, value, left, right.left), right.right);
+            } else {
+                Node<V> pivot = right.left;
+                return new Node<V>(pivot.sequence, pivot.value, new Node<V>(sequence, value, left, pivot.left), new Node<V>(right.sequence, right.value, pivot.right, right.right));
+            }
+        } else {
+            return new Node<V>(sequence, value, left, right);
+        }
+    }
+
+    private static int height(Node<?> node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static class Node<V> {
+        private final long sequence;
+        private final V value;
+        private final Node<V> left;
+        private final Node<V> right;
+        private final int height;
+        private final int size;
+
+        private Node(long sequence, V value, Node<V> left, Node<V> right) {
+            this.sequence = sequence;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = (left != null ? left.size : 0) + (right != null ? right.size : 0) + 1;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package org.mockserver.mock.action;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.mockserver.filters.Filters;
 import org.mockserver.filters.HopByHopHeaderFilter;
 import org.mockserver.filters.RequestLogFilter;
@@ -22,22 +25,30 @@ public class ActionHandler {
         filters.withFilter(new org.mockserver.model.HttpRequest(), requestLogFilter);
     }
 
-    public HttpResponse processAction(Action action, HttpRequest httpRequest) {
+    /**
+     * Forwarded requests are sent without waiting for the response so the returned future may not be complete, all
+     * other actions are handled immediately and return a completed future
+     */
+    public ListenableFuture<HttpResponse> processAction(Action action, HttpRequest httpRequest) {
         HttpResponse httpResponse = notFoundResponse();
-        httpRequest = filters.applyOnRequestFilters(httpRequest);
+        final HttpRequest filteredRequest = filters.applyOnRequestFilters(httpRequest);
         if (action != null) {
             switch (action.getType()) {
                 case FORWARD:
-                    httpResponse = httpForwardActionHandler.handle((HttpForward) action, httpRequest);
-                    break;
+                    return Futures.transform(httpForwardActionHandler.handle((HttpForward) action, filteredRequest), new Function<HttpResponse, HttpResponse>() {
+                        @Override
+                        public HttpResponse apply(HttpResponse forwardedResponse) {
+                            return filters.applyOnResponseFilters(filteredRequest, forwardedResponse);
+                        }
+                    });
                 case CALLBACK:
-                    httpResponse = httpCallbackActionHandler.handle((HttpCallback) action, httpRequest);
+                    httpResponse = httpCallbackActionHandler.handle((HttpCallback) action, filteredRequest);
                     break;
                 case RESPONSE:
                     httpResponse = httpResponseActionHandler.handle((HttpResponse) action);
                     break;
             }
         }
-        return filters.applyOnResponseFilters(httpRequest, httpResponse);
+        return Futures.immediateFuture(filters.applyOnResponseFilters(filteredRequest, httpResponse));
     }
 }
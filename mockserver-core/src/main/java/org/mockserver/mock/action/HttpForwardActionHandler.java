@@ -1,5 +1,8 @@
 package org.mockserver.mock.action;
 
+import com.google.common.util.concurrent.FutureFallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.mockserver.client.netty.NettyHttpClient;
 import org.mockserver.model.*;
 import org.slf4j.Logger;
@@ -16,7 +19,7 @@ public class HttpForwardActionHandler {
     // http client
     private NettyHttpClient httpClient = new NettyHttpClient();
 
-    public HttpResponse handle(HttpForward httpForward, HttpRequest httpRequest) {
+    public ListenableFuture<HttpResponse> handle(HttpForward httpForward, HttpRequest httpRequest) {
         if (httpForward.getScheme().equals(HttpForward.Scheme.HTTPS)) {
             httpRequest.withSecure(true);
         } else {
@@ -25,14 +28,16 @@ public class HttpForwardActionHandler {
         return sendRequest(outboundRequest(httpForward.getHost(), httpForward.getPort(), "", httpRequest));
     }
 
-    private HttpResponse sendRequest(OutboundHttpRequest httpRequest) {
+    private ListenableFuture<HttpResponse> sendRequest(final OutboundHttpRequest httpRequest) {
         if (httpRequest != null) {
-            try {
-                return httpClient.sendRequest(httpRequest);
-            } catch (Exception e) {
-                logger.error("Exception forwarding request " + httpRequest, e);
-            }
+            return Futures.withFallback(httpClient.sendRequestAsync(httpRequest), new FutureFallback<HttpResponse>() {
+                @Override
+                public ListenableFuture<HttpResponse> create(Throwable t) {
+                    logger.error("Exception forwarding request " + httpRequest, t);
+                    return Futures.immediateFuture(null);
+                }
+            });
         }
-        return null;
+        return Futures.immediateFuture(null);
     }
 }
@@ -1,22 +1,33 @@
 package org.mockserver.model;
 
+import com.google.common.base.Objects;
 import com.google.common.net.MediaType;
 import org.mockserver.client.serialization.Base64Converter;
+import org.mockserver.matchers.BinaryMatchType;
+
+import java.util.Arrays;
 
 /**
  * @author jamesdbloom
  */
 public class BinaryBody extends Body<byte[]> {
 
+    public static final BinaryMatchType DEFAULT_MATCH_TYPE = BinaryMatchType.EXACT;
     private final byte[] bytes;
+    private final BinaryMatchType matchType;
 
     public BinaryBody(byte[] bytes) {
-        this(bytes, null);
+        this(bytes, null, DEFAULT_MATCH_TYPE);
     }
 
     public BinaryBody(byte[] bytes, MediaType contentType) {
+        this(bytes, contentType, DEFAULT_MATCH_TYPE);
+    }
+
+    public BinaryBody(byte[] bytes, MediaType contentType, BinaryMatchType matchType) {
         super(Type.BINARY, contentType);
         this.bytes = bytes;
+        this.matchType = matchType != null ? matchType : DEFAULT_MATCH_TYPE;
     }
 
     public static BinaryBody binary(byte[] body) {
@@ -27,6 +38,10 @@ public class BinaryBody extends Body<byte[]> {
         return new BinaryBody(body, contentType);
     }
 
+    public static BinaryBody binary(byte[] body, MediaType contentType, BinaryMatchType matchType) {
+        return new BinaryBody(body, contentType, matchType);
+    }
+
     public byte[] getValue() {
         return bytes;
     }
@@ -35,8 +50,30 @@ public class BinaryBody extends Body<byte[]> {
         return bytes;
     }
 
+    public BinaryMatchType getMatchType() {
+        return matchType;
+    }
+
     @Override
     public String toString() {
         return bytes != null ? Base64Converter.bytesToBase64String(bytes) : null;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        BinaryBody that = (BinaryBody) other;
+        return Arrays.equals(bytes, that.bytes)
+                && Objects.equal(matchType, that.matchType);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + Arrays.hashCode(bytes);
+        result = 31 * result + (matchType != null ? matchType.hashCode() : 0);
+        return result;
+    }
 }
@@ -1,11 +1,15 @@
 package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.Objects;
 import com.google.common.net.MediaType;
 
 import java.nio.charset.Charset;
 
 /**
+ * Bodies compare their fields directly instead of by reflection as they are compared and hashed with the requests
+ * they belong to, each subclass compares its own fields after the fields compared here
+ *
  * @author jamesdbloom
  */
 public abstract class Body<T> extends Not {
@@ -46,6 +50,27 @@ public abstract class Body<T> extends Not {
         return (contentType != null ? contentType.toString() : null);
     }
 
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (other == null || other.getClass() != getClass()) {
+            return false;
+        }
+        Body<?> that = (Body<?>) other;
+        return Objects.equal(not, that.not)
+                && Objects.equal(type, that.type)
+                && Objects.equal(contentType, that.contentType);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = not != null ? not.hashCode() : 0;
+        result = 31 * result + (type != null ? type.hashCode() : 0);
+        result = 31 * result + (contentType != null ? contentType.hashCode() : 0);
+        return result;
+    }
+
     public enum Type {
         PARAMETERS,
         XPATH,
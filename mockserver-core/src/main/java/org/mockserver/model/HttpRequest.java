@@ -1,6 +1,7 @@
 package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.Objects;
 import com.google.common.base.Strings;
 
 import java.nio.charset.Charset;
@@ -557,4 +558,37 @@ public class HttpRequest extends Not {
     public List<Cookie> getCookies() {
         return new ArrayList<Cookie>(cookies.values());
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (other == null || other.getClass() != getClass()) {
+            return false;
+        }
+        HttpRequest that = (HttpRequest) other;
+        return Objects.equal(not, that.not)
+                && Objects.equal(method, that.method)
+                && Objects.equal(path, that.path)
+                && Objects.equal(keepAlive, that.keepAlive)
+                && Objects.equal(secure, that.secure)
+                && Objects.equal(queryStringParameters, that.queryStringParameters)
+                && Objects.equal(headers, that.headers)
+                && Objects.equal(cookies, that.cookies)
+                && Objects.equal(body, that.body);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = not != null ? not.hashCode() : 0;
+        result = 31 * result + (method != null ? method.hashCode() : 0);
+        result = 31 * result + (path != null ? path.hashCode() : 0);
+        result = 31 * result + (queryStringParameters != null ? queryStringParameters.hashCode() : 0);
+        result = 31 * result + (body != null ? body.hashCode() : 0);
+        result = 31 * result + (headers != null ? headers.hashCode() : 0);
+        result = 31 * result + (cookies != null ? cookies.hashCode() : 0);
+        result = 31 * result + (keepAlive != null ? keepAlive.hashCode() : 0);
+        result = 31 * result + (secure != null ? secure.hashCode() : 0);
+        return result;
+    }
 }
@@ -1,6 +1,7 @@
 package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.Objects;
 import com.google.common.net.MediaType;
 import org.mockserver.matchers.MatchType;
 
@@ -84,4 +85,21 @@ public class JsonBody extends Body {
         return json;
     }
 
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        JsonBody that = (JsonBody) other;
+        return Objects.equal(json, that.json)
+                && Objects.equal(matchType, that.matchType);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (json != null ? json.hashCode() : 0);
+        result = 31 * result + (matchType != null ? matchType.hashCode() : 0);
+        return result;
+    }
 }
@@ -2,6 +2,7 @@ package org.mockserver.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
 import com.google.common.net.MediaType;
 import org.apache.commons.io.IOUtils;
 
@@ -45,4 +46,20 @@ public class JsonSchemaBody extends Body {
     public String getValue() {
         return jsonSchema;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        JsonSchemaBody that = (JsonSchemaBody) other;
+        return Objects.equal(jsonSchema, that.jsonSchema);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        return result;
+    }
 }
@@ -1,5 +1,6 @@
 package org.mockserver.model;
 
+import com.google.common.base.Objects;
 import org.mockserver.collections.CaseInsensitiveRegexMultiMap;
 
 import java.util.ArrayList;
@@ -101,4 +102,20 @@ public class KeyToMultiValue extends ObjectWithJsonToString {
     public void addValues(NottableString... values) {
         addNottableValues(Arrays.asList(values));
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (other == null || other.getClass() != getClass()) {
+            return false;
+        }
+        KeyToMultiValue that = (KeyToMultiValue) other;
+        return Objects.equal(name, that.name) && values.equals(that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (name != null ? name.hashCode() : 0) + values.hashCode();
+    }
 }
@@ -60,4 +60,9 @@ public class NottableString extends Not {
         }
         return false;
     }
+
+    @Override
+    public int hashCode() {
+        return 31 * (value != null ? value.hashCode() : 0) + (isNot() ? 1 : 0);
+    }
 }
@@ -1,6 +1,7 @@
 package org.mockserver.model;
 
 import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
 import com.google.common.net.MediaType;
 
 import java.io.UnsupportedEncodingException;
@@ -68,4 +69,20 @@ public class ParameterBody extends Body<List<Parameter>> {
         }
         return body.toString();
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        ParameterBody that = (ParameterBody) other;
+        return Objects.equal(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (parameters != null ? parameters.hashCode() : 0);
+        return result;
+    }
 }
@@ -1,5 +1,7 @@
 package org.mockserver.model;
 
+import com.google.common.base.Objects;
+
 /**
  * @author jamesdbloom
  */
@@ -20,4 +22,19 @@ public class RegexBody extends Body {
         return new RegexBody(regex);
     }
 
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        RegexBody that = (RegexBody) other;
+        return Objects.equal(regex, that.regex);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (regex != null ? regex.hashCode() : 0);
+        return result;
+    }
 }
@@ -0,0 +1,91 @@
+package org.mockserver.model;
+
+import com.google.common.base.Objects;
+import com.google.common.net.MediaType;
+import org.mockserver.client.serialization.Base64Converter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A request body with a binary content type that was larger than the spill threshold so was written to a file as it
+ * was received instead of being held in memory, the body is only read from the file when it is matched, forwarded,
+ * logged or serialised and is otherwise a binary body so it is serialised with its content and can become an
+ * expectation like any other request, bodies of any other content type are spilled as a SpilledStringBody
+ *
+ * Matching and forwarding stream the body from the file where they can (see SpilledContent), any read through
+ * getValue, getRawBytes or toString loads the whole file onto the heap so should only be made through a
+ * ParsedHttpRequest, which reads it at most once for every matcher evaluated against the same request, or where the
+ * whole body is needed anyway (i.e. when it is serialised)
+ *
+ * A body created for a newly spilled file deletes the file once no request refers to it any more, after which any
+ * other body referring to the same file is empty, any file still referred to is deleted with the spill directory of
+ * the server that received it when that server stops or the JVM exits
+ *
+ * @author jamesdbloom
+ */
+public class SpilledBody extends BinaryBody implements SpilledContent {
+
+    private final File file;
+    private final long length;
+
+    public SpilledBody(File file, long length, MediaType contentType) {
+        super(null, contentType);
+        this.file = file;
+        this.length = length;
+    }
+
+    public static SpilledBody deleteWhenUnreferenced(File file, long length, MediaType contentType) {
+        return SpilledFiles.deleteWhenUnreferenced(new SpilledBody(file, length, contentType), file);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public InputStream openStream() throws IOException {
+        return SpilledFiles.openStream(file);
+    }
+
+    /**
+     * Reads the whole file onto the heap on every call
+     */
+    public byte[] getValue() {
+        return SpilledFiles.readFully(file);
+    }
+
+    /**
+     * Reads the whole file onto the heap on every call, use openStream where the whole body isn't needed at once
+     */
+    public byte[] getRawBytes() {
+        return getValue();
+    }
+
+    @Override
+    public String toString() {
+        return Base64Converter.bytesToBase64String(getValue());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        SpilledBody that = (SpilledBody) other;
+        return Objects.equal(file, that.file)
+                && length == that.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (file != null ? file.hashCode() : 0);
+        result = 31 * result + (int) (length ^ (length >>> 32));
+        return result;
+    }
+}
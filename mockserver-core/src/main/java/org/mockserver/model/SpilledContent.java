@@ -0,0 +1,24 @@
+package org.mockserver.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A body that was larger than the spill threshold so is held in a file, it should be streamed from the file wherever
+ * the whole body is not needed on the heap at once
+ *
+ * @author jamesdbloom
+ */
+public interface SpilledContent {
+
+    File getFile();
+
+    long getLength();
+
+    /**
+     * Opens a new stream of the body read from the file, which is empty once the file has been deleted, the caller
+     * must close the stream
+     */
+    InputStream openStream() throws IOException;
+}
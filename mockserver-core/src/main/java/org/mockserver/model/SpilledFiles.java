@@ -0,0 +1,72 @@
+package org.mockserver.model;
+
+import com.google.common.io.Files;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks the files of spilled bodies so each file is deleted once no body refers to it any more, whichever kind of
+ * body (binary or string) it was decoded as
+ *
+ * @author jamesdbloom
+ */
+final class SpilledFiles {
+
+    private static final ReferenceQueue<Body> UNREFERENCED = new ReferenceQueue<Body>();
+    private static final Set<SpilledFile> SPILLED_FILES = Collections.synchronizedSet(new HashSet<SpilledFile>());
+
+    private SpilledFiles() {
+
+    }
+
+    static <T extends Body> T deleteWhenUnreferenced(T body, File file) {
+        deleteUnreferencedFiles();
+        SPILLED_FILES.add(new SpilledFile(body, file));
+        return body;
+    }
+
+    private static void deleteUnreferencedFiles() {
+        Reference<? extends Body> reference;
+        while ((reference = UNREFERENCED.poll()) != null) {
+            SPILLED_FILES.remove(reference);
+            ((SpilledFile) reference).file.delete();
+        }
+    }
+
+    static byte[] readFully(File file) {
+        if (!file.exists()) {
+            return new byte[0];
+        }
+        try {
+            return Files.toByteArray(file);
+        } catch (IOException ioe) {
+            throw new RuntimeException("Exception while reading request body from " + file, ioe);
+        }
+    }
+
+    static InputStream openStream(File file) throws IOException {
+        if (!file.exists()) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        return new FileInputStream(file);
+    }
+
+    private static class SpilledFile extends PhantomReference<Body> {
+        private final File file;
+
+        private SpilledFile(Body body, File file) {
+            super(body, UNREFERENCED);
+            this.file = file;
+        }
+    }
+}
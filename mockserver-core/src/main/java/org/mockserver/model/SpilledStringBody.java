@@ -0,0 +1,84 @@
+package org.mockserver.model;
+
+import com.google.common.base.Objects;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import static org.mockserver.mappers.ContentTypeMapper.DEFAULT_HTTP_CHARACTER_SET;
+
+/**
+ * A request body with a text content type (or no content type) that was larger than the spill threshold so was
+ * written to a file as it was received, it is otherwise a string body decoded with the request charset so control
+ * requests (i.e. expectations, retrieve or verify) larger than the spill threshold are still read as JSON and
+ * recorded requests are retrieved and logged as text
+ *
+ * The file is read and deleted in the same way as the file of a SpilledBody
+ *
+ * @author jamesdbloom
+ */
+public class SpilledStringBody extends StringBody implements SpilledContent {
+
+    private final File file;
+    private final long length;
+
+    public SpilledStringBody(File file, long length, Charset charset) {
+        super(null, charset);
+        this.file = file;
+        this.length = length;
+    }
+
+    public static SpilledStringBody deleteWhenUnreferenced(File file, long length, Charset charset) {
+        return SpilledFiles.deleteWhenUnreferenced(new SpilledStringBody(file, length, charset), file);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public InputStream openStream() throws IOException {
+        return SpilledFiles.openStream(file);
+    }
+
+    /**
+     * Reads and decodes the whole file onto the heap on every call
+     */
+    public String getValue() {
+        return new String(getRawBytes(), getCharset(DEFAULT_HTTP_CHARACTER_SET));
+    }
+
+    /**
+     * Reads the whole file onto the heap on every call, use openStream where the whole body isn't needed at once
+     */
+    public byte[] getRawBytes() {
+        return SpilledFiles.readFully(file);
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        SpilledStringBody that = (SpilledStringBody) other;
+        return Objects.equal(file, that.file)
+                && length == that.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (file != null ? file.hashCode() : 0);
+        result = 31 * result + (int) (length ^ (length >>> 32));
+        return result;
+    }
+}
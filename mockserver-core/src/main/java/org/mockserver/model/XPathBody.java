@@ -1,5 +1,7 @@
 package org.mockserver.model;
 
+import com.google.common.base.Objects;
+
 /**
  * @author jamesdbloom
  */
@@ -20,4 +22,19 @@ public class XPathBody extends Body {
         return new XPathBody(xpath);
     }
 
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        XPathBody that = (XPathBody) other;
+        return Objects.equal(xpath, that.xpath);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (xpath != null ? xpath.hashCode() : 0);
+        return result;
+    }
 }
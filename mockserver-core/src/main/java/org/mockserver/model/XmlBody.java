@@ -1,5 +1,6 @@
 package org.mockserver.model;
 
+import com.google.common.base.Objects;
 import com.google.common.net.MediaType;
 
 import java.nio.charset.Charset;
@@ -58,4 +59,20 @@ public class XmlBody extends Body<String> {
     public String toString() {
         return xml;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!super.equals(other)) {
+            return false;
+        }
+        XmlBody that = (XmlBody) other;
+        return Objects.equal(xml, that.xml);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (xml != null ? xml.hashCode() : 0);
+        return result;
+    }
 }
@@ -0,0 +1,55 @@
+package org.mockserver.server;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+/**
+ * The single owner of a channel's autoRead setting, each handler that needs reading paused takes a hold and releases
+ * it when done, reading only resumes once every hold has been released so one handler can never resume reading that
+ * another handler still needs paused
+ *
+ * Holds may be taken and released from any thread
+ *
+ * @author jamesdbloom
+ */
+public class ReadPause {
+
+    private static final AttributeKey<ReadPause> READ_PAUSE = AttributeKey.valueOf("READ_PAUSE");
+
+    private final Channel channel;
+    private int holds;
+
+    ReadPause(Channel channel) {
+        this.channel = channel;
+    }
+
+    public static ReadPause readPause(Channel channel) {
+        Attribute<ReadPause> attribute = channel.attr(READ_PAUSE);
+        ReadPause readPause = attribute.get();
+        if (readPause == null) {
+            readPause = new ReadPause(channel);
+            ReadPause existing = attribute.setIfAbsent(readPause);
+            if (existing != null) {
+                readPause = existing;
+            }
+        }
+        return readPause;
+    }
+
+    public synchronized void pause() {
+        if (holds++ == 0) {
+            channel.config().setAutoRead(false);
+        }
+    }
+
+    public synchronized void resume() {
+        if (holds > 0 && --holds == 0) {
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    public synchronized boolean isPaused() {
+        return holds > 0;
+    }
+}
@@ -0,0 +1,136 @@
+package org.mockserver.server;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+
+/**
+ * Writes responses in the order their requests were received on a channel, the codec decodes and fires every
+ * pipelined request already read so a response that is ready before the responses of earlier requests is held until
+ * they have been written
+ *
+ * Reading from the channel is paused while a delayed or forwarded response is outstanding so the number of held
+ * responses stays small, the sequencer takes one ReadPause hold and releases it once every outstanding response has
+ * been written
+ *
+ * All methods must be called from the executor of the handler writing the responses
+ *
+ * @author jamesdbloom
+ */
+public class ResponseSequencer {
+
+    private static final AttributeKey<ResponseSequencer> RESPONSE_SEQUENCER = AttributeKey.valueOf("RESPONSE_SEQUENCER");
+    private static final Runnable NO_RESPONSE = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final Channel channel;
+    private final Queue<PendingResponse> pendingResponses = new ArrayDeque<PendingResponse>();
+    private boolean readingPaused;
+
+    ResponseSequencer(Channel channel) {
+        this.channel = channel;
+    }
+
+    public static ResponseSequencer responseSequencer(Channel channel) {
+        Attribute<ResponseSequencer> attribute = channel.attr(RESPONSE_SEQUENCER);
+        ResponseSequencer responseSequencer = attribute.get();
+        if (responseSequencer == null) {
+            responseSequencer = new ResponseSequencer(channel);
+            ResponseSequencer existing = attribute.setIfAbsent(responseSequencer);
+            if (existing != null) {
+                responseSequencer = existing;
+            }
+        }
+        return responseSequencer;
+    }
+
+    /**
+     * Reserves the next position in the response order for the request
+     */
+    public void received(Object request) {
+        pendingResponses.add(new PendingResponse(request));
+    }
+
+    /**
+     * Runs the write for the request once the responses of every earlier request have been written, if the request
+     * was never received by this sequencer the write is run immediately
+     */
+    public void write(Object request, Runnable write) {
+        PendingResponse pendingResponse = find(request);
+        if (pendingResponse == null) {
+            write.run();
+        } else {
+            pendingResponse.write = write;
+            writeReadyResponses();
+        }
+    }
+
+    /**
+     * Releases the position of a request that will not be answered by this handler
+     */
+    public void skip(Object request) {
+        write(request, NO_RESPONSE);
+    }
+
+    /**
+     * Pauses reading from the channel until every outstanding response has been written
+     */
+    public void pauseReadingUntilWritten() {
+        if (!pendingResponses.isEmpty() && !readingPaused) {
+            readingPaused = true;
+            ReadPause.readPause(channel).pause();
+        }
+    }
+
+    public int pendingResponses() {
+        return pendingResponses.size();
+    }
+
+    private PendingResponse find(Object request) {
+        Iterator<PendingResponse> iterator = pendingResponses.iterator();
+        while (iterator.hasNext()) {
+            PendingResponse pendingResponse = iterator.next();
+            if (pendingResponse.request == request && pendingResponse.write == null) {
+                return pendingResponse;
+            }
+        }
+        return null;
+    }
+
+    private void writeReadyResponses() {
+        RuntimeException failure = null;
+        while (!pendingResponses.isEmpty() && pendingResponses.peek().write != null) {
+            try {
+                pendingResponses.poll().write.run();
+            } catch (RuntimeException e) {
+                // a failing write never holds up later responses
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (pendingResponses.isEmpty() && readingPaused) {
+            readingPaused = false;
+            ReadPause.readPause(channel).resume();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static class PendingResponse {
+        private final Object request;
+        private Runnable write;
+
+        private PendingResponse(Object request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.mockserver.server.unification;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+
+import static io.netty.handler.codec.http.HttpHeaders.Names.CONNECTION;
+import static io.netty.handler.codec.http.HttpHeaders.Names.CONTENT_LENGTH;
+
+/**
+ * Rejects a request as soon as its headers show the body is larger than the maximum size, so the body is
+ * never read into memory, bodies without a content length are limited when they are aggregated
+ *
+ * @author jamesdbloom
+ */
+public class HttpRequestBodySizeLimiter extends ChannelInboundHandlerAdapter {
+
+    private final int maxRequestBodySize;
+    private boolean discardingBody = false;
+
+    public HttpRequestBodySizeLimiter(int maxRequestBodySize) {
+        this.maxRequestBodySize = maxRequestBodySize;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpRequest && HttpHeaders.getContentLength((HttpRequest) msg, -1) > maxRequestBodySize) {
+            discardingBody = !(msg instanceof LastHttpContent);
+            ReferenceCountUtil.release(msg);
+            rejectRequestEntityTooLarge(ctx);
+        } else if (discardingBody && msg instanceof HttpContent) {
+            discardingBody = !(msg instanceof LastHttpContent);
+            ReferenceCountUtil.release(msg);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    static void rejectRequestEntityTooLarge(ChannelHandlerContext ctx) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE);
+        response.headers().set(CONTENT_LENGTH, 0);
+        response.headers().set(CONNECTION, HttpHeaders.Values.CLOSE);
+        ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+}
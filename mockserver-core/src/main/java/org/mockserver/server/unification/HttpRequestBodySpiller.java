@@ -0,0 +1,187 @@
+package org.mockserver.server.unification;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds back each request until its body has been received, bodies up to the spill threshold are then passed on to
+ * be aggregated in memory as before, larger bodies are written to a file in the spill directory as they arrive and
+ * the request is passed on past the HttpObjectAggregator as a SpilledFullHttpRequest with its content mapped from
+ * that file, so at most the spill threshold of each body is ever held on the heap
+ *
+ * Bodies larger than the maximum request body size are rejected with 413 here as a spilled body is never aggregated
+ *
+ * @author jamesdbloom
+ */
+public class HttpRequestBodySpiller extends ChannelInboundHandlerAdapter {
+
+    private final int spillThreshold;
+    private final int maxRequestBodySize;
+    private final File spillDirectory;
+    private final List<HttpContent> heldContents = new ArrayList<HttpContent>();
+    private HttpRequest heldRequest;
+    private long bodySize;
+    private File file;
+    private FileChannel fileChannel;
+    private boolean discardingBody = false;
+
+    public HttpRequestBodySpiller(int spillThreshold, int maxRequestBodySize, File spillDirectory) {
+        this.spillThreshold = spillThreshold;
+        this.maxRequestBodySize = maxRequestBodySize;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof HttpRequest && !(msg instanceof HttpContent) && ((HttpRequest) msg).getDecoderResult().isSuccess()) {
+            holdRequest(ctx, (HttpRequest) msg);
+        } else if (heldRequest != null && msg instanceof HttpContent) {
+            try {
+                receiveContent(ctx, (HttpContent) msg);
+            } catch (IOException ioe) {
+                releaseHeldRequest();
+                throw ioe;
+            }
+        } else if (discardingBody && msg instanceof HttpContent) {
+            discardingBody = !(msg instanceof LastHttpContent);
+            ReferenceCountUtil.release(msg);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    private void holdRequest(ChannelHandlerContext ctx, HttpRequest request) {
+        releaseHeldRequest();
+        heldRequest = request;
+        discardingBody = false;
+        if (HttpHeaders.is100ContinueExpected(request)) {
+            // the aggregator won't see the request until its body has been received so can't ask for the body
+            ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+            HttpHeaders.set100ContinueExpected(request, false);
+        }
+    }
+
+    private void receiveContent(ChannelHandlerContext ctx, HttpContent content) throws IOException {
+        bodySize += content.content().readableBytes();
+        if (bodySize > maxRequestBodySize) {
+            ReferenceCountUtil.release(content);
+            releaseHeldRequest();
+            discardingBody = !(content instanceof LastHttpContent);
+            HttpRequestBodySizeLimiter.rejectRequestEntityTooLarge(ctx);
+        } else if (fileChannel == null && bodySize <= spillThreshold) {
+            heldContents.add(content);
+            if (content instanceof LastHttpContent) {
+                passOnHeldRequest(ctx);
+            }
+        } else {
+            if (fileChannel == null) {
+                startSpilling();
+            }
+            try {
+                spill(content.content());
+            } finally {
+                ReferenceCountUtil.release(content);
+            }
+            if (content instanceof LastHttpContent) {
+                passOnSpilledRequest(ctx, ((LastHttpContent) content).trailingHeaders());
+            }
+        }
+    }
+
+    private void startSpilling() throws IOException {
+        file = File.createTempFile("mockserver-request-body-", ".tmp", spillDirectory);
+        fileChannel = new RandomAccessFile(file, "rw").getChannel();
+        for (HttpContent heldContent : heldContents) {
+            try {
+                spill(heldContent.content());
+            } finally {
+                ReferenceCountUtil.release(heldContent);
+            }
+        }
+        heldContents.clear();
+    }
+
+    private void spill(ByteBuf content) throws IOException {
+        while (content.isReadable()) {
+            content.readBytes(fileChannel, content.readableBytes());
+        }
+    }
+
+    private void passOnHeldRequest(ChannelHandlerContext ctx) {
+        HttpRequest request = heldRequest;
+        List<HttpContent> contents = new ArrayList<HttpContent>(heldContents);
+        heldRequest = null;
+        heldContents.clear();
+        bodySize = 0;
+        ctx.fireChannelRead(request);
+        for (HttpContent content : contents) {
+            ctx.fireChannelRead(content);
+        }
+    }
+
+    private void passOnSpilledRequest(ChannelHandlerContext ctx, HttpHeaders trailingHeaders) throws IOException {
+        SpilledFullHttpRequest spilledRequest = new SpilledFullHttpRequest(
+                heldRequest.getProtocolVersion(),
+                heldRequest.getMethod(),
+                heldRequest.getUri(),
+                Unpooled.wrappedBuffer(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, bodySize)),
+                file
+        );
+        spilledRequest.headers().set(heldRequest.headers());
+        spilledRequest.trailingHeaders().set(trailingHeaders);
+        HttpHeaders.removeTransferEncodingChunked(spilledRequest);
+        HttpHeaders.setContentLength(spilledRequest, bodySize);
+        fileChannel.close();
+        fileChannel = null;
+        file = null;
+        heldRequest = null;
+        bodySize = 0;
+
+        // the body has already been received so the aggregator is skipped
+        ChannelHandlerContext aggregatorContext = ctx.pipeline().context(HttpObjectAggregator.class);
+        (aggregatorContext != null ? aggregatorContext : ctx).fireChannelRead(spilledRequest);
+    }
+
+    private void releaseHeldRequest() {
+        for (HttpContent heldContent : heldContents) {
+            ReferenceCountUtil.release(heldContent);
+        }
+        heldContents.clear();
+        heldRequest = null;
+        bodySize = 0;
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException ioe) {
+                // ignore as the file is deleted anyway
+            }
+            fileChannel = null;
+        }
+        if (file != null) {
+            file.delete();
+            file = null;
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        releaseHeldRequest();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        releaseHeldRequest();
+    }
+}
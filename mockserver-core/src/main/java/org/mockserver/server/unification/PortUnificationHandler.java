@@ -11,6 +11,7 @@ import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.AttributeKey;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.socket.SSLFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,9 +90,11 @@ public abstract class PortUnificationHandler extends SimpleChannelInboundHandler
         ChannelPipeline pipeline = ctx.pipeline();
 
         addLastIfNotPresent(pipeline, new HttpServerCodec());
+        addLastIfNotPresent(pipeline, new HttpRequestBodySizeLimiter(ConfigurationProperties.maxRequestBodySize()));
         addLastIfNotPresent(pipeline, new HttpContentDecompressor());
         addLastIfNotPresent(pipeline, new HttpContentLengthRemover());
-        addLastIfNotPresent(pipeline, new HttpObjectAggregator(Integer.MAX_VALUE));
+        addLastIfNotPresent(pipeline, new HttpRequestBodySpiller(ConfigurationProperties.requestBodySpillThreshold(), ConfigurationProperties.maxRequestBodySize(), SpillDirectory.spillDirectory(ctx.channel())));
+        addLastIfNotPresent(pipeline, new HttpObjectAggregator(ConfigurationProperties.maxRequestBodySize()));
         if (logger.isDebugEnabled()) {
             addLastIfNotPresent(pipeline, new LoggingHandler());
         }
@@ -0,0 +1,66 @@
+package org.mockserver.server.unification;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.mockserver.configuration.ConfigurationProperties;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A directory below the configured request body spill directory holding only the bodies spilled by one server, so
+ * the spilled bodies can be deleted when that server stops or, if it is never stopped, when the JVM exits
+ *
+ * @author jamesdbloom
+ */
+public class SpillDirectory {
+
+    public static final AttributeKey<SpillDirectory> SPILL_DIRECTORY = AttributeKey.valueOf("SPILL_DIRECTORY");
+    private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+    private final File directory;
+    private final Thread deleteOnExit = new Thread(new Runnable() {
+        public void run() {
+            deleteFiles();
+        }
+    });
+
+    public SpillDirectory(String name) {
+        this.directory = new File(ConfigurationProperties.requestBodySpillDirectory(), name + "-" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet());
+        Runtime.getRuntime().addShutdownHook(deleteOnExit);
+    }
+
+    public static File spillDirectory(Channel channel) {
+        SpillDirectory spillDirectory = channel.attr(SPILL_DIRECTORY).get();
+        if (spillDirectory != null) {
+            return spillDirectory.getDirectory();
+        } else {
+            return new File(ConfigurationProperties.requestBodySpillDirectory());
+        }
+    }
+
+    public File getDirectory() {
+        if (!directory.isDirectory()) {
+            directory.mkdirs();
+        }
+        return directory;
+    }
+
+    public void delete() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(deleteOnExit);
+        } catch (IllegalStateException ise) {
+            // JVM is already shutting down
+        }
+        deleteFiles();
+    }
+
+    private void deleteFiles() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,28 @@
+package org.mockserver.server.unification;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+import java.io.File;
+
+/**
+ * A request whose body was larger than the spill threshold so was written to a file, the content is mapped from
+ * that file rather than held on the heap
+ *
+ * @author jamesdbloom
+ */
+public class SpilledFullHttpRequest extends DefaultFullHttpRequest {
+
+    private final File file;
+
+    public SpilledFullHttpRequest(HttpVersion httpVersion, HttpMethod method, String uri, ByteBuf content, File file) {
+        super(httpVersion, method, uri, content);
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
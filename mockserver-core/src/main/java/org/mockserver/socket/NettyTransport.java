@@ -0,0 +1,189 @@
+package org.mockserver.socket;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.Errors;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The netty transport used for server and client sockets, epoll is native to linux and has less overhead than the
+ * JDK selector, it also supports SO_REUSEPORT so several server sockets can accept connections on the same port
+ *
+ * @author jamesdbloom
+ */
+public enum NettyTransport {
+
+    NIO {
+        @Override
+        public EventLoopGroup eventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverSocketChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends Channel> socketChannelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        public boolean supportsReusePort() {
+            return false;
+        }
+    },
+    EPOLL {
+        @Override
+        public EventLoopGroup eventLoopGroup(int threads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverSocketChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends Channel> socketChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public boolean supportsReusePort() {
+            return true;
+        }
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(NettyTransport.class);
+
+    /**
+     * Returns the transport selected by the mockserver.nettyTransport property, "auto" selects epoll if the native
+     * library is available on this platform, if epoll is selected but not available nio is used instead
+     */
+    public static NettyTransport configured() {
+        String transport = ConfigurationProperties.nettyTransport();
+        if ("nio".equalsIgnoreCase(transport)) {
+            return NIO;
+        } else if (Epoll.isAvailable()) {
+            return EPOLL;
+        } else {
+            if ("epoll".equalsIgnoreCase(transport)) {
+                logger.warn("Epoll transport is not available on this platform, using nio transport instead", Epoll.unavailabilityCause());
+            }
+            return NIO;
+        }
+    }
+
+    /**
+     * Returns the transport of an existing channel, so new channels can share its event loop
+     */
+    public static NettyTransport of(Channel channel) {
+        return channel instanceof EpollSocketChannel || channel instanceof EpollServerSocketChannel ? EPOLL : NIO;
+    }
+
+    public EventLoopGroup eventLoopGroup() {
+        return eventLoopGroup(0, null);
+    }
+
+    /**
+     * @param threads the number of event loop threads, or 0 for the netty default of twice the number of processors
+     * @param threadFactory the factory for event loop threads, or null for the netty default
+     */
+    public abstract EventLoopGroup eventLoopGroup(int threads, ThreadFactory threadFactory);
+
+    public abstract Class<? extends ServerChannel> serverSocketChannelClass();
+
+    public abstract Class<? extends Channel> socketChannelClass();
+
+    public abstract boolean supportsReusePort();
+
+    /**
+     * Binds the port once for each acceptor if the transport supports SO_REUSEPORT, so the kernel spreads new
+     * connections across the server sockets and their event loops, otherwise binds the port once
+     *
+     * SO_REUSEPORT is only set when more than one acceptor is requested, with it set any other process running as the
+     * same user can also bind the port without an error and will be handed some of the connections
+     *
+     * The returned future is for the first server socket and fails with a BindException if the port is in use whatever
+     * the transport, the other server sockets are bound to the same port once it is bound and are closed when it is
+     * closed
+     */
+    public ChannelFuture bind(final ServerBootstrap serverBootstrap, final int port, final int acceptors) {
+        if (acceptors > 1 && supportsReusePort()) {
+            serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        } else if (acceptors > 1) {
+            logger.warn("SO_REUSEPORT is not supported by the " + name().toLowerCase() + " transport, binding port " + port + " with one acceptor");
+        }
+        ChannelFuture bindFuture = serverBootstrap.bind(port);
+        final ChannelPromise bound = bindFuture.channel().newPromise();
+        bindFuture.addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) {
+                if (future.isSuccess()) {
+                    if (acceptors > 1 && supportsReusePort()) {
+                        bindAdditionalAcceptors(serverBootstrap, future.channel(), acceptors - 1);
+                    }
+                    bound.setSuccess();
+                } else {
+                    bound.setFailure(toBindException(port, future.cause()));
+                }
+            }
+        });
+        return bound;
+    }
+
+    private void bindAdditionalAcceptors(ServerBootstrap serverBootstrap, final Channel firstChannel, int additionalAcceptors) {
+        final int actualPort = ((InetSocketAddress) firstChannel.localAddress()).getPort();
+        for (int i = 0; i < additionalAcceptors; i++) {
+            serverBootstrap.bind(actualPort).addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(final ChannelFuture acceptor) {
+                    if (acceptor.isSuccess()) {
+                        firstChannel.closeFuture().addListener(new ChannelFutureListener() {
+                            @Override
+                            public void operationComplete(ChannelFuture closed) {
+                                acceptor.channel().close();
+                            }
+                        });
+                    } else {
+                        logger.warn("Exception binding additional acceptor to port " + actualPort, acceptor.cause());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The native transport reports a port in use as an IOException carrying the errno message rather than the
+     * BindException thrown by the JDK selector
+     */
+    static Throwable toBindException(int port, Throwable cause) {
+        if (cause instanceof Errors.NativeIoException && cause.getMessage() != null && cause.getMessage().contains("Address already in use")) {
+            BindException bindException = new BindException(cause.getMessage() + " for port " + port);
+            bindException.initCause(cause);
+            return bindException;
+        }
+        return cause;
+    }
+}
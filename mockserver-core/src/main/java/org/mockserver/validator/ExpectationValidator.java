@@ -1,6 +1,8 @@
 package org.mockserver.validator;
 
+import org.mockserver.matchers.JsonSchemaMatcher;
 import org.mockserver.mock.Expectation;
+import org.mockserver.model.JsonSchemaBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,11 @@ public class ExpectationValidator implements Validator<Expectation> {
 
         if (expectation.getHttpRequest() == null) {
             validationErrors.add("no request matcher");
+        } else if (expectation.getHttpRequest().getBody() instanceof JsonSchemaBody) {
+            String invalidSchemaReason = new JsonSchemaMatcher(((JsonSchemaBody) expectation.getHttpRequest().getBody()).getValue()).getInvalidSchemaReason();
+            if (invalidSchemaReason != null) {
+                validationErrors.add("invalid json schema, " + invalidSchemaReason);
+            }
         }
         if (expectation.getHttpResponse() == null
                 && expectation.getHttpForward() == null
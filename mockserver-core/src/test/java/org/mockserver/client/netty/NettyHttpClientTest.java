@@ -1,20 +1,36 @@
 package org.mockserver.client.netty;
 
+import com.google.common.base.Charsets;
 import com.google.common.net.MediaType;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.netty.handler.codec.http.HttpHeaders;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.echo.http.EchoServer;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.socket.PortFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static io.netty.handler.codec.http.HttpHeaders.Names.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
 import static org.mockserver.model.Cookie.cookie;
 import static org.mockserver.model.Header.header;
 import static org.mockserver.model.HttpRequest.request;
@@ -91,4 +107,223 @@ public class NettyHttpClientTest {
         ));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSendRequestWithoutWaitingForResponse() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient();
+
+        // when
+        ListenableFuture<HttpResponse> responseFuture = nettyHttpClient.sendRequestAsync(outboundRequest("0.0.0.0", freePort, "", request().withBody(exact("this is an example body"))));
+
+        // then
+        HttpResponse httpResponse = responseFuture.get(10, TimeUnit.SECONDS);
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is("this is an example body"));
+    }
+
+    @Test
+    public void shouldFailFutureWhenUnableToConnect() throws Exception {
+        // given
+        NettyHttpClient nettyHttpClient = new NettyHttpClient();
+
+        // when
+        ListenableFuture<HttpResponse> responseFuture = nettyHttpClient.sendRequestAsync(outboundRequest("127.0.0.1", PortFactory.findFreePort(), "", request()));
+
+        // then
+        try {
+            responseFuture.get(10, TimeUnit.SECONDS);
+            fail("expected exception");
+        } catch (ExecutionException ee) {
+            assertThat(ee.getCause(), instanceOf(SocketConnectionException.class));
+        }
+    }
+
+    @Test
+    public void shouldReuseConnectionForSameDestination() throws Exception {
+        // given - a server that only accepts one connection
+        final ServerSocket serverSocket = new ServerSocket(0);
+        final AtomicInteger responses = new AtomicInteger();
+        Thread server = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Socket socket = serverSocket.accept();
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), Charsets.UTF_8));
+                    OutputStream outputStream = socket.getOutputStream();
+                    for (int i = 0; i < 2; i++) {
+                        String line;
+                        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                            // skip request line and headers
+                        }
+                        String body = "response_" + responses.incrementAndGet();
+                        outputStream.write(("HTTP/1.1 200 OK\r\nContent-Length: " + body.length() + "\r\nConnection: keep-alive\r\n\r\n" + body).getBytes(Charsets.UTF_8));
+                        outputStream.flush();
+                    }
+                    socket.close();
+                } catch (IOException ioe) {
+                    // test fails on missing response
+                }
+            }
+        });
+        server.start();
+        NettyHttpClient nettyHttpClient = new NettyHttpClient();
+
+        try {
+            // when
+            HttpResponse firstResponse = nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request()));
+            HttpResponse secondResponse = nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request()));
+
+            // then
+            assertThat(firstResponse.getBodyAsString(), is("response_1"));
+            assertThat(secondResponse.getBodyAsString(), is("response_2"));
+        } finally {
+            serverSocket.close();
+            server.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Test
+    public void shouldNotResendRequestWithSideEffectsWhenReusedConnectionClosedAfterRequestWritten() throws Exception {
+        // given - a server that closes the connection after reading the second request
+        AtomicInteger requestsReceived = new AtomicInteger();
+        ServerSocket serverSocket = new ServerSocket(0);
+        Thread server = startServerClosingConnectionOnRequest(serverSocket, requestsReceived, 2);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient();
+
+        try {
+            nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request()));
+
+            // when
+            ListenableFuture<HttpResponse> responseFuture = nettyHttpClient.sendRequestAsync(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request().withMethod("POST").withBody(exact("some_body"))));
+
+            // then
+            try {
+                responseFuture.get(10, TimeUnit.SECONDS);
+                fail("expected exception");
+            } catch (ExecutionException ee) {
+                assertThat(ee.getCause(), instanceOf(SocketConnectionException.class));
+            }
+            assertThat(requestsReceived.get(), is(2));
+        } finally {
+            serverSocket.close();
+            server.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Test
+    public void shouldResendSafeRequestWhenReusedConnectionClosedAfterRequestWritten() throws Exception {
+        // given - a server that closes the connection after reading the second request
+        AtomicInteger requestsReceived = new AtomicInteger();
+        ServerSocket serverSocket = new ServerSocket(0);
+        Thread server = startServerClosingConnectionOnRequest(serverSocket, requestsReceived, 2);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient();
+
+        try {
+            nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request()));
+
+            // when
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request().withMethod("GET")));
+
+            // then
+            assertThat(httpResponse.getBodyAsString(), is("response_3"));
+            assertThat(requestsReceived.get(), is(3));
+        } finally {
+            serverSocket.close();
+            server.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Test
+    public void shouldRemovePoolOnceIdleConnectionClosed() throws Exception {
+        // given - a server that keeps connections open
+        AtomicInteger requestsReceived = new AtomicInteger();
+        ServerSocket serverSocket = new ServerSocket(0);
+        Thread server = startServerClosingConnectionOnRequest(serverSocket, requestsReceived, Integer.MAX_VALUE);
+        InetSocketAddress destination = new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort());
+        long originalConnectionIdleTimeout = ConfigurationProperties.connectionIdleTimeout();
+        ConfigurationProperties.connectionIdleTimeout(100);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient();
+
+        try {
+            // when
+            HttpResponse firstResponse = nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request()));
+
+            // then
+            assertThat(firstResponse.getBodyAsString(), is("response_1"));
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (NettyHttpClient.hasPool(destination, false) && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertThat(NettyHttpClient.hasPool(destination, false), is(false));
+
+            // and - a new pool is created for the next request
+            HttpResponse secondResponse = nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request()));
+            assertThat(secondResponse.getBodyAsString(), is("response_2"));
+        } finally {
+            ConfigurationProperties.connectionIdleTimeout(originalConnectionIdleTimeout);
+            serverSocket.close();
+            server.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Test
+    public void shouldKeepPoolWhileConnectionOpen() throws Exception {
+        // given - a server that keeps connections open
+        AtomicInteger requestsReceived = new AtomicInteger();
+        ServerSocket serverSocket = new ServerSocket(0);
+        Thread server = startServerClosingConnectionOnRequest(serverSocket, requestsReceived, Integer.MAX_VALUE);
+        NettyHttpClient nettyHttpClient = new NettyHttpClient();
+
+        try {
+            // when
+            nettyHttpClient.sendRequest(outboundRequest("127.0.0.1", serverSocket.getLocalPort(), "", request()));
+
+            // then
+            assertThat(NettyHttpClient.hasPool(new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort()), false), is(true));
+        } finally {
+            serverSocket.close();
+            server.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private Thread startServerClosingConnectionOnRequest(final ServerSocket serverSocket, final AtomicInteger requestsReceived, final int closeOnRequest) {
+        Thread server = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (!serverSocket.isClosed()) {
+                        Socket socket = serverSocket.accept();
+                        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), Charsets.UTF_8));
+                        OutputStream outputStream = socket.getOutputStream();
+                        while (!socket.isClosed()) {
+                            int contentLength = 0;
+                            String line;
+                            while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                                if (line.toLowerCase().startsWith(CONTENT_LENGTH.toLowerCase() + ":")) {
+                                    contentLength = Integer.parseInt(line.substring(CONTENT_LENGTH.length() + 1).trim());
+                                }
+                            }
+                            if (line == null) {
+                                socket.close();
+                                break;
+                            }
+                            reader.skip(contentLength);
+                            int request = requestsReceived.incrementAndGet();
+                            if (request == closeOnRequest) {
+                                socket.close();
+                            } else {
+                                String body = "response_" + request;
+                                outputStream.write(("HTTP/1.1 200 OK\r\nContent-Length: " + body.length() + "\r\nConnection: keep-alive\r\n\r\n" + body).getBytes(Charsets.UTF_8));
+                                outputStream.flush();
+                            }
+                        }
+                    }
+                } catch (IOException ioe) {
+                    // server socket closed
+                }
+            }
+        });
+        server.start();
+        return server;
+    }
+}
@@ -1,16 +1,21 @@
 package org.mockserver.client.netty.codec;
 
 import com.google.common.base.Charsets;
+import com.google.common.io.Files;
 import com.google.common.net.MediaType;
 import io.netty.handler.codec.http.*;
 import io.netty.handler.codec.http.FullHttpRequest;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockserver.mappers.ContentTypeMapper;
 import org.mockserver.matchers.MatchType;
 import org.mockserver.model.*;
 import org.mockserver.model.Cookie;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -20,6 +25,9 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.collection.IsEmptyIterable.emptyIterable;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockserver.model.BinaryBody.binary;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.JsonBody.json;
@@ -33,6 +41,8 @@ import static org.mockserver.model.StringBody.exact;
  */
 public class MockServerRequestEncoderBasicMappingTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
     private MockServerRequestEncoder mockServerRequestEncoder;
     private List<Object> output;
     private OutboundHttpRequest httpRequest;
@@ -284,6 +294,25 @@ public class MockServerRequestEncoderBasicMappingTest {
         assertThat(fullHttpRequest.headers().get(CONTENT_TYPE), is(MediaType.QUICKTIME.toString()));
     }
 
+    @Test
+    public void shouldEncodeSpilledBodyFromFile() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("somebody".getBytes(), file);
+        SpilledBody spilledBody = spy(new SpilledBody(file, 8, MediaType.OCTET_STREAM));
+        httpRequest.withBody(spilledBody);
+
+        // when
+        new MockServerRequestEncoder().encode(null, httpRequest, output);
+
+        // then
+        FullHttpRequest fullHttpRequest = (FullHttpRequest) output.get(0);
+        assertThat(fullHttpRequest.content().toString(Charsets.UTF_8), is("somebody"));
+        assertThat(fullHttpRequest.content().hasArray(), is(false));
+        verify(spilledBody, never()).getRawBytes();
+        verify(spilledBody, never()).getValue();
+    }
+
     @Test
     public void shouldEncodeNullBody() {
         // given
@@ -6,6 +6,7 @@ import org.apache.commons.lang3.StringEscapeUtils;
 import org.junit.Test;
 import org.mockserver.client.serialization.ObjectMapperFactory;
 import org.mockserver.client.serialization.model.*;
+import org.mockserver.matchers.BinaryMatchType;
 import org.mockserver.matchers.MatchType;
 import org.mockserver.model.*;
 
@@ -1210,6 +1211,30 @@ public class BodyDTODeserializerTest {
                 ), expectationDTO);
     }
 
+    @Test
+    public void shouldParseJSONWithBinaryBodyWithMatchType() throws IOException {
+        // given
+        String json = ("{" + System.getProperty("line.separator") +
+                "    \"httpRequest\": {" + System.getProperty("line.separator") +
+                "        \"body\" : {" + System.getProperty("line.separator") +
+                "            \"type\" : \"BINARY\"," + System.getProperty("line.separator") +
+                "            \"value\" : \"" + DatatypeConverter.printBase64Binary("some_value".getBytes()) + "\"," + System.getProperty("line.separator") +
+                "            \"matchType\" : \"CONTAINS\"" + System.getProperty("line.separator") +
+                "        }" + System.getProperty("line.separator") +
+                "    }" + System.getProperty("line.separator") +
+                "}");
+
+        // when
+        ExpectationDTO expectationDTO = ObjectMapperFactory.createObjectMapper().readValue(json, ExpectationDTO.class);
+
+        // then
+        assertEquals(new ExpectationDTO()
+                .setHttpRequest(
+                        new HttpRequestDTO()
+                                .setBody(new BinaryBodyDTO(new BinaryBody("some_value".getBytes(), null, BinaryMatchType.CONTAINS)))
+                ), expectationDTO);
+    }
+
     @Test
     public void shouldParseJSONWithBinaryBodyWithNot() throws IOException {
         // given
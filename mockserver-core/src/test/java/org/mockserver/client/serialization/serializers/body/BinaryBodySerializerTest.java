@@ -5,6 +5,7 @@ import com.google.common.base.Charsets;
 import com.google.common.net.MediaType;
 import org.junit.Test;
 import org.mockserver.client.serialization.ObjectMapperFactory;
+import org.mockserver.matchers.BinaryMatchType;
 import org.mockserver.model.BinaryBody;
 
 import static org.hamcrest.core.Is.is;
@@ -24,4 +25,10 @@ public class BinaryBodySerializerTest {
         assertThat(ObjectMapperFactory.createObjectMapper().writeValueAsString(new BinaryBody("some_bytes".getBytes(), MediaType.APPLICATION_BINARY)),
                 is("{\"contentType\":\"application/binary\",\"type\":\"BINARY\",\"value\":\"c29tZV9ieXRlcw==\"}"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSerializeBinaryBodyWithMatchType() throws JsonProcessingException {
+        assertThat(ObjectMapperFactory.createObjectMapper().writeValueAsString(new BinaryBody("some_bytes".getBytes(), null, BinaryMatchType.CONTAINS)),
+                is("{\"type\":\"BINARY\",\"value\":\"c29tZV9ieXRlcw==\",\"matchType\":\"CONTAINS\"}"));
+    }
+}
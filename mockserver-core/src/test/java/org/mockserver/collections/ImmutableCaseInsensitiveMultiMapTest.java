@@ -0,0 +1,75 @@
+package org.mockserver.collections;
+
+import org.junit.Test;
+import org.mockserver.model.Header;
+import org.mockserver.model.NottableString;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * @author jamesdbloom
+ */
+public class ImmutableCaseInsensitiveMultiMapTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFindLiteralNamesIgnoringCase() {
+        // when
+        ImmutableCaseInsensitiveMultiMap multiMap = new ImmutableCaseInsensitiveMultiMap(Arrays.asList(
+                new Header("Content-Type", "text/plain"),
+                new Header("accept", "one", "two")
+        ));
+
+        // then
+        assertThat(multiMap.getLiteralNameEntries("content-type"), contains(entry(string("Content-Type"), string("text/plain"))));
+        assertThat(multiMap.getLiteralNameEntries("ACCEPT"), contains(
+                entry(string("accept"), string("one")),
+                entry(string("accept"), string("two"))
+        ));
+        assertThat(multiMap.getLiteralNameEntries("content"), empty());
+        assertThat(multiMap.getNonLiteralNameEntries(), empty());
+        assertThat(multiMap.entryList().size(), is(3));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldHoldRegexAndNotNamesSeparately() {
+        // when
+        ImmutableCaseInsensitiveMultiMap multiMap = new ImmutableCaseInsensitiveMultiMap(Arrays.asList(
+                new Header("Content-.*", "text/plain"),
+                new Header(not("accept"), string("one"))
+        ));
+
+        // then
+        assertThat(multiMap.getLiteralNameEntries("accept"), empty());
+        assertThat(multiMap.getNonLiteralNameEntries(), contains(
+                entry(string("Content-.*"), string("text/plain")),
+                entry(not("accept"), string("one"))
+        ));
+    }
+
+    @Test
+    public void shouldBeEmptyWithoutValues() {
+        assertThat(new ImmutableCaseInsensitiveMultiMap(null).isEmpty(), is(true));
+        assertThat(new ImmutableCaseInsensitiveMultiMap(Collections.<Header>emptyList()).isEmpty(), is(true));
+        assertThat(new ImmutableCaseInsensitiveMultiMap(Arrays.asList(new Header("name"))).isEmpty(), is(true));
+        assertThat(ImmutableCaseInsensitiveMultiMap.emptyMultiMap().isEmpty(), is(true));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotBeModifiable() {
+        new ImmutableCaseInsensitiveMultiMap(Arrays.asList(new Header("name", "value"))).getLiteralNameEntries("name").clear();
+    }
+
+    private static Map.Entry<NottableString, NottableString> entry(NottableString key, NottableString value) {
+        return new AbstractMap.SimpleImmutableEntry<NottableString, NottableString>(key, value);
+    }
+}
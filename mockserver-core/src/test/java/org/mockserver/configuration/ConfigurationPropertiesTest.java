@@ -79,6 +79,254 @@ public class ConfigurationPropertiesTest {
         assertEquals(TimeUnit.SECONDS.toMillis(ConfigurationProperties.DEFAULT_MAX_TIMEOUT), ConfigurationProperties.maxSocketTimeout());
     }
 
+    @Test
+    public void shouldSetAndReadRequestLogSize() {
+        // given
+        System.clearProperty("mockserver.requestLogSize");
+
+        // when
+        assertEquals(ConfigurationProperties.DEFAULT_REQUEST_LOG_SIZE, ConfigurationProperties.requestLogSize());
+        ConfigurationProperties.requestLogSize(1000);
+
+        // then
+        assertEquals(1000, ConfigurationProperties.requestLogSize());
+        assertEquals("1000", System.getProperty("mockserver.requestLogSize"));
+    }
+
+    @Test
+    public void shouldSetAndReadNettyTransport() {
+        // given
+        System.clearProperty("mockserver.nettyTransport");
+
+        // when
+        assertEquals("auto", ConfigurationProperties.nettyTransport());
+        ConfigurationProperties.nettyTransport("nio");
+
+        // then
+        assertEquals("nio", ConfigurationProperties.nettyTransport());
+        assertEquals("nio", System.getProperty("mockserver.nettyTransport"));
+    }
+
+    @Test
+    public void shouldSetAndReadAcceptorsPerPort() {
+        // given
+        System.clearProperty("mockserver.acceptorsPerPort");
+
+        // when
+        assertEquals(1, ConfigurationProperties.acceptorsPerPort());
+        ConfigurationProperties.acceptorsPerPort(4);
+
+        // then
+        assertEquals(4, ConfigurationProperties.acceptorsPerPort());
+        assertEquals("4", System.getProperty("mockserver.acceptorsPerPort"));
+    }
+
+    @Test
+    public void shouldSetAndReadBossThreadCount() {
+        // given
+        System.clearProperty("mockserver.bossThreadCount");
+
+        // when
+        assertEquals(0, ConfigurationProperties.bossThreadCount());
+        ConfigurationProperties.bossThreadCount(2);
+
+        // then
+        assertEquals(2, ConfigurationProperties.bossThreadCount());
+        assertEquals("2", System.getProperty("mockserver.bossThreadCount"));
+    }
+
+    @Test
+    public void shouldSetAndReadWorkerThreadCount() {
+        // given
+        System.clearProperty("mockserver.workerThreadCount");
+
+        // when
+        assertEquals(0, ConfigurationProperties.workerThreadCount());
+        ConfigurationProperties.workerThreadCount(8);
+
+        // then
+        assertEquals(8, ConfigurationProperties.workerThreadCount());
+        assertEquals("8", System.getProperty("mockserver.workerThreadCount"));
+    }
+
+    @Test
+    public void shouldSetAndReadActionHandlerThreadCount() {
+        // given
+        System.clearProperty("mockserver.actionHandlerThreadCount");
+
+        // when
+        assertEquals(0, ConfigurationProperties.actionHandlerThreadCount());
+        ConfigurationProperties.actionHandlerThreadCount(16);
+
+        // then
+        assertEquals(16, ConfigurationProperties.actionHandlerThreadCount());
+        assertEquals("16", System.getProperty("mockserver.actionHandlerThreadCount"));
+    }
+
+    @Test
+    public void shouldSetAndReadActionHandlerMaxPendingTasks() {
+        // given
+        System.clearProperty("mockserver.actionHandlerMaxPendingTasks");
+
+        // when
+        assertEquals(ConfigurationProperties.DEFAULT_ACTION_HANDLER_MAX_PENDING_TASKS, ConfigurationProperties.actionHandlerMaxPendingTasks());
+        ConfigurationProperties.actionHandlerMaxPendingTasks(50);
+
+        // then
+        assertEquals(50, ConfigurationProperties.actionHandlerMaxPendingTasks());
+        assertEquals("50", System.getProperty("mockserver.actionHandlerMaxPendingTasks"));
+    }
+
+    @Test
+    public void shouldSetAndReadMaxConnectionsPerDestination() {
+        // given
+        System.clearProperty("mockserver.maxConnectionsPerDestination");
+
+        // when
+        assertEquals(ConfigurationProperties.DEFAULT_MAX_CONNECTIONS_PER_DESTINATION, ConfigurationProperties.maxConnectionsPerDestination());
+        ConfigurationProperties.maxConnectionsPerDestination(10);
+
+        // then
+        assertEquals(10, ConfigurationProperties.maxConnectionsPerDestination());
+        assertEquals("10", System.getProperty("mockserver.maxConnectionsPerDestination"));
+    }
+
+    @Test
+    public void shouldSetAndReadMaxPendingConnectionAcquires() {
+        // given
+        System.clearProperty("mockserver.maxPendingConnectionAcquires");
+
+        // when
+        assertEquals(Integer.MAX_VALUE, ConfigurationProperties.maxPendingConnectionAcquires());
+        ConfigurationProperties.maxPendingConnectionAcquires(100);
+
+        // then
+        assertEquals(100, ConfigurationProperties.maxPendingConnectionAcquires());
+        assertEquals("100", System.getProperty("mockserver.maxPendingConnectionAcquires"));
+    }
+
+    @Test
+    public void shouldSetAndReadConnectionIdleTimeout() {
+        // given
+        System.clearProperty("mockserver.connectionIdleTimeout");
+
+        // when
+        assertEquals(TimeUnit.SECONDS.toMillis(ConfigurationProperties.DEFAULT_CONNECTION_IDLE_TIMEOUT), ConfigurationProperties.connectionIdleTimeout());
+        ConfigurationProperties.connectionIdleTimeout(1000L);
+
+        // then
+        assertEquals(1000L, ConfigurationProperties.connectionIdleTimeout());
+        assertEquals("1000", System.getProperty("mockserver.connectionIdleTimeout"));
+    }
+
+    @Test
+    public void shouldSetAndReadPersistentLogDirectory() {
+        // given
+        System.clearProperty("mockserver.persistentLogDirectory");
+
+        // when
+        assertEquals("", ConfigurationProperties.persistentLogDirectory());
+        ConfigurationProperties.persistentLogDirectory("/some/directory");
+
+        // then
+        assertEquals("/some/directory", ConfigurationProperties.persistentLogDirectory());
+        assertEquals("/some/directory", System.getProperty("mockserver.persistentLogDirectory"));
+        System.clearProperty("mockserver.persistentLogDirectory");
+    }
+
+    @Test
+    public void shouldSetAndReadPersistentLogSegmentSize() {
+        // given
+        System.clearProperty("mockserver.persistentLogSegmentSize");
+
+        // when
+        assertEquals(ConfigurationProperties.DEFAULT_PERSISTENT_LOG_SEGMENT_SIZE, ConfigurationProperties.persistentLogSegmentSize());
+        ConfigurationProperties.persistentLogSegmentSize(4096);
+
+        // then
+        assertEquals(4096, ConfigurationProperties.persistentLogSegmentSize());
+        assertEquals("4096", System.getProperty("mockserver.persistentLogSegmentSize"));
+    }
+
+    @Test
+    public void shouldSetAndReadPersistentLogSegmentMaxAge() {
+        // given
+        System.clearProperty("mockserver.persistentLogSegmentMaxAge");
+
+        // when
+        assertEquals(TimeUnit.HOURS.toMillis(1), ConfigurationProperties.persistentLogSegmentMaxAge());
+        ConfigurationProperties.persistentLogSegmentMaxAge(1000);
+
+        // then
+        assertEquals(1000, ConfigurationProperties.persistentLogSegmentMaxAge());
+        assertEquals("1000", System.getProperty("mockserver.persistentLogSegmentMaxAge"));
+    }
+
+    @Test
+    public void shouldSetAndReadRequestResponseLogSize() {
+        // given
+        System.clearProperty("mockserver.requestResponseLogSize");
+
+        // when
+        assertEquals(ConfigurationProperties.DEFAULT_REQUEST_RESPONSE_LOG_SIZE, ConfigurationProperties.requestResponseLogSize());
+        ConfigurationProperties.requestResponseLogSize(10);
+
+        // then
+        assertEquals(10, ConfigurationProperties.requestResponseLogSize());
+        assertEquals("10", System.getProperty("mockserver.requestResponseLogSize"));
+    }
+
+    @Test
+    public void shouldSetAndReadMaxRequestBodySize() {
+        // given
+        System.clearProperty("mockserver.maxRequestBodySize");
+
+        // when
+        assertEquals(Integer.MAX_VALUE, ConfigurationProperties.maxRequestBodySize());
+        ConfigurationProperties.maxRequestBodySize(1024);
+
+        // then
+        assertEquals(1024, ConfigurationProperties.maxRequestBodySize());
+        assertEquals("1024", System.getProperty("mockserver.maxRequestBodySize"));
+    }
+
+    @Test
+    public void shouldHandleInvalidMaxRequestBodySize() {
+        // given
+        System.setProperty("mockserver.maxRequestBodySize", "invalid");
+
+        // then
+        assertEquals(Integer.MAX_VALUE, ConfigurationProperties.maxRequestBodySize());
+    }
+
+    @Test
+    public void shouldSetAndReadRequestBodySpillThreshold() {
+        // given
+        System.clearProperty("mockserver.requestBodySpillThreshold");
+
+        // when
+        assertEquals(ConfigurationProperties.DEFAULT_REQUEST_BODY_SPILL_THRESHOLD, ConfigurationProperties.requestBodySpillThreshold());
+        ConfigurationProperties.requestBodySpillThreshold(1024);
+
+        // then
+        assertEquals(1024, ConfigurationProperties.requestBodySpillThreshold());
+        assertEquals("1024", System.getProperty("mockserver.requestBodySpillThreshold"));
+    }
+
+    @Test
+    public void shouldSetAndReadRequestBodySpillDirectory() {
+        // given
+        System.clearProperty("mockserver.requestBodySpillDirectory");
+
+        // when
+        assertEquals(System.getProperty("java.io.tmpdir"), ConfigurationProperties.requestBodySpillDirectory());
+        ConfigurationProperties.requestBodySpillDirectory("/spill");
+
+        // then
+        assertEquals("/spill", ConfigurationProperties.requestBodySpillDirectory());
+        assertEquals("/spill", System.getProperty("mockserver.requestBodySpillDirectory"));
+    }
+
     @Test
     public void shouldSetAndReadJavaKeyStoreFilePath() {
         // given
@@ -0,0 +1,338 @@
+package org.mockserver.filters;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.google.common.net.MediaType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.model.BinaryBody;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.SpilledBody;
+import org.mockserver.model.SpilledStringBody;
+import org.mockserver.model.StringBody;
+import org.mockserver.verify.Verification;
+import org.mockserver.verify.VerificationSequence;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.verify.VerificationTimes.exactly;
+
+/**
+ * @author jamesdbloom
+ */
+public class PersistentLogTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadRequestsAndResponsesInOrder() throws Exception {
+        // given
+        PersistentLog persistentLog = new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE);
+
+        // when
+        persistentLog.append(request("/path_one").withBody("some_body"), response("some_response"));
+        persistentLog.append(request("/path_two"));
+
+        // then
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests, contains(request("/path_one").withBody("some_body"), request("/path_two")));
+        assertThat(visitor.httpResponses.get(0), is(response("some_response")));
+        assertThat(visitor.httpResponses.get(1), nullValue());
+    }
+
+    @Test
+    public void shouldOnlyReadMatchingRequests() throws Exception {
+        // given
+        PersistentLog persistentLog = new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE);
+        persistentLog.append(request("/path_one"));
+        persistentLog.append(request("/path_two"));
+        persistentLog.append(request("/path_one").withMethod("POST"));
+
+        // when
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(request("/path_one"), visitor);
+
+        // then
+        assertThat(visitor.httpRequests, contains(request("/path_one"), request("/path_one").withMethod("POST")));
+    }
+
+    @Test
+    public void shouldRollOverToNewSegmentWhenFull() throws Exception {
+        // given
+        File directory = temporaryFolder.newFolder();
+        PersistentLog persistentLog = new PersistentLog(directory, 1024, Long.MAX_VALUE);
+
+        // when
+        List<HttpRequest> httpRequests = new ArrayList<HttpRequest>();
+        for (int i = 0; i < 50; i++) {
+            HttpRequest httpRequest = request("/path_" + i).withBody("some_body_" + i);
+            httpRequests.add(httpRequest);
+            persistentLog.append(httpRequest);
+        }
+        persistentLog.append(request("/large").withBody(new String(new char[4096]).replace('\0', 'a')));
+
+        // then
+        assertThat(directory.listFiles().length, greaterThan(1));
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests.subList(0, 50), is(httpRequests));
+        assertThat(visitor.httpRequests.get(50).getPath().getValue(), is("/large"));
+    }
+
+    @Test
+    public void shouldRollOverToNewSegmentWhenTooOld() throws Exception {
+        // given
+        File directory = temporaryFolder.newFolder();
+        PersistentLog persistentLog = new PersistentLog(directory, 1024 * 1024, 0);
+
+        // when
+        persistentLog.append(request("/path_one"));
+        persistentLog.append(request("/path_two"));
+        persistentLog.append(request("/path_three"));
+
+        // then
+        assertThat(directory.listFiles().length, is(3));
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests, contains(request("/path_one"), request("/path_two"), request("/path_three")));
+    }
+
+    @Test
+    public void shouldSkipClearedRequestsReceivedBeforeClear() throws Exception {
+        // given
+        PersistentLog persistentLog = new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE);
+        persistentLog.append(request("/path_one"));
+        persistentLog.append(request("/path_two"));
+
+        // when
+        persistentLog.clear(request("/path_one"));
+        persistentLog.append(request("/path_one").withMethod("GET"));
+
+        // then
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests, contains(request("/path_two"), request("/path_one").withMethod("GET")));
+    }
+
+    @Test
+    public void shouldDeleteSegmentsOnReset() throws Exception {
+        // given
+        File directory = temporaryFolder.newFolder();
+        PersistentLog persistentLog = new PersistentLog(directory, 1024 * 1024, Long.MAX_VALUE);
+        persistentLog.append(request("/path_one"));
+
+        // when
+        persistentLog.reset();
+        persistentLog.append(request("/path_two"));
+
+        // then
+        assertThat(directory.listFiles().length, is(1));
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests, contains(request("/path_two")));
+    }
+
+    @Test
+    public void shouldStopReadingWhenVisitorReturnsFalse() throws Exception {
+        // given
+        PersistentLog persistentLog = new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE);
+        persistentLog.append(request("/path_one"));
+        persistentLog.append(request("/path_two"));
+
+        // when
+        final List<HttpRequest> httpRequests = new ArrayList<HttpRequest>();
+        persistentLog.scan(null, new RequestLog.RecordVisitor() {
+            @Override
+            public boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+                httpRequests.add(httpRequest);
+                return false;
+            }
+        });
+
+        // then
+        assertThat(httpRequests, contains(request("/path_one")));
+    }
+
+    @Test
+    public void shouldRetrieveAndVerifyFromPersistentLogBeyondRequestLogSize() throws Exception {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1, new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE));
+
+        // when
+        requestLogFilter.onRequest(request("/path_one"));
+        requestLogFilter.onRequest(request("/path_two"));
+        requestLogFilter.onRequest(request("/path_one"));
+
+        // then
+        assertThat(requestLogFilter.retrieve(request("/path_one")), arrayContaining(request("/path_one"), request("/path_one")));
+        assertThat(requestLogFilter.verify(new Verification().withRequest(request("/path_one")).withTimes(exactly(2))), is(""));
+        assertThat(requestLogFilter.verify(new VerificationSequence().withRequests(request("/path_one"), request("/path_two"), request("/path_one"))), is(""));
+        assertThat(requestLogFilter.verify(new VerificationSequence().withRequests(request("/path_two"), request("/path_two"))), not(""));
+    }
+
+    @Test
+    public void shouldRetrieveTimeWindowFromPersistentLogBeyondRequestLogSize() throws Exception {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1, new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE));
+        long beforeRequests = System.currentTimeMillis();
+
+        // when
+        requestLogFilter.onRequest(request("/path_one"));
+        requestLogFilter.onRequest(request("/path_two"));
+        long afterRequests = System.currentTimeMillis() + 1;
+
+        // then
+        assertThat(requestLogFilter.retrieve(null, beforeRequests, afterRequests), arrayContaining(request("/path_one"), request("/path_two")));
+        assertThat(requestLogFilter.retrieve(request("/path_one"), beforeRequests, afterRequests), arrayContaining(request("/path_one")));
+        assertThat(requestLogFilter.retrieve(null, afterRequests, Long.MAX_VALUE), emptyArray());
+        assertThat(requestLogFilter.httpRequests(null), contains(request("/path_one"), request("/path_two")));
+    }
+
+    @Test
+    public void shouldOnlyIncludeRequestsWithinRequestLogSizeInVerificationFailure() throws Exception {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1, new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE));
+        requestLogFilter.onRequest(request("/path_one"));
+        requestLogFilter.onRequest(request("/path_two"));
+
+        // when
+        String failureMessage = requestLogFilter.verify(new Verification().withRequest(request("/path_three")).withTimes(exactly(1)));
+        String sequenceFailureMessage = requestLogFilter.verify(new VerificationSequence().withRequests(request("/path_three")));
+
+        // then
+        assertThat(failureMessage, not(containsString("/path_one")));
+        assertThat(failureMessage, containsString("/path_two"));
+        assertThat(sequenceFailureMessage, not(containsString("/path_one")));
+        assertThat(sequenceFailureMessage, containsString("/path_two"));
+    }
+
+    @Test
+    public void shouldReadAndAppendAfterClose() throws Exception {
+        // given
+        File directory = temporaryFolder.newFolder();
+        PersistentLog persistentLog = new PersistentLog(directory, 1024 * 1024, Long.MAX_VALUE);
+        persistentLog.append(request("/path_one"));
+        persistentLog.scan(null, new RecordingVisitor());
+
+        // when
+        persistentLog.close();
+        persistentLog.append(request("/path_two"));
+
+        // then
+        assertThat(directory.listFiles().length, is(2));
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests, contains(request("/path_one"), request("/path_two")));
+        persistentLog.close();
+    }
+
+    @Test
+    public void shouldReadRequestsAppendedToActiveSegmentSinceLastRead() throws Exception {
+        // given
+        PersistentLog persistentLog = new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE);
+        persistentLog.append(request("/path_one"));
+        RecordingVisitor firstVisitor = new RecordingVisitor();
+        persistentLog.scan(null, firstVisitor);
+
+        // when
+        persistentLog.append(request("/path_two"));
+
+        // then
+        RecordingVisitor secondVisitor = new RecordingVisitor();
+        persistentLog.scan(null, secondVisitor);
+        assertThat(firstVisitor.httpRequests, contains(request("/path_one")));
+        assertThat(secondVisitor.httpRequests, contains(request("/path_one"), request("/path_two")));
+        assertThat(persistentLog.find(request("/path_two"), Long.MIN_VALUE, Long.MAX_VALUE, false), contains(request("/path_two")));
+    }
+
+    @Test
+    public void shouldDumpExchangesFromPersistentLog() throws Exception {
+        // given
+        RequestResponseLogFilter requestResponseLogFilter = new RequestResponseLogFilter(new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE));
+
+        // when
+        requestResponseLogFilter.onResponse(request("/path_one"), response("response_one"));
+        requestResponseLogFilter.onResponse(request("/path_one"), response("response_two"));
+
+        // then
+        assertThat(requestResponseLogFilter.httpResponses(request("/path_one")), contains(response("response_one"), response("response_two")));
+    }
+
+    @Test
+    public void shouldCopySpilledBodiesFromTheirFilesWithoutReadingThemOntoTheHeap() throws Exception {
+        // given
+        PersistentLog persistentLog = new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE);
+        File binaryFile = temporaryFolder.newFile();
+        Files.write(new byte[]{0, 1, 2, 3}, binaryFile);
+        File stringFile = temporaryFolder.newFile();
+        Files.write("我说中国话".getBytes(Charsets.UTF_8), stringFile);
+        SpilledBody spilledBody = spy(new SpilledBody(binaryFile, 4, MediaType.OCTET_STREAM));
+        SpilledStringBody spilledStringBody = spy(new SpilledStringBody(stringFile, stringFile.length(), Charsets.UTF_8));
+
+        // when
+        persistentLog.append(request("/path_one").withBody(spilledBody), response("response_one"));
+        persistentLog.append(request("/path_two").withBody(spilledStringBody));
+        persistentLog.append(request("/path_three").withBody("some_body"));
+        binaryFile.delete();
+        stringFile.delete();
+
+        // then
+        verify(spilledBody, never()).getValue();
+        verify(spilledBody, never()).getRawBytes();
+        verify(spilledStringBody, never()).getValue();
+        verify(spilledStringBody, never()).getRawBytes();
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests, contains(
+                request("/path_one").withBody(new BinaryBody(new byte[]{0, 1, 2, 3}, MediaType.OCTET_STREAM)),
+                request("/path_two").withBody(new StringBody("我说中国话", Charsets.UTF_8)),
+                request("/path_three").withBody("some_body")
+        ));
+        assertThat(visitor.httpResponses.get(0), is(response("response_one")));
+    }
+
+    @Test
+    public void shouldRecordSpilledBodyAsEmptyOnceFileDeleted() throws Exception {
+        // given
+        PersistentLog persistentLog = new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE);
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(Charsets.UTF_8), file);
+        SpilledStringBody spilledStringBody = new SpilledStringBody(file, 9, null);
+        file.delete();
+
+        // when
+        persistentLog.append(request("/path_one").withBody(spilledStringBody), response("response_one"));
+        persistentLog.append(request("/path_two"));
+
+        // then
+        RecordingVisitor visitor = new RecordingVisitor();
+        persistentLog.scan(null, visitor);
+        assertThat(visitor.httpRequests, contains(request("/path_one").withBody(""), request("/path_two")));
+        assertThat(visitor.httpResponses.get(0), is(response("response_one")));
+    }
+
+    private static class RecordingVisitor implements RequestLog.RecordVisitor {
+        private final List<HttpRequest> httpRequests = new ArrayList<HttpRequest>();
+        private final List<HttpResponse> httpResponses = new ArrayList<HttpResponse>();
+
+        @Override
+        public boolean visit(long timestamp, HttpRequest httpRequest, HttpResponse httpResponse) {
+            httpRequests.add(httpRequest);
+            httpResponses.add(httpResponse);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.mockserver.filters;
+
+import org.junit.Test;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+
+/**
+ * @author jamesdbloom
+ */
+public class RequestJournalTest {
+
+    @Test
+    public void shouldEvictOldestRequestsOnceFull() {
+        // given
+        RequestJournal requestJournal = new RequestJournal(3);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            requestJournal.add(request("/path_" + i).withMethod("GET"));
+        }
+
+        // then
+        assertThat(requestJournal.size(), is(3));
+        assertThat(requestJournal.getAll(), contains(
+                request("/path_2").withMethod("GET"),
+                request("/path_3").withMethod("GET"),
+                request("/path_4").withMethod("GET")
+        ));
+        assertThat(requestJournal.find(request().withMethod("GET"), false).size(), is(3));
+        assertThat(requestJournal.find(request("/path_0"), false), empty());
+        assertThat(requestJournal.find(request("/path_4"), false), contains(request("/path_4").withMethod("GET")));
+    }
+
+    @Test
+    public void shouldFindSameRequestsWithIndexesAsWithoutIndexes() {
+        // given
+        RequestJournal requestJournal = new RequestJournal(50);
+        List<HttpRequest> recordedRequests = Arrays.asList(
+                request("/some_path").withMethod("GET"),
+                request("/some_path").withMethod("POST"),
+                request("/some_other_path").withMethod("GET"),
+                request("/some_.*").withMethod("PUT"),
+                request("/some_path").withMethod("G.*"),
+                request().withPath(not("/some_path")).withMethod("GET"),
+                request("/SOME_PATH").withMethod("get"),
+                request()
+        );
+        for (HttpRequest recordedRequest : recordedRequests) {
+            requestJournal.add(recordedRequest);
+        }
+        List<HttpRequest> matchers = Arrays.asList(
+                request("/some_path"),
+                request("/some_path").withMethod("GET"),
+                request("/some_path").withMethod("POST"),
+                request("/some_other_path"),
+                request("/some_.*"),
+                request().withMethod("GET"),
+                request().withMethod("PUT"),
+                request().withPath(not("/some_path")),
+                HttpRequest.not(request("/some_path")),
+                request("/unknown_path")
+        );
+
+        for (HttpRequest matcher : matchers) {
+            // when
+            List<HttpRequest> expected = new ArrayList<HttpRequest>();
+            for (HttpRequest candidate : recordedRequests) {
+                if (new MatcherBuilder().transformsToMatcher(matcher).matches(candidate)) {
+                    expected.add(candidate);
+                }
+            }
+
+            // then
+            assertThat("matcher " + matcher, requestJournal.find(matcher, false), is(expected));
+        }
+    }
+
+    @Test
+    public void shouldFindRequestsInTimeWindow() {
+        // given
+        RequestJournal requestJournal = new RequestJournal(10);
+        requestJournal.add(request("/path_one"), 100);
+        requestJournal.add(request("/path_two"), 200);
+        requestJournal.add(request("/path_one"), 300);
+        requestJournal.add(request("/path_two"), 400);
+
+        // then
+        assertThat(requestJournal.find(null, 200, 400), contains(request("/path_two"), request("/path_one")));
+        assertThat(requestJournal.find(request("/path_one"), 0, 1000), contains(request("/path_one"), request("/path_one")));
+        assertThat(requestJournal.find(request("/path_one"), 150, 1000), contains(request("/path_one")));
+        assertThat(requestJournal.find(request("/path_two"), 401, 1000), empty());
+        assertThat(requestJournal.find(null, 300, 300), empty());
+    }
+
+    @Test
+    public void shouldKeepTimeOrderWhenClockGoesBackwards() {
+        // given
+        RequestJournal requestJournal = new RequestJournal(10);
+        requestJournal.add(request("/path_one"), 200);
+        requestJournal.add(request("/path_two"), 100);
+
+        // then
+        assertThat(requestJournal.find(null, 200, 201), contains(request("/path_one"), request("/path_two")));
+    }
+
+    @Test
+    public void shouldRemoveMatchingRequestsAndKeepOrder() {
+        // given
+        RequestJournal requestJournal = new RequestJournal(3);
+        requestJournal.add(request("/path_one"));
+        requestJournal.add(request("/path_two"));
+        requestJournal.add(request("/path_one"));
+
+        // when
+        requestJournal.remove(request("/path_one"));
+        requestJournal.add(request("/path_three"));
+        requestJournal.add(request("/path_four"));
+
+        // then
+        assertThat(requestJournal.getAll(), contains(request("/path_two"), request("/path_three"), request("/path_four")));
+        assertThat(requestJournal.find(request("/path_one"), false), empty());
+        assertThat(requestJournal.find(request("/path_two"), false), contains(request("/path_two")));
+    }
+
+    @Test
+    public void shouldClear() {
+        // given
+        RequestJournal requestJournal = new RequestJournal(3);
+        requestJournal.add(request("/path_one"));
+
+        // when
+        requestJournal.clear();
+        requestJournal.add(request("/path_two"));
+
+        // then
+        assertThat(requestJournal.getAll(), contains(request("/path_two")));
+        assertThat(requestJournal.find(request("/path_one"), false), empty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectCapacityLessThanOne() {
+        new RequestJournal(0);
+    }
+}
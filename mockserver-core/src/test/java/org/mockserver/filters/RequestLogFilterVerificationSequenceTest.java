@@ -652,4 +652,21 @@ public class RequestLogFilterVerificationSequenceTest {
                         "} ]>"));
     }
 
+
+    @Test
+    public void shouldTruncateFailureMessageToMostRecentRequests() {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE * 2);
+        for (int i = 0; i < RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE + 1; i++) {
+            requestLogFilter.onRequest(request("some_path_" + i));
+        }
+
+        // when
+        String failureMessage = requestLogFilter.verify(new VerificationSequence().withRequests(request("some_other_path")));
+
+        // then
+        assertThat(failureMessage.contains("\"path\" : \"some_path_0\""), is(false));
+        assertThat(failureMessage.contains("\"path\" : \"some_path_1\""), is(true));
+        assertThat(failureMessage.endsWith("> (truncated to the most recent " + RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE + " of " + (RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE + 1) + " requests in the request log)"), is(true));
+    }
 }
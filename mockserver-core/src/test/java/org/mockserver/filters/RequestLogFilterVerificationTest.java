@@ -1,6 +1,8 @@
 package org.mockserver.filters;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.verify.Verification;
 
@@ -15,6 +17,9 @@ import static org.mockserver.verify.VerificationTimes.exactly;
  */
 public class RequestLogFilterVerificationTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void shouldPassVerificationWithNullRequest() {
         // given
@@ -326,4 +331,189 @@ public class RequestLogFilterVerificationTest {
                 ),
                 is("Request not found exactly 0 times, expected:<{ }> but was:<{ }>"));
     }
+
+    @Test
+    public void shouldCountRegisteredVerificationBeyondRequestLogSize() {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(2);
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+        requestLogFilter.registerVerification(new HttpRequest().withPath("some_path"));
+
+        // when
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_other_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_other_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+
+        // then
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(3))
+                ),
+                is(""));
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_other_path"))
+                                .withTimes(exactly(1))
+                ),
+                is(""));
+    }
+
+    @Test
+    public void shouldUpdateRegisteredVerificationCountOnClearAndReset() {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter();
+        requestLogFilter.registerVerification(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path").withBody("one"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path").withBody("two"));
+
+        // when
+        requestLogFilter.clear(new HttpRequest().withBody("one"));
+
+        // then
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(1))
+                ),
+                is(""));
+
+        // when
+        requestLogFilter.reset();
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+
+        // then
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(1))
+                ),
+                is(""));
+    }
+
+    @Test
+    public void shouldSearchRequestLogOnceVerificationUnregistered() {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1);
+        requestLogFilter.registerVerification(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+
+        // when
+        requestLogFilter.unregisterVerification(new HttpRequest().withPath("some_path"));
+
+        // then
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(1))
+                ),
+                is(""));
+    }
+
+    @Test
+    public void shouldClearEvictedRequestsForRegisteredVerificationMatchedByClear() {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1);
+        requestLogFilter.registerVerification(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+
+        // when
+        requestLogFilter.clear(new HttpRequest().withPath("some_path"));
+
+        // then
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(0))
+                ),
+                is(""));
+    }
+
+    @Test
+    public void shouldOnlyClearRequestsStillInLogForRegisteredVerificationNotMatchedByClear() {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1);
+        requestLogFilter.registerVerification(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path").withBody("one"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path").withBody("one"));
+
+        // when
+        requestLogFilter.clear(new HttpRequest().withBody("one"));
+
+        // then - the evicted request is still counted
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(1))
+                ),
+                is(""));
+    }
+
+    @Test
+    public void shouldCountRequestsInPersistentLogWhenVerificationRegistered() throws Exception {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1, new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_other_path"));
+
+        // when
+        requestLogFilter.registerVerification(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path"));
+
+        // then
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(3))
+                ),
+                is(""));
+    }
+
+    @Test
+    public void shouldClearEvictedRequestsFromRegisteredVerificationWithPersistentLog() throws Exception {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(1, new PersistentLog(temporaryFolder.newFolder(), 1024 * 1024, Long.MAX_VALUE));
+        requestLogFilter.registerVerification(new HttpRequest().withPath("some_path"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path").withBody("one"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path").withBody("two"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_path").withBody("one"));
+        requestLogFilter.onRequest(new HttpRequest().withPath("some_other_path"));
+
+        // when
+        requestLogFilter.clear(new HttpRequest().withBody("one"));
+
+        // then
+        assertThat(requestLogFilter.verify(
+                        new Verification()
+                                .withRequest(new HttpRequest().withPath("some_path"))
+                                .withTimes(exactly(1))
+                ),
+                is(""));
+    }
+
+    @Test
+    public void shouldTruncateFailureMessageToMostRecentRequests() {
+        // given
+        RequestLogFilter requestLogFilter = new RequestLogFilter(RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE * 2);
+        for (int i = 0; i < RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE + 1; i++) {
+            requestLogFilter.onRequest(new HttpRequest().withPath("some_path_" + i));
+        }
+
+        // when
+        String failureMessage = requestLogFilter.verify(
+                new Verification()
+                        .withRequest(new HttpRequest().withPath("some_other_path"))
+        );
+
+        // then
+        assertThat(failureMessage.contains("\"path\" : \"some_path_0\""), is(false));
+        assertThat(failureMessage.contains("\"path\" : \"some_path_1\""), is(true));
+        assertThat(failureMessage.contains("\"path\" : \"some_path_" + RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE + "\""), is(true));
+        assertThat(failureMessage.endsWith("> (truncated to the most recent " + RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE + " of " + (RequestLogFilter.MAXIMUM_REQUESTS_IN_FAILURE_MESSAGE + 1) + " requests in the request log)"), is(true));
+    }
 }
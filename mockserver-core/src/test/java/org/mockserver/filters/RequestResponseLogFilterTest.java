@@ -70,7 +70,7 @@ public class RequestResponseLogFilterTest {
         requestResponseLogFilter.onResponse(request("some_path"), notFoundResponse());
 
         // then - request-response log
-        assertEquals(requestResponseLogFilter.httpResponses(request()), Arrays.asList(response("some_body"), response("some_body"), notFoundResponse(), notFoundResponse(), response("some_other_body")));
+        assertEquals(requestResponseLogFilter.httpResponses(request()), Arrays.asList(response("some_body"), response("some_other_body"), response("some_body"), notFoundResponse(), notFoundResponse()));
         assertEquals(requestResponseLogFilter.httpResponses(request("some_path")), Arrays.asList(response("some_body"), response("some_body"), notFoundResponse(), notFoundResponse()));
         assertEquals(requestResponseLogFilter.httpResponses(request("some_other_path")), Arrays.asList(response("some_other_body")));
     }
@@ -162,4 +162,18 @@ public class RequestResponseLogFilterTest {
         assertEquals(requestResponseLogFilter.httpResponses(request("some_path")), EMPTY_RESPONSE_LIST);
         assertEquals(requestResponseLogFilter.httpResponses(request("some_other_path")), Arrays.asList(response("some_other_body")));
     }
+
+    @Test
+    public void shouldEvictOldestExchangesOnceFull() {
+        // given
+        RequestResponseLogFilter requestResponseLogFilter = new RequestResponseLogFilter(2, null);
+
+        // when
+        requestResponseLogFilter.onResponse(request("some_path"), response("body_one"));
+        requestResponseLogFilter.onResponse(request("some_path"), response("body_two"));
+        requestResponseLogFilter.onResponse(request("some_path"), response("body_three"));
+
+        // then
+        assertEquals(requestResponseLogFilter.httpResponses(request("some_path")), Arrays.asList(response("body_two"), response("body_three")));
+    }
 }
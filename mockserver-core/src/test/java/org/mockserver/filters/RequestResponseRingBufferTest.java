@@ -0,0 +1,125 @@
+package org.mockserver.filters;
+
+import org.junit.Test;
+import org.mockserver.model.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class RequestResponseRingBufferTest {
+
+    @Test
+    public void shouldKeepIdenticalRequestsInRecordedOrder() {
+        // given
+        RequestResponseRingBuffer ringBuffer = new RequestResponseRingBuffer(10);
+
+        // when
+        ringBuffer.record(request("some_path"), response("body_one"));
+        ringBuffer.record(request("some_other_path"), response("body_two"));
+        ringBuffer.record(request("some_path"), response("body_three"));
+
+        // then
+        List<RequestResponseRingBuffer.Exchange> exchanges = ringBuffer.exchanges();
+        assertThat(responses(exchanges), contains(response("body_one"), response("body_two"), response("body_three")));
+        assertThat(exchanges.get(0).getSequence(), is(0L));
+        assertThat(exchanges.get(2).getSequence(), is(2L));
+        assertThat(exchanges.get(2).getTimestamp(), greaterThanOrEqualTo(exchanges.get(0).getTimestamp()));
+    }
+
+    @Test
+    public void shouldOverwriteOldestExchangesOnceFull() {
+        // given
+        RequestResponseRingBuffer ringBuffer = new RequestResponseRingBuffer(2);
+
+        // when
+        ringBuffer.record(request("some_path"), response("body_one"));
+        ringBuffer.record(request("some_path"), response("body_two"));
+        ringBuffer.record(request("some_path"), response("body_three"));
+
+        // then
+        assertThat(responses(ringBuffer.exchanges()), contains(response("body_two"), response("body_three")));
+    }
+
+    @Test
+    public void shouldRemoveExchanges() {
+        // given
+        RequestResponseRingBuffer ringBuffer = new RequestResponseRingBuffer(10);
+        ringBuffer.record(request("some_path"), response("body_one"));
+        ringBuffer.record(request("some_path"), response("body_two"));
+
+        // when
+        ringBuffer.exchanges().get(0).remove();
+
+        // then
+        assertThat(responses(ringBuffer.exchanges()), contains(response("body_two")));
+    }
+
+    @Test
+    public void shouldReset() {
+        // given
+        RequestResponseRingBuffer ringBuffer = new RequestResponseRingBuffer(10);
+        ringBuffer.record(request("some_path"), response("body_one"));
+
+        // when
+        ringBuffer.reset();
+        ringBuffer.record(request("some_path"), response("body_two"));
+
+        // then
+        assertThat(responses(ringBuffer.exchanges()), contains(response("body_two")));
+    }
+
+    @Test
+    public void shouldRecordConcurrently() throws InterruptedException {
+        // given
+        final RequestResponseRingBuffer ringBuffer = new RequestResponseRingBuffer(10000);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        final CountDownLatch countDownLatch = new CountDownLatch(4);
+
+        // when
+        for (int thread = 0; thread < 4; thread++) {
+            executorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        ringBuffer.record(request("some_path"), response("some_body"));
+                    }
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        List<RequestResponseRingBuffer.Exchange> exchanges = ringBuffer.exchanges();
+        assertThat(exchanges.size(), is(4000));
+        for (int i = 0; i < exchanges.size(); i++) {
+            assertThat(exchanges.get(i).getSequence(), is((long) i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectCapacityLessThanOne() {
+        new RequestResponseRingBuffer(0);
+    }
+
+    private static List<HttpResponse> responses(List<RequestResponseRingBuffer.Exchange> exchanges) {
+        List<HttpResponse> httpResponses = new ArrayList<HttpResponse>();
+        for (RequestResponseRingBuffer.Exchange exchange : exchanges) {
+            httpResponses.add(exchange.getHttpResponse());
+        }
+        return httpResponses;
+    }
+}
@@ -1,16 +1,32 @@
 package org.mockserver.matchers;
 
+import com.google.common.base.Strings;
+import com.google.common.io.Files;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.model.SpilledBody;
 
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockserver.matchers.NotMatcher.not;
+import static org.mockserver.model.HttpRequest.request;
 
 /**
  * @author jamesdbloom
  */
 public class BinaryMatcherTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void shouldMatchMatchingString() {
         assertTrue(new BinaryMatcher("some_value".getBytes()).matches("some_value".getBytes()));
@@ -70,4 +86,62 @@ public class BinaryMatcherTest {
     public void shouldMatchEmptyTest() {
         assertTrue(not(new BinaryMatcher("some_value".getBytes())).matches("".getBytes()));
     }
+
+    @Test
+    public void shouldMatchContainedBytes() {
+        assertTrue(new BinaryMatcher("some_value".getBytes(), BinaryMatchType.CONTAINS).matches("some_value".getBytes()));
+        assertTrue(new BinaryMatcher("some".getBytes(), BinaryMatchType.CONTAINS).matches("some_value".getBytes()));
+        assertTrue(new BinaryMatcher("value".getBytes(), BinaryMatchType.CONTAINS).matches("some_value".getBytes()));
+        assertTrue(new BinaryMatcher("e_v".getBytes(), BinaryMatchType.CONTAINS).matches("some_value".getBytes()));
+        assertTrue(new BinaryMatcher(new byte[]{(byte) 0xFF, 0x00}, BinaryMatchType.CONTAINS).matches(new byte[]{0x00, (byte) 0xFF, (byte) 0xFF, 0x00, 0x01}));
+    }
+
+    @Test
+    public void shouldNotMatchBytesThatAreNotContained() {
+        assertFalse(new BinaryMatcher("some_value".getBytes(), BinaryMatchType.CONTAINS).matches("some_valu".getBytes()));
+        assertFalse(new BinaryMatcher("values".getBytes(), BinaryMatchType.CONTAINS).matches("some_value".getBytes()));
+        assertFalse(new BinaryMatcher("ev".getBytes(), BinaryMatchType.CONTAINS).matches("some_value".getBytes()));
+        assertFalse(new BinaryMatcher("some".getBytes(), BinaryMatchType.CONTAINS).matches(null));
+        assertTrue(not(new BinaryMatcher("some".getBytes(), BinaryMatchType.CONTAINS)).matches("other_value".getBytes()));
+    }
+
+    @Test
+    public void shouldFindSameIndexAsLinearSearch() {
+        byte[] matched = "abacabadabacabaeabacabadabacabaf".getBytes();
+        for (int start = 0; start < matched.length; start++) {
+            for (int end = start + 1; end <= matched.length && end - start <= 8; end++) {
+                byte[] matcher = java.util.Arrays.copyOfRange(matched, start, end);
+                assertEquals(new String(matched).indexOf(new String(matcher)), new BinaryMatcher(matcher, BinaryMatchType.CONTAINS).indexOf(matched, matched.length));
+            }
+        }
+    }
+
+    @Test
+    public void shouldStreamSpilledBodyForContainsMatchAcrossBufferBoundary() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write((Strings.repeat("a", 8190) + "some_value" + Strings.repeat("a", 8190)).getBytes(), file);
+        SpilledBody spilledBody = spy(new SpilledBody(file, file.length(), null));
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody(spilledBody), false);
+
+        // then
+        assertTrue(new BinaryMatcher("some_value".getBytes(), BinaryMatchType.CONTAINS).matchesParsedBody(parsedHttpRequest));
+        assertFalse(new BinaryMatcher("other_value".getBytes(), BinaryMatchType.CONTAINS).matchesParsedBody(parsedHttpRequest));
+        assertTrue(not(new BinaryMatcher("other_value".getBytes(), BinaryMatchType.CONTAINS)).matchesParsedBody(parsedHttpRequest));
+        verify(spilledBody, never()).getRawBytes();
+    }
+
+    @Test
+    public void shouldNotReadSpilledBodyForExactMatchOfDifferentLength() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_value".getBytes(), file);
+        SpilledBody spilledBody = spy(new SpilledBody(file, file.length(), null));
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody(spilledBody), false);
+
+        // then
+        assertFalse(new BinaryMatcher("some_other_value".getBytes()).matchesParsedBody(parsedHttpRequest));
+        verify(spilledBody, never()).getRawBytes();
+        assertTrue(new BinaryMatcher("some_value".getBytes()).matchesParsedBody(parsedHttpRequest));
+    }
 }
@@ -0,0 +1,81 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+import org.mockserver.model.NottableString;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * @author jamesdbloom
+ */
+public class CompiledStringMatcherTest {
+
+    @Test
+    public void shouldMatchLiteral() {
+        assertTrue(CompiledStringMatcher.compile(string("/some/path")).matches(string("/some/path")));
+        assertFalse(CompiledStringMatcher.compile(string("/some/path")).matches(string("/some/other_path")));
+        assertFalse(CompiledStringMatcher.compile(string("/some/path")).matches(string("/SOME/PATH")));
+    }
+
+    @Test
+    public void shouldMatchRegexInBothDirections() {
+        assertTrue(CompiledStringMatcher.compile(string("/some/.*")).matches(string("/some/path")));
+        assertTrue(CompiledStringMatcher.compile(string("/some/path")).matches(string("/some/.*")));
+        assertFalse(CompiledStringMatcher.compile(string("/other/.*")).matches(string("/some/path")));
+    }
+
+    @Test
+    public void shouldNotCacheMatchedRegex() {
+        // when
+        boolean matches = CompiledStringMatcher.compile(string("/some/path")).matches(string("/some/[a-z]{4}"));
+
+        // then
+        assertTrue(matches);
+        assertFalse(RegexPattern.isCached("/some/[a-z]{4}"));
+    }
+
+    @Test
+    public void shouldMatchAnythingWhenEmpty() {
+        assertTrue(CompiledStringMatcher.compile(string("")).matches(string("/some/path")));
+        assertTrue(CompiledStringMatcher.compile(null).matches(string("/some/path")));
+        assertTrue(CompiledStringMatcher.compile(string(null)).matches(string(null)));
+    }
+
+    @Test
+    public void shouldApplyNotOperators() {
+        assertFalse(CompiledStringMatcher.compile(not("/some/path")).matches(string("/some/path")));
+        assertTrue(CompiledStringMatcher.compile(not("/some/path")).matches(string("/some/other_path")));
+        assertFalse(CompiledStringMatcher.compile(string("/some/path")).matches(not("/some/path")));
+        assertTrue(CompiledStringMatcher.compile(string("/some/path")).matches(not("/some/other_path")));
+        assertFalse(CompiledStringMatcher.compile(not("/some/path")).matches(not("/some/path")));
+    }
+
+    @Test
+    public void shouldMatchSameAsRegexStringMatcher() {
+        NottableString[] values = new NottableString[]{
+                string("/some/path"),
+                string("/some/.*"),
+                string("/SOME/PATH"),
+                string("/{}"),
+                string(""),
+                not("/some/path"),
+                not("/some/.*"),
+                not("/other"),
+                string("GET"),
+                string("P.*"),
+                string("POST")
+        };
+        for (NottableString matcher : values) {
+            for (NottableString matched : values) {
+                assertEquals("matcher [" + matcher + "] matched [" + matched + "]",
+                        new RegexStringMatcher(matcher).matches(matched),
+                        CompiledStringMatcher.compile(matcher).matches(matched)
+                );
+            }
+        }
+    }
+}
@@ -143,4 +143,24 @@ public class HashMapMatcherTest {
                 new KeyAndValue("keyThree", "keyThreeValue")
         )), is(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldMatchRegexKeyAndValueWithoutCachingRequestValues() {
+        // given
+        HashMapMatcher hashMapMatcher = new HashMapMatcher(hashMap(
+                new String[]{"cookie_[a-z]{3}", "cookie_value_[0-9]+"}
+        ));
+
+        // then
+        assertThat(hashMapMatcher.matches(Arrays.asList(
+                new KeyAndValue("cookie_one", "cookie_value_1")
+        )), is(true));
+        assertThat(hashMapMatcher.matches(Arrays.asList(
+                new KeyAndValue("request_cookie_.*", "cookie_value_[a-z]+")
+        )), is(false));
+        assertThat(RegexPattern.isCached("cookie_[a-z]{3}"), is(true));
+        assertThat(RegexPattern.isCached("cookie_value_[0-9]+"), is(true));
+        assertThat(RegexPattern.isCached("request_cookie_.*"), is(false));
+        assertThat(RegexPattern.isCached("cookie_value_[a-z]+"), is(false));
+    }
+}
@@ -0,0 +1,143 @@
+package org.mockserver.matchers;
+
+import org.mockserver.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * Compares the request matcher with its field matchers evaluated the way they used to be, i.e. every field is matched
+ * through the generic matchers before the results are combined, for an expectation of only a method and path and for
+ * one that also matches headers (including a not header), a cookie and a body
+ *
+ * Only the method and path are compiled (into a CompiledStringMatcher), the headers, query string parameters and
+ * cookies are matched by the same matchers in both, so for them the difference measured is the field order and the
+ * request values being parsed and compiled once for the request rather than for each matcher
+ *
+ * run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-cp %classpath org.mockserver.matchers.HttpRequestMatcherBenchmark"
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpRequestMatcherBenchmark {
+
+    @Param({"methodAndPath", "headersCookieAndBody"})
+    private String expectationType;
+
+    private HttpRequest expectation;
+    private HttpRequest matchingRequest;
+    private HttpRequest nonMatchingRequest;
+    private HttpRequestMatcher compiledMatcher;
+    private RegexStringMatcher methodMatcher;
+    private RegexStringMatcher pathMatcher;
+    private MultiValueMapMatcher queryStringParameterMatcher;
+    private MultiValueMapMatcher headerMatcher;
+    private HashMapMatcher cookieMatcher;
+    private BooleanMatcher keepAliveMatcher;
+    private BooleanMatcher sslMatcher;
+    private ExactStringMatcher bodyMatcher;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HttpRequestMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void prepareMatchers() {
+        matchingRequest = request()
+                .withMethod("GET")
+                .withPath("/some/path")
+                .withHeader("Host", "localhost:1080")
+                .withHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .withQueryStringParameter("queryParameterName", "queryParameterValue")
+                .withCookie("cookieName", "cookieValue")
+                .withBody("some_body")
+                .withKeepAlive(true)
+                .withSecure(false);
+        if (expectationType.equals("methodAndPath")) {
+            expectation = request()
+                    .withMethod("GET")
+                    .withPath("/some/path");
+            nonMatchingRequest = request()
+                    .withMethod("GET")
+                    .withPath("/some/other_path")
+                    .withHeader("Host", "localhost:1080")
+                    .withKeepAlive(true)
+                    .withSecure(false);
+        } else {
+            // the not header only fails once the method, path and other headers have matched
+            expectation = request()
+                    .withMethod("GET")
+                    .withPath("/some/path")
+                    .withHeader("Accept", "text/html.*")
+                    .withHeader(not("X-Debug"), string(".*"))
+                    .withCookie("cookieName", "cookieValue")
+                    .withBody("some_body");
+            nonMatchingRequest = request()
+                    .withMethod("GET")
+                    .withPath("/some/path")
+                    .withHeader("Host", "localhost:1080")
+                    .withHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                    .withHeader("X-Debug", "true")
+                    .withCookie("cookieName", "cookieValue")
+                    .withBody("some_body")
+                    .withKeepAlive(true)
+                    .withSecure(false);
+        }
+
+        compiledMatcher = new HttpRequestMatcher(expectation);
+
+        methodMatcher = new RegexStringMatcher(expectation.getMethod());
+        pathMatcher = new RegexStringMatcher(expectation.getPath());
+        queryStringParameterMatcher = new MultiValueMapMatcher(KeyToMultiValue.toMultiMap(expectation.getQueryStringParameters()));
+        headerMatcher = new MultiValueMapMatcher(KeyToMultiValue.toMultiMap(expectation.getHeaders()));
+        cookieMatcher = new HashMapMatcher(KeyAndValue.toHashMap(expectation.getCookies()));
+        keepAliveMatcher = new BooleanMatcher(expectation.isKeepAlive());
+        sslMatcher = new BooleanMatcher(expectation.isSecure());
+        bodyMatcher = expectation.getBody() != null ? new ExactStringMatcher(string(expectation.getBodyAsString())) : null;
+    }
+
+    private boolean interpretedMatches(HttpRequest httpRequest) {
+        boolean methodMatches = methodMatcher.matches(httpRequest.getMethod());
+        boolean pathMatches = pathMatcher.matches(httpRequest.getPath());
+        boolean queryStringParametersMatches = queryStringParameterMatcher.matches(new ArrayList<KeyToMultiValue>(httpRequest.getQueryStringParameters()));
+        boolean headersMatch = headerMatcher.matches(new ArrayList<KeyToMultiValue>(httpRequest.getHeaders()));
+        boolean cookiesMatch = cookieMatcher.matches(new ArrayList<KeyAndValue>(httpRequest.getCookies()));
+        boolean keepAliveMatches = keepAliveMatcher.matches(httpRequest.isKeepAlive());
+        boolean sslMatches = sslMatcher.matches(httpRequest.isSecure());
+        boolean bodyMatches = bodyMatcher == null || bodyMatcher.matches(string(httpRequest.getBodyAsString()));
+        return methodMatches && pathMatches && queryStringParametersMatches && bodyMatches && headersMatch && cookiesMatch && keepAliveMatches && sslMatches;
+    }
+
+    @Benchmark
+    public boolean interpretedMatchingRequest() {
+        return interpretedMatches(matchingRequest);
+    }
+
+    @Benchmark
+    public boolean compiledMatchingRequest() {
+        return compiledMatcher.matches(matchingRequest);
+    }
+
+    @Benchmark
+    public boolean interpretedNonMatchingRequest() {
+        return interpretedMatches(nonMatchingRequest);
+    }
+
+    @Benchmark
+    public boolean compiledNonMatchingRequest() {
+        return compiledMatcher.matches(nonMatchingRequest);
+    }
+}
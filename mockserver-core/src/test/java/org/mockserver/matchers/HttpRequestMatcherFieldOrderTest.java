@@ -0,0 +1,109 @@
+package org.mockserver.matchers;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockserver.logging.LogFormatter;
+import org.mockserver.model.HttpRequest;
+import org.slf4j.Logger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.JsonBody.json;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpRequestMatcherFieldOrderTest {
+
+    @Mock
+    private Logger logger;
+    @Mock
+    private LogFormatter logFormatter;
+    @InjectMocks
+    private HttpRequestMatcher httpRequestMatcher;
+
+    @Before
+    public void prepareTestFixture() {
+        httpRequestMatcher = new HttpRequestMatcher(request().withMethod("POST").withPath("/some_path").withBody(json("{ \"key\": \"value\" }")));
+        initMocks(this);
+    }
+
+    @Test
+    public void shouldNotMatchBodyWhenMethodDoesNotMatch() {
+        // given
+        HttpRequest httpRequest = request().withMethod("GET").withPath("/some_path").withBody(json("{ \"key\": \"value\" }"));
+        ParsedHttpRequest parsedHttpRequest = spy(new ParsedHttpRequest(httpRequest, true));
+
+        // when
+        boolean matches = httpRequestMatcher.matches(httpRequest, parsedHttpRequest, false);
+
+        // then
+        assertFalse(matches);
+        verify(parsedHttpRequest, never()).getBodyDTO();
+        verify(parsedHttpRequest, never()).getBodyAsString();
+        verify(parsedHttpRequest, never()).getBodyAsJson();
+    }
+
+    @Test
+    public void shouldNotMatchBodyWhenPathDoesNotMatch() {
+        // given
+        HttpRequest httpRequest = request().withMethod("POST").withPath("/some_other_path").withBody(json("{ \"key\": \"value\" }"));
+        ParsedHttpRequest parsedHttpRequest = spy(new ParsedHttpRequest(httpRequest, true));
+
+        // when
+        boolean matches = httpRequestMatcher.matches(httpRequest, parsedHttpRequest, false);
+
+        // then
+        assertFalse(matches);
+        verify(parsedHttpRequest, never()).getBodyDTO();
+        verify(parsedHttpRequest, never()).getBodyAsString();
+        verify(parsedHttpRequest, never()).getBodyAsJson();
+    }
+
+    @Test
+    public void shouldMatchBodyWhenMethodAndPathMatch() {
+        // given
+        HttpRequest httpRequest = request().withMethod("POST").withPath("/some_path").withBody(json("{ \"key\": \"value\" }"));
+        ParsedHttpRequest parsedHttpRequest = spy(new ParsedHttpRequest(httpRequest, true));
+
+        // when
+        boolean matches = httpRequestMatcher.matches(httpRequest, parsedHttpRequest, false);
+
+        // then
+        assertTrue(matches);
+        verify(parsedHttpRequest, atLeastOnce()).getBodyDTO();
+    }
+
+    @Test
+    public void shouldLogEveryFieldWhenMethodDoesNotMatch() {
+        // given
+        when(logger.isInfoEnabled()).thenReturn(true);
+        HttpRequest httpRequest = request().withMethod("GET").withPath("/some_path").withBody(json("{ \"key\": \"other_value\" }"));
+        ParsedHttpRequest parsedHttpRequest = spy(new ParsedHttpRequest(httpRequest, true));
+
+        // when
+        boolean matches = httpRequestMatcher.matches(httpRequest, parsedHttpRequest, true);
+
+        // then
+        assertFalse(matches);
+        verify(parsedHttpRequest, atLeastOnce()).getBodyDTO();
+        String lineSeparator = System.getProperty("line.separator");
+        verify(logFormatter).infoLog(anyString(), same(httpRequest), same(httpRequestMatcher), contains("" +
+                "method matches = false" + lineSeparator +
+                "path matches = true" + lineSeparator +
+                "query string parameters match = true" + lineSeparator +
+                "body matches = false" + lineSeparator +
+                "headers match = true" + lineSeparator +
+                "cookies match = true" + lineSeparator +
+                "keep-alive matches = true" + lineSeparator +
+                "ssl matches = true" + lineSeparator));
+    }
+}
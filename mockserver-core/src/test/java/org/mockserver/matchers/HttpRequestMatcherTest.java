@@ -25,6 +25,26 @@ import static org.mockserver.model.XmlBody.xml;
  */
 public class HttpRequestMatcherTest {
 
+    @Test
+    public void shouldMatchRegexAndInvalidRegexRequestValuesSharedBetweenExpectations() {
+        // given
+        HttpRequest httpRequest = new HttpRequest()
+                .withMethod("GET")
+                .withPath("/some_path/.*")
+                .withHeader("Accept", "*/*")
+                .withHeader("Host", "some.host:1080")
+                .withCookie("some_cookie", "some_value.*");
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(httpRequest, true);
+
+        // then
+        assertTrue(new HttpRequestMatcher(new HttpRequest().withPath("/some_path/.*").withHeader("Accept", "*/*")).matches(httpRequest, parsedHttpRequest, false));
+        assertTrue(new HttpRequestMatcher(new HttpRequest().withPath("/some_path/some_value").withHeader("host", "some.host:1080")).matches(httpRequest, parsedHttpRequest, false));
+        assertTrue(new HttpRequestMatcher(new HttpRequest().withMethod("GET").withCookie("some_cookie", "some_value_other")).matches(httpRequest, parsedHttpRequest, false));
+        assertFalse(new HttpRequestMatcher(new HttpRequest().withHeader("Accept", "text/html")).matches(httpRequest, parsedHttpRequest, false));
+        assertFalse(new HttpRequestMatcher(new HttpRequest().withHeader(NottableString.not("Accept"), NottableString.string(".*"))).matches(httpRequest, parsedHttpRequest, false));
+        assertFalse(new HttpRequestMatcher(new HttpRequest().withCookie("some_cookie", "other_value")).matches(httpRequest, parsedHttpRequest, false));
+    }
+
     @Test
     public void shouldAllowUseOfNotWithMatchingRequests() {
         // requests match - matcher HttpRequest notted
@@ -651,6 +671,13 @@ public class HttpRequestMatcherTest {
         );
     }
 
+    @Test
+    public void matchesContainedBinaryBody() {
+        byte[] matched = "some other binary value".getBytes();
+        assertTrue(new HttpRequestMatcher(new HttpRequest().withBody(binary("binary".getBytes(), null, BinaryMatchType.CONTAINS))).matches(new HttpRequest().withBody(binary(matched))));
+        assertFalse(new HttpRequestMatcher(new HttpRequest().withBody(binary("binary".getBytes()))).matches(new HttpRequest().withBody(binary(matched))));
+    }
+
     @Test
     public void doesNotMatchIncorrectBinaryBody() {
         byte[] matched = "some other binary value".getBytes();
@@ -6,9 +6,12 @@ import org.mockito.Mock;
 import org.slf4j.Logger;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.mockserver.model.HttpRequest.request;
 
 /**
  * @author jamesdbloom
@@ -582,4 +585,43 @@ public class JsonSchemaMatcherTest {
     public void showHaveCorrectEqualsBehaviour() {
         assertEquals(new JsonSchemaMatcher("some_value"), new JsonSchemaMatcher("some_value"));
     }
+
+    @Test
+    public void shouldMatchParsedBody() {
+        // given
+        JsonSchemaMatcher jsonSchemaMatcher = new JsonSchemaMatcher(JSON_SCHEMA);
+
+        // then
+        assertTrue(jsonSchemaMatcher.matchesParsedBody(new ParsedHttpRequest(request().withBody("{arrayField: [ \"one\" ], enumField: \"one\"}"), false)));
+        assertFalse(jsonSchemaMatcher.matchesParsedBody(new ParsedHttpRequest(request().withBody("{}"), false)));
+        assertFalse(jsonSchemaMatcher.matchesParsedBody(new ParsedHttpRequest(request().withBody("some_body"), false)));
+    }
+
+    @Test
+    public void shouldShareCompiledSchemaBetweenMatchersWithSameSchema() {
+        // when
+        JsonSchemaMatcher jsonSchemaMatcher = new JsonSchemaMatcher(new String(JSON_SCHEMA));
+        JsonSchemaMatcher otherJsonSchemaMatcher = new JsonSchemaMatcher(new String(JSON_SCHEMA));
+
+        // then
+        assertNotNull(jsonSchemaMatcher.getJsonSchema());
+        assertSame(jsonSchemaMatcher.getJsonSchema(), otherJsonSchemaMatcher.getJsonSchema());
+    }
+
+    @Test
+    public void shouldNotParseBodyWhenSchemaInvalid() {
+        // given
+        JsonSchemaMatcher jsonSchemaMatcher = new JsonSchemaMatcher("illegal_json");
+        jsonSchemaMatcher.logger = logger;
+        ParsedHttpRequest parsedHttpRequest = spy(new ParsedHttpRequest(request().withBody("{arrayField: [ \"one\" ], enumField: \"one\"}"), false));
+
+        // then
+        assertNull(jsonSchemaMatcher.getJsonSchema());
+        assertFalse(jsonSchemaMatcher.matchesParsedBody(parsedHttpRequest));
+
+        // and
+        verify(parsedHttpRequest, never()).getBodyAsJsonNode();
+        verify(logger).trace("Failed to perform JSON match \"{}\" with \"{}\" because {}", "{arrayField: [ \"one\" ], enumField: \"one\"}", "illegal_json", "Unrecognized token 'illegal_json': was expecting ('true', 'false' or 'null')\n" +
+                " at [Source: illegal_json; line: 1, column: 25]");
+    }
 }
@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.*;
 import static org.mockserver.matchers.NotMatcher.not;
+import static org.mockserver.model.HttpRequest.request;
 
 /**
  * @author jamesdbloom
@@ -577,4 +578,16 @@ public class JsonStringMatcherTest {
     public void showHaveCorrectEqualsBehaviour() {
         assertEquals(new JsonStringMatcher("some_value", MatchType.ONLY_MATCHING_FIELDS), new JsonStringMatcher("some_value", MatchType.ONLY_MATCHING_FIELDS));
     }
+
+    @Test
+    public void shouldMatchParsedBody() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("{ \"id\": \"file\", \"value\": \"File\" }"), false);
+
+        // then
+        assertTrue(new JsonStringMatcher("{ \"id\": \"file\" }", MatchType.ONLY_MATCHING_FIELDS).matchesParsedBody(parsedHttpRequest));
+        assertFalse(new JsonStringMatcher("{ \"id\": \"file\" }", MatchType.STRICT).matchesParsedBody(parsedHttpRequest));
+        assertFalse(new JsonStringMatcher("[ \"file\" ]", MatchType.ONLY_MATCHING_FIELDS).matchesParsedBody(parsedHttpRequest));
+        assertFalse(new JsonStringMatcher("{ \"id\": \"file\" }", MatchType.ONLY_MATCHING_FIELDS).matchesParsedBody(new ParsedHttpRequest(request().withBody("some_body"), false)));
+    }
 }
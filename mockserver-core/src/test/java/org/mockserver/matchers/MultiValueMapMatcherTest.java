@@ -0,0 +1,72 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+import org.mockserver.collections.CaseInsensitiveRegexMultiMap;
+import org.mockserver.model.Header;
+import org.mockserver.model.KeyToMultiValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * @author jamesdbloom
+ */
+public class MultiValueMapMatcherTest {
+
+    @SuppressWarnings("unchecked")
+    private static final List<List<Header>> EXPECTED = Arrays.asList(
+            Arrays.<Header>asList(),
+            Arrays.asList(new Header("Content-Type", "text/plain")),
+            Arrays.asList(new Header("content-type", "TEXT/PLAIN")),
+            Arrays.asList(new Header("Content-Type", "text/.*")),
+            Arrays.asList(new Header("Content-.*", "text/plain")),
+            Arrays.asList(new Header("", "text/plain")),
+            Arrays.asList(new Header("Content-Type", "")),
+            Arrays.asList(new Header("Accept", "one", "two")),
+            Arrays.asList(new Header("Accept", "one"), new Header("Content-Type", "text/plain")),
+            Arrays.asList(new Header(not("Content-Type"), string("text/plain"))),
+            Arrays.asList(new Header(string("Content-Type"), not("text/plain"))),
+            Arrays.asList(new Header(not("Content-Type"), not("text/plain"))),
+            Arrays.asList(new Header(not("Accept"), string(".*"))),
+            Arrays.asList(new Header(not("Accept"), string(".*")), new Header("Content-Type", "text/plain"))
+    );
+
+    @SuppressWarnings("unchecked")
+    private static final List<List<Header>> MATCHED = Arrays.asList(
+            Arrays.<Header>asList(),
+            Arrays.asList(new Header("Content-Type", "text/plain")),
+            Arrays.asList(new Header("CONTENT-TYPE", "text/plain")),
+            Arrays.asList(new Header("Content-Type", "text/html")),
+            Arrays.asList(new Header("Content-Type", "text/.*")),
+            Arrays.asList(new Header("Content.Type", "text/plain")),
+            Arrays.asList(new Header("Accept", "one", "two"), new Header("Content-Type", "text/plain")),
+            Arrays.asList(new Header("Accept", "two"), new Header("accept", "one")),
+            Arrays.asList(new Header("Accept", "three")),
+            Arrays.asList(new Header(not("Content-Type"), string("text/plain"))),
+            Arrays.asList(new Header(string("Accept"), not("one"))),
+            Arrays.asList(new Header("Host", "localhost"), new Header("Content-Type", "text/plain", "text/html"))
+    );
+
+    @Test
+    public void shouldMatchSameAsCaseInsensitiveRegexMultiMap() {
+        for (List<Header> expected : EXPECTED) {
+            CaseInsensitiveRegexMultiMap expectedMultiMap = KeyToMultiValue.toMultiMap(expected);
+            for (List<Header> matched : MATCHED) {
+                List<KeyToMultiValue> matchedValues = new ArrayList<KeyToMultiValue>(matched);
+                assertEquals("expected " + expected + " matched " + matched,
+                        KeyToMultiValue.toMultiMap(matchedValues).containsAll(expectedMultiMap),
+                        new MultiValueMapMatcher(expectedMultiMap).matches(matchedValues)
+                );
+                assertEquals("not expected " + expected + " matched " + matched,
+                        !KeyToMultiValue.toMultiMap(matchedValues).containsAll(expectedMultiMap),
+                        NotMatcher.not(new MultiValueMapMatcher(expectedMultiMap)).matches(matchedValues)
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.mockserver.matchers;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.mockserver.client.serialization.model.XPathBodyDTO;
+import org.mockserver.collections.ImmutableCaseInsensitiveMultiMap;
+import org.mockserver.model.HttpRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.XPathBody.xpath;
+
+/**
+ * @author jamesdbloom
+ */
+public class ParsedHttpRequestTest {
+
+    @Test
+    public void shouldDecodeBodyOnce() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("some_body"), false);
+
+        // then
+        assertThat(parsedHttpRequest.getBodyAsString(), is("some_body"));
+        assertThat(parsedHttpRequest.getBodyAsString(), sameInstance(parsedHttpRequest.getBodyAsString()));
+        assertThat(parsedHttpRequest.getBodyAsBytes(), is("some_body".getBytes()));
+        assertThat(parsedHttpRequest.getBodyAsBytes(), sameInstance(parsedHttpRequest.getBodyAsBytes()));
+    }
+
+    @Test
+    public void shouldCompileRequestValuesOnceWithoutCachingThem() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request()
+                .withMethod("GET")
+                .withPath("/parsed_request_path/[0-9]+")
+                .withHeader("Accept", "*/parsed_request_accept")
+                .withCookie("some_cookie", "parsed_request_cookie.*"), false);
+
+        // when
+        ImmutableCaseInsensitiveMultiMap.Entry header = parsedHttpRequest.getHeaders().getLiteralNameEntries("accept").get(0);
+        ImmutableCaseInsensitiveMultiMap.Entry cookie = parsedHttpRequest.getCookies().getLiteralNameEntries("some_cookie").get(0);
+
+        // then
+        assertThat(parsedHttpRequest.getMethodPattern().getValue(), is("GET"));
+        assertThat(parsedHttpRequest.getPathPattern(), sameInstance(parsedHttpRequest.getPathPattern()));
+        assertThat(header.getValuePattern().getValue(), is("*/parsed_request_accept"));
+        assertThat(header.getValuePattern(), sameInstance(header.getValuePattern()));
+        assertThat(cookie.getValuePattern(), sameInstance(parsedHttpRequest.getCookies().entryList().get(0).getValuePattern()));
+        assertThat(parsedHttpRequest.getPathPattern().matches("/parsed_request_path/[0-9]+", false), is(true));
+        assertThat(RegexPattern.isCached("/parsed_request_path/[0-9]+"), is(false));
+        assertThat(RegexPattern.isCached("*/parsed_request_accept"), is(false));
+        assertThat(RegexPattern.isCached("parsed_request_cookie.*"), is(false));
+    }
+
+    @Test
+    public void shouldHandleMissingBody() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request(), true);
+
+        // then
+        assertThat(parsedHttpRequest.getBodyAsString(), is(""));
+        assertThat(parsedHttpRequest.getBodyAsBytes().length, is(0));
+        assertThat(parsedHttpRequest.getBodyDTO(), nullValue());
+    }
+
+    @Test
+    public void shouldParseBodyDTOOnlyWhenBodyMayBeBodyDTO() {
+        // given
+        HttpRequest httpRequest = request().withBody(new XPathBodyDTO(xpath("/some/xpath")).toString());
+
+        // then
+        assertThat(new ParsedHttpRequest(httpRequest, true).getBodyDTO(), is(instanceOf(XPathBodyDTO.class)));
+        assertThat(new ParsedHttpRequest(httpRequest, false).getBodyDTO(), nullValue());
+    }
+
+    @Test
+    public void shouldNotParseBodyDTOForNonJsonObjectBody() {
+        assertThat(new ParsedHttpRequest(request().withBody("some_body"), true).getBodyDTO(), nullValue());
+        assertThat(new ParsedHttpRequest(request().withBody("{ \"some_field\": \"some_value\" }"), true).getBodyDTO(), nullValue());
+    }
+
+    @Test
+    public void shouldParseJsonOnce() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("{ \"some_field\": \"some_value\" }"), false);
+
+        // then
+        assertThat(parsedHttpRequest.getBodyAsJson(), is(instanceOf(JSONObject.class)));
+        assertThat(parsedHttpRequest.getBodyAsJson(), sameInstance(parsedHttpRequest.getBodyAsJson()));
+        assertThat(parsedHttpRequest.getBodyAsJsonNode().get("some_field").asText(), is("some_value"));
+        assertThat(parsedHttpRequest.getBodyAsJsonNode(), sameInstance(parsedHttpRequest.getBodyAsJsonNode()));
+    }
+
+    @Test
+    public void shouldNotParseJsonForNonJsonBody() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("some_body"), false);
+
+        // then
+        assertThat(parsedHttpRequest.getBodyAsJson(), nullValue());
+        assertThat(parsedHttpRequest.getBodyAsJsonNode(), nullValue());
+    }
+
+    @Test
+    public void shouldParseXmlOnce() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("<element><key>some_key</key></element>"), false);
+
+        // then
+        assertThat(parsedHttpRequest.getBodyAsXmlDocument().getDocumentElement().getNodeName(), is("element"));
+        assertThat(parsedHttpRequest.getBodyAsXmlDocument(), sameInstance(parsedHttpRequest.getBodyAsXmlDocument()));
+        assertThat(new ParsedHttpRequest(request().withBody("some_body"), false).getBodyAsXmlDocument(), nullValue());
+    }
+}
@@ -0,0 +1,54 @@
+package org.mockserver.matchers;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class RegexPatternTest {
+
+    @Test
+    public void shouldClassifyLiteralValues() {
+        assertTrue(RegexPattern.compile("some_value").isLiteral());
+        assertTrue(RegexPattern.compile("").isLiteral());
+        assertFalse(RegexPattern.compile("some_[a-z]{5}").isLiteral());
+        assertFalse(RegexPattern.compile("/{}").isLiteral());
+    }
+
+    @Test
+    public void shouldReuseCompiledRegex() {
+        assertSame(RegexPattern.compile("some_[a-z]{5}"), RegexPattern.compile("some_[a-z]{5}"));
+    }
+
+    @Test
+    public void shouldMatchLiteral() {
+        assertTrue(RegexPattern.compile("some_value").matches("some_value", false));
+        assertFalse(RegexPattern.compile("some_value").matches("SOME_VALUE", false));
+        assertTrue(RegexPattern.compile("some_value").matches("SOME_VALUE", true));
+        assertFalse(RegexPattern.compile("some_value").matches("other_value", true));
+    }
+
+    @Test
+    public void shouldMatchRegex() {
+        assertTrue(RegexPattern.compile("some_[a-z]{5}").matches("some_value", false));
+        assertFalse(RegexPattern.compile("some_[a-z]{5}").matches("SOME_VALUE", false));
+        assertTrue(RegexPattern.compile("some_[a-z]{5}").matches("SOME_VALUE", true));
+        assertFalse(RegexPattern.compile("some_[a-z]{4}").matches("some_value", true));
+    }
+
+    @Test
+    public void shouldMatchInvalidRegexAsLiteral() {
+        assertTrue(RegexPattern.compile("/{}").matches("/{}", false));
+        assertFalse(RegexPattern.compile("/{}").matches("/{{}", false));
+        assertFalse(RegexPattern.compile("/{}").matches("/{{}", true));
+    }
+
+    @Test
+    public void shouldNotCacheUncachedRegex() {
+        assertTrue(RegexPattern.uncached("uncached_[a-z]{5}").matches("uncached_value", false));
+        assertFalse(RegexPattern.isCached("uncached_[a-z]{5}"));
+        assertNotSame(RegexPattern.uncached("uncached_[a-z]{5}"), RegexPattern.uncached("uncached_[a-z]{5}"));
+    }
+}
@@ -13,6 +13,20 @@ import static org.mockserver.model.NottableString.string;
  */
 public class RegexStringMatcherTest {
 
+    @Test
+    public void shouldNotCacheMatchedValues() {
+        // when
+        new RegexStringMatcher("some_value").matches("request_[a-z]{5}");
+        new RegexStringMatcher("some_value").matches("REQUEST_[A-Z]{5}");
+        RegexStringMatcher.matches("static_expectation_.*", "static_request_[a-z]+", true);
+
+        // then
+        assertFalse(RegexPattern.isCached("request_[a-z]{5}"));
+        assertFalse(RegexPattern.isCached("REQUEST_[A-Z]{5}"));
+        assertFalse(RegexPattern.isCached("static_request_[a-z]+"));
+        assertTrue(RegexPattern.isCached("static_expectation_.*"));
+    }
+
     @Test
     public void shouldMatchMatchingString() {
         assertTrue(new RegexStringMatcher("some_value").matches("some_value"));
@@ -0,0 +1,108 @@
+package org.mockserver.matchers;
+
+import com.google.common.base.Charsets;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.ByteArrayInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class StreamingXPathExpressionTest {
+
+    private static final String[] XML = new String[]{
+            "<element><key>some_key</key><value>some_value</value></element>",
+            "<element id=\"one\"><key type=\"string\">some_key</key><key>other_key</key></element>",
+            "<element>   <key> some_key </key>   </element>",
+            "<element><key>some_<![CDATA[key]]></key></element>",
+            "<element><key>some<!-- comment -->_key</key></element>",
+            "<element><key>some_key<child>text</child></key></element>",
+            "<element><key><child>some_key</child></key></element>",
+            "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body soap:id=\"one\"><key>some_key</key></soap:Body></soap:Envelope>",
+            "<element xmlns=\"http://example.com\"><key>some_key</key></element>",
+            "<soap:Envelope><soap:Body><key>some_key</key></soap:Body></soap:Envelope>"
+    };
+
+    private static final String[] XPATH = new String[]{
+            "/element",
+            "/element/key",
+            "/element/value",
+            "/element/*",
+            "/*/key",
+            "/key",
+            "/element/key/child",
+            "/element[@id]",
+            "/element[@id='one']/key",
+            "/element[@id='two']/key",
+            "/element/key[@type='string']",
+            "/element/key[@type=\"string\"][text()='some_key']",
+            "/element/key[text()='some_key']",
+            "/element/key[ text() = 'other_key' ]",
+            "/element/key[text()=' some_key ']",
+            "/element/key[text()='some_']",
+            "/element/key/child[text()='some_key']",
+            "/Envelope/Body[@id='one']/key[text()='some_key']",
+            "/Envelope/Body/key",
+            "/element[@xmlns='http://example.com']/key",
+            "/Envelope[@soap]",
+            "/element[@xmlns]"
+    };
+
+    @Test
+    public void shouldOnlyCompileSupportedSubset() {
+        assertNotNull(StreamingXPathExpression.compile("/element/key"));
+        assertNotNull(StreamingXPathExpression.compile("/element/*[@id='one']/key[text()='some_key']"));
+        assertNull(StreamingXPathExpression.compile("//key"));
+        assertNull(StreamingXPathExpression.compile("/element/key[1]"));
+        assertNull(StreamingXPathExpression.compile("/element[key='some_key']"));
+        assertNull(StreamingXPathExpression.compile("/element[text()='some_key']/key"));
+        assertNull(StreamingXPathExpression.compile("/element/@id"));
+        assertNull(StreamingXPathExpression.compile("/element/key/text()"));
+        assertNull(StreamingXPathExpression.compile("/soap:Envelope"));
+        assertNull(StreamingXPathExpression.compile("count(/element/key) = 2"));
+        assertNull(StreamingXPathExpression.compile("/"));
+        assertNull(StreamingXPathExpression.compile(""));
+    }
+
+    @Test
+    public void shouldMatchSameAsDomXPath() throws Exception {
+        StringToXmlDocumentParser stringToXmlDocumentParser = new StringToXmlDocumentParser();
+        for (String xml : XML) {
+            Document document = stringToXmlDocumentParser.buildDocument(xml, new StringToXmlDocumentParser.ErrorLogger() {
+                @Override
+                public void logError(String matched, Exception exception) {
+                }
+            });
+            for (String xpath : XPATH) {
+                assertEquals("xpath [" + xpath + "] xml [" + xml + "]",
+                        XPathFactory.newInstance().newXPath().compile(xpath).evaluate(document, XPathConstants.BOOLEAN),
+                        StreamingXPathExpression.compile(xpath).matches(xml)
+                );
+            }
+        }
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void shouldNotMatchInvalidXmlAfterMatchingElement() throws XMLStreamException {
+        StreamingXPathExpression.compile("/element/key").matches("<element><key>some_key</key><value>");
+    }
+
+    @Test
+    public void shouldMatchUndeclaredPrefixWithoutPrefix() throws XMLStreamException {
+        assertTrue(StreamingXPathExpression.compile("/Envelope/Body").matches("<soap:Envelope><soap:Body/></soap:Envelope>"));
+        assertFalse(StreamingXPathExpression.compile("/Envelope/Header").matches("<soap:Envelope><soap:Body/></soap:Envelope>"));
+    }
+
+    @Test
+    public void shouldMatchStreamDecodedWithCharset() throws XMLStreamException {
+        byte[] xml = "<element><key>我说中国话</key></element>".getBytes(Charsets.UTF_16);
+        assertTrue(StreamingXPathExpression.compile("/element/key[text()='我说中国话']").matches(new ByteArrayInputStream(xml), Charsets.UTF_16));
+        assertFalse(StreamingXPathExpression.compile("/element/key[text()='some_key']").matches(new ByteArrayInputStream(xml), Charsets.UTF_16));
+    }
+}
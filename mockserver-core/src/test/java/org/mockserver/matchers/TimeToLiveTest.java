@@ -32,4 +32,11 @@ public class TimeToLiveTest {
         assertThat(timeToLive.stillAlive(), is(false));
         assertThat(TimeToLive.exactly(TimeUnit.MINUTES, 10l).stillAlive(), is(true));
     }
+
+    @Test
+    public void shouldCalculateRemainingTime() {
+        assertThat(TimeToLive.unlimited().remainingMillis(), is(Long.MAX_VALUE));
+        assertThat(TimeToLive.exactly(TimeUnit.MINUTES, 10l).remainingMillis() > TimeUnit.MINUTES.toMillis(9), is(true));
+        assertThat(TimeToLive.exactly(TimeUnit.MINUTES, 10l).remainingMillis() <= TimeUnit.MINUTES.toMillis(10), is(true));
+    }
 }
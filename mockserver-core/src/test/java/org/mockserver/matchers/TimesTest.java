@@ -31,4 +31,27 @@ public class TimesTest {
         times.decrement().decrement();
         assertThat(times.greaterThenZero(), is(false));
     }
+
+    @Test
+    public void shouldOnlyClaimRemainingTimes() {
+        // given
+        Times times = Times.exactly(2);
+
+        // then
+        assertThat(times.tryDecrement(), is(true));
+        assertThat(times.tryDecrement(), is(true));
+        assertThat(times.tryDecrement(), is(false));
+        assertThat(times.getRemainingTimes(), is(0));
+    }
+
+    @Test
+    public void shouldAlwaysClaimUnlimitedTimes() {
+        // given
+        Times times = Times.unlimited();
+
+        // then
+        assertThat(times.tryDecrement(), is(true));
+        assertThat(times.tryDecrement(), is(true));
+        assertThat(times.greaterThenZero(), is(true));
+    }
 }
@@ -1,15 +1,31 @@
 package org.mockserver.matchers;
 
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.io.Files;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.model.SpilledStringBody;
+
+import java.io.File;
+import java.io.IOException;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockserver.matchers.NotMatcher.not;
+import static org.mockserver.model.HttpRequest.request;
 
 /**
  * @author jamesdbloom
  */
 public class XPathStringMatcherTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void shouldMatchMatchingXPath() {
         String matched = "" +
@@ -91,4 +107,76 @@ public class XPathStringMatcherTest {
     public void showHaveCorrectEqualsBehaviour() {
         assertEquals(new XPathStringMatcher("some_value"), new XPathStringMatcher("some_value"));
     }
+
+    @Test
+    public void shouldMatchParsedBody() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("<element><key>some_key</key><value>some_value</value></element>"), false);
+
+        // then
+        assertTrue(new XPathStringMatcher("/element[key = 'some_key' and value = 'some_value']").matchesParsedBody(parsedHttpRequest));
+        assertFalse(new XPathStringMatcher("/element[key = 'some_other_key']").matchesParsedBody(parsedHttpRequest));
+        assertTrue(not(new XPathStringMatcher("/element[key = 'some_other_key']")).matchesParsedBody(parsedHttpRequest));
+        assertFalse(new XPathStringMatcher("/element[key = 'some_key']").matchesParsedBody(new ParsedHttpRequest(request().withBody("invalid_xml"), false)));
+    }
+
+    @Test
+    public void shouldMatchParsedBodyWithUndeclaredPrefix() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("<soap:Envelope><soap:Body/></soap:Envelope>"), false);
+
+        // then
+        assertTrue(new XPathStringMatcher("/Envelope/Body").matchesParsedBody(parsedHttpRequest));
+        assertFalse(new XPathStringMatcher("/Envelope/Header").matchesParsedBody(parsedHttpRequest));
+    }
+
+    @Test
+    public void shouldStreamSpilledBodyWithoutReadingItOntoTheHeap() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write(("<element>" + Strings.repeat("<other>some_other</other>", 1000) + "<key>some_key</key></element>").getBytes(Charsets.UTF_8), file);
+        SpilledStringBody spilledStringBody = spy(new SpilledStringBody(file, file.length(), Charsets.UTF_8));
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody(spilledStringBody), false);
+
+        // then
+        assertTrue(new XPathStringMatcher("/element/key[text()='some_key']").matchesParsedBody(parsedHttpRequest));
+        assertFalse(new XPathStringMatcher("/element/key[text()='some_other_key']").matchesParsedBody(parsedHttpRequest));
+        verify(spilledStringBody, never()).getRawBytes();
+        verify(spilledStringBody, never()).getValue();
+    }
+
+    @Test
+    public void shouldMatchFromMultipleThreads() throws InterruptedException {
+        // given
+        final XPathStringMatcher xPathStringMatcher = new XPathStringMatcher("/element[key = 'some_key']");
+        final boolean[] results = new boolean[10];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    boolean result = true;
+                    for (int j = 0; j < 100; j++) {
+                        result &= xPathStringMatcher.matches("<element><key>some_key</key></element>");
+                        result &= !xPathStringMatcher.matches("<element><key>some_other_key</key></element>");
+                    }
+                    results[index] = result;
+                }
+            });
+        }
+
+        // when
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        for (boolean result : results) {
+            assertTrue(result);
+        }
+    }
 }
@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.*;
 import static org.mockserver.matchers.NotMatcher.not;
+import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.NottableString.string;
 
 /**
@@ -160,4 +161,26 @@ public class XmlStringMatcherTest {
     public void showHaveCorrectEqualsBehaviour() {
         assertEquals(new XmlStringMatcher("some_value"), new XmlStringMatcher("some_value"));
     }
+
+    @Test
+    public void shouldMatchTextInCDATASection() {
+        assertTrue(new XmlStringMatcher("<element><key>some_key</key></element>").matches("<element><key><![CDATA[some_key]]></key></element>"));
+        assertFalse(new XmlStringMatcher("<element><key>some_key</key></element>").matches("<element><key><![CDATA[some_other_key]]></key></element>"));
+    }
+
+    @Test
+    public void shouldMatchParsedBody() {
+        // given
+        ParsedHttpRequest parsedHttpRequest = new ParsedHttpRequest(request().withBody("" +
+                "<element>" +
+                "   <key>some_key</key>" +
+                "   <value>some_value</value>" +
+                "</element>"), false);
+
+        // then
+        assertTrue(new XmlStringMatcher("<element><key>some_key</key><value>some_value</value></element>").matchesParsedBody(parsedHttpRequest));
+        assertFalse(new XmlStringMatcher("<element><key>some_other_key</key><value>some_value</value></element>").matchesParsedBody(parsedHttpRequest));
+        assertTrue(not(new XmlStringMatcher("<element><key>some_other_key</key><value>some_value</value></element>")).matchesParsedBody(parsedHttpRequest));
+        assertFalse(new XmlStringMatcher("<element></element>").matchesParsedBody(new ParsedHttpRequest(request().withBody("invalid_xml"), false)));
+    }
 }
@@ -0,0 +1,191 @@
+package org.mockserver.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+
+/**
+ * @author jamesdbloom
+ */
+public class ExpectationIndexTest {
+
+    private ExpectationIndex expectationIndex;
+
+    @Before
+    public void prepareTestFixture() {
+        expectationIndex = ExpectationIndex.EMPTY;
+    }
+
+    private Expectation add(HttpRequest httpRequest) {
+        Expectation expectation = new Expectation(httpRequest, Times.unlimited(), TimeToLive.unlimited());
+        expectationIndex = expectationIndex.with(expectation);
+        return expectation;
+    }
+
+    private long sequence(Expectation expectation) {
+        for (ExpectationIndex.Entry entry : expectationIndex.entries()) {
+            if (entry.expectation() == expectation) {
+                return entry.sequence();
+            }
+        }
+        throw new IllegalArgumentException("unknown expectation " + expectation);
+    }
+
+    @Test
+    public void shouldCalculateLiteralPrefix() {
+        assertThat(ExpectationIndex.literalPrefix("/some/path"), is("/some/path"));
+        assertThat(ExpectationIndex.literalPrefix("/some/path.*"), is("/some/path"));
+        assertThat(ExpectationIndex.literalPrefix("/some/paths?"), is("/some/path"));
+        assertThat(ExpectationIndex.literalPrefix("/some/path{2}"), is("/some/pat"));
+        assertThat(ExpectationIndex.literalPrefix("[a-z]*"), is(""));
+        assertThat(ExpectationIndex.literalPrefix(""), is(""));
+    }
+
+    @Test
+    public void shouldOnlyReturnCandidatesWithMatchingPathInOrderAdded() {
+        // given
+        Expectation first = add(request().withPath("/some/path"));
+        add(request().withPath("/some/other_path"));
+        Expectation regex = add(request().withPath("/some/pa.*"));
+        Expectation any = add(request());
+        Expectation notPath = add(request().withPath(not("/some/other_path")));
+        Expectation second = add(request().withPath("/some/path").withMethod("GET"));
+
+        // then
+        assertThat(expectationIndex.candidates(request().withPath("/some/path")), is(Arrays.asList(first, regex, any, notPath, second)));
+        assertThat(expectationIndex.candidates(request().withPath("/unknown")), is(Arrays.asList(any, notPath)));
+    }
+
+    @Test
+    public void shouldReturnCandidatesMatchedByRegexRequestPath() {
+        // given
+        Expectation first = add(request().withPath("/some/path"));
+        Expectation second = add(request().withPath("/some/other_path"));
+        add(request().withPath("/other"));
+
+        // then
+        assertThat(expectationIndex.candidates(request().withPath("/some/.*")), is(Arrays.asList(first, second)));
+    }
+
+    @Test
+    public void shouldReturnEachCandidateOnceWhenRegexRequestPathContinuesPastLiteralPrefix() {
+        // given
+        Expectation first = add(request().withPath("/some/ab"));
+        Expectation second = add(request().withPath("/some/a"));
+        Expectation third = add(request().withPath("/some/abc"));
+
+        // then
+        assertThat(expectationIndex.candidates(request().withPath("/some/ab?")), is(Arrays.asList(first, second, third)));
+    }
+
+    @Test
+    public void shouldMergeCandidatesFromEveryBucketInOrderAdded() {
+        // given
+        Expectation first = add(request().withPath("/some/path"));
+        Expectation second = add(request());
+        Expectation third = add(request().withPath("/some/.*"));
+        Expectation fourth = add(request().withPath("/some/path"));
+        Expectation fifth = add(request().withPath("/some/pa.*"));
+        Expectation sixth = add(request());
+
+        // then
+        assertThat(expectationIndex.candidates(request().withPath("/some/path")), is(Arrays.asList(first, second, third, fourth, fifth, sixth)));
+    }
+
+    @Test
+    public void shouldReturnAllExpectationsForUnindexableRequests() {
+        // given
+        Expectation first = add(request().withPath("/some/path"));
+        Expectation second = add(request().withPath("/other"));
+
+        // then
+        assertThat(expectationIndex.candidates(request()), is(Arrays.asList(first, second)));
+        assertThat(expectationIndex.candidates(request().withPath(not("/some/path"))), is(Arrays.asList(first, second)));
+        assertThat(expectationIndex.candidates(request().withPath("/some/path|/other")), is(Arrays.asList(first, second)));
+    }
+
+    @Test
+    public void shouldRemoveExpectationInNewVersion() {
+        // given
+        Expectation first = add(request().withPath("/some/path"));
+        Expectation second = add(request().withPath("/some/path"));
+        ExpectationIndex previousVersion = expectationIndex;
+
+        // when
+        expectationIndex = expectationIndex.without(sequence(first));
+
+        // then
+        assertThat(expectationIndex.candidates(request().withPath("/some/path")), is(Collections.singletonList(second)));
+        assertThat(expectationIndex.withSamePath(request().withPath("/some/path")), is(Collections.singletonList(second)));
+        assertThat(expectationIndex.expectations(), is(Collections.singletonList(second)));
+        assertThat(previousVersion.expectations(), is(Arrays.asList(first, second)));
+        assertThat(previousVersion.candidates(request().withPath("/some/path")), is(Arrays.asList(first, second)));
+    }
+
+    @Test
+    public void shouldIgnoreRemovingUnknownExpectation() {
+        // given
+        add(request().withPath("/some/path"));
+
+        // then
+        assertThat(expectationIndex.without(42L), sameInstance(expectationIndex));
+    }
+
+    @Test
+    public void shouldKeepOrderAfterRemoveAndAdd() {
+        // given
+        Expectation first = add(request().withPath("/some/path"));
+        Expectation second = add(request().withPath("/some/.*"));
+        expectationIndex = expectationIndex.without(sequence(first));
+
+        // when
+        Expectation third = add(request().withPath("/some/path"));
+
+        // then
+        assertThat(expectationIndex.candidates(request().withPath("/some/path")), is(Arrays.asList(second, third)));
+        assertThat(expectationIndex.expectations(), is(Arrays.asList(second, third)));
+    }
+
+    @Test
+    public void shouldRemoveSeveralExpectationsInOneVersion() {
+        // given
+        Expectation first = add(request().withPath("/some/path"));
+        Expectation second = add(request().withPath("/other"));
+        Expectation third = add(request());
+        Expectation fourth = add(request().withPath("/some/path"));
+
+        // when
+        expectationIndex = expectationIndex.without(Arrays.asList(sequence(first), sequence(third), 42L));
+
+        // then
+        assertThat(expectationIndex.expectations(), is(Arrays.asList(second, fourth)));
+        assertThat(expectationIndex.candidates(request().withPath("/some/path")), is(Collections.singletonList(fourth)));
+        assertThat(expectationIndex.size(), is(2));
+    }
+
+    @Test
+    public void shouldClearExpectations() {
+        // given
+        add(request().withPath("/some/path"));
+        add(request());
+
+        // when
+        expectationIndex = expectationIndex.clear();
+
+        // then
+        assertThat(expectationIndex.candidates(request().withPath("/some/path")), empty());
+        assertThat(expectationIndex.size(), is(0));
+    }
+}
@@ -8,8 +8,11 @@ import org.mockserver.model.Header;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author jamesdbloom
@@ -34,7 +37,7 @@ public class MockServerMatcherClearAndResetTest {
         // then
         assertEquals(httpResponse, mockServerMatcher.handle(new HttpRequest().withPath("somepath")));
         assertEquals(httpResponse, mockServerMatcher.handle(new HttpRequest().withPath("somepath")));
-        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.get().expectations().toArray());
         assertEquals(null, mockServerMatcher.handle(new HttpRequest().withPath("somepath")));
     }
 
@@ -49,7 +52,7 @@ public class MockServerMatcherClearAndResetTest {
         mockServerMatcher.clear(new HttpRequest().withPath("somepath"));
 
         // then
-        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.get().expectations().toArray());
     }
 
     @Test
@@ -63,7 +66,7 @@ public class MockServerMatcherClearAndResetTest {
         mockServerMatcher.clear(null);
 
         // then
-        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.get().expectations().toArray());
     }
 
     @Test
@@ -77,7 +80,7 @@ public class MockServerMatcherClearAndResetTest {
         mockServerMatcher.reset();
 
         // then
-        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(new Expectation[]{}, mockServerMatcher.expectations.get().expectations().toArray());
     }
 
     @Test
@@ -91,7 +94,7 @@ public class MockServerMatcherClearAndResetTest {
         mockServerMatcher.clear(new HttpRequest().withPath("abc"));
 
         // then
-        assertArrayEquals(new Expectation[]{expectation}, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(new Expectation[]{expectation}, mockServerMatcher.expectations.get().expectations().toArray());
     }
 
     @Test
@@ -106,7 +109,7 @@ public class MockServerMatcherClearAndResetTest {
         mockServerMatcher.clear(new HttpRequest().withMethod("GET"));
 
         // then
-        assertArrayEquals(new Expectation[]{expectation}, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(new Expectation[]{expectation}, mockServerMatcher.expectations.get().expectations().toArray());
     }
 
     @Test
@@ -121,7 +124,7 @@ public class MockServerMatcherClearAndResetTest {
         mockServerMatcher.clear(new HttpRequest().withHeader(new Header("headerOneName", "headerOneValue")));
 
         // then
-        assertArrayEquals(new Expectation[]{expectation}, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(new Expectation[]{expectation}, mockServerMatcher.expectations.get().expectations().toArray());
     }
 
     @Test
@@ -137,7 +140,46 @@ public class MockServerMatcherClearAndResetTest {
         mockServerMatcher.clear(new HttpRequest().withPath("foobar"));
 
         // then
-        assertArrayEquals(expectations, mockServerMatcher.expectations.toArray());
+        assertArrayEquals(expectations, mockServerMatcher.expectations.get().expectations().toArray());
+    }
+
+
+    @Test
+    public void shouldCancelExpiryWhenExpectationUsedUp() {
+        // given
+        mockServerMatcher.when(new HttpRequest().withPath("somepath"), Times.exactly(1), TimeToLive.exactly(TimeUnit.HOURS, 1L)).thenRespond(new HttpResponse());
+        ExpectationIndex.Entry entry = mockServerMatcher.expectations.get().newest();
+
+        // when
+        mockServerMatcher.handle(new HttpRequest().withPath("somepath"));
+
+        // then
+        assertTrue(entry.expiry().isCancelled());
     }
 
+    @Test
+    public void shouldCancelExpiryWhenExpectationCleared() {
+        // given
+        mockServerMatcher.when(new HttpRequest().withPath("somepath"), Times.unlimited(), TimeToLive.exactly(TimeUnit.HOURS, 1L)).thenRespond(new HttpResponse());
+        ExpectationIndex.Entry entry = mockServerMatcher.expectations.get().newest();
+
+        // when
+        mockServerMatcher.clear(new HttpRequest().withPath("somepath"));
+
+        // then
+        assertTrue(entry.expiry().isCancelled());
+    }
+
+    @Test
+    public void shouldCancelExpiryWhenExpectationsReset() {
+        // given
+        mockServerMatcher.when(new HttpRequest().withPath("somepath"), Times.unlimited(), TimeToLive.exactly(TimeUnit.HOURS, 1L)).thenRespond(new HttpResponse());
+        ExpectationIndex.Entry entry = mockServerMatcher.expectations.get().newest();
+
+        // when
+        mockServerMatcher.reset();
+
+        // then
+        assertTrue(entry.expiry().isCancelled());
+    }
 }
@@ -0,0 +1,112 @@
+package org.mockserver.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Action;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerMatcherConcurrencyTest {
+
+    private static final int NUMBER_OF_THREADS = 2000;
+    private static final int REQUESTS_PER_THREAD = 5;
+
+    private MockServerMatcher mockServerMatcher;
+
+    @Before
+    public void prepareTestFixture() {
+        mockServerMatcher = new MockServerMatcher();
+    }
+
+    private List<Action> handleConcurrently(final HttpRequest httpRequest) throws InterruptedException {
+        final List<Action> actions = new ArrayList<Action>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(NUMBER_OF_THREADS);
+        final AtomicInteger errors = new AtomicInteger();
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+            new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                        for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                            Action action = mockServerMatcher.handle(httpRequest);
+                            synchronized (actions) {
+                                actions.add(action);
+                            }
+                        }
+                    } catch (Throwable throwable) {
+                        errors.incrementAndGet();
+                    } finally {
+                        finished.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        finished.await();
+        assertThat(errors.get(), is(0));
+        return actions;
+    }
+
+    private int count(List<Action> actions, Action action) {
+        int count = 0;
+        for (Action handled : actions) {
+            if (handled == action) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void shouldNotExceedLimitedTimesWhenHandledConcurrently() throws InterruptedException {
+        // given
+        HttpResponse limitedResponse = new HttpResponse().withBody("limited");
+        HttpResponse fallbackResponse = new HttpResponse().withBody("fallback");
+        mockServerMatcher.when(new HttpRequest().withPath("somePath"), Times.exactly(100), TimeToLive.unlimited()).thenRespond(limitedResponse);
+        mockServerMatcher.when(new HttpRequest().withPath("some.*"), Times.unlimited(), TimeToLive.unlimited()).thenRespond(fallbackResponse);
+
+        // when
+        List<Action> actions = handleConcurrently(new HttpRequest().withPath("somePath"));
+
+        // then
+        assertThat(actions.size(), is(NUMBER_OF_THREADS * REQUESTS_PER_THREAD));
+        assertThat(count(actions, limitedResponse), is(100));
+        assertThat(count(actions, fallbackResponse), is(NUMBER_OF_THREADS * REQUESTS_PER_THREAD - 100));
+        assertThat(mockServerMatcher.expectations.get().size(), is(1));
+    }
+
+    @Test
+    public void shouldServeEachLimitedExpectationExactlyOnceWhenHandledConcurrently() throws InterruptedException {
+        // given
+        HttpResponse[] responses = new HttpResponse[50];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = new HttpResponse().withBody("response_" + i);
+            mockServerMatcher.when(new HttpRequest().withPath("somePath"), Times.once(), TimeToLive.unlimited()).thenRespond(responses[i]);
+        }
+
+        // when
+        List<Action> actions = handleConcurrently(new HttpRequest().withPath("somePath"));
+
+        // then
+        for (HttpResponse response : responses) {
+            assertThat(count(actions, response), is(1));
+        }
+        assertThat(count(actions, null), is(NUMBER_OF_THREADS * REQUESTS_PER_THREAD - responses.length));
+        assertThat(mockServerMatcher.expectations.get().expectations(), empty());
+    }
+}
@@ -37,7 +37,22 @@ public class MockServerMatcherManageExpectationsTest {
 
         // then
         assertThat(mockServerMatcher.handle(new HttpRequest().withPath("somePath")), nullValue());
-        assertThat(mockServerMatcher.expectations, empty());
+        assertThat(mockServerMatcher.expectations.get().expectations(), empty());
+    }
+
+    @Test
+    public void shouldRemoveExpectationsWhenTheyExpireWithoutMatchingRequests() throws InterruptedException {
+        // given
+        mockServerMatcher.when(httpRequest.withPath("somePath"), Times.unlimited(), TimeToLive.exactly(TimeUnit.MILLISECONDS, 50L)).thenRespond(httpResponse.withBody("someBody"));
+        mockServerMatcher.when(new HttpRequest().withPath("someOtherPath"), Times.unlimited(), TimeToLive.exactly(TimeUnit.HOURS, 1L)).thenRespond(httpResponse.withBody("someBody"));
+        assertThat(mockServerMatcher.expectations.get().size(), is(2));
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        // then
+        assertThat(mockServerMatcher.expectations.get().size(), is(1));
+        assertThat(mockServerMatcher.handle(new HttpRequest().withPath("somePath")), nullValue());
     }
 
     @Test
@@ -47,7 +62,7 @@ public class MockServerMatcherManageExpectationsTest {
 
         // then
         assertThat(mockServerMatcher.handle(new HttpRequest().withPath("somePath")), Is.<Action>is(httpResponse.withBody("someBody")));
-        assertThat(mockServerMatcher.expectations.size(), is(1));
+        assertThat(mockServerMatcher.expectations.get().size(), is(1));
     }
 
     @Test
@@ -58,7 +73,7 @@ public class MockServerMatcherManageExpectationsTest {
         // then
         assertThat(mockServerMatcher.handle(new HttpRequest().withPath("somePath")), Is.<Action>is(httpResponse.withBody("someBody")));
         assertThat(mockServerMatcher.handle(new HttpRequest().withPath("somePath")), nullValue());
-        assertThat(mockServerMatcher.expectations, empty());
+        assertThat(mockServerMatcher.expectations.get().expectations(), empty());
     }
 
     @Test
@@ -68,6 +83,6 @@ public class MockServerMatcherManageExpectationsTest {
 
         // then
         assertThat(mockServerMatcher.handle(new HttpRequest().withPath("somePath")), Is.<Action>is(httpResponse.withBody("someBody")));
-        assertThat(mockServerMatcher.expectations.size(), is(1));
+        assertThat(mockServerMatcher.expectations.get().size(), is(1));
     }
 }
@@ -0,0 +1,105 @@
+package org.mockserver.mock;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author jamesdbloom
+ */
+public class SequenceTreeTest {
+
+    private static List<String> values(SequenceTree<String> tree) {
+        List<String> values = new ArrayList<String>();
+        for (String value : tree) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Test
+    public void shouldIterateInSequenceOrder() {
+        // when
+        SequenceTree<String> tree = SequenceTree.<String>empty().with(3, "three").with(1, "one").with(2, "two");
+
+        // then
+        assertThat(values(tree), is(Arrays.asList("one", "two", "three")));
+        assertThat(tree.size(), is(3));
+        assertThat(tree.get(2), is("two"));
+        assertThat(tree.last(), is("three"));
+    }
+
+    @Test
+    public void shouldNotChangePreviousVersion() {
+        // given
+        SequenceTree<String> previousVersion = SequenceTree.<String>empty().with(1, "one").with(2, "two");
+
+        // when
+        SequenceTree<String> tree = previousVersion.with(3, "three").without(1);
+
+        // then
+        assertThat(values(tree), is(Arrays.asList("two", "three")));
+        assertThat(values(previousVersion), is(Arrays.asList("one", "two")));
+    }
+
+    @Test
+    public void shouldReturnSameVersionWhenRemovingUnknownSequence() {
+        // given
+        SequenceTree<String> tree = SequenceTree.<String>empty().with(1, "one");
+
+        // then
+        assertThat(tree.without(2), sameInstance(tree));
+        assertThat(tree.get(2), nullValue());
+    }
+
+    @Test
+    public void shouldBeEmptyOnceEveryValueRemoved() {
+        // when
+        SequenceTree<String> tree = SequenceTree.<String>empty().with(1, "one").with(2, "two").without(2).without(1);
+
+        // then
+        assertThat(tree.isEmpty(), is(true));
+        assertThat(tree.size(), is(0));
+        assertThat(tree.last(), nullValue());
+        assertThat(values(tree), empty());
+    }
+
+    @Test
+    public void shouldStayOrderedAfterManyAddsAndRemoves() {
+        // given
+        Random random = new Random(42);
+        List<Long> sequences = new ArrayList<Long>();
+        SequenceTree<String> tree = SequenceTree.empty();
+        for (long sequence = 0; sequence < 2000; sequence++) {
+            tree = tree.with(sequence, String.valueOf(sequence));
+            sequences.add(sequence);
+        }
+
+        // when
+        Collections.shuffle(sequences, random);
+        List<Long> removed = sequences.subList(0, 1500);
+        for (Long sequence : removed) {
+            tree = tree.without(sequence);
+        }
+
+        // then
+        List<String> expected = new ArrayList<String>();
+        for (long sequence = 0; sequence < 2000; sequence++) {
+            if (!removed.contains(sequence)) {
+                expected.add(String.valueOf(sequence));
+            }
+        }
+        assertThat(values(tree), is(expected));
+        assertThat(tree.size(), is(500));
+    }
+}
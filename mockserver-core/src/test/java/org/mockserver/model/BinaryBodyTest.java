@@ -4,6 +4,7 @@ import com.google.common.base.Charsets;
 import com.google.common.net.MediaType;
 import org.junit.Test;
 import org.mockserver.client.serialization.Base64Converter;
+import org.mockserver.matchers.BinaryMatchType;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -11,6 +12,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.mockserver.model.BinaryBody.binary;
 
@@ -96,4 +98,12 @@ public class BinaryBodyTest {
         assertThat(binaryBody.getContentType(), nullValue());
     }
 
+    @Test
+    public void shouldCompareBytesByContent() {
+        assertEquals(binary("some_body".getBytes()), binary("some_body".getBytes()));
+        assertEquals(binary("some_body".getBytes()).hashCode(), binary("some_body".getBytes()).hashCode());
+        assertNotEquals(binary("some_body".getBytes()), binary("some_other_body".getBytes()));
+        assertNotEquals(binary("some_body".getBytes()), binary("some_body".getBytes(), MediaType.OCTET_STREAM));
+        assertNotEquals(binary("some_body".getBytes()), binary("some_body".getBytes(), null, BinaryMatchType.CONTAINS));
+    }
 }
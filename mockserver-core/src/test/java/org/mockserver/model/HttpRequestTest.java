@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.NottableString.string;
@@ -113,4 +114,25 @@ public class HttpRequestTest {
         );
     }
 
+
+    @Test
+    public void shouldBeEqualWhenAllFieldsAreEqual() {
+        HttpRequest one = request("somepath").withMethod("POST").withHeader("name", "value").withQueryStringParameter("param", "value").withCookie("cookie", "value").withBody("body").withKeepAlive(true).withSecure(false);
+        HttpRequest two = request("somepath").withMethod("POST").withHeader("name", "value").withQueryStringParameter("param", "value").withCookie("cookie", "value").withBody("body").withKeepAlive(true).withSecure(false);
+
+        assertEquals(one, two);
+        assertEquals(one.hashCode(), two.hashCode());
+    }
+
+    @Test
+    public void shouldNotBeEqualWhenAnyFieldIsDifferent() {
+        HttpRequest httpRequest = request("somepath").withMethod("POST").withHeader("name", "value").withBody("body");
+
+        assertNotEquals(httpRequest, request("otherpath").withMethod("POST").withHeader("name", "value").withBody("body"));
+        assertNotEquals(httpRequest, request("somepath").withMethod("GET").withHeader("name", "value").withBody("body"));
+        assertNotEquals(httpRequest, request("somepath").withMethod("POST").withHeader("name", "other").withBody("body"));
+        assertNotEquals(httpRequest, request("somepath").withMethod("POST").withHeader("name", "value").withBody("other"));
+        assertNotEquals(httpRequest, Not.not(request("somepath").withMethod("POST").withHeader("name", "value").withBody("body")));
+        assertNotEquals(httpRequest, OutboundHttpRequest.outboundRequest("localhost", 80, "", httpRequest));
+    }
 }
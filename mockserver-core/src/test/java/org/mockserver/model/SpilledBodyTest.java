@@ -0,0 +1,142 @@
+package org.mockserver.model;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.google.common.net.MediaType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.client.serialization.Base64Converter;
+import org.mockserver.client.serialization.ExpectationSerializer;
+import org.mockserver.client.serialization.HttpRequestSerializer;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.mock.Expectation;
+import org.mockserver.mock.MockServerMatcher;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockserver.model.BinaryBody.binary;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.RegexBody.regex;
+import static org.mockserver.model.StringBody.exact;
+
+/**
+ * @author jamesdbloom
+ */
+public class SpilledBodyTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadBodyFromFile() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(), file);
+
+        // when
+        SpilledBody spilledBody = new SpilledBody(file, 9, MediaType.PLAIN_TEXT_UTF_8);
+
+        // then
+        assertThat(spilledBody.getValue(), is("some_body".getBytes()));
+        assertThat(spilledBody.getRawBytes(), is("some_body".getBytes()));
+        assertThat(spilledBody.getLength(), is(9L));
+        assertThat(spilledBody.getType(), is(Body.Type.BINARY));
+        assertThat(spilledBody.getContentType(), is(MediaType.PLAIN_TEXT_UTF_8.toString()));
+    }
+
+    @Test
+    public void shouldReturnBase64EncodedBodyInToStringAsBinaryBody() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(Charsets.UTF_8), file);
+
+        // when
+        SpilledBody spilledBody = new SpilledBody(file, 9, null);
+
+        // then
+        assertThat(spilledBody, instanceOf(BinaryBody.class));
+        assertThat(spilledBody.toString(), is(Base64Converter.bytesToBase64String("some_body".getBytes(Charsets.UTF_8))));
+    }
+
+    @Test
+    public void shouldBeEmptyOnceFileDeleted() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        SpilledBody spilledBody = new SpilledBody(file, 9, null);
+
+        // when
+        file.delete();
+
+        // then
+        assertThat(spilledBody.getValue(), is(new byte[0]));
+    }
+
+    @Test
+    public void shouldBecomeExpectationAndSerialiseContentInsteadOfFile() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(Charsets.UTF_8), file);
+        HttpRequest httpRequest = request().withPath("/some_path").withBody(new SpilledBody(file, 9, null));
+
+        // when
+        Expectation expectation = new Expectation(httpRequest, Times.once(), TimeToLive.unlimited()).thenRespond(response("some_response"));
+        String serializedExpectation = new ExpectationSerializer().serialize(expectation);
+        String serializedRequest = new HttpRequestSerializer().serialize(httpRequest);
+
+        // then
+        assertThat(expectation.matches(request().withPath("/some_path").withBody(binary("some_body".getBytes(Charsets.UTF_8)))), is(true));
+        assertThat(serializedExpectation, containsString(Base64Converter.bytesToBase64String("some_body".getBytes(Charsets.UTF_8))));
+        assertThat(serializedExpectation, not(containsString(file.getName())));
+        assertThat(new HttpRequestSerializer().deserialize(serializedRequest).getBody(), is((Body) binary("some_body".getBytes(Charsets.UTF_8))));
+    }
+
+    @Test
+    public void shouldReadFileOnceWhenMatchedAgainstEveryExpectation() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(Charsets.UTF_8), file);
+        SpilledBody spilledBody = spy(new SpilledBody(file, 9, null));
+        MockServerMatcher mockServerMatcher = new MockServerMatcher();
+        mockServerMatcher.when(request().withPath("/some_path").withBody(binary("some_other_body".getBytes(Charsets.UTF_8)))).thenRespond(response("some_other_response"));
+        mockServerMatcher.when(request().withPath("/some_path").withBody(exact("some_other_body"))).thenRespond(response("some_other_response"));
+        mockServerMatcher.when(request().withPath("/some_path").withBody(regex("some_.*"))).thenRespond(response("some_response"));
+
+        // when
+        Action action = mockServerMatcher.handle(request().withPath("/some_path").withBody(spilledBody));
+
+        // then
+        assertThat(action, is((Action) response("some_response")));
+        verify(spilledBody, times(1)).getRawBytes();
+    }
+
+    @Test
+    public void shouldCompareFileWithoutReadingIt() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(Charsets.UTF_8), file);
+        SpilledBody spilledBody = spy(new SpilledBody(file, 9, null));
+
+        // then
+        assertThat(new SpilledBody(file, 9, null).equals(new SpilledBody(file, 9, null)), is(true));
+        assertThat(new SpilledBody(file, 9, null).hashCode(), is(new SpilledBody(file, 9, null).hashCode()));
+        assertThat(new SpilledBody(file, 9, null).equals(new SpilledBody(temporaryFolder.newFile(), 9, null)), is(false));
+        assertThat(new SpilledBody(file, 9, null).equals(binary("some_body".getBytes(Charsets.UTF_8))), is(false));
+        assertThat(spilledBody.equals(spilledBody), is(true));
+        spilledBody.hashCode();
+        verify(spilledBody, never()).getValue();
+        verify(spilledBody, never()).getRawBytes();
+    }
+}
@@ -0,0 +1,95 @@
+package org.mockserver.model;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.client.serialization.ExpectationSerializer;
+import org.mockserver.client.serialization.HttpRequestSerializer;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.mock.Expectation;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.StringBody.exact;
+
+/**
+ * @author jamesdbloom
+ */
+public class SpilledStringBodyTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadBodyFromFileWithCharset() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("我说中国话".getBytes(Charsets.UTF_8), file);
+
+        // when
+        SpilledStringBody spilledStringBody = new SpilledStringBody(file, file.length(), Charsets.UTF_8);
+
+        // then
+        assertThat(spilledStringBody.getValue(), is("我说中国话"));
+        assertThat(spilledStringBody.toString(), is("我说中国话"));
+        assertThat(spilledStringBody.getRawBytes(), is("我说中国话".getBytes(Charsets.UTF_8)));
+        assertThat(spilledStringBody.getLength(), is(file.length()));
+        assertThat(spilledStringBody.getType(), is(Body.Type.STRING));
+        assertThat(spilledStringBody, instanceOf(StringBody.class));
+    }
+
+    @Test
+    public void shouldReadBodyFromFileWithDefaultCharset() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(Charsets.ISO_8859_1), file);
+
+        // when
+        SpilledStringBody spilledStringBody = new SpilledStringBody(file, 9, null);
+
+        // then
+        assertThat(spilledStringBody.getValue(), is("some_body"));
+        assertThat(spilledStringBody.getContentType(), is((String) null));
+    }
+
+    @Test
+    public void shouldBeEmptyOnceFileDeleted() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        SpilledStringBody spilledStringBody = new SpilledStringBody(file, 9, null);
+
+        // when
+        file.delete();
+
+        // then
+        assertThat(spilledStringBody.getValue(), is(""));
+    }
+
+    @Test
+    public void shouldBecomeExpectationAndSerialiseAsString() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_body".getBytes(Charsets.UTF_8), file);
+        HttpRequest httpRequest = request().withPath("/some_path").withBody(new SpilledStringBody(file, 9, null));
+
+        // when
+        Expectation expectation = new Expectation(httpRequest, Times.once(), TimeToLive.unlimited()).thenRespond(response("some_response"));
+        String serializedExpectation = new ExpectationSerializer().serialize(expectation);
+        String serializedRequest = new HttpRequestSerializer().serialize(httpRequest);
+
+        // then
+        assertThat(expectation.matches(request().withPath("/some_path").withBody(exact("some_body"))), is(true));
+        assertThat(serializedExpectation, containsString("\"body\" : \"some_body\""));
+        assertThat(new HttpRequestSerializer().deserialize(serializedRequest).getBody(), is((Body) exact("some_body")));
+    }
+}
@@ -10,6 +10,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.mockserver.model.BinaryBody.binary;
 import static org.mockserver.model.StringBody.exact;
@@ -116,4 +117,13 @@ public class StringBodyTest {
         assertThat(stringBody.getContentType(), nullValue());
     }
 
+    @Test
+    public void shouldCompareValueCharsetAndType() {
+        assertEquals(exact("some_body"), exact("some_body"));
+        assertEquals(exact("some_body").hashCode(), exact("some_body").hashCode());
+        assertNotEquals(exact("some_body"), exact("some_other_body"));
+        assertNotEquals(exact("some_body"), exact("some_body", Charsets.UTF_16));
+        assertNotEquals(exact("some_body"), new XmlBody("some_body"));
+        assertNotEquals(exact("some_body"), Not.not(exact("some_body")));
+    }
 }
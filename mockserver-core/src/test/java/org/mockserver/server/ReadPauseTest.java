@@ -0,0 +1,61 @@
+package org.mockserver.server;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockserver.server.ReadPause.readPause;
+
+/**
+ * @author jamesdbloom
+ */
+public class ReadPauseTest {
+
+    @Test
+    public void shouldShareReadPauseForChannel() {
+        // given
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        // then
+        assertThat(readPause(channel), sameInstance(readPause(channel)));
+    }
+
+    @Test
+    public void shouldResumeReadingOnlyWhenEveryHoldReleased() {
+        // given
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ReadPause readPause = readPause(channel);
+
+        // when
+        readPause.pause();
+        readPause.pause();
+        readPause.resume();
+
+        // then
+        assertThat(channel.config().isAutoRead(), is(false));
+        assertThat(readPause.isPaused(), is(true));
+
+        // when
+        readPause.resume();
+
+        // then
+        assertThat(channel.config().isAutoRead(), is(true));
+        assertThat(readPause.isPaused(), is(false));
+    }
+
+    @Test
+    public void shouldIgnoreResumeWithoutHold() {
+        // given
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ReadPause readPause = readPause(channel);
+
+        // when
+        readPause.resume();
+        readPause.pause();
+
+        // then
+        assertThat(channel.config().isAutoRead(), is(false));
+    }
+}
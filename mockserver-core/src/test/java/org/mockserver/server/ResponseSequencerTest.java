@@ -0,0 +1,153 @@
+package org.mockserver.server;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockserver.server.ResponseSequencer.responseSequencer;
+
+/**
+ * @author jamesdbloom
+ */
+public class ResponseSequencerTest {
+
+    private final List<String> written = new ArrayList<String>();
+
+    @Test
+    public void shouldShareSequencerForChannel() {
+        // given
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        // then
+        assertThat(responseSequencer(channel), sameInstance(responseSequencer(channel)));
+    }
+
+    @Test
+    public void shouldWriteImmediatelyWhenNothingPending() {
+        // given
+        ResponseSequencer responseSequencer = new ResponseSequencer(new EmbeddedChannel());
+        responseSequencer.received("first");
+
+        // when
+        responseSequencer.write("first", write("first"));
+
+        // then
+        assertThat(written, is(Arrays.asList("first")));
+        assertThat(responseSequencer.pendingResponses(), is(0));
+    }
+
+    @Test
+    public void shouldHoldResponseUntilEarlierResponsesWritten() {
+        // given
+        ResponseSequencer responseSequencer = new ResponseSequencer(new EmbeddedChannel());
+        responseSequencer.received("first");
+        responseSequencer.received("second");
+        responseSequencer.received("third");
+
+        // when
+        responseSequencer.write("third", write("third"));
+        responseSequencer.write("second", write("second"));
+
+        // then
+        assertThat(written.isEmpty(), is(true));
+
+        // when
+        responseSequencer.write("first", write("first"));
+
+        // then
+        assertThat(written, is(Arrays.asList("first", "second", "third")));
+    }
+
+    @Test
+    public void shouldReleasePositionOfSkippedRequest() {
+        // given
+        ResponseSequencer responseSequencer = new ResponseSequencer(new EmbeddedChannel());
+        responseSequencer.received("first");
+        responseSequencer.received("second");
+        responseSequencer.write("second", write("second"));
+
+        // when
+        responseSequencer.skip("first");
+
+        // then
+        assertThat(written, is(Arrays.asList("second")));
+    }
+
+    @Test
+    public void shouldWriteImmediatelyForUnknownRequest() {
+        // given
+        ResponseSequencer responseSequencer = new ResponseSequencer(new EmbeddedChannel());
+        responseSequencer.received("first");
+
+        // when
+        responseSequencer.write("unknown", write("unknown"));
+
+        // then
+        assertThat(written, is(Arrays.asList("unknown")));
+        assertThat(responseSequencer.pendingResponses(), is(1));
+    }
+
+    @Test
+    public void shouldPauseReadingUntilEveryPendingResponseWritten() {
+        // given
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ResponseSequencer responseSequencer = new ResponseSequencer(channel);
+        responseSequencer.received("first");
+        responseSequencer.received("second");
+
+        // when
+        responseSequencer.pauseReadingUntilWritten();
+        responseSequencer.write("first", write("first"));
+
+        // then
+        assertThat(channel.config().isAutoRead(), is(false));
+
+        // when
+        responseSequencer.write("second", write("second"));
+
+        // then
+        assertThat(channel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldNotHoldLaterResponsesWhenWriteFails() {
+        // given
+        ResponseSequencer responseSequencer = new ResponseSequencer(new EmbeddedChannel());
+        responseSequencer.received("first");
+        responseSequencer.received("second");
+        responseSequencer.write("second", write("second"));
+
+        // when
+        RuntimeException failure = null;
+        try {
+            responseSequencer.write("first", new Runnable() {
+                @Override
+                public void run() {
+                    throw new RuntimeException("write failed");
+                }
+            });
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        // then
+        assertThat(failure.getMessage(), is("write failed"));
+        assertThat(written, is(Arrays.asList("second")));
+        assertThat(responseSequencer.pendingResponses(), is(0));
+    }
+
+    private Runnable write(final String response) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                written.add(response);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package org.mockserver.server.unification;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpRequestBodySizeLimiterTest {
+
+    @Test
+    public void shouldPassOnRequestWithinLimit() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySizeLimiter(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpHeaders.setContentLength(request, 10);
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then
+        assertThat(embeddedChannel.readInbound(), is((Object) request));
+        assertThat(embeddedChannel.readOutbound(), nullValue());
+        assertThat(embeddedChannel.isOpen(), is(true));
+    }
+
+    @Test
+    public void shouldPassOnRequestWithoutContentLength() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySizeLimiter(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then
+        assertThat(embeddedChannel.readInbound(), is((Object) request));
+    }
+
+    @Test
+    public void shouldRejectRequestOverLimitWithoutReadingBody() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySizeLimiter(10));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpHeaders.setContentLength(request, 11);
+        DefaultHttpContent content = new DefaultHttpContent(Unpooled.wrappedBuffer("some_body".getBytes()));
+        DefaultLastHttpContent lastContent = new DefaultLastHttpContent(Unpooled.wrappedBuffer("!!".getBytes()));
+
+        // when
+        embeddedChannel.writeInbound(request, content, lastContent);
+
+        // then
+        assertThat(embeddedChannel.readInbound(), nullValue());
+        assertThat(content.refCnt(), is(0));
+        assertThat(lastContent.refCnt(), is(0));
+        HttpResponse response = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(response.getStatus(), is(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE));
+        assertThat(response.headers().get(HttpHeaders.Names.CONNECTION), is(HttpHeaders.Values.CLOSE));
+        assertThat(embeddedChannel.isOpen(), is(false));
+    }
+}
@@ -0,0 +1,134 @@
+package org.mockserver.server.unification;
+
+import com.google.common.io.Files;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpRequestBodySpillerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldAggregateBodyWithinThresholdInMemory() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySpiller(10, 20, temporaryFolder.getRoot()), new HttpObjectAggregator(20));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+
+        // when
+        embeddedChannel.writeInbound(request, content("some_"), lastContent("body"));
+
+        // then
+        FullHttpRequest fullHttpRequest = (FullHttpRequest) embeddedChannel.readInbound();
+        assertThat(fullHttpRequest, not(instanceOf(SpilledFullHttpRequest.class)));
+        assertThat(fullHttpRequest.content().toString(CharsetUtil.UTF_8), is("some_body"));
+        assertThat(temporaryFolder.getRoot().list().length, is(0));
+    }
+
+    @Test
+    public void shouldSpillBodyOverThresholdToFile() throws IOException {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySpiller(4, 20, temporaryFolder.getRoot()), new HttpObjectAggregator(20));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpHeaders.setTransferEncodingChunked(request);
+        request.headers().set(HttpHeaders.Names.CONTENT_TYPE, "text/plain");
+
+        // when
+        embeddedChannel.writeInbound(request, content("so"), content("me_"), lastContent("body"));
+
+        // then
+        SpilledFullHttpRequest spilledRequest = (SpilledFullHttpRequest) embeddedChannel.readInbound();
+        assertThat(spilledRequest.getUri(), is("/some_path"));
+        assertThat(spilledRequest.headers().get(HttpHeaders.Names.CONTENT_TYPE), is("text/plain"));
+        assertThat(HttpHeaders.isTransferEncodingChunked(spilledRequest), is(false));
+        assertThat(HttpHeaders.getContentLength(spilledRequest), is(9L));
+        assertThat(spilledRequest.content().toString(CharsetUtil.UTF_8), is("some_body"));
+        assertThat(spilledRequest.getFile().getParentFile(), is(temporaryFolder.getRoot()));
+        assertThat(new String(Files.toByteArray(spilledRequest.getFile()), CharsetUtil.UTF_8), is("some_body"));
+    }
+
+    @Test
+    public void shouldPassOnPipelinedRequestsInOrder() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySpiller(4, 20, temporaryFolder.getRoot()), new HttpObjectAggregator(20));
+
+        // when
+        embeddedChannel.writeInbound(
+                new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/spilled"), lastContent("some_body"),
+                new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/aggregated"), lastContent("body")
+        );
+
+        // then
+        assertThat(((FullHttpRequest) embeddedChannel.readInbound()).getUri(), is("/spilled"));
+        assertThat(((FullHttpRequest) embeddedChannel.readInbound()).getUri(), is("/aggregated"));
+    }
+
+    @Test
+    public void shouldRejectBodyOverMaximumSizeAndDeleteFile() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySpiller(4, 8, temporaryFolder.getRoot()), new HttpObjectAggregator(20));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpContent lastContent = lastContent("body");
+
+        // when
+        embeddedChannel.writeInbound(request, content("some_"), lastContent);
+
+        // then
+        assertThat(embeddedChannel.readInbound(), nullValue());
+        assertThat(lastContent.refCnt(), is(0));
+        HttpResponse response = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(response.getStatus(), is(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE));
+        assertThat(embeddedChannel.isOpen(), is(false));
+        assertThat(temporaryFolder.getRoot().list().length, is(0));
+    }
+
+    @Test
+    public void shouldDeleteFileWhenChannelClosedPartWayThroughBody() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySpiller(4, 20, temporaryFolder.getRoot()), new HttpObjectAggregator(20));
+        embeddedChannel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path"), content("some_"));
+        assertThat(temporaryFolder.getRoot().list().length, is(1));
+
+        // when
+        embeddedChannel.close();
+
+        // then
+        assertThat(temporaryFolder.getRoot().list().length, is(0));
+    }
+
+    @Test
+    public void shouldAnswerExpectContinueBeforeBodyReceived() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new HttpRequestBodySpiller(4, 20, temporaryFolder.getRoot()), new HttpObjectAggregator(20));
+        DefaultHttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some_path");
+        HttpHeaders.set100ContinueExpected(request);
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getStatus(), is(HttpResponseStatus.CONTINUE));
+        assertThat(HttpHeaders.is100ContinueExpected(request), is(false));
+    }
+
+    private HttpContent content(String content) {
+        return new DefaultHttpContent(Unpooled.copiedBuffer(content, CharsetUtil.UTF_8));
+    }
+
+    private HttpContent lastContent(String content) {
+        return new DefaultLastHttpContent(Unpooled.copiedBuffer(content, CharsetUtil.UTF_8));
+    }
+}
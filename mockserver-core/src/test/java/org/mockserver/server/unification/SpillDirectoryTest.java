@@ -0,0 +1,75 @@
+package org.mockserver.server.unification;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.configuration.ConfigurationProperties;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author jamesdbloom
+ */
+public class SpillDirectoryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private String originalSpillDirectory;
+
+    @Before
+    public void setSpillDirectory() {
+        originalSpillDirectory = ConfigurationProperties.requestBodySpillDirectory();
+        ConfigurationProperties.requestBodySpillDirectory(temporaryFolder.getRoot().getAbsolutePath());
+    }
+
+    @After
+    public void restoreSpillDirectory() {
+        ConfigurationProperties.requestBodySpillDirectory(originalSpillDirectory);
+    }
+
+    @Test
+    public void shouldCreateSeparateDirectoryForEachServerBelowSpillDirectory() {
+        // when
+        File firstDirectory = new SpillDirectory("mockserver").getDirectory();
+        File secondDirectory = new SpillDirectory("mockserver").getDirectory();
+
+        // then
+        assertThat(firstDirectory.isDirectory(), is(true));
+        assertThat(firstDirectory.getParentFile(), is(temporaryFolder.getRoot()));
+        assertThat(secondDirectory.getParentFile(), is(temporaryFolder.getRoot()));
+        assertThat(firstDirectory, not(secondDirectory));
+    }
+
+    @Test
+    public void shouldDeleteSpilledFilesAndDirectory() throws IOException {
+        // given
+        SpillDirectory spillDirectory = new SpillDirectory("mockserver");
+        File spilledFile = File.createTempFile("mockserver-request-body-", ".tmp", spillDirectory.getDirectory());
+
+        // when
+        spillDirectory.delete();
+
+        // then
+        assertThat(spilledFile.exists(), is(false));
+        assertThat(temporaryFolder.getRoot().list().length, is(0));
+    }
+
+    @Test
+    public void shouldUseSpillDirectoryOfServerThatAcceptedChannel() {
+        // given
+        SpillDirectory spillDirectory = new SpillDirectory("mockserver");
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel();
+        embeddedChannel.attr(SpillDirectory.SPILL_DIRECTORY).set(spillDirectory);
+
+        // then
+        assertThat(SpillDirectory.spillDirectory(embeddedChannel), is(spillDirectory.getDirectory()));
+        assertThat(SpillDirectory.spillDirectory(new EmbeddedChannel()), is(temporaryFolder.getRoot()));
+    }
+}
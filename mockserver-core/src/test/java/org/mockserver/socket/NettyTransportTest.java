@@ -0,0 +1,125 @@
+package org.mockserver.socket;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.Errors;
+import org.junit.After;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author jamesdbloom
+ */
+public class NettyTransportTest {
+
+    @After
+    public void resetTransport() {
+        System.clearProperty("mockserver.nettyTransport");
+    }
+
+    @Test
+    public void shouldUseNioTransportWhenConfigured() {
+        // given
+        ConfigurationProperties.nettyTransport("nio");
+
+        // then
+        assertThat(NettyTransport.configured(), is(NettyTransport.NIO));
+    }
+
+    @Test
+    public void shouldUseEpollTransportOnlyWhenAvailable() {
+        // given
+        ConfigurationProperties.nettyTransport("epoll");
+
+        // then
+        assertThat(NettyTransport.configured(), is(Epoll.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO));
+    }
+
+    @Test
+    public void shouldReturnTransportOfChannel() {
+        // then
+        assertThat(NettyTransport.of(new NioSocketChannel()), is(NettyTransport.NIO));
+    }
+
+    @Test
+    public void shouldBindPortWithMultipleAcceptors() {
+        // given
+        NettyTransport transport = NettyTransport.configured();
+        EventLoopGroup eventLoopGroup = transport.eventLoopGroup(1, null);
+        try {
+            ServerBootstrap serverBootstrap = new ServerBootstrap()
+                    .group(eventLoopGroup)
+                    .channel(transport.serverSocketChannelClass())
+                    .childHandler(new ChannelInboundHandlerAdapter());
+
+            // when
+            Channel channel = transport.bind(serverBootstrap, 0, 2).syncUninterruptibly().channel();
+
+            // then
+            assertThat(((InetSocketAddress) channel.localAddress()).getPort(), greaterThan(0));
+            channel.close().syncUninterruptibly();
+        } finally {
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void shouldFailWithBindExceptionWhenPortInUse() throws Exception {
+        // given
+        NettyTransport transport = NettyTransport.configured();
+        EventLoopGroup eventLoopGroup = transport.eventLoopGroup(1, null);
+        ServerSocket serverSocket = new ServerSocket(0);
+        try {
+            ServerBootstrap serverBootstrap = new ServerBootstrap()
+                    .group(eventLoopGroup)
+                    .channel(transport.serverSocketChannelClass())
+                    .childHandler(new ChannelInboundHandlerAdapter());
+
+            // when
+            ChannelFuture bound = transport.bind(serverBootstrap, serverSocket.getLocalPort(), 1).awaitUninterruptibly();
+
+            // then
+            assertThat(bound.isSuccess(), is(false));
+            assertThat(bound.cause(), instanceOf(BindException.class));
+        } finally {
+            serverSocket.close();
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void shouldTranslateNativeAddressInUseToBindException() {
+        // given
+        Errors.NativeIoException nativeIoException = new Errors.NativeIoException("bind() failed: Address already in use", -98);
+
+        // when
+        Throwable translated = NettyTransport.toBindException(1080, nativeIoException);
+
+        // then
+        assertThat(translated, instanceOf(BindException.class));
+        assertThat(translated.getCause(), is((Throwable) nativeIoException));
+    }
+
+    @Test
+    public void shouldNotTranslateOtherBindFailures() {
+        // given
+        Errors.NativeIoException nativeIoException = new Errors.NativeIoException("bind() failed: Permission denied", -13);
+
+        // then
+        assertThat(NettyTransport.toBindException(80, nativeIoException), is((Throwable) nativeIoException));
+    }
+}
@@ -11,12 +11,14 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.emptyIterableOf;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.*;
 import static org.mockserver.model.HttpCallback.callback;
 import static org.mockserver.model.HttpError.error;
 import static org.mockserver.model.HttpForward.forward;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonSchemaBody.jsonSchema;
 
 public class ExpectationValidatorTest {
 
@@ -104,4 +106,28 @@ public class ExpectationValidatorTest {
         assertThat(valid, emptyIterableOf(String.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldValidateInvalidJsonSchema() {
+        // given
+        Expectation expectation = new Expectation(request().withBody(jsonSchema("illegal_json")), Times.once(), TimeToLive.unlimited()).thenRespond(response());
+
+        // when
+        List<String> valid = new ExpectationValidator().isValid(expectation);
+
+        // then
+        assertThat(valid, contains(startsWith("invalid json schema, Unrecognized token 'illegal_json'")));
+    }
+
+    @Test
+    public void shouldValidateNoErrorsWithValidJsonSchema() {
+        // given
+        Expectation expectation = new Expectation(request().withBody(jsonSchema("{ \"type\": \"object\" }")), Times.once(), TimeToLive.unlimited()).thenRespond(response());
+
+        // when
+        List<String> valid = new ExpectationValidator().isValid(expectation);
+
+        // then
+        assertThat(valid, emptyIterableOf(String.class));
+    }
+
+}
@@ -3,6 +3,7 @@ package org.mockserver.cli;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.configuration.IntegerStringListParser;
 import org.mockserver.mockserver.MockServerBuilder;
 import org.mockserver.proxy.ProxyBuilder;
@@ -11,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.PrintStream;
+import java.math.BigInteger;
 import java.util.*;
 
 /**
@@ -21,8 +23,11 @@ public class Main {
     public static final String PROXY_PORT_KEY = "proxyPort";
     public static final String PROXY_REMOTE_PORT_KEY = "proxyRemotePort";
     public static final String PROXY_REMOTE_HOST_KEY = "proxyRemoteHost";
+    public static final String BOSS_THREADS_KEY = "bossThreads";
+    public static final String WORKER_THREADS_KEY = "workerThreads";
+    public static final String ACTION_THREADS_KEY = "actionThreads";
     public static final String USAGE = "" +
-            "   java -jar <path to mockserver-jetty-jar-with-dependencies.jar> [-serverPort <port>] [-proxyPort <port>] [-proxyRemotePort <port>] [-proxyRemoteHost <hostname>]" + System.getProperty("line.separator") +
+            "   java -jar <path to mockserver-jetty-jar-with-dependencies.jar> [-serverPort <port>] [-proxyPort <port>] [-proxyRemotePort <port>] [-proxyRemoteHost <hostname>] [-bossThreads <count>] [-workerThreads <count>] [-actionThreads <count>]" + System.getProperty("line.separator") +
             "                                                                                       " + System.getProperty("line.separator") +
             "     valid options are:                                                                " + System.getProperty("line.separator") +
             "        -serverPort <port>           Specifies the HTTP and HTTPS port for the         " + System.getProperty("line.separator") +
@@ -48,10 +53,26 @@ public class Main {
             "                                     proxyRemotePort has been specified,               " + System.getProperty("line.separator") +
             "                                     proxyRemoteHost will default to \"localhost\".    " + System.getProperty("line.separator") +
             "                                                                                       " + System.getProperty("line.separator") +
+            "        -bossThreads <count>         Specifies the number of threads accepting         " + System.getProperty("line.separator") +
+            "                                     connections, if not provided twice the            " + System.getProperty("line.separator") +
+            "                                     number of processors is used.                     " + System.getProperty("line.separator") +
+            "                                                                                       " + System.getProperty("line.separator") +
+            "        -workerThreads <count>       Specifies the number of threads reading           " + System.getProperty("line.separator") +
+            "                                     and writing sockets, if not provided twice        " + System.getProperty("line.separator") +
+            "                                     the number of processors is used.                 " + System.getProperty("line.separator") +
+            "                                                                                       " + System.getProperty("line.separator") +
+            "        -actionThreads <count>       Specifies the number of threads matching          " + System.getProperty("line.separator") +
+            "                                     expectations and running actions, so slow         " + System.getProperty("line.separator") +
+            "                                     matching or callbacks never hold up reading       " + System.getProperty("line.separator") +
+            "                                     and writing sockets. If not provided              " + System.getProperty("line.separator") +
+            "                                     matching and actions run on the worker            " + System.getProperty("line.separator") +
+            "                                     threads.                                          " + System.getProperty("line.separator") +
+            "                                                                                       " + System.getProperty("line.separator") +
             "   i.e. java -jar ./mockserver-jetty-jar-with-dependencies.jar -serverPort 1080 -proxyPort 1090 -proxyRemotePort 80 -proxyRemoteHost www.mock-server.com" + System.getProperty("line.separator") +
             "                                                                                       " + System.getProperty("line.separator");
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+    private static final int MAXIMUM_THREAD_COUNT = 10000;
     private static final IntegerStringListParser INTEGER_STRING_LIST_PARSER = new IntegerStringListParser();
     @VisibleForTesting
     static ProxyBuilder httpProxyBuilder = new ProxyBuilder();
@@ -73,7 +94,10 @@ public class Main {
      *                  - "-serverPort"       followed by the server          port if not provided the MockServer is not started,
      *                  - "-proxyPort"        followed by the proxy           port if not provided the Proxy is not started,
      *                  - "-proxyRemotePort"  followed by the proxyRemotePort port,
-     *                  - "-proxyRemoteHost"  followed by the proxyRemoteHost port
+     *                  - "-proxyRemoteHost"  followed by the proxyRemoteHost port,
+     *                  - "-bossThreads"      followed by the number of threads accepting connections,
+     *                  - "-workerThreads"    followed by the number of threads reading and writing sockets,
+     *                  - "-actionThreads"    followed by the number of threads matching expectations and running actions
      */
     public static void main(String... arguments) {
         usagePrinted = false;
@@ -86,6 +110,15 @@ public class Main {
         }
 
         if (parsedArguments.size() > 0 && validateArguments(parsedArguments)) {
+            if (parsedArguments.containsKey(BOSS_THREADS_KEY)) {
+                ConfigurationProperties.bossThreadCount(Integer.parseInt(parsedArguments.get(BOSS_THREADS_KEY)));
+            }
+            if (parsedArguments.containsKey(WORKER_THREADS_KEY)) {
+                ConfigurationProperties.workerThreadCount(Integer.parseInt(parsedArguments.get(WORKER_THREADS_KEY)));
+            }
+            if (parsedArguments.containsKey(ACTION_THREADS_KEY)) {
+                ConfigurationProperties.actionHandlerThreadCount(Integer.parseInt(parsedArguments.get(ACTION_THREADS_KEY)));
+            }
             if (parsedArguments.containsKey(SERVER_PORT_KEY)) {
                 mockServerBuilder.withStopEventQueue(stopEventQueue).withHTTPPort(INTEGER_STRING_LIST_PARSER.toArray(parsedArguments.get(SERVER_PORT_KEY))).build();
             }
@@ -111,6 +144,9 @@ public class Main {
         validatePortArgument(parsedArguments, PROXY_PORT_KEY, errorMessages);
         validatePortArgument(parsedArguments, PROXY_REMOTE_PORT_KEY, errorMessages);
         validateHostnameArgument(parsedArguments, PROXY_REMOTE_HOST_KEY, errorMessages);
+        validateThreadCountArgument(parsedArguments, BOSS_THREADS_KEY, errorMessages);
+        validateThreadCountArgument(parsedArguments, WORKER_THREADS_KEY, errorMessages);
+        validateThreadCountArgument(parsedArguments, ACTION_THREADS_KEY, errorMessages);
 
         if (!errorMessages.isEmpty()) {
             int maxLengthMessage = 0;
@@ -141,6 +177,16 @@ public class Main {
         }
     }
 
+    private static void validateThreadCountArgument(Map<String, String> parsedArguments, String argumentKey, List<String> errorMessages) {
+        if (parsedArguments.containsKey(argumentKey)) {
+            if (!parsedArguments.get(argumentKey).matches("^\\d+$")) {
+                errorMessages.add(argumentKey + " value \"" + parsedArguments.get(argumentKey) + "\" is invalid, please specify a number of threads i.e. \"4\"");
+            } else if (new BigInteger(parsedArguments.get(argumentKey)).compareTo(BigInteger.valueOf(MAXIMUM_THREAD_COUNT)) > 0) {
+                errorMessages.add(argumentKey + " value \"" + parsedArguments.get(argumentKey) + "\" is invalid, please specify a number of threads no greater than " + MAXIMUM_THREAD_COUNT);
+            }
+        }
+    }
+
     private static void validateHostnameArgument(Map<String, String> parsedArguments, String argumentKey, List<String> errorMessages) {
         String validIpAddressRegex = "^(([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.){3}([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])$";
         String validHostnameRegex = "^(([a-zA-Z0-9]|[a-zA-Z0-9][a-zA-Z0-9\\-]*[a-zA-Z0-9])\\.)*([A-Za-z0-9]|[A-Za-z0-9][A-Za-z0-9\\-]*[A-Za-z0-9])$";
@@ -156,9 +202,12 @@ public class Main {
             String argumentName = argumentsIterator.next();
             if (argumentsIterator.hasNext()) {
                 String argumentValue = argumentsIterator.next();
-                if (!parsePort(parsedArguments, SERVER_PORT_KEY, argumentName, argumentValue)
-                        && !parsePort(parsedArguments, PROXY_PORT_KEY, argumentName, argumentValue)
-                        && !parsePort(parsedArguments, PROXY_REMOTE_PORT_KEY, argumentName, argumentValue)
+                if (!parseArgument(parsedArguments, SERVER_PORT_KEY, argumentName, argumentValue)
+                        && !parseArgument(parsedArguments, PROXY_PORT_KEY, argumentName, argumentValue)
+                        && !parseArgument(parsedArguments, PROXY_REMOTE_PORT_KEY, argumentName, argumentValue)
+                        && !parseArgument(parsedArguments, BOSS_THREADS_KEY, argumentName, argumentValue)
+                        && !parseArgument(parsedArguments, WORKER_THREADS_KEY, argumentName, argumentValue)
+                        && !parseArgument(parsedArguments, ACTION_THREADS_KEY, argumentName, argumentValue)
                         && !("-" + PROXY_REMOTE_HOST_KEY).equalsIgnoreCase(argumentName)) {
                     showUsage();
                     break;
@@ -174,7 +223,7 @@ public class Main {
         return parsedArguments;
     }
 
-    private static boolean parsePort(Map<String, String> parsedArguments, final String key, final String argumentName, final String argumentValue) {
+    private static boolean parseArgument(Map<String, String> parsedArguments, final String key, final String argumentName, final String argumentValue) {
         if (argumentName.equals("-" + key)) {
             parsedArguments.put(key, argumentValue);
             return true;
@@ -1,5 +1,6 @@
 package org.mockserver.codec;
 
+import com.google.common.net.MediaType;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import io.netty.handler.codec.http.FullHttpRequest;
@@ -9,10 +10,12 @@ import io.netty.handler.codec.http.cookie.*;
 import org.mockserver.mappers.ContentTypeMapper;
 import org.mockserver.model.*;
 import org.mockserver.model.Cookie;
+import org.mockserver.server.unification.SpilledFullHttpRequest;
 import org.mockserver.url.URLParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Set;
@@ -70,18 +73,38 @@ public class MockServerRequestDecoder extends MessageToMessageDecoder<FullHttpRe
     }
 
     private void setBody(HttpRequest httpRequest, FullHttpRequest fullHttpRequest) {
-        if (fullHttpRequest.content() != null && fullHttpRequest.content().readableBytes() > 0) {
-            byte[] bodyBytes = new byte[fullHttpRequest.content().readableBytes()];
-            fullHttpRequest.content().readBytes(bodyBytes);
-            if (bodyBytes.length > 0) {
-                if (ContentTypeMapper.isBinary(fullHttpRequest.headers().get(HttpHeaders.Names.CONTENT_TYPE))) {
-                    httpRequest.withBody(new BinaryBody(bodyBytes));
-                } else {
-                    Charset requestCharset = determineCharsetForMessage(fullHttpRequest);
-                    httpRequest.withBody(new StringBody(new String(bodyBytes, requestCharset), DEFAULT_HTTP_CHARACTER_SET.equals(requestCharset) ? null : requestCharset));
-                }
+        if (fullHttpRequest instanceof SpilledFullHttpRequest) {
+            // refer to the spilled file rather than copying the body onto the heap
+            File file = ((SpilledFullHttpRequest) fullHttpRequest).getFile();
+            if (ContentTypeMapper.isBinary(fullHttpRequest.headers().get(HttpHeaders.Names.CONTENT_TYPE))) {
+                httpRequest.withBody(SpilledBody.deleteWhenUnreferenced(file, fullHttpRequest.content().readableBytes(), parseContentType(fullHttpRequest)));
+            } else {
+                Charset requestCharset = determineCharsetForMessage(fullHttpRequest);
+                httpRequest.withBody(SpilledStringBody.deleteWhenUnreferenced(file, fullHttpRequest.content().readableBytes(), DEFAULT_HTTP_CHARACTER_SET.equals(requestCharset) ? null : requestCharset));
+            }
+        } else if (fullHttpRequest.content() != null && fullHttpRequest.content().readableBytes() > 0) {
+            if (ContentTypeMapper.isBinary(fullHttpRequest.headers().get(HttpHeaders.Names.CONTENT_TYPE))) {
+                byte[] bodyBytes = new byte[fullHttpRequest.content().readableBytes()];
+                fullHttpRequest.content().readBytes(bodyBytes);
+                httpRequest.withBody(new BinaryBody(bodyBytes));
+            } else {
+                // decode directly from the buffer to avoid an intermediate copy of the body
+                Charset requestCharset = determineCharsetForMessage(fullHttpRequest);
+                httpRequest.withBody(new StringBody(fullHttpRequest.content().toString(requestCharset), DEFAULT_HTTP_CHARACTER_SET.equals(requestCharset) ? null : requestCharset));
+            }
+        }
+    }
+
+    private MediaType parseContentType(FullHttpRequest fullHttpRequest) {
+        String contentType = fullHttpRequest.headers().get(HttpHeaders.Names.CONTENT_TYPE);
+        if (contentType != null) {
+            try {
+                return MediaType.parse(contentType);
+            } catch (IllegalArgumentException iae) {
+                logger.debug("Ignoring invalid content type [" + contentType + "] of spilled request body", iae);
             }
         }
+        return null;
     }
 
     private void setHeaders(HttpRequest httpRequest, FullHttpRequest fullHttpResponse) {
@@ -0,0 +1,54 @@
+package org.mockserver.mockserver;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.mockserver.server.ReadPause;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stops reading from the channel while the executor the following handlers are bound to has reached the maximum
+ * number of pending tasks, reading resumes once that executor has run every task queued before the limit was reached
+ *
+ * The pause is a ReadPause hold so it never resumes reading that a delayed or forwarded response still needs paused,
+ * and a response being written never resumes reading while the executor is still saturated
+ *
+ * @author jamesdbloom
+ */
+public class ExecutorBackpressureHandler extends ChannelInboundHandlerAdapter {
+
+    private final EventExecutor executor;
+    private final int maxPendingTasks;
+    private final AtomicBoolean paused = new AtomicBoolean();
+
+    public ExecutorBackpressureHandler(EventExecutor executor, int maxPendingTasks) {
+        this.executor = executor;
+        this.maxPendingTasks = maxPendingTasks;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, Object msg) throws Exception {
+        ctx.fireChannelRead(msg);
+        if (pendingTasks() >= maxPendingTasks && paused.compareAndSet(false, true)) {
+            final ReadPause readPause = ReadPause.readPause(ctx.channel());
+            readPause.pause();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    paused.set(false);
+                    readPause.resume();
+                }
+            });
+        }
+    }
+
+    private int pendingTasks() {
+        if (executor instanceof SingleThreadEventExecutor) {
+            return ((SingleThreadEventExecutor) executor).pendingTasks();
+        } else {
+            return 0;
+        }
+    }
+}
@@ -4,11 +4,15 @@ import com.google.common.util.concurrent.SettableFuture;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.filters.RequestLogFilter;
 import org.mockserver.mock.MockServerMatcher;
+import org.mockserver.server.unification.SpillDirectory;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.stop.StopEventQueue;
 import org.mockserver.stop.Stoppable;
 import org.slf4j.Logger;
@@ -31,10 +35,13 @@ public class MockServer implements Stoppable {
     // mockserver
     private final MockServerMatcher mockServerMatcher = new MockServerMatcher();
     private final RequestLogFilter requestLogFilter = new RequestLogFilter();
+    private final SpillDirectory spillDirectory = new SpillDirectory("mockserver");
     private final List<Future<Channel>> channelOpenedFutures = new ArrayList<Future<Channel>>();
     // netty
-    private final EventLoopGroup bossGroup = new NioEventLoopGroup();
-    private final EventLoopGroup workerGroup = new NioEventLoopGroup();
+    private final NettyTransport transport = NettyTransport.configured();
+    private final EventLoopGroup bossGroup = transport.eventLoopGroup(ConfigurationProperties.bossThreadCount(), null);
+    private final EventLoopGroup workerGroup = transport.eventLoopGroup(ConfigurationProperties.workerThreadCount(), null);
+    private final EventExecutorGroup actionHandlerGroup = ConfigurationProperties.actionHandlerThreadCount() > 0 ? new DefaultEventExecutorGroup(ConfigurationProperties.actionHandlerThreadCount(), new DefaultThreadFactory("mockserver-action-handler")) : null;
     private final ServerBootstrap serverBootstrap;
     private StopEventQueue stopEventQueue = new StopEventQueue();
 
@@ -51,13 +58,14 @@ public class MockServer implements Stoppable {
         serverBootstrap = new ServerBootstrap()
                 .group(bossGroup, workerGroup)
                 .option(ChannelOption.SO_BACKLOG, 1024)
-                .channel(NioServerSocketChannel.class)
+                .channel(transport.serverSocketChannelClass())
                 .childOption(ChannelOption.AUTO_READ, true)
                 .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, 32 * 1024)
                 .childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, 8 * 1024)
-                .childHandler(new MockServerInitializer(mockServerMatcher, MockServer.this))
-                .childAttr(LOG_FILTER, requestLogFilter);
+                .childHandler(new MockServerInitializer(mockServerMatcher, MockServer.this, actionHandlerGroup))
+                .childAttr(LOG_FILTER, requestLogFilter)
+                .childAttr(SpillDirectory.SPILL_DIRECTORY, spillDirectory);
 
         bindToPorts(Arrays.asList(requestedPortBindings));
 
@@ -65,6 +73,7 @@ public class MockServer implements Stoppable {
             public void run() {
                 bossGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
                 workerGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
+                shutdownActionHandlerGroup();
             }
         }));
     }
@@ -81,8 +90,8 @@ public class MockServer implements Stoppable {
                         try {
 
                             Channel channel =
-                                    serverBootstrap
-                                            .bind(port)
+                                    transport
+                                            .bind(serverBootstrap, port, ConfigurationProperties.acceptorsPerPort())
                                             .addListener(new ChannelFutureListener() {
                                                 @Override
                                                 public void operationComplete(ChannelFuture future) throws Exception {
@@ -119,7 +128,10 @@ public class MockServer implements Stoppable {
             }
             bossGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
             workerGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
+            shutdownActionHandlerGroup();
             stopEventQueue.stop();
+            requestLogFilter.close();
+            spillDirectory.delete();
             // wait for socket to be released
             TimeUnit.MILLISECONDS.sleep(500);
         } catch (Exception ie) {
@@ -127,6 +139,12 @@ public class MockServer implements Stoppable {
         }
     }
 
+    private void shutdownActionHandlerGroup() {
+        if (actionHandlerGroup != null) {
+            actionHandlerGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
+        }
+    }
+
     public MockServer withStopEventQueue(StopEventQueue stopEventQueue) {
         this.stopEventQueue = stopEventQueue;
         this.stopEventQueue.register(this);
@@ -3,7 +3,11 @@ package org.mockserver.mockserver;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
 import com.google.common.net.MediaType;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -28,6 +32,7 @@ import org.slf4j.LoggerFactory;
 
 import java.net.BindException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static io.netty.handler.codec.http.HttpHeaders.Names.CONNECTION;
 import static io.netty.handler.codec.http.HttpHeaders.Names.CONTENT_TYPE;
@@ -37,6 +42,7 @@ import static org.mockserver.model.Header.header;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.PortBinding.portBinding;
+import static org.mockserver.server.ResponseSequencer.responseSequencer;
 
 @ChannelHandler.Sharable
 public class MockServerHandler extends SimpleChannelInboundHandler<HttpRequest> {
@@ -65,8 +71,9 @@ public class MockServerHandler extends SimpleChannelInboundHandler<HttpRequest>
     }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext ctx, HttpRequest request) {
+    protected void channelRead0(final ChannelHandlerContext ctx, final HttpRequest request) {
 
+        responseSequencer(ctx.channel()).received(request);
         try {
             if (enableCORS() && request.getMethod().getValue().equals("OPTIONS") && !request.getFirstHeader("Origin").isEmpty()) {
 
@@ -152,6 +159,20 @@ public class MockServerHandler extends SimpleChannelInboundHandler<HttpRequest>
                     writeResponse(ctx, request, HttpResponseStatus.NOT_ACCEPTABLE, result, MediaType.create("text", "plain").toString());
                 }
 
+            } else if (request.matches("PUT", "/registerVerification")) {
+
+                org.mockserver.model.HttpRequest httpRequest = httpRequestSerializer.deserialize(request.getBodyAsString());
+                requestLogFilter.registerVerification(httpRequest);
+                logFormatter.infoLog("registering verification for:{}", httpRequest);
+                writeResponse(ctx, request, HttpResponseStatus.ACCEPTED);
+
+            } else if (request.matches("PUT", "/unregisterVerification")) {
+
+                org.mockserver.model.HttpRequest httpRequest = httpRequestSerializer.deserialize(request.getBodyAsString());
+                requestLogFilter.unregisterVerification(httpRequest);
+                logFormatter.infoLog("unregistering verification for:{}", httpRequest);
+                writeResponse(ctx, request, HttpResponseStatus.ACCEPTED);
+
             } else if (request.matches("PUT", "/verifySequence")) {
 
                 VerificationSequence verificationSequence = verificationSequenceSerializer.deserialize(request.getBodyAsString());
@@ -174,21 +195,27 @@ public class MockServerHandler extends SimpleChannelInboundHandler<HttpRequest>
 
                 Action handle = mockServerMatcher.handle(request);
                 if (handle instanceof HttpError) {
-                    HttpError httpError = ((HttpError) handle).applyDelay();
-                    if (httpError.getResponseBytes() != null) {
-                        // write byte directly by skipping over HTTP codec
-                        ChannelHandlerContext httpCodecContext = ctx.pipeline().context(HttpServerCodec.class);
-                        if (httpCodecContext != null) {
-                            httpCodecContext.writeAndFlush(Unpooled.wrappedBuffer(httpError.getResponseBytes())).awaitUninterruptibly();
+                    final HttpError httpError = (HttpError) handle;
+                    writeAfterDelay(ctx, httpError.getDelay(), new Runnable() {
+                        @Override
+                        public void run() {
+                            writeError(ctx, request, httpError);
                         }
-                    }
-                    if (httpError.getDropConnection()) {
-                        ctx.close();
-                    }
+                    });
                 } else {
-                    HttpResponse response = actionHandler.processAction(handle, request);
-                    logFormatter.infoLog("returning response:{}" + System.getProperty("line.separator") + " for request:{}", response, request);
-                    writeResponse(ctx, request, response);
+                    ListenableFuture<HttpResponse> responseFuture = actionHandler.processAction(handle, request);
+                    if (responseFuture.isDone()) {
+                        final HttpResponse response = responseFuture.get();
+                        logFormatter.infoLog("returning response:{}" + System.getProperty("line.separator") + " for request:{}", response, request);
+                        writeAfterDelay(ctx, handle instanceof HttpResponse ? ((HttpResponse) handle).getDelay() : null, new Runnable() {
+                            @Override
+                            public void run() {
+                                writeResponse(ctx, request, response);
+                            }
+                        });
+                    } else {
+                        writeWhenComplete(ctx, request, responseFuture);
+                    }
                 }
 
             }
@@ -199,6 +226,90 @@ public class MockServerHandler extends SimpleChannelInboundHandler<HttpRequest>
 
     }
 
+    /**
+     * Delayed responses are written by a timer on the handler's executor so a delay never blocks it, responses to
+     * requests received after the delayed request are held by the ResponseSequencer until the delayed response is written
+     */
+    private void writeAfterDelay(final ChannelHandlerContext ctx, Delay delay, final Runnable write) {
+        long delayNanos = delay != null && delay.getTimeUnit() != null ? delay.getTimeUnit().toNanos(delay.getValue()) : 0;
+        if (delayNanos > 0) {
+            responseSequencer(ctx.channel()).pauseReadingUntilWritten();
+            ctx.executor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        write.run();
+                        ctx.flush();
+                    } catch (Exception e) {
+                        logger.error("Exception writing delayed response", e);
+                        ctx.close();
+                    }
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } else {
+            write.run();
+        }
+    }
+
+    /**
+     * Forwarded responses complete on the http client's event loop and are written on the handler's executor, responses
+     * to requests received after the forwarded request are held by the ResponseSequencer until it is written
+     */
+    private void writeWhenComplete(final ChannelHandlerContext ctx, final HttpRequest request, ListenableFuture<HttpResponse> responseFuture) {
+        responseSequencer(ctx.channel()).pauseReadingUntilWritten();
+        Futures.addCallback(responseFuture, new FutureCallback<HttpResponse>() {
+            @Override
+            public void onSuccess(HttpResponse response) {
+                try {
+                    logFormatter.infoLog("returning response:{}" + System.getProperty("line.separator") + " for request:{}", response, request);
+                    writeResponse(ctx, request, response);
+                } catch (Exception e) {
+                    logger.error("Exception processing " + request, e);
+                    writeResponse(ctx, request, HttpResponseStatus.BAD_REQUEST);
+                } finally {
+                    ctx.flush();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                try {
+                    logger.error("Exception processing " + request, t);
+                    writeResponse(ctx, request, HttpResponseStatus.BAD_REQUEST);
+                } finally {
+                    ctx.flush();
+                }
+            }
+        }, ctx.executor());
+    }
+
+    private void writeError(final ChannelHandlerContext ctx, HttpRequest request, final HttpError httpError) {
+        responseSequencer(ctx.channel()).write(request, new Runnable() {
+            @Override
+            public void run() {
+                writeError(ctx, httpError);
+            }
+        });
+    }
+
+    private void writeError(ChannelHandlerContext ctx, HttpError httpError) {
+        ChannelFuture written = null;
+        if (httpError.getResponseBytes() != null) {
+            // write byte directly by skipping over HTTP codec
+            ChannelHandlerContext httpCodecContext = ctx.pipeline().context(HttpServerCodec.class);
+            if (httpCodecContext != null) {
+                written = httpCodecContext.writeAndFlush(Unpooled.wrappedBuffer(httpError.getResponseBytes()));
+            }
+        }
+        if (httpError.getDropConnection()) {
+            if (written != null) {
+                written.addListener(ChannelFutureListener.CLOSE);
+            } else {
+                ctx.close();
+            }
+        }
+    }
+
     private void writeResponse(ChannelHandlerContext ctx, HttpRequest request, HttpResponseStatus responseStatus) {
         writeResponse(ctx, request, responseStatus, "", "application/json");
     }
@@ -246,7 +357,16 @@ public class MockServerHandler extends SimpleChannelInboundHandler<HttpRequest>
         }
     }
 
-    private void writeAndCloseSocket(ChannelHandlerContext ctx, HttpRequest request, HttpResponse response) {
+    private void writeAndCloseSocket(final ChannelHandlerContext ctx, final HttpRequest request, final HttpResponse response) {
+        responseSequencer(ctx.channel()).write(request, new Runnable() {
+            @Override
+            public void run() {
+                writeAndCloseSocketInOrder(ctx, request, response);
+            }
+        });
+    }
+
+    private void writeAndCloseSocketInOrder(ChannelHandlerContext ctx, HttpRequest request, HttpResponse response) {
         boolean closeChannel;
 
         ConnectionOptions connectionOptions = response.getConnectionOptions();
@@ -2,7 +2,10 @@ package org.mockserver.mockserver;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
 import org.mockserver.codec.MockServerServerCodec;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.LoggingHandler;
 import org.mockserver.mock.MockServerMatcher;
 import org.mockserver.server.unification.PortUnificationHandler;
@@ -14,10 +17,20 @@ public class MockServerInitializer extends PortUnificationHandler {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final MockServerMatcher mockServerMatcher;
     private final MockServer mockServer;
+    private final EventExecutorGroup actionHandlerGroup;
 
     public MockServerInitializer(MockServerMatcher mockServerMatcher, MockServer mockServer) {
+        this(mockServerMatcher, mockServer, null);
+    }
+
+    /**
+     * @param actionHandlerGroup the group MockServerHandler is bound to so matching and actions run off the worker
+     *                           threads, or null to run MockServerHandler on the worker threads
+     */
+    public MockServerInitializer(MockServerMatcher mockServerMatcher, MockServer mockServer, EventExecutorGroup actionHandlerGroup) {
         this.mockServerMatcher = mockServerMatcher;
         this.mockServer = mockServer;
+        this.actionHandlerGroup = actionHandlerGroup;
     }
 
     @Override
@@ -34,6 +47,13 @@ public class MockServerInitializer extends PortUnificationHandler {
         pipeline.addLast(new MockServerServerCodec(isSecure));
 
         // add mock server handlers
-        pipeline.addLast(new MockServerHandler(mockServer, mockServerMatcher, ctx.channel().attr(MockServer.LOG_FILTER).get()));
+        MockServerHandler mockServerHandler = new MockServerHandler(mockServer, mockServerMatcher, ctx.channel().attr(MockServer.LOG_FILTER).get());
+        if (actionHandlerGroup != null) {
+            EventExecutor actionHandlerExecutor = actionHandlerGroup.next();
+            pipeline.addLast(new ExecutorBackpressureHandler(actionHandlerExecutor, ConfigurationProperties.actionHandlerMaxPendingTasks()));
+            pipeline.addLast(actionHandlerExecutor, mockServerHandler);
+        } else {
+            pipeline.addLast(mockServerHandler);
+        }
     }
 }
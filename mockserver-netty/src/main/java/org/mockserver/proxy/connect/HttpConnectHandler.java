@@ -8,6 +8,8 @@ import io.netty.handler.ssl.SslHandler;
 import org.mockserver.codec.MockServerServerCodec;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.proxy.relay.RelayConnectHandler;
+import org.mockserver.server.unification.HttpRequestBodySizeLimiter;
+import org.mockserver.server.unification.HttpRequestBodySpiller;
 
 import static org.mockserver.model.HttpResponse.response;
 
@@ -18,7 +20,9 @@ public final class HttpConnectHandler extends RelayConnectHandler<HttpRequest> {
         ChannelPipeline pipeline = ctx.pipeline();
         removeHandler(pipeline, SslHandler.class);
         removeHandler(pipeline, HttpServerCodec.class);
+        removeHandler(pipeline, HttpRequestBodySizeLimiter.class);
         removeHandler(pipeline, HttpContentDecompressor.class);
+        removeHandler(pipeline, HttpRequestBodySpiller.class);
         removeHandler(pipeline, HttpObjectAggregator.class);
         removeHandler(pipeline, MockServerServerCodec.class);
         pipeline.remove(this);
@@ -6,11 +6,12 @@ import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.filters.RequestLogFilter;
 import org.mockserver.filters.RequestResponseLogFilter;
 import org.mockserver.proxy.Proxy;
+import org.mockserver.server.unification.SpillDirectory;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.stop.StopEventQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,10 +32,12 @@ public class DirectProxy implements Proxy {
     // proxy
     private final RequestLogFilter requestLogFilter = new RequestLogFilter();
     private final RequestResponseLogFilter requestResponseLogFilter = new RequestResponseLogFilter();
+    private final SpillDirectory spillDirectory = new SpillDirectory("mockserver-proxy");
     private final SettableFuture<String> hasStarted;
     // netty
-    private final EventLoopGroup bossGroup = new NioEventLoopGroup();
-    private final EventLoopGroup workerGroup = new NioEventLoopGroup();
+    private final NettyTransport transport = NettyTransport.configured();
+    private final EventLoopGroup bossGroup = transport.eventLoopGroup(ConfigurationProperties.bossThreadCount(), null);
+    private final EventLoopGroup workerGroup = transport.eventLoopGroup(ConfigurationProperties.workerThreadCount(), null);
     private StopEventQueue stopEventQueue = new StopEventQueue();
     private Channel channel;
     // remote socket
@@ -66,10 +69,10 @@ public class DirectProxy implements Proxy {
             public void run() {
                 try {
                     remoteSocket = new InetSocketAddress(remoteHost, remotePort);
-                    channel = new ServerBootstrap()
+                    channel = transport.bind(new ServerBootstrap()
                             .group(bossGroup, workerGroup)
                             .option(ChannelOption.SO_BACKLOG, 1024)
-                            .channel(NioServerSocketChannel.class)
+                            .channel(transport.serverSocketChannelClass())
                             .childOption(ChannelOption.AUTO_READ, true)
                             .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                             .childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, 32 * 1024)
@@ -79,7 +82,7 @@ public class DirectProxy implements Proxy {
                             .childAttr(REMOTE_SOCKET, remoteSocket)
                             .childAttr(REQUEST_LOG_FILTER, requestLogFilter)
                             .childAttr(REQUEST_RESPONSE_LOG_FILTER, requestResponseLogFilter)
-                            .bind(localPort)
+                            .childAttr(SpillDirectory.SPILL_DIRECTORY, spillDirectory), localPort, ConfigurationProperties.acceptorsPerPort())
                             .sync()
                             .channel();
 
@@ -109,6 +112,9 @@ public class DirectProxy implements Proxy {
             bossGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
             workerGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
             stopEventQueue.stop();
+            requestLogFilter.close();
+            requestResponseLogFilter.close();
+            spillDirectory.delete();
             channel.close();
             // wait for socket to be released
             TimeUnit.MILLISECONDS.sleep(500);
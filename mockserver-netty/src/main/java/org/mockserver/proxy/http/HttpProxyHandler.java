@@ -1,6 +1,8 @@
 package org.mockserver.proxy.http;
 
 import com.google.common.net.MediaType;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import io.netty.channel.*;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -39,6 +41,7 @@ import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.OutboundHttpRequest.outboundRequest;
 import static org.mockserver.proxy.error.Logging.shouldIgnoreException;
+import static org.mockserver.server.ResponseSequencer.responseSequencer;
 
 @ChannelHandler.Sharable
 public class HttpProxyHandler extends SimpleChannelInboundHandler<HttpRequest> {
@@ -74,6 +77,7 @@ public class HttpProxyHandler extends SimpleChannelInboundHandler<HttpRequest> {
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, HttpRequest request) {
 
+        responseSequencer(ctx.channel()).received(request);
         try {
 
             logFormatter.traceLog("received request:{}" + System.getProperty("line.separator"), request);
@@ -86,6 +90,7 @@ public class HttpProxyHandler extends SimpleChannelInboundHandler<HttpRequest> {
                 SSLFactory.addSubjectAlternativeName(request.getPath().getValue());
                 ctx.pipeline().addLast(new HttpConnectHandler());
                 ctx.pipeline().remove(this);
+                responseSequencer(ctx.channel()).skip(request);
                 ctx.fireChannelRead(request);
 
             } else if (request.matches("PUT", "/status")) {
@@ -126,6 +131,20 @@ public class HttpProxyHandler extends SimpleChannelInboundHandler<HttpRequest> {
                     writeResponse(ctx, request, HttpResponseStatus.NOT_ACCEPTABLE, result, MediaType.create("text", "plain").toString());
                 }
 
+            } else if (request.matches("PUT", "/registerVerification")) {
+
+                org.mockserver.model.HttpRequest httpRequest = httpRequestSerializer.deserialize(request.getBodyAsString());
+                requestLogFilter.registerVerification(httpRequest);
+                logFormatter.infoLog("registering verification for:{}", httpRequest);
+                writeResponse(ctx, request, HttpResponseStatus.ACCEPTED);
+
+            } else if (request.matches("PUT", "/unregisterVerification")) {
+
+                org.mockserver.model.HttpRequest httpRequest = httpRequestSerializer.deserialize(request.getBodyAsString());
+                requestLogFilter.unregisterVerification(httpRequest);
+                logFormatter.infoLog("unregistering verification for:{}", httpRequest);
+                writeResponse(ctx, request, HttpResponseStatus.ACCEPTED);
+
             } else if (request.matches("PUT", "/verifySequence")) {
 
                 VerificationSequence verificationSequence = verificationSequenceSerializer.deserialize(request.getBodyAsString());
@@ -150,14 +169,7 @@ public class HttpProxyHandler extends SimpleChannelInboundHandler<HttpRequest> {
 
                 // allow for filter to set request to null
                 if (outboundHttpRequest != null) {
-                    HttpResponse response = sendRequest(outboundHttpRequest);
-                    logFormatter.infoLog(
-                            "returning response:{}" + System.getProperty("line.separator") + " for request as json:{}" + System.getProperty("line.separator") + " as curl:{}",
-                            response,
-                            request,
-                            outboundRequestToCurlSerializer.toCurl(outboundHttpRequest)
-                    );
-                    writeResponse(ctx, request, response);
+                    sendRequest(ctx, request, outboundHttpRequest);
                 } else {
                     writeResponse(ctx, request, notFoundResponse());
                 }
@@ -170,13 +182,46 @@ public class HttpProxyHandler extends SimpleChannelInboundHandler<HttpRequest> {
 
     }
 
-    private HttpResponse sendRequest(OutboundHttpRequest outboundHttpRequest) {
-        HttpResponse httpResponse = filters.applyOnResponseFilters(outboundHttpRequest, httpClient.sendRequest(outboundHttpRequest, onwardSslStatusUnknown));
-        // allow for filter to set response to null
-        if (httpResponse == null) {
-            httpResponse = notFoundResponse();
-        }
-        return httpResponse;
+    /**
+     * The response is written when it is received without blocking the event loop, responses to requests received
+     * after this request are held by the ResponseSequencer until it is written
+     */
+    private void sendRequest(final ChannelHandlerContext ctx, final HttpRequest request, final OutboundHttpRequest outboundHttpRequest) {
+        responseSequencer(ctx.channel()).pauseReadingUntilWritten();
+        Futures.addCallback(httpClient.sendRequestAsync(outboundHttpRequest, onwardSslStatusUnknown), new FutureCallback<HttpResponse>() {
+            @Override
+            public void onSuccess(HttpResponse httpResponse) {
+                try {
+                    HttpResponse response = filters.applyOnResponseFilters(outboundHttpRequest, httpResponse);
+                    // allow for filter to set response to null
+                    if (response == null) {
+                        response = notFoundResponse();
+                    }
+                    logFormatter.infoLog(
+                            "returning response:{}" + System.getProperty("line.separator") + " for request as json:{}" + System.getProperty("line.separator") + " as curl:{}",
+                            response,
+                            request,
+                            outboundRequestToCurlSerializer.toCurl(outboundHttpRequest)
+                    );
+                    writeResponse(ctx, request, response);
+                } catch (Exception e) {
+                    logger.error("Exception processing " + request, e);
+                    writeResponse(ctx, request, HttpResponseStatus.BAD_REQUEST);
+                } finally {
+                    ctx.flush();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                try {
+                    logger.error("Exception processing " + request, t);
+                    writeResponse(ctx, request, HttpResponseStatus.BAD_REQUEST);
+                } finally {
+                    ctx.flush();
+                }
+            }
+        }, ctx.executor());
     }
 
     private void writeResponse(ChannelHandlerContext ctx, HttpRequest request, HttpResponseStatus responseStatus) {
@@ -192,7 +237,16 @@ public class HttpProxyHandler extends SimpleChannelInboundHandler<HttpRequest> {
         );
     }
 
-    private void writeResponse(ChannelHandlerContext ctx, HttpRequest request, HttpResponse response) {
+    private void writeResponse(final ChannelHandlerContext ctx, final HttpRequest request, final HttpResponse response) {
+        responseSequencer(ctx.channel()).write(request, new Runnable() {
+            @Override
+            public void run() {
+                writeResponseInOrder(ctx, request, response);
+            }
+        });
+    }
+
+    private void writeResponseInOrder(ChannelHandlerContext ctx, HttpRequest request, HttpResponse response) {
         if (request.isKeepAlive() != null && request.isKeepAlive()) {
             response.updateHeader(header(CONNECTION, HttpHeaders.Values.KEEP_ALIVE));
             ctx.write(response);
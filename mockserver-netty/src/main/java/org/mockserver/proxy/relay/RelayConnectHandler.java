@@ -4,7 +4,6 @@ import com.google.common.annotations.VisibleForTesting;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -13,6 +12,7 @@ import io.netty.handler.ssl.SslHandler;
 import org.mockserver.logging.LoggingHandler;
 import org.mockserver.proxy.http.HttpProxy;
 import org.mockserver.proxy.unification.PortUnificationHandler;
+import org.mockserver.socket.NettyTransport;
 import org.mockserver.socket.SSLFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,7 +30,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
     public void channelRead0(final ChannelHandlerContext serverCtx, final T request) throws Exception {
         Bootstrap bootstrap = new Bootstrap()
                 .group(serverCtx.channel().eventLoop())
-                .channel(NioSocketChannel.class)
+                .channel(NettyTransport.of(serverCtx.channel()).socketChannelClass())
                 .handler(new ChannelInboundHandlerAdapter() {
                     @Override
                     public void channelActive(final ChannelHandlerContext clientCtx) throws Exception {
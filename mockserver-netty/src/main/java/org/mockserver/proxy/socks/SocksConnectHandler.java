@@ -9,6 +9,8 @@ import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.socks.*;
 import io.netty.handler.ssl.SslHandler;
 import org.mockserver.proxy.relay.RelayConnectHandler;
+import org.mockserver.server.unification.HttpRequestBodySizeLimiter;
+import org.mockserver.server.unification.HttpRequestBodySpiller;
 
 @ChannelHandler.Sharable
 public final class SocksConnectHandler extends RelayConnectHandler<SocksCmdRequest> {
@@ -17,7 +19,9 @@ public final class SocksConnectHandler extends RelayConnectHandler<SocksCmdReque
         ChannelPipeline pipeline = ctx.pipeline();
         removeHandler(pipeline, SslHandler.class);
         removeHandler(pipeline, HttpServerCodec.class);
+        removeHandler(pipeline, HttpRequestBodySizeLimiter.class);
         removeHandler(pipeline, HttpContentDecompressor.class);
+        removeHandler(pipeline, HttpRequestBodySpiller.class);
         removeHandler(pipeline, HttpObjectAggregator.class);
         removeHandler(pipeline, SocksMessageEncoder.class);
         removeHandler(pipeline, this);
@@ -13,8 +13,12 @@ import io.netty.handler.codec.socks.SocksMessageEncoder;
 import io.netty.handler.codec.socks.SocksProtocolVersion;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.AttributeKey;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.logging.LoggingHandler;
 import org.mockserver.proxy.socks.SocksProxyHandler;
+import org.mockserver.server.unification.HttpRequestBodySizeLimiter;
+import org.mockserver.server.unification.HttpRequestBodySpiller;
+import org.mockserver.server.unification.SpillDirectory;
 import org.mockserver.socket.SSLFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -171,8 +175,10 @@ public abstract class PortUnificationHandler extends SimpleChannelInboundHandler
         ChannelPipeline pipeline = ctx.pipeline();
 
         addLastIfNotPresent(pipeline, new HttpServerCodec());
+        addLastIfNotPresent(pipeline, new HttpRequestBodySizeLimiter(ConfigurationProperties.maxRequestBodySize()));
         addLastIfNotPresent(pipeline, new HttpContentDecompressor());
-        addLastIfNotPresent(pipeline, new HttpObjectAggregator(Integer.MAX_VALUE));
+        addLastIfNotPresent(pipeline, new HttpRequestBodySpiller(ConfigurationProperties.requestBodySpillThreshold(), ConfigurationProperties.maxRequestBodySize(), SpillDirectory.spillDirectory(ctx.channel())));
+        addLastIfNotPresent(pipeline, new HttpObjectAggregator(ConfigurationProperties.maxRequestBodySize()));
 
         configurePipeline(ctx, pipeline);
         pipeline.remove(this);
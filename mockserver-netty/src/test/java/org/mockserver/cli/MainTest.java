@@ -4,6 +4,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.mockserver.MockServerBuilder;
 import org.mockserver.proxy.ProxyBuilder;
 import org.mockserver.socket.PortFactory;
@@ -11,6 +12,8 @@ import org.mockserver.stop.StopEventQueue;
 
 import java.io.PrintStream;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -67,6 +70,9 @@ public class MainTest {
         Main.httpProxyBuilder = previousProxyBuilder;
         Main.outputPrintStream = previousPrintStream;
         Main.runtime = previousRuntime;
+        System.clearProperty("mockserver.bossThreadCount");
+        System.clearProperty("mockserver.workerThreadCount");
+        System.clearProperty("mockserver.actionHandlerThreadCount");
     }
 
     @Test
@@ -229,6 +235,41 @@ public class MainTest {
         verifyZeroInteractions(mockProxyBuilder);
     }
 
+    @Test
+    public void shouldParseArgumentsForThreadCounts() {
+        Main.main("-serverPort", SERVER_PORT.toString(), "-bossThreads", "1", "-workerThreads", "4", "-actionThreads", "8");
+
+        verify(mockMockServerBuilder).withHTTPPort(SERVER_PORT);
+        verify(mockMockServerBuilder).build();
+        assertThat(ConfigurationProperties.bossThreadCount(), is(1));
+        assertThat(ConfigurationProperties.workerThreadCount(), is(4));
+        assertThat(ConfigurationProperties.actionHandlerThreadCount(), is(8));
+    }
+
+    @Test
+    public void shouldPrintOutUsageForInvalidThreadCount() {
+        Main.main("-serverPort", "1", "-workerThreads", "A");
+
+        verify(mockPrintStream, times(1)).print(Main.USAGE);
+        verify(mockPrintStream, times(1)).println(System.getProperty("line.separator") + "   ===============================================================================");
+        verify(mockPrintStream, times(1)).println("   workerThreads value \"A\" is invalid, please specify a number of threads i.e. \"4\"");
+        verify(mockPrintStream, times(1)).println("   ===============================================================================" + System.getProperty("line.separator"));
+        verify(mockRuntime, times(1)).exit(1);
+        verifyZeroInteractions(mockMockServerBuilder);
+    }
+
+    @Test
+    public void shouldPrintOutUsageForOutOfRangeThreadCount() {
+        Main.main("-serverPort", "1", "-actionThreads", "99999999999");
+
+        verify(mockPrintStream, times(1)).print(Main.USAGE);
+        verify(mockPrintStream, times(1)).println(System.getProperty("line.separator") + "   ======================================================================================================");
+        verify(mockPrintStream, times(1)).println("   actionThreads value \"99999999999\" is invalid, please specify a number of threads no greater than 10000");
+        verify(mockPrintStream, times(1)).println("   ======================================================================================================" + System.getProperty("line.separator"));
+        verify(mockRuntime, times(1)).exit(1);
+        verifyZeroInteractions(mockMockServerBuilder);
+    }
+
     @Test
     public void shouldPrintOutUsageForInvalidProxyRemotePort() {
         Main.main("-serverPort", "1", "-proxyPort", "2", "-proxyRemotePort", "A", "-proxyRemoteHost", "1234567890");
@@ -1,17 +1,23 @@
 package org.mockserver.codec;
 
 import com.google.common.base.Charsets;
+import com.google.common.io.Files;
 import com.google.common.net.MediaType;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.*;
 import org.hamcrest.core.Is;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockserver.mappers.ContentTypeMapper;
 import org.mockserver.model.*;
 import org.mockserver.model.Cookie;
 import org.mockserver.model.HttpRequest;
+import org.mockserver.server.unification.SpilledFullHttpRequest;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,6 +36,8 @@ import static org.mockserver.model.StringBody.exact;
  */
 public class MockServerRequestDecoderTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
     private MockServerRequestDecoder mockServerRequestDecoder;
     private List<Object> output;
     private FullHttpRequest fullHttpRequest;
@@ -288,4 +296,37 @@ public class MockServerRequestDecoderTest {
         assertThat(body, Is.<Body>is(binary("some_random_bytes".getBytes())));
     }
 
+    @Test
+    public void shouldDecodeSpilledBinaryBodyAsReferenceToFile() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("some_spilled_body".getBytes(), file);
+        fullHttpRequest = new SpilledFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/uri", Unpooled.wrappedBuffer("some_spilled_body".getBytes()), file);
+        fullHttpRequest.headers().add(HttpHeaders.Names.CONTENT_TYPE, MediaType.OCTET_STREAM);
+
+        // when
+        mockServerRequestDecoder.decode(null, fullHttpRequest, output);
+
+        // then
+        Body body = ((HttpRequest) output.get(0)).getBody();
+        assertThat(body, Is.<Body>is(new SpilledBody(file, 17, MediaType.OCTET_STREAM)));
+        assertThat(body.getRawBytes(), is("some_spilled_body".getBytes()));
+    }
+
+    @Test
+    public void shouldDecodeSpilledTextBodyAsStringReferenceToFile() throws IOException {
+        // given
+        File file = temporaryFolder.newFile();
+        Files.write("我说中国话".getBytes(Charsets.UTF_8), file);
+        fullHttpRequest = new SpilledFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "/expectation", Unpooled.wrappedBuffer("我说中国话".getBytes(Charsets.UTF_8)), file);
+        fullHttpRequest.headers().add(HttpHeaders.Names.CONTENT_TYPE, MediaType.JSON_UTF_8);
+
+        // when
+        mockServerRequestDecoder.decode(null, fullHttpRequest, output);
+
+        // then
+        Body body = ((HttpRequest) output.get(0)).getBody();
+        assertThat(body, Is.<Body>is(new SpilledStringBody(file, 15, Charsets.UTF_8)));
+        assertThat(((HttpRequest) output.get(0)).getBodyAsString(), is("我说中国话"));
+    }
 }
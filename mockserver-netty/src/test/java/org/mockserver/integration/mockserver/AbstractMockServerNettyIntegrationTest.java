@@ -8,6 +8,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockserver.integration.server.SameJVMAbstractClientServerIntegrationTest;
+import org.mockserver.model.HttpResponse;
 import org.mockserver.model.HttpStatusCode;
 import org.mockserver.server.TestClasspathTestExpectationCallback;
 import org.mockserver.socket.PortFactory;
@@ -178,6 +179,31 @@ public abstract class AbstractMockServerNettyIntegrationTest extends SameJVMAbst
         }
     }
 
+    @Test
+    public void shouldRefuseExpectationWithInvalidJsonSchema() {
+        // when
+        HttpResponse httpResponse = makeRequest(
+                request()
+                        .withPath(calculatePath("expectation"))
+                        .withMethod("PUT")
+                        .withBody("{" + System.getProperty("line.separator") +
+                                "  \"httpRequest\" : {" + System.getProperty("line.separator") +
+                                "    \"body\" : {" + System.getProperty("line.separator") +
+                                "      \"type\" : \"JSON_SCHEMA\"," + System.getProperty("line.separator") +
+                                "      \"jsonSchema\" : \"illegal_json\"" + System.getProperty("line.separator") +
+                                "    }" + System.getProperty("line.separator") +
+                                "  }," + System.getProperty("line.separator") +
+                                "  \"httpResponse\" : {" + System.getProperty("line.separator") +
+                                "    \"body\" : \"some_body\"" + System.getProperty("line.separator") +
+                                "  }" + System.getProperty("line.separator") +
+                                "}"),
+                headersToIgnore);
+
+        // then
+        assertThat(httpResponse.getStatusCode(), is(HttpStatusCode.NOT_ACCEPTABLE_406.code()));
+        assertThat(httpResponse.getBodyAsString(), containsString("invalid json schema, Unrecognized token 'illegal_json'"));
+    }
+
     @Test
     public void shouldReturnResponseWithConnectionOptionsAndKeepAliveFalseAndContentLengthOverride() {
         // given
@@ -0,0 +1,93 @@
+package org.mockserver.integration.mockserver;
+
+import com.google.common.base.Strings;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.client.netty.NettyHttpClient;
+import org.mockserver.client.server.MockServerClient;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.StringBody;
+import org.mockserver.socket.PortFactory;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.OutboundHttpRequest.outboundRequest;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerSpilledBodyIntegrationTest {
+
+    private final static Integer SERVER_HTTP_PORT = PortFactory.findFreePort();
+    private static final int SPILL_THRESHOLD = 1024;
+    private static String originalSpillThreshold;
+    private static MockServerClient mockServerClient;
+
+    @BeforeClass
+    public static void startServer() {
+        originalSpillThreshold = System.getProperty("mockserver.requestBodySpillThreshold");
+        ConfigurationProperties.requestBodySpillThreshold(SPILL_THRESHOLD);
+
+        // start mock server and client
+        mockServerClient = startClientAndServer(SERVER_HTTP_PORT);
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        // stop mock server and client
+        if (mockServerClient instanceof ClientAndServer) {
+            mockServerClient.stop();
+        }
+
+        if (originalSpillThreshold != null) {
+            System.setProperty("mockserver.requestBodySpillThreshold", originalSpillThreshold);
+        } else {
+            System.clearProperty("mockserver.requestBodySpillThreshold");
+        }
+    }
+
+    @Test
+    public void shouldSetupExpectationLargerThanSpillThreshold() {
+        // given
+        String responseBody = Strings.repeat("a", SPILL_THRESHOLD * 4);
+
+        // when
+        mockServerClient
+                .when(
+                        request()
+                                .withPath("/spilled_expectation")
+                )
+                .respond(
+                        response()
+                                .withBody(responseBody)
+                );
+
+        // then
+        HttpResponse httpResponse = new NettyHttpClient().sendRequest(outboundRequest("localhost", SERVER_HTTP_PORT, "", request().withPath("/spilled_expectation")));
+        assertThat(httpResponse.getStatusCode(), is(200));
+        assertThat(httpResponse.getBodyAsString(), is(responseBody));
+    }
+
+    @Test
+    public void shouldRetrieveRecordedTextRequestLargerThanSpillThresholdAsText() {
+        // given
+        String requestBody = Strings.repeat("b", SPILL_THRESHOLD * 4);
+
+        // when
+        new NettyHttpClient().sendRequest(outboundRequest("localhost", SERVER_HTTP_PORT, "", request().withMethod("POST").withPath("/spilled_request").withHeader("Content-Type", "text/plain; charset=utf-8").withBody(requestBody)));
+
+        // then
+        HttpRequest[] recordedRequests = mockServerClient.retrieveRecordedRequests(request().withPath("/spilled_request"));
+        assertThat(recordedRequests.length, is(1));
+        assertThat(recordedRequests[0].getBody(), instanceOf(StringBody.class));
+        assertThat(recordedRequests[0].getBodyAsString(), is(requestBody));
+    }
+}
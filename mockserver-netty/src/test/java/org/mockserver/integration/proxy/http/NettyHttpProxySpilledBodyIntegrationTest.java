@@ -0,0 +1,105 @@
+package org.mockserver.integration.proxy.http;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.client.netty.NettyHttpClient;
+import org.mockserver.client.proxy.ProxyClient;
+import org.mockserver.client.serialization.Base64Converter;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.echo.http.EchoServer;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.proxy.Proxy;
+import org.mockserver.proxy.ProxyBuilder;
+import org.mockserver.socket.PortFactory;
+import org.mockserver.streams.IOStreamUtils;
+
+import java.io.OutputStream;
+import java.net.Socket;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.OutboundHttpRequest.outboundRequest;
+
+/**
+ * @author jamesdbloom
+ */
+public class NettyHttpProxySpilledBodyIntegrationTest {
+
+    private final static Integer SERVER_HTTP_PORT = PortFactory.findFreePort();
+    private final static Integer PROXY_HTTP_PORT = PortFactory.findFreePort();
+    private static final int SPILL_THRESHOLD = 1024;
+    private static String originalSpillThreshold;
+    private static EchoServer echoServer;
+    private static Proxy httpProxy;
+    private static ProxyClient proxyClient;
+
+    @BeforeClass
+    public static void setupFixture() throws Exception {
+        originalSpillThreshold = System.getProperty("mockserver.requestBodySpillThreshold");
+        ConfigurationProperties.requestBodySpillThreshold(SPILL_THRESHOLD);
+
+        // start server
+        echoServer = new EchoServer(SERVER_HTTP_PORT, false);
+
+        // start proxy
+        httpProxy = new ProxyBuilder()
+                .withLocalPort(PROXY_HTTP_PORT)
+                .build();
+
+        // start client
+        proxyClient = new ProxyClient("localhost", PROXY_HTTP_PORT);
+    }
+
+    @AfterClass
+    public static void shutdownFixture() {
+        // stop server
+        echoServer.stop();
+
+        // stop proxy
+        httpProxy.stop();
+
+        if (originalSpillThreshold != null) {
+            System.setProperty("mockserver.requestBodySpillThreshold", originalSpillThreshold);
+        } else {
+            System.clearProperty("mockserver.requestBodySpillThreshold");
+        }
+    }
+
+    @Test
+    public void shouldDumpAndRetrieveProxiedRequestWithSpilledBody() throws Exception {
+        // given
+        String body = Strings.repeat("a", SPILL_THRESHOLD * 4);
+        Socket socket = new Socket("localhost", PROXY_HTTP_PORT);
+        try {
+            OutputStream output = socket.getOutputStream();
+
+            // when
+            output.write(("" +
+                    "POST /spilled_body HTTP/1.1\r\n" +
+                    "Host: localhost:" + SERVER_HTTP_PORT + "\r\n" +
+                    "Content-Type: application/octet-stream\r\n" +
+                    "Content-Length: " + body.length() + "\r\n" +
+                    "\r\n" +
+                    body
+            ).getBytes(Charsets.UTF_8));
+            output.flush();
+
+            // then
+            assertThat(IOStreamUtils.readInputStreamToString(socket), containsString("HTTP/1.1 200 OK"));
+        } finally {
+            socket.close();
+        }
+
+        // and
+        HttpResponse dumpResponse = new NettyHttpClient().sendRequest(outboundRequest("localhost", PROXY_HTTP_PORT, "", request().withMethod("PUT").withPath("/dumpToLog")));
+        assertThat(dumpResponse.getStatusCode(), is(202));
+
+        // and
+        assertThat(proxyClient.retrieveAsJSON(request().withPath("/spilled_body")), containsString(Base64Converter.bytesToBase64String(body.getBytes(Charsets.UTF_8))));
+    }
+}
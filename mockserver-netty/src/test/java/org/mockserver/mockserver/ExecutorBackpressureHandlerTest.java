@@ -0,0 +1,174 @@
+package org.mockserver.mockserver;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.server.ResponseSequencer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockserver.server.ResponseSequencer.responseSequencer;
+
+/**
+ * @author jamesdbloom
+ */
+public class ExecutorBackpressureHandlerTest {
+
+    private DefaultEventExecutorGroup eventExecutorGroup;
+    private EventExecutor executor;
+    private CountDownLatch blockExecutor;
+
+    @Before
+    public void createExecutor() {
+        eventExecutorGroup = new DefaultEventExecutorGroup(1);
+        executor = eventExecutorGroup.next();
+        blockExecutor = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blockExecutor.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
+    @After
+    public void shutdownExecutor() {
+        blockExecutor.countDown();
+        eventExecutorGroup.shutdownGracefully(0, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void shouldKeepReadingWhileExecutorHasCapacity() {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ExecutorBackpressureHandler(executor, 2));
+
+        // when
+        embeddedChannel.writeInbound("request");
+
+        // then
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+        assertThat((String) embeddedChannel.readInbound(), is("request"));
+    }
+
+    @Test
+    public void shouldStopReadingUntilExecutorHasRunPendingTasks() throws InterruptedException {
+        // given
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ExecutorBackpressureHandler(executor, 2));
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        // when
+        embeddedChannel.writeInbound("request");
+
+        // then
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+        assertThat((String) embeddedChannel.readInbound(), is("request"));
+
+        // when
+        blockExecutor.countDown();
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).await(2, TimeUnit.SECONDS);
+
+        // then
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldKeepReadingPausedForDelayedResponseWhenExecutorCatchesUp() throws InterruptedException {
+        // given - a delayed response is outstanding
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ExecutorBackpressureHandler(executor, 1));
+        ResponseSequencer responseSequencer = responseSequencer(embeddedChannel);
+        responseSequencer.received("delayed_request");
+        responseSequencer.pauseReadingUntilWritten();
+
+        // and - the executor is saturated
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        embeddedChannel.writeInbound("request");
+        assertThat((String) embeddedChannel.readInbound(), is("request"));
+
+        // when - the executor catches up
+        blockExecutor.countDown();
+        runQueuedTasks();
+
+        // then - reading stays paused for the delayed response
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when - the delayed response is written
+        responseSequencer.write("delayed_request", new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        // then
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldKeepReadingPausedForSaturatedExecutorWhenDelayedResponseWritten() throws InterruptedException {
+        // given - a delayed response is outstanding
+        EmbeddedChannel embeddedChannel = new EmbeddedChannel(new ExecutorBackpressureHandler(executor, 1));
+        ResponseSequencer responseSequencer = responseSequencer(embeddedChannel);
+        responseSequencer.received("delayed_request");
+        responseSequencer.pauseReadingUntilWritten();
+
+        // and - the executor is saturated
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        embeddedChannel.writeInbound("request");
+        assertThat((String) embeddedChannel.readInbound(), is("request"));
+
+        // when - the delayed response is written
+        responseSequencer.write("delayed_request", new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        // then - reading stays paused for the saturated executor
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when - the executor catches up
+        blockExecutor.countDown();
+        runQueuedTasks();
+
+        // then
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    private void runQueuedTasks() throws InterruptedException {
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).await(2, TimeUnit.SECONDS);
+    }
+}
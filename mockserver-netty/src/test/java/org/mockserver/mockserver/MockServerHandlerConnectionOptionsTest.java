@@ -1,6 +1,7 @@
 package org.mockserver.mockserver;
 
 import com.google.common.base.Charsets;
+import com.google.common.util.concurrent.Futures;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.hamcrest.collection.IsIterableContainingInOrder;
@@ -49,7 +50,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(true)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
                                 .withConnectionOptions(
@@ -58,7 +59,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
                                                 .withSuppressConnectionHeader(true)
                                 )
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -84,7 +85,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(true)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
                                 .withConnectionOptions(
@@ -92,7 +93,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
                                                 .withContentLengthHeaderOverride(50)
                                 )
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -118,7 +119,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(false)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
                                 .withConnectionOptions(
@@ -126,7 +127,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
                                                 .withKeepAliveOverride(true)
                                 )
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -152,11 +153,11 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(true)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -182,7 +183,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(true)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
                                 .withConnectionOptions(
@@ -190,7 +191,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
                                                 .withKeepAliveOverride(false)
                                 )
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -216,11 +217,11 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(false)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -246,7 +247,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(true)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
                                 .withConnectionOptions(
@@ -254,7 +255,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
                                                 .withCloseSocket(true)
                                 )
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -280,7 +281,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request.withKeepAlive(false)))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withBody("some_content")
                                 .withConnectionOptions(
@@ -288,7 +289,7 @@ public class MockServerHandlerConnectionOptionsTest extends MockServerHandlerTes
                                                 .withCloseSocket(false)
                                 )
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
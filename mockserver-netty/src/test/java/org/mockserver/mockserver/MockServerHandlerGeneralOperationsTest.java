@@ -1,6 +1,8 @@
 package org.mockserver.mockserver;
 
 import com.google.common.base.Charsets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -28,6 +30,7 @@ import org.mockserver.verify.VerificationSequence;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
@@ -283,12 +286,12 @@ public class MockServerHandlerGeneralOperationsTest extends MockServerHandlerTes
 
         // and - a action handler
         when(mockActionHandler.processAction(response().withBody("some_response"), request))
-                .thenReturn(
+                .thenReturn(Futures.immediateFuture(
                         response()
                                 .withStatusCode(HttpResponseStatus.PAYMENT_REQUIRED.code())
                                 .withBody("some_content")
 
-                );
+                ));
 
         // when
         embeddedChannel.writeInbound(request);
@@ -305,6 +308,207 @@ public class MockServerHandlerGeneralOperationsTest extends MockServerHandlerTes
         assertThat(httpResponse.getBodyAsString(), is("some_content"));
     }
 
+    @Test
+    public void shouldWriteDelayedResultWithoutBlocking() throws InterruptedException {
+        // given - a request
+        HttpRequest request = request("/randomPath").withMethod("GET").withBody("some_content");
+
+        // and - a matcher
+        HttpResponse action = response().withBody("some_response").withDelay(new Delay(TimeUnit.MILLISECONDS, 100));
+        when(mockMockServerMatcher.handle(request)).thenReturn(action);
+
+        // and - a action handler
+        when(mockActionHandler.processAction(action, request)).thenReturn(Futures.immediateFuture(response().withBody("some_content")));
+
+        // when
+        long start = System.currentTimeMillis();
+        embeddedChannel.writeInbound(request);
+
+        // then - returns before the delay and nothing written
+        assertThat(System.currentTimeMillis() - start < 100, is(true));
+        assertThat(embeddedChannel.readOutbound(), nullValue());
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when - the delay has passed
+        TimeUnit.MILLISECONDS.sleep(150);
+        embeddedChannel.runPendingTasks();
+
+        // then - response written
+        HttpResponse httpResponse = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(httpResponse.getBodyAsString(), is("some_content"));
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldWritePipelinedResponsesInRequestOrder() throws InterruptedException {
+        // given - a delayed request followed by a request that is answered immediately
+        HttpRequest delayedRequest = request("/delayed").withMethod("GET").withKeepAlive(true);
+        HttpRequest immediateRequest = request("/immediate").withMethod("GET").withKeepAlive(true);
+
+        // and - a matcher
+        HttpResponse delayedAction = response().withBody("delayed_response").withDelay(new Delay(TimeUnit.MILLISECONDS, 100));
+        HttpResponse immediateAction = response().withBody("immediate_response");
+        when(mockMockServerMatcher.handle(delayedRequest)).thenReturn(delayedAction);
+        when(mockMockServerMatcher.handle(immediateRequest)).thenReturn(immediateAction);
+
+        // and - a action handler
+        when(mockActionHandler.processAction(delayedAction, delayedRequest)).thenReturn(Futures.immediateFuture(delayedAction));
+        when(mockActionHandler.processAction(immediateAction, immediateRequest)).thenReturn(Futures.immediateFuture(immediateAction));
+
+        // when - both requests are received before the delay has passed
+        embeddedChannel.writeInbound(delayedRequest, immediateRequest);
+
+        // then - the immediate response is held behind the delayed response
+        assertThat(embeddedChannel.readOutbound(), nullValue());
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when - the delay has passed
+        TimeUnit.MILLISECONDS.sleep(150);
+        embeddedChannel.runPendingTasks();
+
+        // then - responses written in request order
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getBodyAsString(), is("delayed_response"));
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getBodyAsString(), is("immediate_response"));
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldKeepReadingPausedUntilEveryDelayedResponseIsWritten() throws InterruptedException {
+        // given - two delayed requests
+        HttpRequest shortDelayRequest = request("/shortDelay").withMethod("GET").withKeepAlive(true);
+        HttpRequest longDelayRequest = request("/longDelay").withMethod("GET").withKeepAlive(true);
+
+        // and - a matcher
+        HttpResponse shortDelayAction = response().withBody("short_delay_response").withDelay(new Delay(TimeUnit.MILLISECONDS, 50));
+        HttpResponse longDelayAction = response().withBody("long_delay_response").withDelay(new Delay(TimeUnit.MILLISECONDS, 300));
+        when(mockMockServerMatcher.handle(shortDelayRequest)).thenReturn(shortDelayAction);
+        when(mockMockServerMatcher.handle(longDelayRequest)).thenReturn(longDelayAction);
+
+        // and - a action handler
+        when(mockActionHandler.processAction(shortDelayAction, shortDelayRequest)).thenReturn(Futures.immediateFuture(shortDelayAction));
+        when(mockActionHandler.processAction(longDelayAction, longDelayRequest)).thenReturn(Futures.immediateFuture(longDelayAction));
+
+        // when
+        embeddedChannel.writeInbound(shortDelayRequest, longDelayRequest);
+        TimeUnit.MILLISECONDS.sleep(100);
+        embeddedChannel.runPendingTasks();
+
+        // then - first response written but reading still paused for the second
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getBodyAsString(), is("short_delay_response"));
+        assertThat(embeddedChannel.readOutbound(), nullValue());
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(250);
+        embeddedChannel.runPendingTasks();
+
+        // then
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getBodyAsString(), is("long_delay_response"));
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldWriteForwardedResponseBeforeResponsesToLaterRequests() {
+        // given - a forwarded request followed by a request that is answered immediately
+        HttpRequest forwardedRequest = request("/forwarded").withMethod("GET").withKeepAlive(true);
+        HttpRequest immediateRequest = request("/immediate").withMethod("GET").withKeepAlive(true);
+
+        // and - a matcher
+        HttpForward forwardAction = HttpForward.forward().withHost("some_host").withPort(9090);
+        HttpResponse immediateAction = response().withBody("immediate_response");
+        when(mockMockServerMatcher.handle(forwardedRequest)).thenReturn(forwardAction);
+        when(mockMockServerMatcher.handle(immediateRequest)).thenReturn(immediateAction);
+
+        // and - a action handler that has not received the forwarded response
+        SettableFuture<HttpResponse> responseFuture = SettableFuture.create();
+        when(mockActionHandler.processAction(forwardAction, forwardedRequest)).thenReturn(responseFuture);
+        when(mockActionHandler.processAction(immediateAction, immediateRequest)).thenReturn(Futures.immediateFuture(immediateAction));
+
+        // when
+        embeddedChannel.writeInbound(forwardedRequest, immediateRequest);
+
+        // then - the immediate response is held behind the forwarded response
+        assertThat(embeddedChannel.readOutbound(), nullValue());
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when - forwarded response received
+        responseFuture.set(response().withBody("forwarded_response"));
+        embeddedChannel.runPendingTasks();
+
+        // then - responses written in request order
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getBodyAsString(), is("forwarded_response"));
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getBodyAsString(), is("immediate_response"));
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldWriteForwardedResultWhenReceived() {
+        // given - a request
+        HttpRequest request = request("/randomPath").withMethod("GET").withBody("some_content");
+
+        // and - a matcher
+        HttpForward action = HttpForward.forward().withHost("some_host").withPort(9090);
+        when(mockMockServerMatcher.handle(request)).thenReturn(action);
+
+        // and - a action handler that has not received the forwarded response
+        SettableFuture<HttpResponse> responseFuture = SettableFuture.create();
+        when(mockActionHandler.processAction(action, request)).thenReturn(responseFuture);
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then - nothing written and reading paused
+        assertThat(embeddedChannel.readOutbound(), nullValue());
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when - forwarded response received
+        responseFuture.set(response().withBody("some_content"));
+        embeddedChannel.runPendingTasks();
+
+        // then - response written
+        HttpResponse httpResponse = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(httpResponse.getBodyAsString(), is("some_content"));
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldRegisterVerification() {
+        // given
+        HttpRequest request = request("/registerVerification").withMethod("PUT").withBody("some_content");
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then - request deserialized
+        verify(mockHttpRequestSerializer).deserialize("some_content");
+
+        // and - log filter called
+        verify(mockRequestLogFilter).registerVerification(mockHttpRequest);
+
+        // and - correct response written to ChannelHandlerContext
+        HttpResponse httpResponse = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(httpResponse.getStatusCode(), is(HttpResponseStatus.ACCEPTED.code()));
+    }
+
+    @Test
+    public void shouldUnregisterVerification() {
+        // given
+        HttpRequest request = request("/unregisterVerification").withMethod("PUT").withBody("some_content");
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then - request deserialized
+        verify(mockHttpRequestSerializer).deserialize("some_content");
+
+        // and - log filter called
+        verify(mockRequestLogFilter).unregisterVerification(mockHttpRequest);
+
+        // and - correct response written to ChannelHandlerContext
+        HttpResponse httpResponse = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(httpResponse.getStatusCode(), is(HttpResponseStatus.ACCEPTED.code()));
+    }
+
     @Test
     public void shouldVerifyPassingRequest() {
         // given
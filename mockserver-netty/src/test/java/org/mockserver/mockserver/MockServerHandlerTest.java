@@ -1,5 +1,6 @@
 package org.mockserver.mockserver;
 
+import com.google.common.util.concurrent.Futures;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.After;
@@ -105,6 +106,9 @@ public class MockServerHandlerTest {
         when(mockExpectation.getHttpForward()).thenReturn(mockHttpForward);
         when(mockExpectation.getHttpError()).thenReturn(mockHttpError);
         when(mockExpectation.getHttpCallback()).thenReturn(mockHttpCallback);
+
+        // given - no response from the action handler
+        when(mockActionHandler.processAction(any(Action.class), any(HttpRequest.class))).thenReturn(Futures.<HttpResponse>immediateFuture(null));
     }
 
     @After
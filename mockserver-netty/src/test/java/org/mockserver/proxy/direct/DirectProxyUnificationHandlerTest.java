@@ -139,7 +139,9 @@ public class DirectProxyUnificationHandlerTest {
                     "LoggingHandler#0",
                     "EmbeddedChannel$LastInboundHandler#0",
                     "HttpServerCodec#0",
+                    "HttpRequestBodySizeLimiter#0",
                     "HttpContentDecompressor#0",
+                    "HttpRequestBodySpiller#0",
                     "HttpObjectAggregator#0",
                     "MockServerServerCodec#0",
                     "HttpProxyHandler#0",
@@ -149,7 +151,9 @@ public class DirectProxyUnificationHandlerTest {
             assertThat(embeddedChannel.pipeline().names(), contains(
                     "EmbeddedChannel$LastInboundHandler#0",
                     "HttpServerCodec#0",
+                    "HttpRequestBodySizeLimiter#0",
                     "HttpContentDecompressor#0",
+                    "HttpRequestBodySpiller#0",
                     "HttpObjectAggregator#0",
                     "MockServerServerCodec#0",
                     "HttpProxyHandler#0",
@@ -1,5 +1,6 @@
 package org.mockserver.proxy.http;
 
+import com.google.common.util.concurrent.SettableFuture;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.junit.After;
@@ -7,6 +8,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockserver.client.netty.NettyHttpClient;
 import org.mockserver.client.serialization.ExpectationSerializer;
 import org.mockserver.client.serialization.HttpRequestSerializer;
 import org.mockserver.client.serialization.VerificationSequenceSerializer;
@@ -17,6 +19,7 @@ import org.mockserver.mock.Expectation;
 import org.mockserver.mock.action.ActionHandler;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
+import org.mockserver.model.OutboundHttpRequest;
 import org.mockserver.proxy.Proxy;
 import org.mockserver.verify.Verification;
 import org.mockserver.verify.VerificationSequence;
@@ -25,10 +28,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.AdditionalAnswers.returnsArgAt;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.Parameter.param;
 
 /**
@@ -54,6 +61,8 @@ public class HttpProxyHandlerTest {
     private Proxy mockHttpProxy;
     @Mock
     private ActionHandler mockActionHandler;
+    @Mock
+    private NettyHttpClient mockNettyHttpClient;
     // serializers
     @Mock
     private ExpectationSerializer mockExpectationSerializer;
@@ -91,6 +100,38 @@ public class HttpProxyHandlerTest {
         assertThat(embeddedChannel.finish(), is(false));
     }
 
+    @Test
+    public void shouldWriteProxiedResponseBeforeResponsesToLaterRequests() {
+        // given - filters that pass requests and responses through
+        when(mockRequestLogFilter.onRequest(any(HttpRequest.class))).thenAnswer(returnsFirstArg());
+        when(mockRequestLogFilter.onResponse(any(HttpRequest.class), any(HttpResponse.class))).thenAnswer(returnsArgAt(1));
+        when(mockRequestResponseLogFilter.onRequest(any(HttpRequest.class))).thenAnswer(returnsFirstArg());
+        when(mockRequestResponseLogFilter.onResponse(any(HttpRequest.class), any(HttpResponse.class))).thenAnswer(returnsArgAt(1));
+
+        // and - a proxied request that has not received its response
+        SettableFuture<HttpResponse> responseFuture = SettableFuture.create();
+        when(mockNettyHttpClient.sendRequestAsync(any(OutboundHttpRequest.class), eq(false))).thenReturn(responseFuture);
+
+        // when - a request answered immediately is pipelined behind the proxied request
+        embeddedChannel.writeInbound(
+                request("/proxied").withMethod("GET").withHeader("Host", "localhost:1090").withKeepAlive(true),
+                request("/status").withMethod("PUT").withKeepAlive(true)
+        );
+
+        // then - nothing written and reading paused
+        assertThat(embeddedChannel.readOutbound(), nullValue());
+        assertThat(embeddedChannel.config().isAutoRead(), is(false));
+
+        // when - proxied response received
+        responseFuture.set(response().withBody("proxied_response"));
+        embeddedChannel.runPendingTasks();
+
+        // then - responses written in request order
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getBodyAsString(), is("proxied_response"));
+        assertThat(((HttpResponse) embeddedChannel.readOutbound()).getStatusCode(), is(HttpResponseStatus.OK.code()));
+        assertThat(embeddedChannel.config().isAutoRead(), is(true));
+    }
+
     @Test
     public void shouldResetExpectations() {
         // given
@@ -221,6 +262,44 @@ public class HttpProxyHandlerTest {
         assertThat(httpResponse.getBodyAsString(), nullValue());
     }
 
+    @Test
+    public void shouldRegisterVerification() {
+        // given
+        HttpRequest request = request("/registerVerification").withMethod("PUT").withBody("some_content");
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then - request deserialized
+        verify(mockHttpRequestSerializer).deserialize("some_content");
+
+        // and - log filter called
+        verify(mockRequestLogFilter).registerVerification(mockHttpRequest);
+
+        // and - correct response written to ChannelHandlerContext
+        HttpResponse httpResponse = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(httpResponse.getStatusCode(), is(HttpResponseStatus.ACCEPTED.code()));
+    }
+
+    @Test
+    public void shouldUnregisterVerification() {
+        // given
+        HttpRequest request = request("/unregisterVerification").withMethod("PUT").withBody("some_content");
+
+        // when
+        embeddedChannel.writeInbound(request);
+
+        // then - request deserialized
+        verify(mockHttpRequestSerializer).deserialize("some_content");
+
+        // and - log filter called
+        verify(mockRequestLogFilter).unregisterVerification(mockHttpRequest);
+
+        // and - correct response written to ChannelHandlerContext
+        HttpResponse httpResponse = (HttpResponse) embeddedChannel.readOutbound();
+        assertThat(httpResponse.getStatusCode(), is(HttpResponseStatus.ACCEPTED.code()));
+    }
+
     @Test
     public void shouldVerifyPassingRequest() {
         // given
@@ -111,7 +111,9 @@ public class HttpProxyUnificationHandlerTest {
         assertThat(embeddedChannel.pipeline().names(), contains(
                 "EmbeddedChannel$LastInboundHandler#0",
                 "HttpServerCodec#0",
+                "HttpRequestBodySizeLimiter#0",
                 "HttpContentDecompressor#0",
+                "HttpRequestBodySpiller#0",
                 "HttpObjectAggregator#0",
                 "MockServerServerCodec#0",
                 "HttpProxyHandler#0",
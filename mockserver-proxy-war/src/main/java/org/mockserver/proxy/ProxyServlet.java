@@ -52,6 +52,13 @@ public class ProxyServlet extends HttpServlet {
         filters.withFilter(new HttpRequest(), requestResponseLogFilter);
     }
 
+    @Override
+    public void destroy() {
+        requestLogFilter.close();
+        requestResponseLogFilter.close();
+        super.destroy();
+    }
+
     /**
      * Add filter for HTTP requests, each filter get called before each request is proxied, if the filter return null then the request is not proxied
      *
@@ -131,6 +138,16 @@ public class ProxyServlet extends HttpServlet {
                     IOStreamUtils.writeToOutputStream(result.getBytes(), httpServletResponse);
                 }
 
+            } else if (requestPath.equals("/registerVerification")) {
+
+                requestLogFilter.registerVerification(httpRequestSerializer.deserialize(IOStreamUtils.readInputStreamToString(httpServletRequest)));
+                httpServletResponse.setStatus(HttpStatusCode.ACCEPTED_202.code());
+
+            } else if (requestPath.equals("/unregisterVerification")) {
+
+                requestLogFilter.unregisterVerification(httpRequestSerializer.deserialize(IOStreamUtils.readInputStreamToString(httpServletRequest)));
+                httpServletResponse.setStatus(HttpStatusCode.ACCEPTED_202.code());
+
             } else if (requestPath.equals("/verifySequence")) {
 
                 String result = requestLogFilter.verify(verificationSequenceSerializer.deserialize(IOStreamUtils.readInputStreamToString(httpServletRequest)));
@@ -403,6 +403,36 @@ public class ProxyServletTest {
         assertEquals(HttpStatusCode.ACCEPTED_202.code(), mockHttpServletResponse.getStatus());
     }
 
+    @Test
+    public void shouldRegisterVerification() {
+        // given
+        mockHttpServletRequest.setRequestURI("/registerVerification");
+        mockHttpServletRequest.setContent("body".getBytes());
+        when(mockHttpRequestSerializer.deserialize("body")).thenReturn(outboundHttpRequest);
+
+        // when
+        proxyServlet.doPut(mockHttpServletRequest, mockHttpServletResponse);
+
+        // then
+        verify(mockRequestLogFilter).registerVerification(outboundHttpRequest);
+        assertEquals(HttpStatusCode.ACCEPTED_202.code(), mockHttpServletResponse.getStatus());
+    }
+
+    @Test
+    public void shouldUnregisterVerification() {
+        // given
+        mockHttpServletRequest.setRequestURI("/unregisterVerification");
+        mockHttpServletRequest.setContent("body".getBytes());
+        when(mockHttpRequestSerializer.deserialize("body")).thenReturn(outboundHttpRequest);
+
+        // when
+        proxyServlet.doPut(mockHttpServletRequest, mockHttpServletResponse);
+
+        // then
+        verify(mockRequestLogFilter).unregisterVerification(outboundHttpRequest);
+        assertEquals(HttpStatusCode.ACCEPTED_202.code(), mockHttpServletResponse.getStatus());
+    }
+
     @Test
     public void shouldMapPathWhenContextSet() {
         // given
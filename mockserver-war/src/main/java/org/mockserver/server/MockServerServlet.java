@@ -47,6 +47,12 @@ public class MockServerServlet extends HttpServlet {
     private VerificationSerializer verificationSerializer = new VerificationSerializer();
     private VerificationSequenceSerializer verificationSequenceSerializer = new VerificationSequenceSerializer();
 
+    @Override
+    public void destroy() {
+        requestLogFilter.close();
+        super.destroy();
+    }
+
     @Override
     public void service(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse) {
 
@@ -130,6 +136,18 @@ public class MockServerServlet extends HttpServlet {
                 addCORSHeaders(httpServletResponse);
                 verifyResponse(httpServletResponse, result);
 
+            } else if (request.matches("PUT", "/registerVerification")) {
+
+                requestLogFilter.registerVerification(httpRequestSerializer.deserialize(request.getBodyAsString()));
+                httpServletResponse.setStatus(HttpStatusCode.ACCEPTED_202.code());
+                addCORSHeaders(httpServletResponse);
+
+            } else if (request.matches("PUT", "/unregisterVerification")) {
+
+                requestLogFilter.unregisterVerification(httpRequestSerializer.deserialize(request.getBodyAsString()));
+                httpServletResponse.setStatus(HttpStatusCode.ACCEPTED_202.code());
+                addCORSHeaders(httpServletResponse);
+
             } else if (request.matches("PUT", "/verifySequence")) {
 
                 String result = requestLogFilter.verify(verificationSequenceSerializer.deserialize(request.getBodyAsString()));
@@ -145,7 +163,11 @@ public class MockServerServlet extends HttpServlet {
 
                 Action action = mockServerMatcher.handle(request);
                 if (validateSupportedFeatures(action, httpServletResponse)) {
-                    mapResponse(actionHandler.processAction(action, request), httpServletResponse);
+                    if (action instanceof HttpResponse) {
+                        // each request has its own container thread so the delay is applied by sleeping
+                        ((HttpResponse) action).applyDelay();
+                    }
+                    mapResponse(actionHandler.processAction(action, request).get(), httpServletResponse);
                 }
 
             }
@@ -1,5 +1,6 @@
 package org.mockserver.server;
 
+import com.google.common.util.concurrent.Futures;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
@@ -14,7 +15,9 @@ import org.mockserver.mappers.HttpServletRequestToMockServerRequestDecoder;
 import org.mockserver.mappers.MockServerResponseToHttpServletResponseEncoder;
 import org.mockserver.mock.MockServerMatcher;
 import org.mockserver.mock.action.ActionHandler;
+import org.mockserver.model.Action;
 import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
@@ -59,6 +62,8 @@ public class MockServerServletCORSTest {
         mockServerServlet = new MockServerServlet();
 
         initMocks(this);
+
+        when(mockActionHandler.processAction(any(Action.class), any(HttpRequest.class))).thenReturn(Futures.<HttpResponse>immediateFuture(null));
     }
 
     @Test
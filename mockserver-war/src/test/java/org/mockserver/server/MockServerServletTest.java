@@ -1,5 +1,6 @@
 package org.mockserver.server;
 
+import com.google.common.util.concurrent.Futures;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
@@ -79,7 +80,7 @@ public class MockServerServletTest {
 
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(any(HttpServletRequest.class))).thenReturn(request);
         when(mockMockServerMatcher.handle(any(HttpRequest.class))).thenReturn(response);
-        when(mockActionHandler.processAction(any(HttpResponse.class), any(HttpRequest.class))).thenReturn(response);
+        when(mockActionHandler.processAction(any(HttpResponse.class), any(HttpRequest.class))).thenReturn(Futures.immediateFuture(response));
 
         // when
         mockServerServlet.service(httpServletRequest, httpServletResponse);
@@ -87,7 +88,7 @@ public class MockServerServletTest {
         // then
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(httpServletRequest)).thenReturn(request);
         verify(mockMockServerMatcher).handle(request);
-        when(mockActionHandler.processAction(response, request)).thenReturn(response);
+        when(mockActionHandler.processAction(response, request)).thenReturn(Futures.immediateFuture(response));
         verify(mockServerResponseToHttpServletResponseEncoder).mapMockServerResponseToHttpServletResponse(response, httpServletResponse);
         assertThat(httpServletResponse.getStatus(), is(200));
     }
@@ -102,7 +103,7 @@ public class MockServerServletTest {
 
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(any(HttpServletRequest.class))).thenReturn(request);
         when(mockMockServerMatcher.handle(any(HttpRequest.class))).thenReturn(response);
-        when(mockActionHandler.processAction(any(HttpResponse.class), any(HttpRequest.class))).thenReturn(response);
+        when(mockActionHandler.processAction(any(HttpResponse.class), any(HttpRequest.class))).thenReturn(Futures.immediateFuture(response));
 
         // when
         mockServerServlet.service(httpServletRequest, httpServletResponse);
@@ -110,7 +111,7 @@ public class MockServerServletTest {
         // then
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(httpServletRequest)).thenReturn(request);
         verify(mockMockServerMatcher).handle(request);
-        when(mockActionHandler.processAction(response, request)).thenReturn(response);
+        when(mockActionHandler.processAction(response, request)).thenReturn(Futures.immediateFuture(response));
         verifyNoMoreInteractions(mockServerResponseToHttpServletResponseEncoder);
         assertThat(httpServletResponse.getStatus(), is(406));
         assertThat(httpServletResponse.getContentAsString(), is("ConnectionOptions is not supported by MockServer deployable WAR due to limitations in the JEE specification; use mockserver-netty to enable these features"));
@@ -127,7 +128,7 @@ public class MockServerServletTest {
 
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(any(HttpServletRequest.class))).thenReturn(request);
         when(mockMockServerMatcher.handle(any(HttpRequest.class))).thenReturn(forward);
-        when(mockActionHandler.processAction(any(HttpForward.class), any(HttpRequest.class))).thenReturn(response);
+        when(mockActionHandler.processAction(any(HttpForward.class), any(HttpRequest.class))).thenReturn(Futures.immediateFuture(response));
 
         // when
         mockServerServlet.service(httpServletRequest, httpServletResponse);
@@ -135,7 +136,7 @@ public class MockServerServletTest {
         // then
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(httpServletRequest)).thenReturn(request);
         verify(mockMockServerMatcher).handle(request);
-        when(mockActionHandler.processAction(forward, request)).thenReturn(response);
+        when(mockActionHandler.processAction(forward, request)).thenReturn(Futures.immediateFuture(response));
         verify(mockServerResponseToHttpServletResponseEncoder).mapMockServerResponseToHttpServletResponse(response, httpServletResponse);
         assertThat(httpServletResponse.getStatus(), is(200));
     }
@@ -151,7 +152,7 @@ public class MockServerServletTest {
 
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(any(HttpServletRequest.class))).thenReturn(request);
         when(mockMockServerMatcher.handle(any(HttpRequest.class))).thenReturn(error);
-        when(mockActionHandler.processAction(any(HttpForward.class), any(HttpRequest.class))).thenReturn(response);
+        when(mockActionHandler.processAction(any(HttpForward.class), any(HttpRequest.class))).thenReturn(Futures.immediateFuture(response));
 
         // when
         mockServerServlet.service(httpServletRequest, httpServletResponse);
@@ -159,7 +160,7 @@ public class MockServerServletTest {
         // then
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(httpServletRequest)).thenReturn(request);
         verify(mockMockServerMatcher).handle(request);
-        when(mockActionHandler.processAction(error, request)).thenReturn(response);
+        when(mockActionHandler.processAction(error, request)).thenReturn(Futures.immediateFuture(response));
         verifyNoMoreInteractions(mockServerResponseToHttpServletResponseEncoder);
         assertThat(httpServletResponse.getStatus(), is(406));
         assertThat(httpServletResponse.getContentAsString(), is("HttpError is not supported by MockServer deployable WAR due to limitations in the JEE specification; use mockserver-netty to enable these features"));
@@ -176,7 +177,7 @@ public class MockServerServletTest {
 
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(any(HttpServletRequest.class))).thenReturn(request);
         when(mockMockServerMatcher.handle(any(HttpRequest.class))).thenReturn(callback);
-        when(mockActionHandler.processAction(any(HttpCallback.class), any(HttpRequest.class))).thenReturn(response);
+        when(mockActionHandler.processAction(any(HttpCallback.class), any(HttpRequest.class))).thenReturn(Futures.immediateFuture(response));
 
         // when
         mockServerServlet.service(httpServletRequest, httpServletResponse);
@@ -184,7 +185,7 @@ public class MockServerServletTest {
         // then
         when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(httpServletRequest)).thenReturn(request);
         verify(mockMockServerMatcher).handle(request);
-        when(mockActionHandler.processAction(callback, request)).thenReturn(response);
+        when(mockActionHandler.processAction(callback, request)).thenReturn(Futures.immediateFuture(response));
         verify(mockServerResponseToHttpServletResponseEncoder).mapMockServerResponseToHttpServletResponse(response, httpServletResponse);
         assertThat(httpServletResponse.getStatus(), is(200));
     }
@@ -476,6 +477,52 @@ public class MockServerServletTest {
         assertThat(httpServletResponse.getStatus(), is(HttpStatusCode.OK_200.code()));
     }
 
+    @Test
+    public void shouldRegisterVerification() throws IOException {
+        // given
+        MockHttpServletResponse httpServletResponse = new MockHttpServletResponse();
+        HttpRequest httpRequest = new HttpRequest();
+
+        when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(any(HttpServletRequest.class)))
+                .thenReturn(
+                        request()
+                                .withMethod("PUT")
+                                .withPath("/registerVerification")
+                                .withBody("requestBytes")
+                );
+        when(mockHttpRequestSerializer.deserialize("requestBytes")).thenReturn(httpRequest);
+
+        // when
+        mockServerServlet.service(new MockHttpServletRequest(), httpServletResponse);
+
+        // then
+        verify(mockRequestLogFilter).registerVerification(httpRequest);
+        assertThat(httpServletResponse.getStatus(), is(HttpStatusCode.ACCEPTED_202.code()));
+    }
+
+    @Test
+    public void shouldUnregisterVerification() throws IOException {
+        // given
+        MockHttpServletResponse httpServletResponse = new MockHttpServletResponse();
+        HttpRequest httpRequest = new HttpRequest();
+
+        when(mockHttpServletRequestToMockServerRequestDecoder.mapHttpServletRequestToMockServerRequest(any(HttpServletRequest.class)))
+                .thenReturn(
+                        request()
+                                .withMethod("PUT")
+                                .withPath("/unregisterVerification")
+                                .withBody("requestBytes")
+                );
+        when(mockHttpRequestSerializer.deserialize("requestBytes")).thenReturn(httpRequest);
+
+        // when
+        mockServerServlet.service(new MockHttpServletRequest(), httpServletResponse);
+
+        // then
+        verify(mockRequestLogFilter).unregisterVerification(httpRequest);
+        assertThat(httpServletResponse.getStatus(), is(HttpStatusCode.ACCEPTED_202.code()));
+    }
+
     @Test
     public void shouldVerifyRequestNotMatching() throws IOException {
         // given